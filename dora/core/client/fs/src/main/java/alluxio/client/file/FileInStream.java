@@ -16,6 +16,7 @@ import alluxio.client.BoundedStream;
 import alluxio.client.CanUnbuffer;
 import alluxio.client.PositionedReadable;
 import alluxio.exception.PreconditionMessage;
+import alluxio.file.ReadRange;
 import alluxio.util.io.BufferUtils;
 
 import com.google.common.base.Preconditions;
@@ -23,6 +24,7 @@ import com.google.common.base.Preconditions;
 import java.io.IOException;
 import java.io.InputStream;
 import java.nio.ByteBuffer;
+import java.util.List;
 
 /**
  * A streaming API to read a file. This API represents a file as a stream of bytes and provides a
@@ -103,6 +105,41 @@ public abstract class FileInStream extends InputStream
     return nread;
   }
 
+  /**
+   * Reads several ranges of the file, each into its own target buffer, without changing the
+   * current position of the stream. This reads the ranges one after another with
+   * {@link #positionedRead}, streams which can serve them in fewer round trips override it.
+   *
+   * @param ranges the ranges to read
+   * @return the number of bytes read for each range, in the order of the ranges, which is less
+   *         than the length of the range only if the range goes past the end of the file
+   */
+  public int[] readRanges(List<ReadRange> ranges) throws IOException {
+    int[] bytesRead = new int[ranges.size()];
+    for (int i = 0; i < ranges.size(); i++) {
+      ReadRange range = ranges.get(i);
+      byte[] buffer = new byte[range.getLength()];
+      while (bytesRead[i] < buffer.length) {
+        int bytes = positionedRead(range.getPosition() + bytesRead[i], buffer, bytesRead[i],
+            buffer.length - bytesRead[i]);
+        if (bytes <= 0) {
+          break;
+        }
+        bytesRead[i] += bytes;
+      }
+      range.getTarget().writeBytes(buffer, 0, bytesRead[i]);
+    }
+    return bytesRead;
+  }
+
+  /**
+   * @return whether {@link #readRanges} may be called from several threads at the same time,
+   *         including while other reads of the stream are in progress
+   */
+  public boolean isReadRangesThreadSafe() {
+    return false;
+  }
+
   @Override
   public void unbuffer() {
   }
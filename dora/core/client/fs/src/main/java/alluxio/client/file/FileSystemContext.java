@@ -37,6 +37,7 @@ import alluxio.membership.WorkerClusterView;
 import alluxio.metrics.MetricsSystem;
 import alluxio.network.netty.NettyChannelPool;
 import alluxio.network.netty.NettyClient;
+import alluxio.network.netty.NettyMultiplexedChannelPool;
 import alluxio.refresh.RefreshPolicy;
 import alluxio.refresh.TimeoutRefresh;
 import alluxio.resource.CloseableResource;
@@ -57,6 +58,7 @@ import com.google.common.base.Preconditions;
 import com.google.common.collect.Iterables;
 import io.netty.bootstrap.Bootstrap;
 import io.netty.channel.Channel;
+import io.netty.handler.codec.http2.Http2StreamChannel;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -130,6 +132,9 @@ public class FileSystemContext implements Closeable {
   // The netty data server channel pools.
   private final ConcurrentHashMap<SocketAddress, NettyChannelPool>
       mNettyChannelPools = new ConcurrentHashMap<>();
+  // The netty data server multiplexed channel pools.
+  private final ConcurrentHashMap<SocketAddress, NettyMultiplexedChannelPool>
+      mNettyMultiplexedChannelPools = new ConcurrentHashMap<>();
 
   @GuardedBy("this")
   private boolean mMetricsEnabled;
@@ -506,6 +511,10 @@ public class FileSystemContext implements Closeable {
       mBlockWorkerClientPoolMap = null;
       mLocalWorkerInitialized = false;
       mLocalWorker = null;
+      for (NettyMultiplexedChannelPool pool : mNettyMultiplexedChannelPools.values()) {
+        pool.close();
+      }
+      mNettyMultiplexedChannelPools.clear();
 
       if (mMetricsEnabled) {
         MetricsHeartbeatContext.removeHeartbeat(getClientContext());
@@ -664,7 +673,8 @@ public class FileSystemContext implements Closeable {
   /**
    * Acquires a netty channel from the channel pools. If there is no available client instance
    * available in the pool, it tries to create a new one. And an exception is thrown if it fails to
-   * create a new one.
+   * create a new one. If multiplexing is enabled, the channel is a new stream on one of the
+   * multiplexed connections to the worker instead.
    *
    * @param workerNetAddress the network address of the channel
    * @return the acquired netty channel
@@ -672,6 +682,36 @@ public class FileSystemContext implements Closeable {
   public Channel acquireNettyChannel(final WorkerNetAddress workerNetAddress) throws IOException {
     SocketAddress address = NetworkAddressUtils.getDataPortSocketAddress(workerNetAddress,
         Configuration.global());
+    if (Configuration.getBoolean(PropertyKey.USER_NETWORK_NETTY_MULTIPLEX_ENABLED)) {
+      NettyMultiplexedChannelPool pool = mNettyMultiplexedChannelPools.computeIfAbsent(address,
+          key -> {
+            if (mClosed.get()) {
+              return null;
+            }
+            LOG.warn("Multiplexing is experimental and may lower the read throughput from "
+                + "worker {}, see {}", key, PropertyKey.USER_NETWORK_NETTY_MULTIPLEX_ENABLED);
+            Bootstrap bs = NettyClient.createMultiplexedClientBootstrap(key);
+            bs.remoteAddress(key);
+            return new NettyMultiplexedChannelPool(bs, NettyClient.createStreamHandler(),
+                Configuration.getInt(
+                    PropertyKey.USER_NETWORK_NETTY_MULTIPLEX_STREAMS_PER_CONNECTION),
+                Configuration.getBytes(PropertyKey.USER_NETWORK_NETTY_MULTIPLEX_WINDOW_SIZE),
+                Configuration.getMs(PropertyKey.USER_NETWORK_NETTY_CHANNEL_POOL_GC_THRESHOLD_MS));
+          });
+      if (pool == null) {
+        throw new IOException("FileSystemContext is closed, cannot acquire a channel to "
+            + address);
+      }
+      if (mClosed.get()) {
+        // the context was closed while the pool was being added, the pool may have been missed
+        if (mNettyMultiplexedChannelPools.remove(address, pool)) {
+          pool.close();
+        }
+        throw new IOException("FileSystemContext is closed, cannot acquire a channel to "
+            + address);
+      }
+      return pool.acquire();
+    }
     if (!mNettyChannelPools.containsKey(address)) {
       Bootstrap bs = NettyClient.createClientBootstrap(address);
       bs.remoteAddress(address);
@@ -699,6 +739,15 @@ public class FileSystemContext implements Closeable {
   public void releaseNettyChannel(WorkerNetAddress workerNetAddress, Channel channel) {
     SocketAddress address = NetworkAddressUtils.getDataPortSocketAddress(workerNetAddress,
         Configuration.global());
+    if (channel instanceof Http2StreamChannel) {
+      NettyMultiplexedChannelPool pool = mNettyMultiplexedChannelPools.get(address);
+      if (pool != null) {
+        pool.release(channel);
+      } else {
+        CommonUtils.closeChannel(channel);
+      }
+      return;
+    }
     if (mNettyChannelPools.containsKey(address)) {
       mNettyChannelPools.get(address).release(channel);
     } else {
@@ -17,7 +17,9 @@ import alluxio.collections.ConcurrentHashSet;
 import alluxio.conf.Configuration;
 import alluxio.conf.PropertyKey;
 import alluxio.exception.PreconditionMessage;
+import alluxio.file.ReadRange;
 import alluxio.network.protocol.databuffer.PooledDirectNioByteBuf;
+import alluxio.util.ThreadFactoryUtils;
 
 import com.amazonaws.annotation.NotThreadSafe;
 import com.google.common.annotations.VisibleForTesting;
@@ -29,7 +31,16 @@ import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
 import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 /**
  * Implementation of {@link FileInStream} that reads from a dora cache if possible.
@@ -37,6 +48,9 @@ import java.util.Objects;
 @NotThreadSafe
 public class PositionReadFileInStream extends FileInStream {
   private static final Logger LOG = LoggerFactory.getLogger(DoraCacheClient.class);
+  // Read-ahead requests of all the streams are async so a cached thread pool is used here.
+  private static final ExecutorService READ_AHEAD_EXECUTOR = Executors.newCachedThreadPool(
+      ThreadFactoryUtils.build("alluxio-position-reader-read-ahead-%d", true));
   private final long mLength;
   private long mPos = 0;
   private boolean mClosed;
@@ -53,16 +67,31 @@ public class PositionReadFileInStream extends FileInStream {
   private final long mWorkerPageSize =
       Configuration.getBytes(PropertyKey.WORKER_PAGE_STORE_PAGE_SIZE);
 
+  /**
+   * Data of the file prefetched from the reader. On top of the data prefetched on the caller's
+   * thread, up to a number of buffers following it are filled asynchronously, each of the
+   * prefetch size given by the policy, so that a sequential read consumes the data of one buffer
+   * while the next ones are being read.
+   */
   private class PrefetchCache implements AutoCloseable {
     private final long mFileLength;
 
     private ByteBuf mCache = Unpooled.wrappedBuffer(new byte[0]);
     private long mCacheStartPos = 0;
     private final PrefetchCachePolicy mPolicy;
+    private final int mMaxReadAheadBuffers;
+    private final long mMaxReadAheadBytes;
+    /** Buffers read ahead of the cache, each starting where the previous one ends. */
+    private final Deque<ReadAhead> mReadAheads = new ArrayDeque<>();
+    private long mReadAheadBytes = 0;
 
     PrefetchCache(PrefetchCachePolicy policy, long fileLength) {
       mPolicy = policy;
       mFileLength = fileLength;
+      mMaxReadAheadBuffers =
+          Configuration.getInt(PropertyKey.USER_POSITION_READER_STREAMING_READ_AHEAD_BUFFERS);
+      mMaxReadAheadBytes =
+          Configuration.getBytes(PropertyKey.USER_POSITION_READER_STREAMING_READ_AHEAD_MAX_SIZE);
     }
 
     private void addTrace(long pos, int size) {
@@ -78,6 +107,10 @@ public class PositionReadFileInStream extends FileInStream {
      *         range of data
      */
     private int fillWithCache(long targetStartPos, ByteBuffer outBuffer) {
+      if (targetStartPos < mCacheStartPos
+          || targetStartPos - mCacheStartPos >= mCache.readableBytes()) {
+        advance(targetStartPos);
+      }
       if (mCacheStartPos <= targetStartPos) {
         if (targetStartPos - mCacheStartPos < mCache.readableBytes()) {
           final int posInCache = (int) (targetStartPos - mCacheStartPos);
@@ -87,6 +120,7 @@ public class PositionReadFileInStream extends FileInStream {
           mCache.getBytes(posInCache, slice);
           outBuffer.position(outBuffer.position() + size);
           mPolicy.onCacheHitRead();
+          readAhead();
           return size;
         } else {
           // the position is beyond the cache end position
@@ -141,6 +175,7 @@ public class PositionReadFileInStream extends FileInStream {
           mCache.readerIndex(0).writerIndex(bytesPrefetched);
           mCacheStartPos = pos;
         }
+        discardReadAheads();
         return bytesPrefetched;
       } catch (IOException ignored) {
         // silence exceptions as we don't care if prefetch fails
@@ -149,14 +184,134 @@ public class PositionReadFileInStream extends FileInStream {
       }
     }
 
+    /**
+     * Moves the cache to the read-ahead buffer holding the given position, waiting for the buffer
+     * to be filled, and discards the buffers before it. All the buffers are discarded if none of
+     * them holds the position.
+     *
+     * @param pos position within the file
+     */
+    private void advance(long pos) {
+      while (!mReadAheads.isEmpty()) {
+        ReadAhead readAhead = mReadAheads.peekFirst();
+        if (pos < readAhead.mStartPos) {
+          break;
+        }
+        if (pos >= readAhead.mStartPos + readAhead.mLength) {
+          discard(mReadAheads.pollFirst());
+          continue;
+        }
+        mReadAheads.pollFirst();
+        mReadAheadBytes -= readAhead.mLength;
+        int bytesRead;
+        try {
+          bytesRead = readAhead.mFuture.join();
+        } catch (CompletionException | CancellationException e) {
+          LOG.debug("Read-ahead of {} at {} failed", mURIStatus.getUfsPath(),
+              readAhead.mStartPos, e);
+          bytesRead = -1;
+        }
+        if (bytesRead <= 0) {
+          readAhead.mBuffer.release();
+          break;
+        }
+        mCache.release();
+        mCache = readAhead.mBuffer;
+        mCache.readerIndex(0).writerIndex(bytesRead);
+        mCacheStartPos = readAhead.mStartPos;
+        return;
+      }
+      discardReadAheads();
+    }
+
+    /**
+     * Starts filling read-ahead buffers following the cache, as long as the number of buffers
+     * and their total size stay within the limits.
+     */
+    private void readAhead() {
+      int size = mPolicy.getPrefetchSize();
+      if (mMaxReadAheadBuffers <= 0 || size <= 0) {
+        return;
+      }
+      long end = mReadAheads.isEmpty() ? mCacheStartPos + mCache.readableBytes()
+          : mReadAheads.peekLast().mStartPos + mReadAheads.peekLast().mLength;
+      while (mReadAheads.size() < mMaxReadAheadBuffers && end < mFileLength) {
+        int length = (int) Math.min(size, mFileLength - end);
+        if (mReadAheadBytes + length > mMaxReadAheadBytes) {
+          return;
+        }
+        ByteBuf buffer;
+        try {
+          buffer = PooledDirectNioByteBuf.allocate(length);
+        } catch (OutOfMemoryError oom) {
+          return;
+        }
+        buffer.clear();
+        long startPos = end;
+        CompletableFuture<Integer> future = CompletableFuture.supplyAsync(() -> {
+          try {
+            return mPositionReader.read(startPos, buffer, length);
+          } catch (IOException e) {
+            throw new CompletionException(e);
+          }
+        }, READ_AHEAD_EXECUTOR);
+        mReadAheads.addLast(new ReadAhead(startPos, length, buffer, future));
+        mReadAheadBytes += length;
+        end += length;
+      }
+    }
+
+    private void discardReadAheads() {
+      while (!mReadAheads.isEmpty()) {
+        discard(mReadAheads.pollFirst());
+      }
+    }
+
+    /**
+     * Discards a read-ahead buffer, which is released once it is not being filled anymore.
+     */
+    private void discard(ReadAhead readAhead) {
+      mReadAheadBytes -= readAhead.mLength;
+      readAhead.mFuture.whenComplete((bytesRead, e) -> readAhead.mBuffer.release());
+    }
+
     @Override
     public void close() {
+      List<CompletableFuture<Integer>> inFlight = new ArrayList<>();
+      mReadAheads.forEach(readAhead -> inFlight.add(readAhead.mFuture));
+      discardReadAheads();
+      // do not let the reader be closed under the read-ahead requests
+      for (CompletableFuture<Integer> future : inFlight) {
+        try {
+          future.join();
+        } catch (CompletionException | CancellationException e) {
+          // ignored as the data is discarded anyway
+        }
+      }
       mCache.release();
       mCache = Unpooled.wrappedBuffer(new byte[0]);
       mCacheStartPos = 0;
     }
   }
 
+  /**
+   * A buffer being filled ahead of the reads.
+   */
+  private static final class ReadAhead {
+    private final long mStartPos;
+    private final int mLength;
+    private final ByteBuf mBuffer;
+    private final CompletableFuture<Integer> mFuture;
+
+    private ReadAhead(long startPos, int length, ByteBuf buffer,
+        CompletableFuture<Integer> future) {
+      mStartPos = startPos;
+      mLength = length;
+      mBuffer = buffer;
+      mFuture = future;
+    }
+  }
+
   /**
    * Constructor.
    * @param reader the position reader
@@ -202,6 +357,11 @@ public class PositionReadFileInStream extends FileInStream {
     return mCache.mPolicy.getPrefetchSize();
   }
 
+  @VisibleForTesting
+  long getReadAheadBytes() {
+    return mCache.mReadAheadBytes;
+  }
+
   @Override
   public int read(byte[] b, int off, int len) throws IOException {
     Objects.requireNonNull(b, "Read buffer cannot be null");
@@ -282,6 +442,18 @@ public class PositionReadFileInStream extends FileInStream {
     return totalBytesRead;
   }
 
+  @Override
+  public int[] readRanges(List<ReadRange> ranges) throws IOException {
+    Preconditions.checkState(!mClosed, "Cannot do operations on a closed BlockInStream");
+    return mPositionReader.readRanges(ranges);
+  }
+
+  @Override
+  public boolean isReadRangesThreadSafe() {
+    // the ranges are read by the position reader only, which serves concurrent reads
+    return true;
+  }
+
   @Override
   public long getPos() throws IOException {
     return mPos;
@@ -316,7 +488,7 @@ public class PositionReadFileInStream extends FileInStream {
       return;
     }
     mClosed = true;
-    mPositionReader.close();
     mCache.close();
+    mPositionReader.close();
   }
 }
@@ -0,0 +1,341 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.client.file.cache;
+
+import alluxio.client.file.CacheContext;
+import alluxio.metrics.MetricKey;
+import alluxio.metrics.MetricsSystem;
+import alluxio.util.ThreadFactoryUtils;
+
+import com.codahale.metrics.Counter;
+import com.codahale.metrics.Timer;
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Preconditions;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.GuardedBy;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * Writes pages to the cache in the background.
+ * <p>
+ * The data of a page is copied into a buffer of a pool when the page is queued, so the caller can
+ * reuse its own buffer right away. The pool never holds more than a fixed number of bytes, and
+ * pages arriving when the pool is exhausted are dropped. Queued pages are grouped by file, and a
+ * writer takes all the queued pages of a file at once to write them in the order of their
+ * indexes. The pages of a file requested again while they are still queued are written before
+ * the pages of the other files.
+ */
+@ThreadSafe
+class AsyncCachePopulator implements Closeable {
+  private static final Logger LOG = LoggerFactory.getLogger(AsyncCachePopulator.class);
+
+  /**
+   * Writes a page to the cache.
+   */
+  @FunctionalInterface
+  interface PageWriter {
+    /**
+     * @param pageId page identifier
+     * @param page page data
+     * @param cacheContext cache related context
+     * @return true if the page is written
+     */
+    boolean write(PageId pageId, ByteBuffer page, CacheContext cacheContext);
+  }
+
+  /**
+   * Result of adding a page.
+   */
+  enum AddResult {
+    /** The page is queued to be written. */
+    QUEUED,
+    /** The page is already queued or being written. */
+    ALREADY_QUEUED,
+    /** The page is dropped as no buffer is left to hold it. */
+    DROPPED,
+  }
+
+  private final PageWriter mWriter;
+  private final int mBufferSize;
+  private final int mMaxBuffers;
+  private final int mMaxWriters;
+  private final ExecutorService mExecutor;
+
+  /** Buffers returned by written pages, ready to be reused. */
+  @GuardedBy("this")
+  private final Deque<byte[]> mFreeBuffers = new ArrayDeque<>();
+  @GuardedBy("this")
+  private int mAllocatedBuffers = 0;
+  /** Pages queued or being written. */
+  @GuardedBy("this")
+  private final Map<PageId, QueuedPage> mPages = new HashMap<>();
+  /** Batches not taken by a writer yet, by file. */
+  @GuardedBy("this")
+  private final Map<String, Batch> mBatches = new HashMap<>();
+  @GuardedBy("this")
+  private final LinkedHashSet<Batch> mPriorityQueue = new LinkedHashSet<>();
+  @GuardedBy("this")
+  private final LinkedHashSet<Batch> mQueue = new LinkedHashSet<>();
+  @GuardedBy("this")
+  private int mActiveWriters = 0;
+  @GuardedBy("this")
+  private boolean mClosed = false;
+
+  /**
+   * @param writer writes a page to the cache
+   * @param pageSize size of a page
+   * @param capacity max number of bytes of the buffers holding queued pages
+   * @param threads number of threads writing pages
+   */
+  AsyncCachePopulator(PageWriter writer, long pageSize, long capacity, int threads) {
+    Preconditions.checkArgument(pageSize > 0 && pageSize <= Integer.MAX_VALUE,
+        "Invalid page size %s", pageSize);
+    Preconditions.checkArgument(capacity >= pageSize,
+        "Async write buffer size %s must not be smaller than the page size %s",
+        capacity, pageSize);
+    Preconditions.checkArgument(threads > 0, "Invalid number of threads %s", threads);
+    mWriter = writer;
+    mBufferSize = (int) pageSize;
+    mMaxBuffers = (int) Math.min(capacity / pageSize, Integer.MAX_VALUE);
+    mMaxWriters = threads;
+    mExecutor = Executors.newFixedThreadPool(threads,
+        ThreadFactoryUtils.build("alluxio-cache-async-write-%d", true));
+  }
+
+  /**
+   * Queues a page to be written. The data of the page is copied, and the position of the given
+   * buffer is not changed.
+   *
+   * @param pageId page identifier
+   * @param page page data
+   * @param cacheContext cache related context
+   * @return the result of adding the page
+   */
+  AddResult add(PageId pageId, ByteBuffer page, CacheContext cacheContext) {
+    int length = page.remaining();
+    byte[] buffer;
+    synchronized (this) {
+      if (mClosed) {
+        return AddResult.DROPPED;
+      }
+      QueuedPage queued = mPages.get(pageId);
+      if (queued != null) {
+        // requested again while queued, write the file ahead of the others
+        Batch batch = mBatches.get(pageId.getFileId());
+        if (batch != null && batch.mPages.containsKey(pageId.getPageIndex())
+            && mQueue.remove(batch)) {
+          mPriorityQueue.add(batch);
+        }
+        return AddResult.ALREADY_QUEUED;
+      }
+      buffer = allocate(length);
+      if (buffer == null) {
+        Metrics.DROPPED_BYTES.inc(length);
+        return AddResult.DROPPED;
+      }
+      // reserve the page id, so that concurrent adds of the same page are rejected while copying
+      mPages.put(pageId, new QueuedPage(pageId, null, 0, cacheContext));
+    }
+    page.duplicate().get(buffer, 0, length);
+    synchronized (this) {
+      if (mClosed) {
+        mPages.remove(pageId);
+        release(buffer);
+        return AddResult.DROPPED;
+      }
+      QueuedPage queued = new QueuedPage(pageId, buffer, length, cacheContext);
+      mPages.put(pageId, queued);
+      Batch batch = mBatches.get(pageId.getFileId());
+      if (batch == null) {
+        batch = new Batch(pageId.getFileId());
+        mBatches.put(pageId.getFileId(), batch);
+        mQueue.add(batch);
+      }
+      batch.mPages.put(pageId.getPageIndex(), queued);
+      Metrics.QUEUED_BYTES.addAndGet(length);
+      if (mActiveWriters < mMaxWriters) {
+        try {
+          mExecutor.submit(this::drain);
+          mActiveWriters++;
+        } catch (RejectedExecutionException e) {
+          LOG.debug("Failed to start a writer, queued pages are written by running writers", e);
+        }
+      }
+    }
+    return AddResult.QUEUED;
+  }
+
+  /**
+   * @return number of pages queued or being written
+   */
+  @VisibleForTesting
+  synchronized int getNumPages() {
+    return mPages.size();
+  }
+
+  @Override
+  public void close() {
+    synchronized (this) {
+      mClosed = true;
+      for (Batch batch : mBatches.values()) {
+        for (QueuedPage page : batch.mPages.values()) {
+          mPages.remove(page.mPageId);
+          Metrics.QUEUED_BYTES.addAndGet(-page.mLength);
+        }
+      }
+      mBatches.clear();
+      mQueue.clear();
+      mPriorityQueue.clear();
+      mFreeBuffers.clear();
+    }
+    mExecutor.shutdownNow();
+  }
+
+  /**
+   * Writes queued batches until none is left.
+   */
+  private void drain() {
+    while (true) {
+      Batch batch;
+      synchronized (this) {
+        batch = poll(mPriorityQueue);
+        if (batch == null) {
+          batch = poll(mQueue);
+        }
+        if (batch == null) {
+          mActiveWriters--;
+          return;
+        }
+        mBatches.remove(batch.mFileId);
+      }
+      for (QueuedPage page : batch.mPages.values()) {
+        write(page);
+      }
+    }
+  }
+
+  private void write(QueuedPage page) {
+    try (Timer.Context ctx = Metrics.WRITE_LATENCY.time()) {
+      if (!mWriter.write(page.mPageId, ByteBuffer.wrap(page.mBuffer, 0, page.mLength),
+          page.mCacheContext)) {
+        LOG.debug("Failed to write page {} asynchronously", page.mPageId);
+      }
+    } catch (Throwable t) {
+      LOG.warn("Failed to write page {} asynchronously", page.mPageId, t);
+    } finally {
+      synchronized (this) {
+        mPages.remove(page.mPageId);
+        release(page.mBuffer);
+      }
+      Metrics.QUEUED_BYTES.addAndGet(-page.mLength);
+    }
+  }
+
+  @GuardedBy("this")
+  @Nullable
+  private byte[] allocate(int length) {
+    if (length > mBufferSize) {
+      LOG.debug("Page of {} bytes is larger than the page size {}", length, mBufferSize);
+      return null;
+    }
+    byte[] buffer = mFreeBuffers.poll();
+    if (buffer == null && mAllocatedBuffers < mMaxBuffers) {
+      buffer = new byte[mBufferSize];
+      mAllocatedBuffers++;
+    }
+    return buffer;
+  }
+
+  @GuardedBy("this")
+  private void release(byte[] buffer) {
+    if (mClosed) {
+      mAllocatedBuffers--;
+    } else {
+      mFreeBuffers.push(buffer);
+    }
+  }
+
+  @Nullable
+  private static Batch poll(LinkedHashSet<Batch> queue) {
+    Iterator<Batch> iterator = queue.iterator();
+    if (!iterator.hasNext()) {
+      return null;
+    }
+    Batch batch = iterator.next();
+    iterator.remove();
+    return batch;
+  }
+
+  /**
+   * Queued pages of a file, ordered by page index.
+   */
+  private static final class Batch {
+    private final String mFileId;
+    private final TreeMap<Long, QueuedPage> mPages = new TreeMap<>();
+
+    private Batch(String fileId) {
+      mFileId = fileId;
+    }
+  }
+
+  /**
+   * A page held in a buffer of the pool.
+   */
+  private static final class QueuedPage {
+    private final PageId mPageId;
+    private final byte[] mBuffer;
+    private final int mLength;
+    private final CacheContext mCacheContext;
+
+    private QueuedPage(PageId pageId, byte[] buffer, int length, CacheContext cacheContext) {
+      mPageId = pageId;
+      mBuffer = buffer;
+      mLength = length;
+      mCacheContext = cacheContext;
+    }
+  }
+
+  private static final class Metrics {
+    /** Bytes of the pages dropped as no buffer is left to hold them. */
+    private static final Counter DROPPED_BYTES =
+        MetricsSystem.counter(MetricKey.CLIENT_CACHE_ASYNC_WRITE_DROPPED_BYTES.getName());
+    /** Latency of writing a queued page to the cache. */
+    private static final Timer WRITE_LATENCY =
+        MetricsSystem.timer(MetricKey.CLIENT_CACHE_ASYNC_WRITE_LATENCY.getName());
+    /** Bytes of the pages queued or being written by all the populators. */
+    private static final AtomicLong QUEUED_BYTES = new AtomicLong();
+
+    static {
+      MetricsSystem.registerGaugeIfAbsent(
+          MetricsSystem.getMetricName(MetricKey.CLIENT_CACHE_ASYNC_WRITE_QUEUE_BYTES.getName()),
+          QUEUED_BYTES::get);
+    }
+
+    private Metrics() {} // prevent instantiation
+  }
+}
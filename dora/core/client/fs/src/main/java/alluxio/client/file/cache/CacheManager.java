@@ -16,10 +16,12 @@ import alluxio.conf.AlluxioConfiguration;
 import alluxio.conf.PropertyKey;
 import alluxio.exception.PageNotFoundException;
 import alluxio.file.ByteArrayTargetBuffer;
+import alluxio.file.ByteBufferTargetBuffer;
 import alluxio.file.ReadTargetBuffer;
 import alluxio.metrics.MetricKey;
 import alluxio.metrics.MetricsSystem;
 import alluxio.metrics.MultiDimensionalMetricsSystem;
+import alluxio.network.protocol.databuffer.DataBuffer;
 import alluxio.network.protocol.databuffer.DataFileChannel;
 import alluxio.resource.LockResource;
 
@@ -31,6 +33,7 @@ import java.io.IOException;
 import java.nio.ByteBuffer;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
@@ -295,6 +298,60 @@ public interface CacheManager extends AutoCloseable, CacheStatus {
   int get(PageId pageId, int pageOffset, int bytesToRead, ReadTargetBuffer buffer,
       CacheContext cacheContext);
 
+  /**
+   * Reads consecutive parts of several pages found in the cache, as if by calling
+   * {@link #get(PageId, int, int, ReadTargetBuffer, CacheContext)} on each page in turn. The
+   * first page is read from the given offset, and each page is read up to the page size until the
+   * given number of bytes are read. Stops at the first page which is not found in the cache.
+   *
+   * @param pageIds identifiers of consecutive pages
+   * @param pageSize size of the pages, only the last page read can be smaller
+   * @param pageOffset offset into the first page
+   * @param bytesToRead number of bytes to read from all the pages
+   * @param buffer destination buffer to write
+   * @param cacheContext cache related context
+   * @return number of bytes read, 0 if the first page is not found, -1 on errors
+   */
+  default int get(List<PageId> pageIds, long pageSize, int pageOffset, int bytesToRead,
+      ReadTargetBuffer buffer, CacheContext cacheContext) {
+    int bytesRead = 0;
+    for (int i = 0; i < pageIds.size() && bytesRead < bytesToRead; i++) {
+      int offset = i == 0 ? pageOffset : 0;
+      int length = (int) Math.min(pageSize - offset, bytesToRead - bytesRead);
+      int bytes = get(pageIds.get(i), offset, length, buffer, cacheContext);
+      if (bytes <= 0) {
+        return bytesRead > 0 ? bytesRead : bytes;
+      }
+      bytesRead += bytes;
+      if (bytes < length) {
+        break;
+      }
+    }
+    return bytesRead;
+  }
+
+  /**
+   * Starts reading a part of a page if the queried page is found in the cache, and returns a
+   * future completed with the number of bytes read once they are in the buffer. This allows a
+   * single thread to have reads of several pages in flight at the same time. The default
+   * implementation reads the page synchronously.
+   * <p>
+   * The buffer is written from its position, which is advanced by the number of bytes read, and
+   * must not be accessed until the future is completed.
+   *
+   * @param pageId page identifier
+   * @param pageOffset offset into the page
+   * @param bytesToRead number of bytes to read in this page
+   * @param buffer destination buffer to write
+   * @param cacheContext cache related context
+   * @return a future of the number of bytes read, 0 if page is not found, -1 on errors
+   */
+  default CompletableFuture<Integer> getAsync(PageId pageId, int pageOffset, int bytesToRead,
+      ByteBuffer buffer, CacheContext cacheContext) {
+    return CompletableFuture.completedFuture(get(pageId, pageOffset, bytesToRead,
+        new ByteBufferTargetBuffer(buffer), cacheContext));
+  }
+
   /**
    * Reads a part of a page if the queried page is found in the cache, stores the result in buffer.
    * Loads the page otherwise.
@@ -349,7 +406,8 @@ public interface CacheManager extends AutoCloseable, CacheStatus {
 
   /**
    * @param pageId the page id
-   * @return true if the page is cached. This method is not thread-safe as no lock is acquired
+   * @return true if the page is cached. The page may be added or removed right after this
+   *         method returns, as the page is not locked
    */
   default boolean hasPageUnsafe(PageId pageId) {
     throw new UnsupportedOperationException();
@@ -393,4 +451,20 @@ public interface CacheManager extends AutoCloseable, CacheStatus {
   Optional<DataFileChannel> getDataFileChannel(
       PageId pageId, int pageOffset, int bytesToRead, CacheContext cacheContext)
       throws PageNotFoundException;
+
+  /**
+   * Get a read-only {@link DataBuffer} over part of a cached page without copying it. The page
+   * stays readable through the buffer until the buffer is released, even if it gets evicted.
+   * @param pageId the page id
+   * @param pageOffset the offset inside the page
+   * @param bytesToRead the bytes to read
+   * @param cacheContext the cache context
+   * @return the buffer, or empty if the page is not cached or the page store does not support
+   *         zero-copy reads
+   */
+  default Optional<DataBuffer> getDataBuffer(
+      PageId pageId, int pageOffset, int bytesToRead, CacheContext cacheContext)
+      throws PageNotFoundException {
+    return Optional.empty();
+  }
 }
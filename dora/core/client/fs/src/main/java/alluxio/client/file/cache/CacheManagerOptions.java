@@ -23,10 +23,12 @@ import java.util.List;
  */
 public class CacheManagerOptions {
   private boolean mAsyncRestoreEnabled;
+  private long mAsyncWriteBufferSize;
   private boolean mAsyncWriteEnabled;
   private int mAsyncWriteThreads;
   private CacheEvictorOptions mCacheEvictorOptions;
   private int mMaxEvictionRetries;
+  private PageMetaStoreType mMetaStoreType = PageMetaStoreType.LOCKED;
   private long mPageSize;
   private List<PageStoreOptions> mPageStoreOptions;
   private boolean mQuotaEnabled;
@@ -47,10 +49,14 @@ public class CacheManagerOptions {
     CacheManagerOptions options = new CacheManagerOptions()
         .setAsyncRestoreEnabled(
             conf.getBoolean(PropertyKey.USER_CLIENT_CACHE_ASYNC_RESTORE_ENABLED))
+        .setAsyncWriteBufferSize(
+            conf.getBytes(PropertyKey.USER_CLIENT_CACHE_ASYNC_WRITE_BUFFER_SIZE))
         .setAsyncWriteThreads(conf.getInt(PropertyKey.USER_CLIENT_CACHE_ASYNC_WRITE_THREADS))
         .setIsAsyncWriteEnabled(
             conf.getBoolean(PropertyKey.USER_CLIENT_CACHE_ASYNC_WRITE_ENABLED))
         .setMaxEvictionRetries(conf.getInt(PropertyKey.USER_CLIENT_CACHE_EVICTION_RETRIES))
+        .setMetaStoreType(conf.getEnum(PropertyKey.USER_CLIENT_CACHE_META_STORE_TYPE,
+            PageMetaStoreType.class))
         .setPageSize(conf.getBytes(PropertyKey.USER_CLIENT_CACHE_PAGE_SIZE))
         .setQuotaEnabled(conf.getBoolean(PropertyKey.USER_CLIENT_CACHE_QUOTA_ENABLED))
         .setTtlEnabled(conf.getBoolean(PropertyKey.USER_CLIENT_CACHE_TTL_ENABLED))
@@ -75,10 +81,14 @@ public class CacheManagerOptions {
     CacheManagerOptions options = new CacheManagerOptions()
         .setAsyncRestoreEnabled(
             conf.getBoolean(PropertyKey.WORKER_PAGE_STORE_ASYNC_RESTORE_ENABLED))
+        .setAsyncWriteBufferSize(
+            conf.getBytes(PropertyKey.WORKER_PAGE_STORE_ASYNC_WRITE_BUFFER_SIZE))
         .setAsyncWriteThreads(conf.getInt(PropertyKey.WORKER_PAGE_STORE_ASYNC_WRITE_THREADS))
         .setIsAsyncWriteEnabled(
             conf.getBoolean(PropertyKey.WORKER_PAGE_STORE_ASYNC_WRITE_ENABLED))
         .setMaxEvictionRetries(conf.getInt(PropertyKey.WORKER_PAGE_STORE_EVICTION_RETRIES))
+        .setMetaStoreType(conf.getEnum(PropertyKey.WORKER_PAGE_STORE_META_STORE_TYPE,
+            PageMetaStoreType.class))
         .setPageSize(conf.getBytes(PropertyKey.WORKER_PAGE_STORE_PAGE_SIZE))
         .setQuotaEnabled(conf.getBoolean(PropertyKey.WORKER_PAGE_STORE_QUOTA_ENABLED))
         .setCacheEvictorOptions(cacheEvictorOptions)
@@ -106,6 +116,13 @@ public class CacheManagerOptions {
     return mAsyncWriteEnabled;
   }
 
+  /**
+   * @return max number of bytes of the pages queued for async write
+   */
+  public long getAsyncWriteBufferSize() {
+    return mAsyncWriteBufferSize;
+  }
+
   /**
    * @return number of thread for async write
    */
@@ -113,6 +130,13 @@ public class CacheManagerOptions {
     return mAsyncWriteThreads;
   }
 
+  /**
+   * @return type of the page metadata store
+   */
+  public PageMetaStoreType getMetaStoreType() {
+    return mMetaStoreType;
+  }
+
   /**
    * @return if quota is enabled
    */
@@ -188,6 +212,15 @@ public class CacheManagerOptions {
     return this;
   }
 
+  /**
+   * @param asyncWriteBufferSize
+   * @return the updated options
+   */
+  public CacheManagerOptions setAsyncWriteBufferSize(long asyncWriteBufferSize) {
+    mAsyncWriteBufferSize = asyncWriteBufferSize;
+    return this;
+  }
+
   /**
    * @param asyncWriteThreads
    * @return the updated options
@@ -224,6 +257,15 @@ public class CacheManagerOptions {
     return this;
   }
 
+  /**
+   * @param metaStoreType type of the page metadata store
+   * @return the updated options
+   */
+  public CacheManagerOptions setMetaStoreType(PageMetaStoreType metaStoreType) {
+    mMetaStoreType = metaStoreType;
+    return this;
+  }
+
   /**
    * @param isQuotaEnabled
    * @return the updated options
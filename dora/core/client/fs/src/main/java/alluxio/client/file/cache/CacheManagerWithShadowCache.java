@@ -20,6 +20,7 @@ import alluxio.exception.PageNotFoundException;
 import alluxio.file.ReadTargetBuffer;
 import alluxio.metrics.MetricKey;
 import alluxio.metrics.MetricsSystem;
+import alluxio.network.protocol.databuffer.DataBuffer;
 import alluxio.network.protocol.databuffer.DataFileChannel;
 
 import com.codahale.metrics.Counter;
@@ -184,6 +185,12 @@ public class CacheManagerWithShadowCache implements CacheManager {
     return mCacheManager.getDataFileChannel(pageId, pageOffset, bytesToRead, cacheContext);
   }
 
+  @Override
+  public Optional<DataBuffer> getDataBuffer(PageId pageId, int pageOffset,
+      int bytesToRead, CacheContext cacheContext) throws PageNotFoundException {
+    return mCacheManager.getDataBuffer(pageId, pageOffset, bytesToRead, cacheContext);
+  }
+
   /**
    * Decrease each item's clock and clean stale items.
    */
@@ -0,0 +1,383 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.client.file.cache;
+
+import alluxio.client.file.cache.store.PageStoreDir;
+import alluxio.client.quota.CacheScope;
+
+import com.google.common.base.Preconditions;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.NotThreadSafe;
+
+/**
+ * A {@link PageIndex} keeping the metadata of pages in primitive arrays instead of one
+ * {@link PageInfo} object and a few index entries per page.
+ * <p>
+ * File IDs are interned to integer handles, and the page store dirs and cache scopes, which only
+ * have a few distinct values, to small integer handles as well. Each page takes a slot in the
+ * parallel arrays holding its file handle, page index, size, dir, scope and creation time, and
+ * the slots of the pages of a file are chained in a doubly linked list to serve lookups by file.
+ * Slots are located by an open addressing hash table of slot numbers. {@link PageInfo} objects
+ * are only created on lookups, and are short lived.
+ * <p>
+ * This index is not thread safe. Lookups may run concurrently with each other, but not with
+ * updates, so lookups must hold the read lock of the {@link DefaultPageMetaStore} and updates
+ * its write lock.
+ */
+@NotThreadSafe
+class CompactPageIndex implements PageIndex {
+  private static final int INITIAL_CAPACITY = 16;
+  private static final float LOAD_FACTOR = 0.75f;
+  private static final int NONE = -1;
+
+  /** Interned file IDs, from file ID to file handle. */
+  private final Map<String, Integer> mFileHandles = new HashMap<>();
+  private String[] mFileIds;
+  /** First slot of the pages of each file, or the next free handle for unused handles. */
+  private int[] mFileHeads;
+  private int[] mFilePageCounts;
+  private int mNumFileHandles;
+  private int mFreeFileHandle;
+
+  private final RefTable<PageStoreDir> mDirs = new RefTable<>();
+  private final RefTable<CacheScope> mScopes = new RefTable<>();
+
+  private int[] mSlotFiles;
+  private long[] mSlotPageIndexes;
+  private int[] mSlotPageSizes;
+  private int[] mSlotDirs;
+  private int[] mSlotScopes;
+  private long[] mSlotCreatedTimestamps;
+  /** Next slot of the same file, or the next free slot for unused slots. */
+  private int[] mSlotNext;
+  private int[] mSlotPrev;
+  private int mNumSlots;
+  private int mFreeSlot;
+  private int mSize;
+
+  /** Hash table of slot numbers plus one, zero for empty buckets. */
+  private int[] mTable;
+
+  /**
+   * Creates an empty index.
+   */
+  CompactPageIndex() {
+    init();
+  }
+
+  private void init() {
+    mFileHandles.clear();
+    mFileIds = new String[INITIAL_CAPACITY];
+    mFileHeads = new int[INITIAL_CAPACITY];
+    mFilePageCounts = new int[INITIAL_CAPACITY];
+    mNumFileHandles = 0;
+    mFreeFileHandle = NONE;
+    mSlotFiles = new int[INITIAL_CAPACITY];
+    mSlotPageIndexes = new long[INITIAL_CAPACITY];
+    mSlotPageSizes = new int[INITIAL_CAPACITY];
+    mSlotDirs = new int[INITIAL_CAPACITY];
+    mSlotScopes = new int[INITIAL_CAPACITY];
+    mSlotCreatedTimestamps = new long[INITIAL_CAPACITY];
+    mSlotNext = new int[INITIAL_CAPACITY];
+    mSlotPrev = new int[INITIAL_CAPACITY];
+    mNumSlots = 0;
+    mFreeSlot = NONE;
+    mSize = 0;
+    mTable = new int[tableSizeFor(INITIAL_CAPACITY)];
+  }
+
+  @Override
+  public boolean contains(PageId pageId) {
+    return find(pageId) != NONE;
+  }
+
+  @Override
+  @Nullable
+  public PageInfo get(PageId pageId) {
+    int slot = find(pageId);
+    return slot == NONE ? null : toPageInfo(slot);
+  }
+
+  @Override
+  public boolean add(PageInfo pageInfo) {
+    PageId pageId = pageInfo.getPageId();
+    if (find(pageId) != NONE) {
+      return false;
+    }
+    Preconditions.checkArgument(pageInfo.getPageSize() <= Integer.MAX_VALUE,
+        "Page size %s is too large", pageInfo.getPageSize());
+    int file = internFile(pageId.getFileId());
+    int slot = allocateSlot();
+    mSlotFiles[slot] = file;
+    mSlotPageIndexes[slot] = pageId.getPageIndex();
+    mSlotPageSizes[slot] = (int) pageInfo.getPageSize();
+    mSlotDirs[slot] = mDirs.intern(pageInfo.getLocalCacheDir());
+    mSlotScopes[slot] = mScopes.intern(pageInfo.getScope());
+    mSlotCreatedTimestamps[slot] = pageInfo.getCreatedTimestamp();
+    // link at the head of the pages of the file
+    int head = mFileHeads[file];
+    mSlotPrev[slot] = NONE;
+    mSlotNext[slot] = head;
+    if (head != NONE) {
+      mSlotPrev[head] = slot;
+    }
+    mFileHeads[file] = slot;
+    mFilePageCounts[file]++;
+    mSize++;
+    if (mSize > mTable.length * LOAD_FACTOR) {
+      rehash(mTable.length * 2);
+    } else {
+      insert(slot);
+    }
+    return true;
+  }
+
+  @Override
+  public boolean remove(PageInfo pageInfo) {
+    int slot = find(pageInfo.getPageId());
+    if (slot == NONE) {
+      return false;
+    }
+    deleteFromTable(slot);
+    int file = mSlotFiles[slot];
+    int prev = mSlotPrev[slot];
+    int next = mSlotNext[slot];
+    if (prev == NONE) {
+      mFileHeads[file] = next;
+    } else {
+      mSlotNext[prev] = next;
+    }
+    if (next != NONE) {
+      mSlotPrev[next] = prev;
+    }
+    if (--mFilePageCounts[file] == 0) {
+      releaseFile(file);
+    }
+    mSlotNext[slot] = mFreeSlot;
+    mFreeSlot = slot;
+    mSize--;
+    return true;
+  }
+
+  @Override
+  public Set<PageInfo> getByFileId(String fileId) {
+    Integer file = mFileHandles.get(fileId);
+    if (file == null) {
+      return Collections.emptySet();
+    }
+    Set<PageInfo> pages = new HashSet<>(mFilePageCounts[file] * 2);
+    for (int slot = mFileHeads[file]; slot != NONE; slot = mSlotNext[slot]) {
+      pages.add(toPageInfo(slot));
+    }
+    return pages;
+  }
+
+  @Override
+  @Nullable
+  public PageInfo getFirstByFileId(String fileId) {
+    Integer file = mFileHandles.get(fileId);
+    return file == null ? null : toPageInfo(mFileHeads[file]);
+  }
+
+  @Override
+  public PageInfo intern(PageInfo pageInfo) {
+    PageId pageId = pageInfo.getPageId();
+    Integer file = mFileHandles.get(pageId.getFileId());
+    if (file == null || mFileIds[file] == pageId.getFileId()) {
+      return pageInfo;
+    }
+    return new PageInfo(new PageId(mFileIds[file], pageId.getPageIndex()),
+        pageInfo.getPageSize(), pageInfo.getScope(), pageInfo.getLocalCacheDir(),
+        pageInfo.getCreatedTimestamp());
+  }
+
+  @Override
+  public int size() {
+    return mSize;
+  }
+
+  @Override
+  public void clear() {
+    init();
+    mDirs.clear();
+    mScopes.clear();
+  }
+
+  private PageInfo toPageInfo(int slot) {
+    return new PageInfo(new PageId(mFileIds[mSlotFiles[slot]], mSlotPageIndexes[slot]),
+        mSlotPageSizes[slot], mScopes.get(mSlotScopes[slot]), mDirs.get(mSlotDirs[slot]),
+        mSlotCreatedTimestamps[slot]);
+  }
+
+  /**
+   * @return the slot of the page, or {@link #NONE} if the page is not indexed
+   */
+  private int find(PageId pageId) {
+    Integer file = mFileHandles.get(pageId.getFileId());
+    if (file == null) {
+      return NONE;
+    }
+    long pageIndex = pageId.getPageIndex();
+    int mask = mTable.length - 1;
+    for (int bucket = hash(file, pageIndex) & mask; ; bucket = (bucket + 1) & mask) {
+      int slot = mTable[bucket] - 1;
+      if (slot == NONE) {
+        return NONE;
+      }
+      if (mSlotFiles[slot] == file && mSlotPageIndexes[slot] == pageIndex) {
+        return slot;
+      }
+    }
+  }
+
+  private void insert(int slot) {
+    int mask = mTable.length - 1;
+    int bucket = hash(mSlotFiles[slot], mSlotPageIndexes[slot]) & mask;
+    while (mTable[bucket] != 0) {
+      bucket = (bucket + 1) & mask;
+    }
+    mTable[bucket] = slot + 1;
+  }
+
+  /**
+   * Removes the slot from the hash table, shifting back the following entries of the probe
+   * sequence so that no tombstone is needed.
+   */
+  private void deleteFromTable(int slot) {
+    int mask = mTable.length - 1;
+    int hole = hash(mSlotFiles[slot], mSlotPageIndexes[slot]) & mask;
+    while (mTable[hole] != slot + 1) {
+      hole = (hole + 1) & mask;
+    }
+    for (int bucket = (hole + 1) & mask; mTable[bucket] != 0; bucket = (bucket + 1) & mask) {
+      int other = mTable[bucket] - 1;
+      int home = hash(mSlotFiles[other], mSlotPageIndexes[other]) & mask;
+      // move the entry into the hole unless its home bucket lies cyclically in (hole, bucket]
+      if (((bucket - home) & mask) >= ((bucket - hole) & mask)) {
+        mTable[hole] = mTable[bucket];
+        hole = bucket;
+      }
+    }
+    mTable[hole] = 0;
+  }
+
+  private void rehash(int tableSize) {
+    mTable = new int[tableSize];
+    for (int file = 0; file < mNumFileHandles; file++) {
+      if (mFilePageCounts[file] == 0) {
+        continue;
+      }
+      for (int slot = mFileHeads[file]; slot != NONE; slot = mSlotNext[slot]) {
+        insert(slot);
+      }
+    }
+  }
+
+  private int allocateSlot() {
+    if (mFreeSlot != NONE) {
+      int slot = mFreeSlot;
+      mFreeSlot = mSlotNext[slot];
+      return slot;
+    }
+    if (mNumSlots == mSlotFiles.length) {
+      int capacity = mNumSlots * 2;
+      mSlotFiles = Arrays.copyOf(mSlotFiles, capacity);
+      mSlotPageIndexes = Arrays.copyOf(mSlotPageIndexes, capacity);
+      mSlotPageSizes = Arrays.copyOf(mSlotPageSizes, capacity);
+      mSlotDirs = Arrays.copyOf(mSlotDirs, capacity);
+      mSlotScopes = Arrays.copyOf(mSlotScopes, capacity);
+      mSlotCreatedTimestamps = Arrays.copyOf(mSlotCreatedTimestamps, capacity);
+      mSlotNext = Arrays.copyOf(mSlotNext, capacity);
+      mSlotPrev = Arrays.copyOf(mSlotPrev, capacity);
+    }
+    return mNumSlots++;
+  }
+
+  private int internFile(String fileId) {
+    Integer existing = mFileHandles.get(fileId);
+    if (existing != null) {
+      return existing;
+    }
+    int file;
+    if (mFreeFileHandle != NONE) {
+      file = mFreeFileHandle;
+      mFreeFileHandle = mFileHeads[file];
+    } else {
+      if (mNumFileHandles == mFileIds.length) {
+        int capacity = mNumFileHandles * 2;
+        mFileIds = Arrays.copyOf(mFileIds, capacity);
+        mFileHeads = Arrays.copyOf(mFileHeads, capacity);
+        mFilePageCounts = Arrays.copyOf(mFilePageCounts, capacity);
+      }
+      file = mNumFileHandles++;
+    }
+    mFileIds[file] = fileId;
+    mFileHeads[file] = NONE;
+    mFilePageCounts[file] = 0;
+    mFileHandles.put(fileId, file);
+    return file;
+  }
+
+  private void releaseFile(int file) {
+    mFileHandles.remove(mFileIds[file]);
+    mFileIds[file] = null;
+    mFileHeads[file] = mFreeFileHandle;
+    mFreeFileHandle = file;
+  }
+
+  private static int tableSizeFor(int capacity) {
+    return Integer.highestOneBit((int) Math.ceil(capacity / LOAD_FACTOR) - 1) << 1;
+  }
+
+  private static int hash(int file, long pageIndex) {
+    long h = file * 0x9E3779B97F4A7C15L + pageIndex;
+    h = (h ^ (h >>> 33)) * 0xFF51AFD7ED558CCDL;
+    return (int) (h ^ (h >>> 33));
+  }
+
+  /**
+   * Interns objects with a few distinct values to integer handles. Handles are not released
+   * until the table is cleared.
+   */
+  private static final class RefTable<T> {
+    private final Map<T, Integer> mHandles = new HashMap<>();
+    private final List<T> mRefs = new ArrayList<>();
+
+    int intern(T ref) {
+      Integer handle = mHandles.get(ref);
+      if (handle == null) {
+        handle = mRefs.size();
+        mRefs.add(ref);
+        mHandles.put(ref, handle);
+      }
+      return handle;
+    }
+
+    T get(int handle) {
+      return mRefs.get(handle);
+    }
+
+    void clear() {
+      mHandles.clear();
+      mRefs.clear();
+    }
+  }
+}
@@ -0,0 +1,98 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.client.file.cache;
+
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * A {@link PageIndex} backed by concurrent hash maps, so that pages can be looked up without
+ * holding the lock of the metadata store. Pages are indexed by their identifier, and a secondary
+ * index keeps the set of pages of each file. Both indexes are updated atomically per key, but
+ * an update is not atomic across the two indexes: a reader may observe a page in one index and
+ * not yet in the other. Updates are expected to be serialized by the metadata store.
+ */
+@ThreadSafe
+class ConcurrentPageIndex implements PageIndex {
+  private final ConcurrentHashMap<PageId, PageInfo> mPages = new ConcurrentHashMap<>();
+  private final ConcurrentHashMap<String, Set<PageInfo>> mFiles = new ConcurrentHashMap<>();
+
+  @Override
+  public boolean contains(PageId pageId) {
+    return mPages.containsKey(pageId);
+  }
+
+  @Override
+  @Nullable
+  public PageInfo get(PageId pageId) {
+    return mPages.get(pageId);
+  }
+
+  @Override
+  public boolean add(PageInfo pageInfo) {
+    if (mPages.putIfAbsent(pageInfo.getPageId(), pageInfo) != null) {
+      return false;
+    }
+    mFiles.compute(pageInfo.getPageId().getFileId(), (fileId, pages) -> {
+      if (pages == null) {
+        pages = ConcurrentHashMap.newKeySet();
+      }
+      pages.add(pageInfo);
+      return pages;
+    });
+    return true;
+  }
+
+  @Override
+  public boolean remove(PageInfo pageInfo) {
+    if (!mPages.remove(pageInfo.getPageId(), pageInfo)) {
+      return false;
+    }
+    mFiles.computeIfPresent(pageInfo.getPageId().getFileId(), (fileId, pages) -> {
+      pages.remove(pageInfo);
+      return pages.isEmpty() ? null : pages;
+    });
+    return true;
+  }
+
+  @Override
+  public Set<PageInfo> getByFileId(String fileId) {
+    Set<PageInfo> pages = mFiles.get(fileId);
+    return pages == null ? Collections.emptySet() : Collections.unmodifiableSet(pages);
+  }
+
+  @Override
+  @Nullable
+  public PageInfo getFirstByFileId(String fileId) {
+    Set<PageInfo> pages = mFiles.get(fileId);
+    if (pages == null) {
+      return null;
+    }
+    Iterator<PageInfo> iterator = pages.iterator();
+    return iterator.hasNext() ? iterator.next() : null;
+  }
+
+  @Override
+  public int size() {
+    return mPages.size();
+  }
+
+  @Override
+  public void clear() {
+    mPages.clear();
+    mFiles.clear();
+  }
+}
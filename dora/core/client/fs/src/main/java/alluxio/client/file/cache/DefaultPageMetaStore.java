@@ -18,12 +18,11 @@ import alluxio.client.file.cache.allocator.HashAllocator;
 import alluxio.client.file.cache.evictor.CacheEvictor;
 import alluxio.client.file.cache.store.PageStoreDir;
 import alluxio.client.quota.CacheScope;
-import alluxio.collections.IndexDefinition;
-import alluxio.collections.IndexedSet;
 import alluxio.exception.FileDoesNotExistException;
 import alluxio.exception.PageNotFoundException;
 import alluxio.metrics.MetricKey;
 import alluxio.metrics.MetricsSystem;
+import alluxio.resource.LockResource;
 
 import com.codahale.metrics.Counter;
 import com.google.common.base.Preconditions;
@@ -34,7 +33,12 @@ import org.slf4j.LoggerFactory;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
 import javax.annotation.Nullable;
 import javax.annotation.concurrent.GuardedBy;
@@ -44,24 +48,25 @@ import javax.annotation.concurrent.NotThreadSafe;
  * The default implementation of a metadata store for pages stored in cache. This implementation
  * is not thread safe and requires synchronizations on external callers by acquiring the associated
  * lock.
+ * <p>
+ * With the {@link PageMetaStoreType#CONCURRENT} type, pages are indexed by concurrent maps and
+ * the read lock of the associated lock does not block, so that lookups of pages on cache hits do
+ * not contend on a global lock. Updates still need to hold the write lock. With the
+ * {@link PageMetaStoreType#COMPACT} type, pages are kept in primitive arrays by a
+ * {@link CompactPageIndex} to reduce the heap footprint of each page.
  */
 @NotThreadSafe
 public class DefaultPageMetaStore implements PageMetaStore {
   private static final Logger LOG = LoggerFactory.getLogger(DefaultPageMetaStore.class);
   /** A map from PageId to page info. */
-  private final IndexedSet<PageInfo> mPages = new IndexedSet<>(INDEX_PAGE_ID, INDEX_FILE_ID);
+  private final PageIndex mPages;
   private final ImmutableList<PageStoreDir> mDirs;
   /** The number of logical bytes used. */
   private final AtomicLong mBytes = new AtomicLong(0);
 
-  protected final ReentrantReadWriteLock mLock = new ReentrantReadWriteLock();
+  protected final ReadWriteLock mLock;
   private final Allocator mAllcator;
 
-  private static final IndexDefinition<PageInfo, PageId> INDEX_PAGE_ID =
-      IndexDefinition.ofUnique(PageInfo::getPageId);
-  private static final IndexDefinition<PageInfo, String> INDEX_FILE_ID =
-      IndexDefinition.ofNonUnique(pageInfo -> pageInfo.getPageId().getFileId());
-
   /**
    * @param dirs storage directories
    */
@@ -76,49 +81,68 @@ public class DefaultPageMetaStore implements PageMetaStore {
    * @param allocator storage allocator
    */
   public DefaultPageMetaStore(List<PageStoreDir> dirs, Allocator allocator) {
+    this(dirs, allocator, PageMetaStoreType.LOCKED);
+  }
+
+  /**
+   * Constructor of DefaultMetaStore.
+   *
+   * @param dirs storage directories
+   * @param allocator storage allocator
+   * @param type type of the metadata store
+   */
+  public DefaultPageMetaStore(List<PageStoreDir> dirs, Allocator allocator,
+      PageMetaStoreType type) {
     mDirs = ImmutableList.copyOf(requireNonNull(dirs));
     mAllcator = requireNonNull(allocator);
+    mPages = PageIndex.create(requireNonNull(type));
+    mLock = type == PageMetaStoreType.CONCURRENT
+        ? new WriteOnlyReadWriteLock() : new ReentrantReadWriteLock();
     //metrics for the num of pages stored in the cache
     MetricsSystem.registerGaugeIfAbsent(MetricKey.CLIENT_CACHE_PAGES.getName(),
         mPages::size);
   }
 
   @Override
-  public ReentrantReadWriteLock getLock() {
+  public ReadWriteLock getLock() {
     return mLock;
   }
 
   @Override
   @GuardedBy("getLock()")
   public boolean hasPage(PageId pageId) {
-    return mPages.contains(INDEX_PAGE_ID, pageId);
+    return mPages.contains(pageId);
   }
 
   @Override
   @GuardedBy("getLock()")
   public void addPage(PageId pageId, PageInfo pageInfo) {
-    addPageInternal(pageId, pageInfo);
-    pageInfo.getLocalCacheDir().putPage(pageInfo);
+    PageInfo indexedPageInfo = addPageInternal(pageId, pageInfo);
+    indexedPageInfo.getLocalCacheDir().putPage(indexedPageInfo);
   }
 
-  private void addPageInternal(PageId pageId, PageInfo pageInfo) {
+  /**
+   * @return the page info to be retained by the evictors
+   */
+  private PageInfo addPageInternal(PageId pageId, PageInfo pageInfo) {
     Preconditions.checkArgument(pageId.equals(pageInfo.getPageId()), "page id mismatch");
     mPages.add(pageInfo);
     mBytes.addAndGet(pageInfo.getPageSize());
     Metrics.SPACE_USED.inc(pageInfo.getPageSize());
+    return mPages.intern(pageInfo);
   }
 
   @Override
   @GuardedBy("getLock()")
   public void addTempPage(PageId pageId, PageInfo pageInfo) {
-    addPageInternal(pageId, pageInfo);
-    pageInfo.getLocalCacheDir().putTempPage(pageInfo);
+    PageInfo indexedPageInfo = addPageInternal(pageId, pageInfo);
+    indexedPageInfo.getLocalCacheDir().putTempPage(indexedPageInfo);
   }
 
   @Override
   @GuardedBy("getLock().writeLock()")
   public void commitFile(String fileId, String newFileId) throws PageNotFoundException {
-    Set<PageInfo> pages = mPages.getByField(INDEX_FILE_ID, fileId);
+    Set<PageInfo> pages = mPages.getByFileId(fileId);
     if (pages.size() == 0) {
       throw new PageNotFoundException(
           String.format("No Pages found for file %s when committing", fileId));
@@ -134,7 +158,10 @@ public class DefaultPageMetaStore implements PageMetaStore {
 
   @Override
   public PageStoreDir getStoreDirOfFile(String fileId) throws FileDoesNotExistException {
-    PageInfo pageInfo = mPages.getFirstByField(INDEX_FILE_ID, fileId);
+    PageInfo pageInfo;
+    try (LockResource r = new LockResource(mLock.readLock())) {
+      pageInfo = mPages.getFirstByFileId(fileId);
+    }
     if (pageInfo == null) {
       throw new FileDoesNotExistException(String.format("File %s does not exist in cache", fileId));
     }
@@ -154,23 +181,26 @@ public class DefaultPageMetaStore implements PageMetaStore {
   @Override
   @GuardedBy("getLock()")
   public PageInfo getPageInfo(PageId pageId) throws PageNotFoundException {
-    if (!mPages.contains(INDEX_PAGE_ID, pageId)) {
+    PageInfo pageInfo = mPages.get(pageId);
+    if (pageInfo == null) {
       throw new PageNotFoundException(String.format("Page %s could not be found", pageId));
     }
-    PageInfo pageInfo = mPages.getFirstByField(INDEX_PAGE_ID, pageId);
-    pageInfo.getLocalCacheDir().getEvictor().updateOnGet(pageId);
+    CacheEvictor evictor = pageInfo.getLocalCacheDir().getEvictor();
+    // lookups of the concurrent store do not exclude the updates made under the write lock,
+    // and not all evictors are thread safe
+    synchronized (evictor) {
+      evictor.updateOnGet(pageId);
+    }
     return pageInfo;
   }
 
   @Override
   @GuardedBy("getLock()")
   public PageInfo removePage(PageId pageId, boolean isTemporary) throws PageNotFoundException {
-    if (!mPages.contains(INDEX_PAGE_ID, pageId)) {
+    PageInfo pageInfo = mPages.get(pageId);
+    if (pageInfo == null || !mPages.remove(pageInfo)) {
       throw new PageNotFoundException(String.format("Page %s could not be found", pageId));
     }
-
-    PageInfo pageInfo = mPages.getFirstByField(INDEX_PAGE_ID, pageId);
-    mPages.remove(pageInfo);
     mBytes.addAndGet(-pageInfo.getPageSize());
     Metrics.SPACE_USED.dec(pageInfo.getPageSize());
     if (isTemporary) {
@@ -214,14 +244,19 @@ public class DefaultPageMetaStore implements PageMetaStore {
   }
 
   PageInfo evictInternal(CacheEvictor evictor) {
-    PageId victim = evictor.evict();
+    PageId victim;
+    synchronized (evictor) {
+      victim = evictor.evict();
+    }
     if (victim == null) {
       return null;
     }
-    PageInfo victimInfo = mPages.getFirstByField(INDEX_PAGE_ID, victim);
+    PageInfo victimInfo = mPages.get(victim);
     if (victimInfo == null) {
       LOG.error("Invalid result returned by evictor: page {} not available", victim);
-      evictor.updateOnDelete(victim);
+      synchronized (evictor) {
+        evictor.updateOnDelete(victim);
+      }
       return null;
     }
     return victimInfo;
@@ -230,7 +265,7 @@ public class DefaultPageMetaStore implements PageMetaStore {
   @Override
   @GuardedBy("getLock().readLock()")
   public Set<PageInfo> getAllPagesByFileId(String fileId) {
-    Set<PageInfo> pages = mPages.getByField(INDEX_FILE_ID, fileId);
+    Set<PageInfo> pages = mPages.getByFileId(fileId);
     return pages;
   }
 
@@ -260,7 +295,10 @@ public class DefaultPageMetaStore implements PageMetaStore {
     public Optional<CacheUsage> partitionedBy(PartitionDescriptor<?> partition) {
       if (partition instanceof FilePartition) {
         String fileId = ((FilePartition) partition).getIdentifier();
-        Set<PageInfo> pages = mPages.getByField(INDEX_FILE_ID, fileId);
+        Set<PageInfo> pages;
+        try (LockResource r = new LockResource(mLock.readLock())) {
+          pages = mPages.getByFileId(fileId);
+        }
         long used = pages.stream().mapToLong(PageInfo::getPageSize).sum();
         long capacity = capacity();
         long available = capacity - bytes();
@@ -277,6 +315,52 @@ public class DefaultPageMetaStore implements PageMetaStore {
     }
   }
 
+  /**
+   * A read-write lock whose read lock never blocks, for the metadata store whose index can be
+   * read concurrently with updates. Writers are still mutually exclusive.
+   */
+  private static final class WriteOnlyReadWriteLock implements ReadWriteLock {
+    private final Lock mReadLock = new NoopLock();
+    private final Lock mWriteLock = new ReentrantLock();
+
+    @Override
+    public Lock readLock() {
+      return mReadLock;
+    }
+
+    @Override
+    public Lock writeLock() {
+      return mWriteLock;
+    }
+  }
+
+  private static final class NoopLock implements Lock {
+    @Override
+    public void lock() {}
+
+    @Override
+    public void lockInterruptibly() {}
+
+    @Override
+    public boolean tryLock() {
+      return true;
+    }
+
+    @Override
+    public boolean tryLock(long time, TimeUnit unit) {
+      return true;
+    }
+
+    @Override
+    public void unlock() {}
+
+    @Override
+    public Condition newCondition() {
+      // as the read lock of ReentrantReadWriteLock
+      throw new UnsupportedOperationException("newCondition is not supported by read locks");
+    }
+  }
+
   private static final class Metrics {
     // Note that only counter can be added here.
     // Both meter and timer need to be used inline
@@ -0,0 +1,73 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.client.file.cache;
+
+import alluxio.collections.IndexDefinition;
+import alluxio.collections.IndexedSet;
+
+import java.util.Set;
+import javax.annotation.Nullable;
+
+/**
+ * A {@link PageIndex} backed by an {@link IndexedSet}. Accesses must be serialized by the lock
+ * of the metadata store.
+ */
+class IndexedSetPageIndex implements PageIndex {
+  private static final IndexDefinition<PageInfo, PageId> INDEX_PAGE_ID =
+      IndexDefinition.ofUnique(PageInfo::getPageId);
+  private static final IndexDefinition<PageInfo, String> INDEX_FILE_ID =
+      IndexDefinition.ofNonUnique(pageInfo -> pageInfo.getPageId().getFileId());
+
+  private final IndexedSet<PageInfo> mPages = new IndexedSet<>(INDEX_PAGE_ID, INDEX_FILE_ID);
+
+  @Override
+  public boolean contains(PageId pageId) {
+    return mPages.contains(INDEX_PAGE_ID, pageId);
+  }
+
+  @Override
+  @Nullable
+  public PageInfo get(PageId pageId) {
+    return mPages.getFirstByField(INDEX_PAGE_ID, pageId);
+  }
+
+  @Override
+  public boolean add(PageInfo pageInfo) {
+    return mPages.add(pageInfo);
+  }
+
+  @Override
+  public boolean remove(PageInfo pageInfo) {
+    return mPages.remove(pageInfo);
+  }
+
+  @Override
+  public Set<PageInfo> getByFileId(String fileId) {
+    return mPages.getByField(INDEX_FILE_ID, fileId);
+  }
+
+  @Override
+  @Nullable
+  public PageInfo getFirstByFileId(String fileId) {
+    return mPages.getFirstByField(INDEX_FILE_ID, fileId);
+  }
+
+  @Override
+  public int size() {
+    return mPages.size();
+  }
+
+  @Override
+  public void clear() {
+    mPages.clear();
+  }
+}
@@ -23,7 +23,6 @@ import alluxio.client.file.CacheContext;
 import alluxio.client.file.cache.store.PageStoreDir;
 import alluxio.client.quota.CacheQuota;
 import alluxio.client.quota.CacheScope;
-import alluxio.collections.ConcurrentHashSet;
 import alluxio.collections.Pair;
 import alluxio.exception.FileDoesNotExistException;
 import alluxio.exception.PageCorruptedException;
@@ -34,6 +33,7 @@ import alluxio.file.ReadTargetBuffer;
 import alluxio.metrics.MetricKey;
 import alluxio.metrics.MetricsSystem;
 import alluxio.metrics.MultiDimensionalMetricsSystem;
+import alluxio.network.protocol.databuffer.DataBuffer;
 import alluxio.network.protocol.databuffer.DataFileChannel;
 import alluxio.resource.LockResource;
 
@@ -50,18 +50,22 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
-import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ScheduledExecutorService;
-import java.util.concurrent.SynchronousQueue;
-import java.util.concurrent.ThreadPoolExecutor;
-import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.concurrent.locks.ReadWriteLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
 import java.util.function.Predicate;
 import java.util.function.Supplier;
+import java.util.stream.Collectors;
 import javax.annotation.Nullable;
 import javax.annotation.concurrent.GuardedBy;
 import javax.annotation.concurrent.ThreadSafe;
@@ -90,6 +94,8 @@ public class LocalCacheManager implements CacheManager {
   private static final Logger LOG = LoggerFactory.getLogger(LocalCacheManager.class);
 
   private static final int LOCK_SIZE = 1024;
+  /** How long a miss waits for a concurrent read of the same page before reading it itself. */
+  private static final long LOADING_PAGE_WAIT_SECONDS = 30;
   private final long mCacheSize;
   /**
    * A readwrite lock pool to guard individual pages based on striping.
@@ -103,12 +109,14 @@ public class LocalCacheManager implements CacheManager {
    */
   private final Optional<ExecutorService> mInitService;
   /**
-   * Executor service for execute the async cache tasks.
+   * Writes pages to the cache in the background when async write is enabled.
    */
-  private final Optional<ExecutorService> mAsyncCacheExecutor;
+  private final Optional<AsyncCachePopulator> mAsyncCachePopulator;
   /** Executor service for execute the cache ttl check tasks. */
   private final Optional<ScheduledExecutorService> mTtlEnforcerExecutor;
-  private final ConcurrentHashSet<PageId> mPendingRequests;
+  /** Pages being read from external storage on cache misses, to deduplicate the reads. */
+  private final ConcurrentHashMap<PageId, CompletableFuture<byte[]>> mLoadingPages =
+      new ConcurrentHashMap<>();
   /**
    * State of this cache.
    */
@@ -152,12 +160,16 @@ public class LocalCacheManager implements CacheManager {
     for (int i = 0; i < LOCK_SIZE; i++) {
       mPageLocks[i] = new ReentrantReadWriteLock(true /* fair ordering */);
     }
-    mPendingRequests = new ConcurrentHashSet<>();
-    mAsyncCacheExecutor =
+    mAsyncCachePopulator =
         options.isAsyncWriteEnabled()
-            ? Optional.of(new ThreadPoolExecutor(mOptions.getAsyncWriteThreads(),
-            mOptions.getAsyncWriteThreads(), 60, TimeUnit.SECONDS,
-                new SynchronousQueue<>(), new ThreadPoolExecutor.CallerRunsPolicy()))
+            ? Optional.of(new AsyncCachePopulator((pageId, page, cacheContext) -> {
+              boolean ok = putInternal(pageId, page, cacheContext);
+              if (!ok) {
+                Metrics.PUT_ERRORS.inc();
+              }
+              return ok;
+            }, mOptions.getPageSize(), mOptions.getAsyncWriteBufferSize(),
+                mOptions.getAsyncWriteThreads()))
             : Optional.empty();
     mInitService =
         options.isAsyncRestoreEnabled() ? Optional.of(Executors.newSingleThreadExecutor()) :
@@ -186,10 +198,31 @@ public class LocalCacheManager implements CacheManager {
   public Optional<DataFileChannel> getDataFileChannel(
       PageId pageId, int pageOffset, int bytesToRead, CacheContext cacheContext)
       throws PageNotFoundException {
+    return getFromPageStore("getDataChannel", pageId, pageOffset, bytesToRead, cacheContext,
+        (pageStore, storedPageId) -> Optional.of(pageStore.getDataFileChannel(
+            storedPageId, pageOffset, bytesToRead, cacheContext.isTemporary())));
+  }
+
+  @Override
+  public Optional<DataBuffer> getDataBuffer(
+      PageId pageId, int pageOffset, int bytesToRead, CacheContext cacheContext)
+      throws PageNotFoundException {
+    return getFromPageStore("getDataBuffer", pageId, pageOffset, bytesToRead, cacheContext,
+        (pageStore, storedPageId) -> pageStore.getDataBuffer(
+            storedPageId, pageOffset, bytesToRead, cacheContext.isTemporary()));
+  }
+
+  /**
+   * Reads a page through the given page store accessor without copying the data, accounting
+   * the read as a cache hit if the accessor returns a result.
+   */
+  private <T> Optional<T> getFromPageStore(String opName, PageId pageId, int pageOffset,
+      int bytesToRead, CacheContext cacheContext, PageStoreAccessor<T> accessor)
+      throws PageNotFoundException {
     Preconditions.checkArgument(pageOffset <= mOptions.getPageSize(),
         "Read exceeds page boundary: offset=%s size=%s",
         pageOffset, mOptions.getPageSize());
-    LOG.debug("get({},pageOffset={}) enters", pageId, pageOffset);
+    LOG.debug("{}({},pageOffset={}) enters", opName, pageId, pageOffset);
     if (mState.get() == NOT_IN_USE) {
       Metrics.GET_NOT_READY_ERRORS.inc();
       Metrics.GET_ERRORS.inc();
@@ -202,25 +235,33 @@ public class LocalCacheManager implements CacheManager {
       try (LockResource r2 = new LockResource(mPageMetaStore.getLock().readLock())) {
         pageInfo = mPageMetaStore.getPageInfo(pageId); //check if page exists and refresh LRU items
       } catch (PageNotFoundException e) {
-        LOG.debug("getDataChannel({},pageOffset={}) fails due to page not found in metastore",
-            pageId, pageOffset);
+        LOG.debug("{}({},pageOffset={}) fails due to page not found in metastore",
+            opName, pageId, pageOffset);
         return Optional.empty();
       }
 
       try {
-        DataFileChannel dataFileChannel = pageInfo.getLocalCacheDir().getPageStore()
-            .getDataFileChannel(pageInfo.getPageId(), pageOffset, bytesToRead,
-                cacheContext.isTemporary());
+        Optional<T> result =
+            accessor.access(pageInfo.getLocalCacheDir().getPageStore(), pageInfo.getPageId());
+        if (!result.isPresent()) {
+          return result;
+        }
         MultiDimensionalMetricsSystem.CACHED_DATA_READ.inc(bytesToRead);
         MetricsSystem.counter(MetricKey.CLIENT_CACHE_HIT_REQUESTS.getName()).inc();
         MetricsSystem.meter(MetricKey.CLIENT_CACHE_BYTES_READ_CACHE.getName()).mark(bytesToRead);
         cacheContext.incrementCounter(MetricKey.CLIENT_CACHE_BYTES_READ_CACHE.getMetricName(), BYTE,
             bytesToRead);
-        LOG.debug("getDataChannel({},pageOffset={}) exits", pageId, pageOffset);
-        return Optional.of(dataFileChannel);
+        LOG.debug("{}({},pageOffset={}) exits", opName, pageId, pageOffset);
+        return result;
+      } catch (IOException e) {
+        LOG.debug("{}({},pageOffset={}) fails due to page store read error",
+            opName, pageId, pageOffset, e);
+        Metrics.GET_ERRORS.inc();
+        Metrics.GET_STORE_READ_ERRORS.inc();
+        return Optional.empty();
       } catch (PageNotFoundException e) {
-        LOG.debug("getDataChannel({},pageOffset={}) fails due to page file not found",
-            pageId, pageOffset);
+        LOG.debug("{}({},pageOffset={}) fails due to page file not found",
+            opName, pageId, pageOffset);
         Metrics.GET_ERRORS.inc();
         Metrics.GET_STORE_READ_ERRORS.inc();
         // something is wrong to read this page, let's remove it from meta store
@@ -333,32 +374,20 @@ public class LocalCacheManager implements CacheManager {
       return ok;
     }
 
-    if (!mPendingRequests.add(pageId)) { // already queued
-      return false;
-    }
-    try {
-      mAsyncCacheExecutor.get().submit(() -> {
-        try {
-          boolean ok = putInternal(pageId, page, cacheContext);
-          if (!ok) {
-            Metrics.PUT_ERRORS.inc();
-          }
-        } finally {
-          mPendingRequests.remove(pageId);
-        }
-      });
-    } catch (RejectedExecutionException e) { // queue is full, skip
-      // RejectedExecutionException may be thrown in extreme cases when the
-      // highly concurrent caching workloads. In these cases, return false
-      mPendingRequests.remove(pageId);
-      Metrics.PUT_ASYNC_REJECTION_ERRORS.inc();
-      Metrics.PUT_ERRORS.inc();
-      LOG.debug("put({},{} bytes) fails due to full queue", pageId,
-          page.position() - originPosition);
-      return false;
+    switch (mAsyncCachePopulator.get().add(pageId, page, cacheContext)) {
+      case QUEUED:
+        LOG.debug("put({},{} bytes) exits with async write", pageId, page.remaining());
+        return true;
+      case ALREADY_QUEUED:
+        return false;
+      default:
+        // all the async write buffers are in use, skip caching this page rather than holding
+        // more memory or blocking the caller
+        Metrics.PUT_ASYNC_REJECTION_ERRORS.inc();
+        Metrics.PUT_ERRORS.inc();
+        LOG.debug("put({},{} bytes) fails due to full queue", pageId, page.remaining());
+        return false;
     }
-    LOG.debug("put({},{} bytes) exits with async write", pageId, page.position() - originPosition);
-    return true;
   }
 
   private boolean putInternal(PageId pageId, ByteBuffer page, CacheContext cacheContext) {
@@ -642,6 +671,213 @@ public class LocalCacheManager implements CacheManager {
     }
   }
 
+  /**
+   * {@inheritDoc}
+   * <p>
+   * The locks of all the pages are held during the read, and the pages are looked up in a single
+   * pass over the meta store. Runs of pages in the same page store directory are read with a
+   * single call to the page store. If the first page is not cached, this returns before any page
+   * lock is taken, so that a miss goes to the load path right away.
+   */
+  @Override
+  public int get(List<PageId> pageIds, long pageSize, int pageOffset, int bytesToRead,
+      ReadTargetBuffer buffer, CacheContext cacheContext) {
+    Preconditions.checkArgument(pageOffset <= pageSize,
+        "Read exceeds page boundary: offset=%s size=%s", pageOffset, pageSize);
+    Preconditions.checkArgument(bytesToRead <= buffer.remaining(),
+        "buffer does not have enough space: bufferRemaining=%s bytesToRead=%s",
+        buffer.remaining(), bytesToRead);
+    if (pageIds.isEmpty()) {
+      return 0;
+    }
+    if (pageIds.size() == 1 || bytesToRead <= pageSize - pageOffset) {
+      return get(pageIds.get(0), pageOffset, (int) Math.min(bytesToRead, pageSize - pageOffset),
+          buffer, cacheContext);
+    }
+    LOG.debug("get({} pages from {},pageOffset={}) enters", pageIds.size(), pageIds.get(0),
+        pageOffset);
+    if (mState.get() == NOT_IN_USE) {
+      Metrics.GET_NOT_READY_ERRORS.inc();
+      Metrics.GET_ERRORS.inc();
+      return -1;
+    }
+    try (LockResource r = new LockResource(mPageMetaStore.getLock().readLock())) {
+      if (!mPageMetaStore.hasPage(pageIds.get(0))) {
+        LOG.debug("get({},pageOffset={}) fails due to page not found", pageIds.get(0), pageOffset);
+        return 0;
+      }
+    }
+    List<LockResource> pageLocks = new ArrayList<>();
+    long startTime = System.nanoTime();
+    int bytesRead = 0;
+    try {
+      // page locks are always acquired in the order of their ids when more than one is held
+      for (int lockId : pageIds.stream().map(this::getPageLockId)
+          .collect(Collectors.toCollection(TreeSet::new))) {
+        pageLocks.add(new LockResource(mPageLocks[lockId].readLock()));
+      }
+      List<PageInfo> pageInfos = new ArrayList<>(pageIds.size());
+      try (LockResource r = new LockResource(mPageMetaStore.getLock().readLock())) {
+        for (PageId pageId : pageIds) {
+          pageInfos.add(mPageMetaStore.getPageInfo(pageId));
+        }
+      } catch (PageNotFoundException e) {
+        // only read the pages before the first one not cached
+      }
+      if (pageInfos.isEmpty()) {
+        LOG.debug("get({},pageOffset={}) fails due to page not found", pageIds.get(0), pageOffset);
+        return 0;
+      }
+      for (int start = 0, end; start < pageInfos.size() && bytesRead < bytesToRead;
+          start = end) {
+        PageStoreDir dir = pageInfos.get(start).getLocalCacheDir();
+        end = start + 1;
+        while (end < pageInfos.size() && pageInfos.get(end).getLocalCacheDir() == dir) {
+          end++;
+        }
+        int offset = start == 0 ? pageOffset : 0;
+        int length = (int) Math.min(bytesToRead - bytesRead, (end - start) * pageSize - offset);
+        int originOffset = buffer.offset();
+        int bytes;
+        try {
+          bytes = dir.getPageStore().get(pageInfos.subList(start, end).stream()
+                  .map(PageInfo::getPageId).collect(Collectors.toList()), pageSize, offset,
+              length, buffer, cacheContext.isTemporary());
+        } catch (IOException | PageNotFoundException e) {
+          LOG.debug("Failed to get existing pages from {} from pageStore",
+              pageInfos.get(start).getPageId(), e);
+          bytes = -1;
+        }
+        if (bytes <= 0) {
+          buffer.offset(originOffset);
+          break;
+        }
+        bytesRead += bytes;
+        if (bytes < length) {
+          break;
+        }
+      }
+      if (bytesRead > 0) {
+        MultiDimensionalMetricsSystem.CACHED_DATA_READ.inc(bytesRead);
+        MetricsSystem.meter(MetricKey.CLIENT_CACHE_BYTES_READ_CACHE.getName()).mark(bytesRead);
+        // each page read counts as a hit, like when read by getAndLoad
+        MetricsSystem.counter(MetricKey.CLIENT_CACHE_HIT_REQUESTS.getName())
+            .inc((pageOffset + bytesRead + pageSize - 1) / pageSize);
+        cacheContext.incrementCounter(MetricKey.CLIENT_CACHE_BYTES_READ_CACHE.getMetricName(),
+            BYTE, bytesRead);
+      }
+    } finally {
+      for (int i = pageLocks.size() - 1; i >= 0; i--) {
+        pageLocks.get(i).close();
+      }
+      cacheContext.incrementCounter(
+          MetricKey.CLIENT_CACHE_PAGE_READ_CACHE_TIME_NS.getMetricName(), NANO,
+          System.nanoTime() - startTime);
+    }
+    if (bytesRead == 0) {
+      // failed to read the first page, which is handled like a single page read
+      return get(pageIds.get(0), pageOffset, (int) (pageSize - pageOffset), buffer, cacheContext);
+    }
+    LOG.debug("get({} pages from {},pageOffset={}) exits", pageIds.size(), pageIds.get(0),
+        pageOffset);
+    return bytesRead;
+  }
+
+  /**
+   * {@inheritDoc}
+   * <p>
+   * The page lock is only held while the read is started. The page store either completes the
+   * read before returning or keeps reading the page data as it was when the read was started,
+   * even if the page is evicted in the meantime.
+   */
+  @Override
+  public CompletableFuture<Integer> getAsync(PageId pageId, int pageOffset, int bytesToRead,
+      ByteBuffer buffer, CacheContext cacheContext) {
+    Preconditions.checkArgument(pageOffset <= mOptions.getPageSize(),
+        "Read exceeds page boundary: offset=%s size=%s", pageOffset, mOptions.getPageSize());
+    Preconditions.checkArgument(bytesToRead <= buffer.remaining(),
+        "buffer does not have enough space: bufferRemaining=%s bytesToRead=%s",
+        buffer.remaining(), bytesToRead);
+    LOG.debug("getAsync({},pageOffset={}) enters", pageId, pageOffset);
+    if (mState.get() == NOT_IN_USE) {
+      Metrics.GET_NOT_READY_ERRORS.inc();
+      Metrics.GET_ERRORS.inc();
+      return CompletableFuture.completedFuture(-1);
+    }
+    ReadWriteLock pageLock = getPageLock(pageId);
+    long startTime = System.nanoTime();
+    int originPosition = buffer.position();
+    PageInfo pageInfo;
+    CompletableFuture<Integer> read;
+    try (LockResource r = new LockResource(pageLock.readLock())) {
+      try (LockResource r2 = new LockResource(mPageMetaStore.getLock().readLock())) {
+        pageInfo = mPageMetaStore.getPageInfo(pageId); //check if page exists and refresh LRU items
+      } catch (PageNotFoundException e) {
+        LOG.debug("getAsync({},pageOffset={}) fails due to page not found", pageId, pageOffset);
+        return CompletableFuture.completedFuture(0);
+      }
+      try {
+        read = pageInfo.getLocalCacheDir().getPageStore().getAsync(pageId, pageOffset,
+            bytesToRead, buffer, cacheContext.isTemporary());
+      } catch (IOException | PageNotFoundException e) {
+        read = new CompletableFuture<>();
+        read.completeExceptionally(e);
+      }
+    }
+    return read.handle((bytesRead, error) -> {
+      try {
+        if (error == null && bytesRead == bytesToRead) {
+          MultiDimensionalMetricsSystem.CACHED_DATA_READ.inc(bytesRead);
+          MetricsSystem.meter(MetricKey.CLIENT_CACHE_BYTES_READ_CACHE.getName())
+              .mark(bytesRead);
+          cacheContext.incrementCounter(MetricKey.CLIENT_CACHE_BYTES_READ_CACHE.getMetricName(),
+              BYTE, bytesRead);
+          LOG.debug("getAsync({},pageOffset={}) exits", pageId, pageOffset);
+          return bytesRead;
+        }
+        buffer.position(originPosition); //reset the position
+        onAsyncReadFailure(pageInfo, pageLock, bytesToRead, bytesRead, error);
+        return -1;
+      } finally {
+        cacheContext.incrementCounter(
+            MetricKey.CLIENT_CACHE_PAGE_READ_CACHE_TIME_NS.getMetricName(), NANO,
+            System.nanoTime() - startTime);
+      }
+    });
+  }
+
+  /**
+   * Removes a page which failed to be read asynchronously from the meta store, and from the
+   * page store too if its data is corrupted.
+   */
+  private void onAsyncReadFailure(PageInfo pageInfo, ReadWriteLock pageLock, int bytesToRead,
+      @Nullable Integer bytesRead, @Nullable Throwable error) {
+    Throwable cause = error instanceof CompletionException ? error.getCause() : error;
+    // the data read from page store is inconsistent from the metastore without any error
+    boolean corrupted = cause == null || cause instanceof PageCorruptedException;
+    if (corrupted) {
+      LOG.error("Failed to read page {}: supposed to read {} bytes, {} bytes actually read",
+          pageInfo.getPageId(), bytesToRead, bytesRead, cause);
+    } else {
+      LOG.debug("Failed to get existing page {} from pageStore", pageInfo.getPageId(), cause);
+    }
+    Metrics.GET_ERRORS.inc();
+    Metrics.GET_STORE_READ_ERRORS.inc();
+    try (LockResource r = new LockResource(pageLock.readLock())) {
+      if (corrupted) {
+        //best efforts to delete the corrupted file without acquire the write lock
+        deletePage(pageInfo, false);
+      }
+      // something is wrong to read this page, let's remove it from meta store
+      try (LockResource r2 = new LockResource(mPageMetaStore.getLock().writeLock())) {
+        mPageMetaStore.removePage(pageInfo.getPageId());
+      } catch (PageNotFoundException e) {
+        // best effort to remove this page from meta store and ignore the exception
+        Metrics.CLEANUP_GET_ERRORS.inc();
+      }
+    }
+  }
+
   @Override
   public int getAndLoad(PageId pageId, int pageOffset, int bytesToRead, ReadTargetBuffer buffer,
                         CacheContext cacheContext, Supplier<byte[]> externalDataSupplier) {
@@ -655,27 +891,78 @@ public class LocalCacheManager implements CacheManager {
     // progress or throw an exception
     // Note that we cannot synchronize on the new page, as this will cause deadlock due to
     // incompatible lock order within putAttempt
-    // Not synchronizing may cause the same page to be read multiple times from UFS by two or more
-    // concurrent requests,
-    // but this is acceptable, and is expected to be rare as long as the number of striping locks
-    // is big enough
+    // Instead, concurrent misses on the same page wait for the first one to read the page, without
+    // holding any lock, so that the page is only read once from external storage
+    CompletableFuture<byte[]> loading = new CompletableFuture<>();
+    CompletableFuture<byte[]> existing = mLoadingPages.putIfAbsent(pageId, loading);
+    if (existing != null) {
+      byte[] page = waitForLoadingPage(existing);
+      if (page != null) {
+        Metrics.EXTERNAL_REQUESTS_DEDUPLICATED.inc();
+        buffer.writeBytes(page, pageOffset, bytesToRead);
+        return bytesToRead;
+      }
+      // the concurrent read failed, read the page independently
+      loading = null;
+    }
     long startTime = System.nanoTime();
-    byte[] page = externalDataSupplier.get();
+    byte[] page;
+    try {
+      page = externalDataSupplier.get();
+    } catch (Throwable t) {
+      if (loading != null) {
+        loading.completeExceptionally(t);
+        mLoadingPages.remove(pageId, loading);
+      }
+      throw t;
+    }
     long timeElapse = System.nanoTime() - startTime;
-    buffer.writeBytes(page, pageOffset, bytesToRead);
-    MetricsSystem.meter(MetricKey.CLIENT_CACHE_BYTES_REQUESTED_EXTERNAL.getName())
-        .mark(bytesToRead);
-    MetricsSystem.counter(MetricKey.CLIENT_CACHE_EXTERNAL_REQUESTS.getName()).inc();
-    cacheContext.incrementCounter(
-        MetricKey.CLIENT_CACHE_BYTES_REQUESTED_EXTERNAL.getMetricName(), BYTE,
-        bytesToRead);
-    cacheContext.incrementCounter(
-        MetricKey.CLIENT_CACHE_PAGE_READ_EXTERNAL_TIME_NS.getMetricName(), NANO,
-        timeElapse);
-    put(pageId, page, cacheContext);
+    try {
+      if (loading != null) {
+        loading.complete(page);
+      }
+      buffer.writeBytes(page, pageOffset, bytesToRead);
+      MetricsSystem.meter(MetricKey.CLIENT_CACHE_BYTES_REQUESTED_EXTERNAL.getName())
+          .mark(bytesToRead);
+      MetricsSystem.counter(MetricKey.CLIENT_CACHE_EXTERNAL_REQUESTS.getName()).inc();
+      cacheContext.incrementCounter(
+          MetricKey.CLIENT_CACHE_BYTES_REQUESTED_EXTERNAL.getMetricName(), BYTE,
+          bytesToRead);
+      cacheContext.incrementCounter(
+          MetricKey.CLIENT_CACHE_PAGE_READ_EXTERNAL_TIME_NS.getMetricName(), NANO,
+          timeElapse);
+      put(pageId, page, cacheContext);
+    } finally {
+      // readers missing the page from now on find it in the cache, or read it again if it could
+      // not be cached
+      if (loading != null) {
+        mLoadingPages.remove(pageId, loading);
+      }
+    }
     return bytesToRead;
   }
 
+  /**
+   * @return the page read by a concurrent miss, or null if the read failed or did not finish in
+   *         time
+   */
+  @Nullable
+  private static byte[] waitForLoadingPage(CompletableFuture<byte[]> loading) {
+    try {
+      return loading.get(LOADING_PAGE_WAIT_SECONDS, SECONDS);
+    } catch (ExecutionException | CancellationException e) {
+      LOG.debug("Concurrent read of the page from external storage failed", e);
+      return null;
+    } catch (TimeoutException e) {
+      LOG.debug("Concurrent read of the page from external storage did not finish in {}s",
+          LOADING_PAGE_WAIT_SECONDS);
+      return null;
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return null;
+    }
+  }
+
   /**
    * delete the specified page.
    *
@@ -843,7 +1130,9 @@ public class LocalCacheManager implements CacheManager {
 
   @Override
   public boolean hasPageUnsafe(PageId pageId) {
-    return mPageMetaStore.hasPage(pageId);
+    try (LockResource r = new LockResource(mPageMetaStore.getLock().readLock())) {
+      return mPageMetaStore.hasPage(pageId);
+    }
   }
 
   @Override
@@ -896,7 +1185,7 @@ public class LocalCacheManager implements CacheManager {
     }
     mPageMetaStore.reset();
     mInitService.ifPresent(ExecutorService::shutdownNow);
-    mAsyncCacheExecutor.ifPresent(ExecutorService::shutdownNow);
+    mAsyncCachePopulator.ifPresent(AsyncCachePopulator::close);
     mTtlEnforcerExecutor.ifPresent(ExecutorService::shutdownNow);
   }
 
@@ -1043,6 +1332,11 @@ public class LocalCacheManager implements CacheManager {
      */
     private static final Counter PAGE_DISCARDED =
         MetricsSystem.counter(MetricKey.CLIENT_CACHE_PAGES_DISCARDED.getName());
+    /**
+     * Reads from external storage served by a concurrent read of the same page.
+     */
+    private static final Counter EXTERNAL_REQUESTS_DEDUPLICATED =
+        MetricsSystem.counter(MetricKey.CLIENT_CACHE_EXTERNAL_REQUESTS_DEDUPLICATED.getName());
     /**
      * Errors when adding pages.
      */
@@ -1103,4 +1397,15 @@ public class LocalCacheManager implements CacheManager {
           pageMetaStore::bytes);
     }
   }
+
+  /**
+   * Accessor reading a page from the page store it is stored in.
+   *
+   * @param <T> type of the result
+   */
+  @FunctionalInterface
+  private interface PageStoreAccessor<T> {
+    Optional<T> access(PageStore pageStore, PageId pageId)
+        throws IOException, PageNotFoundException;
+  }
 }
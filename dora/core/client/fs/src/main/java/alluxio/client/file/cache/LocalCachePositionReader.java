@@ -21,11 +21,13 @@ import alluxio.conf.PropertyKey;
 import alluxio.exception.PageNotFoundException;
 import alluxio.exception.runtime.AlluxioRuntimeException;
 import alluxio.exception.runtime.FailedPreconditionRuntimeException;
+import alluxio.file.ByteBufferTargetBuffer;
 import alluxio.file.FileId;
 import alluxio.file.ReadTargetBuffer;
 import alluxio.metrics.MetricKey;
 import alluxio.metrics.MetricsSystem;
 import alluxio.metrics.MultiDimensionalMetricsSystem;
+import alluxio.network.protocol.databuffer.DataBuffer;
 import alluxio.network.protocol.databuffer.DataFileChannel;
 
 import com.google.common.annotations.VisibleForTesting;
@@ -35,7 +37,11 @@ import com.google.common.base.Ticker;
 import io.prometheus.metrics.core.datapoints.CounterDataPoint;
 
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 import javax.annotation.concurrent.ThreadSafe;
 
 /**
@@ -132,11 +138,22 @@ public class LocalCachePositionReader implements PositionReader {
     Stopwatch stopwatch = createUnstartedStopwatch();
     int totalBytesRead = 0;
     long lengthToRead = Math.min(length, mFileSize - position);
+    // once a page is not cached, the pages after it are loaded one by one, as they are likely
+    // not cached either
+    boolean pageMissed = false;
     // used in positionedRead, so make stopwatch a local variable rather than class member
     // for each page, check if it is available in the cache
     while (totalBytesRead < lengthToRead) {
-      int bytesRead = localCachedRead(buffer,
-          (int) (lengthToRead - totalBytesRead), position, stopwatch);
+      int bytesLeft = (int) (lengthToRead - totalBytesRead);
+      int bytesRead = 0;
+      if (!pageMissed && position % mPageSize + bytesLeft > mPageSize) {
+        // read all the cached pages at once when reading across pages
+        bytesRead = cachedRead(buffer, bytesLeft, position);
+        pageMissed = bytesRead == 0;
+      }
+      if (bytesRead <= 0) {
+        bytesRead = localCachedRead(buffer, bytesLeft, position, stopwatch);
+      }
       if (bytesRead <= 0) {
         break;
       }
@@ -152,6 +169,67 @@ public class LocalCachePositionReader implements PositionReader {
     return totalBytesRead;
   }
 
+  /**
+   * Reads the data at the given position like {@link #read(long, ReadTargetBuffer, int)}, with
+   * the cached pages in the range all read at the same time by asynchronous reads, so that a
+   * single thread keeps as many reads in flight as there are pages. The pages not found in the
+   * cache are then read one by one and loaded to the cache.
+   *
+   * @param position the start position to read
+   * @param buffer the destination buffer, written from its position
+   * @param length how many bytes to read
+   * @return the number of bytes read, -1 if the position is at the end of the file
+   */
+  public int readConcurrently(long position, ByteBuffer buffer, int length) throws IOException {
+    Preconditions.checkArgument(!mClosed, "position reader is closed");
+    if (position >= mFileSize) { // at end of file
+      return -1;
+    }
+    int lengthToRead = (int) Math.min(Math.min(length, buffer.remaining()), mFileSize - position);
+    String fileId = mCacheContext.getCacheIdentifier() != null
+        ? mCacheContext.getCacheIdentifier() : mFileId.toString();
+    int start = buffer.position();
+    List<ByteBuffer> slices = new ArrayList<>();
+    List<CompletableFuture<Integer>> reads = new ArrayList<>();
+    for (int offset = 0; offset < lengthToRead; ) {
+      long pagePosition = position + offset;
+      int pageOffset = (int) (pagePosition % mPageSize);
+      int bytesInPage = (int) Math.min(mPageSize - pageOffset, lengthToRead - offset);
+      ByteBuffer slice = buffer.duplicate();
+      slice.limit(start + offset + bytesInPage).position(start + offset);
+      slices.add(slice);
+      reads.add(mCacheManager.getAsync(new PageId(fileId, pagePosition / mPageSize), pageOffset,
+          bytesInPage, slice, mCacheContext));
+      offset += bytesInPage;
+    }
+    // wait for all the reads before filling the missing pages, as they write to the same buffer
+    int[] bytesRead = new int[reads.size()];
+    for (int i = 0; i < reads.size(); i++) {
+      bytesRead[i] = reads.get(i).handle((bytes, e) -> e == null ? bytes : -1).join();
+    }
+    int totalBytesRead = 0;
+    for (int i = 0; i < slices.size(); i++) {
+      ByteBuffer slice = slices.get(i);
+      int bytesInPage = slice.limit() - start - totalBytesRead;
+      if (bytesRead[i] != bytesInPage) {
+        slice.position(start + totalBytesRead);
+        int bytes = read(position + totalBytesRead, new ByteBufferTargetBuffer(slice),
+            bytesInPage);
+        if (bytes <= 0) {
+          break;
+        }
+        totalBytesRead += bytes;
+        if (bytes < bytesInPage) {
+          break;
+        }
+        continue;
+      }
+      totalBytesRead += bytesInPage;
+    }
+    buffer.position(start + totalBytesRead);
+    return totalBytesRead;
+  }
+
   @Override
   public synchronized void close() throws IOException {
     if (mClosed) {
@@ -188,6 +266,32 @@ public class LocalCachePositionReader implements PositionReader {
     }
   }
 
+  /**
+   * Get a read-only {@link DataBuffer} over the cached data without copying it.
+   *
+   * @param position the start position to read
+   * @param length   how many bytes to read, capped at the end of the page
+   * @return the buffer, or empty if the page is not cached or cannot be read without copying
+   */
+  public Optional<DataBuffer> getDataBuffer(long position, int length) {
+    long currentPage = position / mPageSize;
+    PageId pageId;
+    if (mCacheContext.getCacheIdentifier() != null) {
+      pageId = new PageId(mCacheContext.getCacheIdentifier(), currentPage);
+    } else {
+      pageId = new PageId(mFileId.toString(), currentPage);
+    }
+    int currentPageOffset = (int) (position % mPageSize);
+    int bytesLeftInPage = (int) (mPageSize - currentPageOffset);
+    int bytesToReadInPage = Math.min(bytesLeftInPage, length);
+    try {
+      return mCacheManager.getDataBuffer(
+          pageId, currentPageOffset, bytesToReadInPage, mCacheContext);
+    } catch (PageNotFoundException e) {
+      return Optional.empty();
+    }
+  }
+
   private int localCachedRead(ReadTargetBuffer bytesBuffer, int length,
                               long position, Stopwatch stopwatch) {
     long currentPage = position / mPageSize;
@@ -204,6 +308,24 @@ public class LocalCachePositionReader implements PositionReader {
         bytesBuffer, mCacheContext, () -> readExternalPage(position));
   }
 
+  /**
+   * Reads the pages in the cache from the position, without loading the pages not cached.
+   *
+   * @return the number of bytes read, 0 if the first page is not cached, -1 on errors
+   */
+  private int cachedRead(ReadTargetBuffer bytesBuffer, int length, long position) {
+    long firstPage = position / mPageSize;
+    long lastPage = (position + length - 1) / mPageSize;
+    String fileId = mCacheContext.getCacheIdentifier() != null
+        ? mCacheContext.getCacheIdentifier() : mFileId.toString();
+    List<PageId> pageIds = new ArrayList<>((int) (lastPage - firstPage + 1));
+    for (long page = firstPage; page <= lastPage; page++) {
+      pageIds.add(new PageId(fileId, page));
+    }
+    return mCacheManager.get(pageIds, mPageSize, (int) (position % mPageSize), length,
+        bytesBuffer, mCacheContext);
+  }
+
   private byte[] readExternalPage(long position) {
     long pageStart = position - (position % mPageSize);
     int pageSize = (int) Math.min(mPageSize, mFileSize - pageStart);
@@ -16,6 +16,7 @@ import alluxio.exception.PageNotFoundException;
 import alluxio.file.ReadTargetBuffer;
 import alluxio.metrics.MetricKey;
 import alluxio.metrics.MetricsSystem;
+import alluxio.network.protocol.databuffer.DataBuffer;
 import alluxio.network.protocol.databuffer.DataFileChannel;
 
 import com.codahale.metrics.Counter;
@@ -25,6 +26,7 @@ import org.slf4j.LoggerFactory;
 import java.nio.ByteBuffer;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 import java.util.function.Supplier;
 
 /**
@@ -143,6 +145,39 @@ public class NoExceptionCacheManager implements CacheManager {
     }
   }
 
+  @Override
+  public int get(List<PageId> pageIds, long pageSize, int pageOffset, int bytesToRead,
+      ReadTargetBuffer buffer, CacheContext cacheContext) {
+    try {
+      return mCacheManager
+          .get(pageIds, pageSize, pageOffset, bytesToRead, buffer, cacheContext);
+    } catch (Exception e) {
+      LOG.error("Failed to get pages {}, offset {} cacheContext {}", pageIds, pageOffset,
+          cacheContext, e);
+      Metrics.GET_ERRORS.inc();
+      return -1;
+    }
+  }
+
+  @Override
+  public CompletableFuture<Integer> getAsync(PageId pageId, int pageOffset, int bytesToRead,
+      ByteBuffer buffer, CacheContext cacheContext) {
+    try {
+      return mCacheManager.getAsync(pageId, pageOffset, bytesToRead, buffer, cacheContext)
+          .exceptionally(e -> {
+            LOG.error("Failed to get page {}, offset {} cacheContext {}", pageId, pageOffset,
+                cacheContext, e);
+            Metrics.GET_ERRORS.inc();
+            return -1;
+          });
+    } catch (Exception e) {
+      LOG.error("Failed to get page {}, offset {} cacheContext {}", pageId, pageOffset,
+          cacheContext, e);
+      Metrics.GET_ERRORS.inc();
+      return CompletableFuture.completedFuture(-1);
+    }
+  }
+
   @Override
   public int getAndLoad(PageId pageId, int pageOffset, int bytesToRead,
       ReadTargetBuffer buffer, CacheContext cacheContext,
@@ -186,6 +221,23 @@ public class NoExceptionCacheManager implements CacheManager {
     }
   }
 
+  @Override
+  public Optional<DataBuffer> getDataBuffer(PageId pageId, int pageOffset,
+      int bytesToRead, CacheContext cacheContext) {
+    try {
+      return mCacheManager.getDataBuffer(pageId, pageOffset, bytesToRead, cacheContext);
+    } catch (Exception e) {
+      if (e instanceof PageNotFoundException) {
+        // In cold read, this may be expected behavior
+        LOG.debug("Failed to getDataBuffer of page {}", pageId, e);
+      } else {
+        LOG.error("Failed to getDataBuffer of page {}", pageId, e);
+      }
+      Metrics.GET_ERRORS.inc();
+      return Optional.empty();
+    }
+  }
+
   @Override
   public State state() {
     return mCacheManager.state();
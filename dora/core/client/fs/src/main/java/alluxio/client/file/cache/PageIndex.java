@@ -0,0 +1,100 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.client.file.cache;
+
+import java.util.Set;
+import javax.annotation.Nullable;
+
+/**
+ * An index of the pages tracked by a {@link DefaultPageMetaStore}, looking up pages by their
+ * {@link PageId} and by the file they belong to.
+ */
+interface PageIndex {
+  /**
+   * @param type type of the page metadata store
+   * @return a new page index for the given type of metadata store
+   */
+  static PageIndex create(PageMetaStoreType type) {
+    switch (type) {
+      case LOCKED:
+        return new IndexedSetPageIndex();
+      case CONCURRENT:
+        return new ConcurrentPageIndex();
+      case COMPACT:
+        return new CompactPageIndex();
+      default:
+        throw new IllegalArgumentException("Unrecognized page metadata store type " + type);
+    }
+  }
+
+  /**
+   * @param pageId page identifier
+   * @return true if the page is indexed
+   */
+  boolean contains(PageId pageId);
+
+  /**
+   * @param pageId page identifier
+   * @return the page info, or null if the page is not indexed
+   */
+  @Nullable
+  PageInfo get(PageId pageId);
+
+  /**
+   * Adds a page unless a page with the same identifier is already indexed.
+   *
+   * @param pageInfo page info
+   * @return true if the page is added
+   */
+  boolean add(PageInfo pageInfo);
+
+  /**
+   * @param pageInfo page info
+   * @return true if the page was indexed and is removed
+   */
+  boolean remove(PageInfo pageInfo);
+
+  /**
+   * @param fileId file identifier
+   * @return the pages of the file, which may be empty
+   */
+  Set<PageInfo> getByFileId(String fileId);
+
+  /**
+   * @param fileId file identifier
+   * @return any page of the file, or null if no page of the file is indexed
+   */
+  @Nullable
+  PageInfo getFirstByFileId(String fileId);
+
+  /**
+   * Returns a page info equal to the given one of an indexed page, whose page ID shares the
+   * file ID instance kept by the index, so that holding on to it does not retain another copy
+   * of the file ID.
+   *
+   * @param pageInfo page info of an indexed page
+   * @return the page info sharing the file ID kept by the index
+   */
+  default PageInfo intern(PageInfo pageInfo) {
+    return pageInfo;
+  }
+
+  /**
+   * @return the number of pages indexed
+   */
+  int size();
+
+  /**
+   * Removes all the pages.
+   */
+  void clear();
+}
@@ -11,6 +11,7 @@
 
 package alluxio.client.file.cache;
 
+import alluxio.client.file.cache.allocator.HashAllocator;
 import alluxio.client.file.cache.store.PageStoreDir;
 import alluxio.client.quota.CacheScope;
 import alluxio.exception.FileDoesNotExistException;
@@ -33,12 +34,17 @@ public interface PageMetaStore extends CacheStatus {
   static PageMetaStore create(CacheManagerOptions options) throws IOException {
     List<PageStoreDir> dirs = PageStoreDir.createPageStoreDirs(options);
     if (options.isQuotaEnabled()) {
-      return new QuotaPageMetaStore(options.getCacheEvictorOptions(), dirs);
+      return new QuotaPageMetaStore(options.getCacheEvictorOptions(), dirs,
+          options.getMetaStoreType());
     }
-    return new DefaultPageMetaStore(dirs);
+    return new DefaultPageMetaStore(dirs, new HashAllocator(dirs), options.getMetaStoreType());
   }
 
   /**
+   * Gets the lock guarding the metadata. As with {@link
+   * java.util.concurrent.locks.ReentrantReadWriteLock}, the read lock does not support
+   * conditions. The read lock of a {@link PageMetaStoreType#CONCURRENT} store does not block.
+   *
    * @return the associated lock
    */
   ReadWriteLock getLock();
@@ -14,12 +14,16 @@ package alluxio.client.file.cache;
 import alluxio.Constants;
 import alluxio.client.file.cache.store.LocalPageStore;
 import alluxio.client.file.cache.store.MemoryPageStore;
+import alluxio.client.file.cache.store.OffHeapMemoryPageStore;
 import alluxio.client.file.cache.store.PageStoreOptions;
+import alluxio.client.file.cache.store.SegmentPageStore;
 import alluxio.exception.PageNotFoundException;
 import alluxio.exception.status.ResourceExhaustedException;
+import alluxio.file.ByteBufferTargetBuffer;
 import alluxio.file.ReadTargetBuffer;
 import alluxio.metrics.MetricKey;
 import alluxio.metrics.MetricsSystem;
+import alluxio.network.protocol.databuffer.DataBuffer;
 import alluxio.network.protocol.databuffer.DataFileChannel;
 import alluxio.util.logging.SamplingLogger;
 
@@ -29,6 +33,9 @@ import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
 import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * A simple abstraction on the storage to put, get and delete pages. The implementation of this
@@ -51,9 +58,15 @@ public interface PageStore extends AutoCloseable {
       case LOCAL:
         pageStore = new LocalPageStore(options);
         break;
+      case SEGMENT:
+        pageStore = new SegmentPageStore(options);
+        break;
       case MEM:
         pageStore = new MemoryPageStore((int) options.getPageSize());
         break;
+      case OFF_HEAP:
+        pageStore = new OffHeapMemoryPageStore(options);
+        break;
       default:
         throw new IllegalArgumentException(
             "Incompatible PageStore " + options.getType() + " specified");
@@ -166,6 +179,81 @@ public interface PageStore extends AutoCloseable {
       boolean isTemporary)
       throws IOException, PageNotFoundException;
 
+  /**
+   * Gets consecutive parts of several pages from the store to the destination buffer, as if by
+   * calling {@link #get(PageId, int, int, ReadTargetBuffer, boolean)} on each page in turn. The
+   * first page is read from the given offset, and each page is read up to the page size until the
+   * given number of bytes are read. A store able to read adjacent pages at once should override
+   * this method to do so.
+   * <p>
+   * Errors reading the first page are reported like for a single page. Reading stops at the first
+   * of the following pages which cannot be read completely, and the destination buffer only
+   * holds the data of the pages before it.
+   *
+   * @param pageIds identifiers of the pages
+   * @param pageSize size of the pages, only the last page read can be smaller
+   * @param pageOffset offset within the first page
+   * @param bytesToRead bytes to read from all the pages
+   * @param buffer destination buffer
+   * @param isTemporary is page data temporary
+   * @return the number of bytes read
+   * @throws IOException when the store fails to read the first page
+   * @throws PageNotFoundException when the first page isn't found in the store
+   */
+  default int get(List<PageId> pageIds, long pageSize, int pageOffset, int bytesToRead,
+      ReadTargetBuffer buffer, boolean isTemporary) throws IOException, PageNotFoundException {
+    int bytesRead = 0;
+    for (int i = 0; i < pageIds.size() && bytesRead < bytesToRead; i++) {
+      int offset = i == 0 ? pageOffset : 0;
+      int length = (int) Math.min(pageSize - offset, bytesToRead - bytesRead);
+      if (i == 0) {
+        bytesRead = get(pageIds.get(i), offset, length, buffer, isTemporary);
+        if (bytesRead < length) {
+          return bytesRead;
+        }
+        continue;
+      }
+      int originOffset = buffer.offset();
+      int bytes;
+      try {
+        bytes = get(pageIds.get(i), offset, length, buffer, isTemporary);
+      } catch (IOException | PageNotFoundException e) {
+        bytes = -1;
+      }
+      if (bytes != length) {
+        buffer.offset(originOffset);
+        break;
+      }
+      bytesRead += bytes;
+    }
+    return bytesRead;
+  }
+
+  /**
+   * Starts reading a part of a page to the destination buffer, and returns a future completed
+   * with the number of bytes read once they are in the buffer. The page is looked up before this
+   * method returns. The default implementation reads the page synchronously, a store able to
+   * read pages asynchronously should override this method to do so.
+   * <p>
+   * The destination buffer is written from its position, which is advanced by the number of
+   * bytes read, and must not be accessed until the future is completed.
+   *
+   * @param pageId page identifier
+   * @param pageOffset offset within page
+   * @param bytesToRead bytes to read in this page
+   * @param buffer destination buffer
+   * @param isTemporary is page data temporary
+   * @return a future of the number of bytes read, completed exceptionally with an
+   *         {@link IOException} when the store fails to read the page
+   * @throws IOException when the store fails to start reading this page
+   * @throws PageNotFoundException when the page isn't found in the store
+   */
+  default CompletableFuture<Integer> getAsync(PageId pageId, int pageOffset, int bytesToRead,
+      ByteBuffer buffer, boolean isTemporary) throws IOException, PageNotFoundException {
+    return CompletableFuture.completedFuture(
+        get(pageId, pageOffset, bytesToRead, new ByteBufferTargetBuffer(buffer), isTemporary));
+  }
+
   /**
    * Deletes a temporary page from the store.
    *
@@ -230,6 +318,24 @@ public interface PageStore extends AutoCloseable {
     throw new UnsupportedOperationException();
   }
 
+  /**
+   * Gets a read-only view of part of a page without copying it, if supported by the store.
+   * The page stays readable through the returned buffer until the buffer is released, even if
+   * the page is deleted in the meantime.
+   * @param pageId the page id
+   * @param pageOffset the offset inside the page
+   * @param bytesToRead the bytes to read
+   * @param isTemporary whether it is temporary or not
+   * @return the buffer, or empty if zero-copy reads are not supported by the store
+   * @throws IOException
+   * @throws PageNotFoundException
+   */
+  default Optional<DataBuffer> getDataBuffer(
+      PageId pageId, int pageOffset, int bytesToRead, boolean isTemporary)
+      throws IOException, PageNotFoundException {
+    return Optional.empty();
+  }
+
   /**
    * Metrics.
    */
@@ -11,6 +11,7 @@
 
 package alluxio.client.file.cache;
 
+import alluxio.client.file.cache.allocator.HashAllocator;
 import alluxio.client.file.cache.evictor.CacheEvictor;
 import alluxio.client.file.cache.evictor.CacheEvictorOptions;
 import alluxio.client.file.cache.store.PageStoreDir;
@@ -41,7 +42,17 @@ public class QuotaPageMetaStore extends DefaultPageMetaStore {
    * @param dirs storage directories
    */
   public QuotaPageMetaStore(CacheEvictorOptions cacheEvictorOptions, List<PageStoreDir> dirs) {
-    super(dirs);
+    this(cacheEvictorOptions, dirs, PageMetaStoreType.LOCKED);
+  }
+
+  /**
+   * @param cacheEvictorOptions options of cache evictor
+   * @param dirs storage directories
+   * @param type type of the metadata store
+   */
+  public QuotaPageMetaStore(CacheEvictorOptions cacheEvictorOptions, List<PageStoreDir> dirs,
+      PageMetaStoreType type) {
+    super(dirs, new HashAllocator(dirs), type);
     mBytesInScope = new ConcurrentHashMap<>();
     mCacheEvictors = new ConcurrentHashMap<>();
     mSupplier = () -> CacheEvictor.create(cacheEvictorOptions);
@@ -56,7 +67,9 @@ public class QuotaPageMetaStore extends DefaultPageMetaStore {
       mBytesInScope.compute(cacheScope,
           (k, v) -> (v == null) ? pageInfo.getPageSize() : v + pageInfo.getPageSize());
       CacheEvictor evictor = mCacheEvictors.computeIfAbsent(cacheScope, k -> mSupplier.get());
-      evictor.updateOnPut(pageId);
+      synchronized (evictor) {
+        evictor.updateOnPut(pageId);
+      }
     }
   }
 
@@ -67,7 +80,10 @@ public class QuotaPageMetaStore extends DefaultPageMetaStore {
     for (CacheScope cacheScope = pageInfo.getScope(); cacheScope != CacheScope.GLOBAL; cacheScope =
         cacheScope.parent()) {
       CacheEvictor evictor = mCacheEvictors.computeIfAbsent(cacheScope, k -> mSupplier.get());
-      evictor.updateOnPut(pageId);
+      // lookups do not hold the write lock, and not all evictors are thread safe
+      synchronized (evictor) {
+        evictor.updateOnPut(pageId);
+      }
     }
     return pageInfo;
   }
@@ -80,7 +96,9 @@ public class QuotaPageMetaStore extends DefaultPageMetaStore {
         cacheScope.parent()) {
       mBytesInScope.computeIfPresent(cacheScope, (k, v) -> v - pageInfo.getPageSize());
       CacheEvictor evictor = mCacheEvictors.computeIfAbsent(cacheScope, k -> mSupplier.get());
-      evictor.updateOnDelete(pageId);
+      synchronized (evictor) {
+        evictor.updateOnDelete(pageId);
+      }
     }
     return pageInfo;
   }
@@ -101,7 +119,9 @@ public class QuotaPageMetaStore extends DefaultPageMetaStore {
   public void reset() {
     super.reset();
     for (CacheEvictor evictor : mCacheEvictors.values()) {
-      evictor.reset();
+      synchronized (evictor) {
+        evictor.reset();
+      }
     }
     mBytesInScope.clear();
   }
@@ -119,7 +139,9 @@ public class QuotaPageMetaStore extends DefaultPageMetaStore {
       return evictInternal(pageStoreDir.getEvictor());
     }
     CacheEvictor evictor = mCacheEvictors.computeIfAbsent(cacheScope, k -> mSupplier.get());
-    return evictInternal(evictor);
+    synchronized (evictor) {
+      return evictInternal(evictor);
+    }
   }
 
   @Override
@@ -17,6 +17,7 @@ import alluxio.exception.status.ResourceExhaustedException;
 import alluxio.file.ReadTargetBuffer;
 import alluxio.metrics.MetricKey;
 import alluxio.metrics.MetricsSystem;
+import alluxio.network.protocol.databuffer.DataBuffer;
 import alluxio.network.protocol.databuffer.DataFileChannel;
 
 import com.codahale.metrics.Counter;
@@ -27,6 +28,7 @@ import com.google.common.util.concurrent.TimeLimiter;
 
 import java.io.IOException;
 import java.nio.ByteBuffer;
+import java.util.Optional;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
@@ -143,6 +145,12 @@ public class TimeBoundPageStore implements PageStore {
     return mPageStore.getDataFileChannel(pageId, pageOffset, bytesToRead, isTemporary);
   }
 
+  @Override
+  public Optional<DataBuffer> getDataBuffer(PageId pageId, int pageOffset, int bytesToRead,
+      boolean isTemporary) throws IOException, PageNotFoundException {
+    return mPageStore.getDataBuffer(pageId, pageOffset, bytesToRead, isTemporary);
+  }
+
   @Override
   public void close() throws Exception {
     mExecutorService.shutdown();
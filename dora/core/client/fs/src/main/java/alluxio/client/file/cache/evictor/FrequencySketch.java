@@ -0,0 +1,129 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.client.file.cache.evictor;
+
+import com.google.common.base.Preconditions;
+
+import java.util.Arrays;
+import javax.annotation.concurrent.NotThreadSafe;
+
+/**
+ * A count-min sketch estimating the access frequency of items within a time window, in the
+ * spirit of the sketch used by TinyLFU. Each item is counted by 4-bit counters, so estimates are
+ * capped at 15, and all the counters are halved once the number of increments reaches a sample
+ * size proportional to the width of the sketch, so that the estimates favor recent accesses.
+ */
+@NotThreadSafe
+public class FrequencySketch {
+  private static final int NUM_ROWS = 4;
+  private static final int MAX_COUNT = 15;
+  /** Number of increments before aging, per counter slot of the table. */
+  private static final int SAMPLE_FACTOR = 10;
+  private static final long[] SEEDS = {
+      0xc3a5c85c97cb3127L, 0xb492b66fbe98f273L, 0x9ae16a3b2f90404fL, 0xcbf29ce484222325L};
+  private static final long RESET_MASK = 0x7777777777777777L;
+
+  /** Each long holds 16 counters of 4 bits. */
+  private long[] mTable;
+  private int mSampleSize;
+  private int mSize;
+
+  /**
+   * @param expectedItems number of distinct items expected to be tracked at the same time
+   */
+  public FrequencySketch(long expectedItems) {
+    ensureCapacity(expectedItems);
+  }
+
+  /**
+   * Grows the sketch to track the given number of items. The counts are lost when growing.
+   *
+   * @param expectedItems number of distinct items expected to be tracked at the same time
+   */
+  public void ensureCapacity(long expectedItems) {
+    Preconditions.checkArgument(expectedItems >= 0, "Invalid number of items %s", expectedItems);
+    int width = (int) Math.min(Math.max(expectedItems, 16), 1 << 30);
+    width = Integer.highestOneBit(width - 1) << 1;
+    if (mTable != null && mTable.length >= width) {
+      return;
+    }
+    mTable = new long[width];
+    mSampleSize = (int) Math.min((long) width * SAMPLE_FACTOR, Integer.MAX_VALUE);
+    mSize = 0;
+  }
+
+  /**
+   * Records an access to the item.
+   *
+   * @param item the item
+   */
+  public void increment(Object item) {
+    long hash = spread(item.hashCode());
+    boolean added = false;
+    for (int row = 0; row < NUM_ROWS; row++) {
+      long rowHash = rehash(hash, row);
+      int index = (int) (rowHash >>> 32) & (mTable.length - 1);
+      int shift = ((int) rowHash & 15) << 2;
+      if (((mTable[index] >>> shift) & MAX_COUNT) != MAX_COUNT) {
+        mTable[index] += 1L << shift;
+        added = true;
+      }
+    }
+    if (added && ++mSize >= mSampleSize) {
+      age();
+    }
+  }
+
+  /**
+   * @param item the item
+   * @return the estimated number of accesses to the item, at most 15
+   */
+  public int frequency(Object item) {
+    long hash = spread(item.hashCode());
+    int frequency = MAX_COUNT;
+    for (int row = 0; row < NUM_ROWS; row++) {
+      long rowHash = rehash(hash, row);
+      int index = (int) (rowHash >>> 32) & (mTable.length - 1);
+      int shift = ((int) rowHash & 15) << 2;
+      frequency = Math.min(frequency, (int) ((mTable[index] >>> shift) & MAX_COUNT));
+    }
+    return frequency;
+  }
+
+  /**
+   * Forgets all the accesses.
+   */
+  public void clear() {
+    Arrays.fill(mTable, 0L);
+    mSize = 0;
+  }
+
+  /**
+   * Halves all the counters.
+   */
+  private void age() {
+    for (int i = 0; i < mTable.length; i++) {
+      mTable[i] = (mTable[i] >>> 1) & RESET_MASK;
+    }
+    mSize /= 2;
+  }
+
+  private static long spread(int hashCode) {
+    long hash = hashCode * 0x9E3779B97F4A7C15L;
+    return hash ^ (hash >>> 32);
+  }
+
+  private static long rehash(long hash, int row) {
+    long h = (hash + SEEDS[row]) * SEEDS[(row + 1) % NUM_ROWS];
+    return h ^ (h >>> 29);
+  }
+}
@@ -0,0 +1,181 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.client.file.cache.evictor;
+
+import alluxio.client.file.cache.PageId;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Predicate;
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * W-TinyLFU client-side cache eviction policy, which keeps a hot working set cached through
+ * scans of cold pages.
+ * <p>
+ * New pages enter a small LRU window. Pages leaving the window must compete with the least
+ * recently used page of the main segment, and only the page more frequently accessed in the
+ * recent past stays, as estimated by a {@link FrequencySketch} of the accesses to all the pages,
+ * including the pages no longer cached. The main segment is a segmented LRU: pages accessed
+ * again while in probation are promoted to the protected segment, which is only demoted back
+ * to probation when it grows beyond its share of the main segment.
+ * <p>
+ * The evictor does not know the capacity of the cache, so the segments are sized relatively
+ * to the number of pages being tracked, which is the capacity once the cache is full.
+ */
+@ThreadSafe
+public class TinyLFUCacheEvictor implements CacheEvictor {
+  private static final Logger LOG = LoggerFactory.getLogger(TinyLFUCacheEvictor.class);
+  private static final int MAP_INIT_CAPACITY = 200;
+  private static final float MAP_INIT_LOAD_FACTOR = 0.75f;
+  private static final boolean UNUSED_MAP_VALUE = true;
+  /** Share of the pages in the window. */
+  private static final double WINDOW_RATIO = 0.01;
+  /** Share of the main segment pages in the protected segment. */
+  private static final double PROTECTED_RATIO = 0.8;
+  private static final int INITIAL_SKETCH_SIZE = 1024;
+
+  private final Map<PageId, Boolean> mWindow =
+      new LinkedHashMap<>(MAP_INIT_CAPACITY, MAP_INIT_LOAD_FACTOR, true);
+  private final Map<PageId, Boolean> mProbation =
+      new LinkedHashMap<>(MAP_INIT_CAPACITY, MAP_INIT_LOAD_FACTOR, true);
+  private final Map<PageId, Boolean> mProtected =
+      new LinkedHashMap<>(MAP_INIT_CAPACITY, MAP_INIT_LOAD_FACTOR, true);
+  private final FrequencySketch mSketch = new FrequencySketch(INITIAL_SKETCH_SIZE);
+  private long mSketchCapacity = INITIAL_SKETCH_SIZE;
+
+  /**
+   * Required constructor.
+   *
+   * @param options
+   */
+  public TinyLFUCacheEvictor(CacheEvictorOptions options) {
+  }
+
+  @Override
+  public synchronized void updateOnGet(PageId pageId) {
+    mSketch.increment(pageId);
+    if (mWindow.get(pageId) != null || mProtected.get(pageId) != null) {
+      // moved to the most recently used position
+      return;
+    }
+    if (mProbation.remove(pageId) != null) {
+      mProtected.put(pageId, UNUSED_MAP_VALUE);
+      demoteProtected();
+    }
+  }
+
+  @Override
+  public synchronized void updateOnPut(PageId pageId) {
+    if (mWindow.containsKey(pageId) || mProbation.containsKey(pageId)
+        || mProtected.containsKey(pageId)) {
+      updateOnGet(pageId);
+      return;
+    }
+    mSketch.increment(pageId);
+    mWindow.put(pageId, UNUSED_MAP_VALUE);
+    // pages overflowing the window were admitted by the last eviction, or the cache is not full
+    int maxWindowSize = maxWindowSize();
+    while (mWindow.size() > maxWindowSize) {
+      PageId admitted = first(mWindow);
+      mWindow.remove(admitted);
+      mProbation.put(admitted, UNUSED_MAP_VALUE);
+    }
+    long numPages = mWindow.size() + mProbation.size() + mProtected.size();
+    if (numPages > mSketchCapacity) {
+      // the counts are lost when the sketch grows, which only happens while the cache fills up
+      mSketchCapacity = numPages * 2;
+      mSketch.ensureCapacity(mSketchCapacity);
+    }
+  }
+
+  @Override
+  public synchronized void updateOnDelete(PageId pageId) {
+    if (mWindow.remove(pageId) == null && mProbation.remove(pageId) == null
+        && mProtected.remove(pageId) == null) {
+      LOG.debug("cannot delete page {} - page not found", pageId);
+    }
+  }
+
+  @Nullable
+  @Override
+  public synchronized PageId evict() {
+    // the oldest window page leaves the window on the next put, and competes with the main
+    // segment victim for the space
+    PageId candidate = first(mWindow);
+    PageId victim = mProbation.isEmpty() ? first(mProtected) : first(mProbation);
+    if (victim == null) {
+      LOG.debug("plan to evict page {} from the window", candidate);
+      return candidate;
+    }
+    if (candidate != null && mWindow.size() >= maxWindowSize()
+        && mSketch.frequency(candidate) <= mSketch.frequency(victim)) {
+      LOG.debug("plan to evict page {} rejected from the window", candidate);
+      return candidate;
+    }
+    LOG.debug("plan to evict page {}", victim);
+    return victim;
+  }
+
+  @Nullable
+  @Override
+  public synchronized PageId evictMatching(Predicate<PageId> criterion) {
+    for (Map<PageId, Boolean> segment : Arrays.asList(mProbation, mWindow, mProtected)) {
+      for (PageId candidate : segment.keySet()) {
+        if (criterion.test(candidate)) {
+          LOG.debug("plan to evict page {}", candidate);
+          return candidate;
+        }
+      }
+    }
+    return null;
+  }
+
+  @Override
+  public synchronized void reset() {
+    mWindow.clear();
+    mProbation.clear();
+    mProtected.clear();
+    mSketch.clear();
+  }
+
+  private int maxWindowSize() {
+    int numPages = mWindow.size() + mProbation.size() + mProtected.size();
+    return (int) Math.max(1, numPages * WINDOW_RATIO);
+  }
+
+  /**
+   * Demotes the least recently used protected pages to probation while the protected segment
+   * exceeds its share of the main segment.
+   */
+  private void demoteProtected() {
+    int maxProtectedSize =
+        (int) ((mProbation.size() + mProtected.size()) * PROTECTED_RATIO);
+    while (mProtected.size() > Math.max(1, maxProtectedSize)) {
+      PageId pageId = first(mProtected);
+      mProtected.remove(pageId);
+      mProbation.put(pageId, UNUSED_MAP_VALUE);
+    }
+  }
+
+  @Nullable
+  private static PageId first(Map<PageId, Boolean> segment) {
+    Iterator<PageId> iterator = segment.keySet().iterator();
+    return iterator.hasNext() ? iterator.next() : null;
+  }
+}
@@ -0,0 +1,62 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.client.file.cache.filter;
+
+import alluxio.client.file.URIStatus;
+import alluxio.client.file.cache.evictor.FrequencySketch;
+import alluxio.conf.AlluxioConfiguration;
+import alluxio.conf.PropertyKey;
+
+import com.google.common.base.Preconditions;
+
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * Cache Filter admitting only the files read repeatedly in the recent past, so that one-shot
+ * reads of cold files, like full table scans, bypass the cache instead of evicting the hot
+ * working set. Reads of the files are counted by a {@link FrequencySketch}, and a file is cached
+ * once it has been read the configured number of times.
+ */
+@ThreadSafe
+public class FrequencyCacheFilter implements CacheFilter {
+  /** The sketch does not count beyond 15 reads. */
+  private static final int MAX_THRESHOLD = 15;
+
+  private final FrequencySketch mSketch;
+  private final int mThreshold;
+
+  /**
+   * The default constructor.
+   * @param conf the Alluxio Configuration
+   * @param cacheConfigFile the cache config file
+   */
+  public FrequencyCacheFilter(AlluxioConfiguration conf, String cacheConfigFile) {
+    mSketch = new FrequencySketch(
+        conf.getInt(PropertyKey.USER_CLIENT_CACHE_FILTER_FREQUENCY_SKETCH_SIZE));
+    mThreshold = conf.getInt(PropertyKey.USER_CLIENT_CACHE_FILTER_FREQUENCY_THRESHOLD);
+    Preconditions.checkArgument(mThreshold >= 1 && mThreshold <= MAX_THRESHOLD,
+        "%s should be between 1 and %s", PropertyKey.USER_CLIENT_CACHE_FILTER_FREQUENCY_THRESHOLD,
+        MAX_THRESHOLD);
+  }
+
+  /**
+   * Records a read of the file, and admits it once it has been read often enough.
+   * @param uriStatus the uri
+   * @return true if the file has been read at least the threshold number of times recently
+   */
+  @Override
+  public synchronized boolean needsCache(URIStatus uriStatus) {
+    String path = uriStatus.getPath();
+    mSketch.increment(path);
+    return mSketch.frequency(path) >= mThreshold;
+  }
+}
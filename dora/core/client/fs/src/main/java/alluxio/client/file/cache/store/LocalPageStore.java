@@ -20,6 +20,7 @@ import alluxio.exception.PageNotFoundException;
 import alluxio.exception.status.ResourceExhaustedException;
 import alluxio.file.ReadTargetBuffer;
 import alluxio.network.protocol.databuffer.DataFileChannel;
+import alluxio.util.ThreadFactoryUtils;
 
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Preconditions;
@@ -30,18 +31,39 @@ import java.io.FileNotFoundException;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.RandomAccessFile;
+import java.io.UncheckedIOException;
 import java.nio.ByteBuffer;
+import java.nio.channels.AsynchronousFileChannel;
+import java.nio.channels.CompletionHandler;
+import java.nio.channels.FileChannel;
 import java.nio.file.DirectoryStream;
 import java.nio.file.Files;
 import java.nio.file.NoSuchFileException;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Collections;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import javax.annotation.Nullable;
 import javax.annotation.concurrent.NotThreadSafe;
 
 /**
  * The {@link LocalPageStore} is an implementation of {@link PageStore} which
  * stores all pages in a directory somewhere on the local disk.
+ * <p>
+ * When asynchronous reads are enabled, {@link #getAsync} reads the page files through
+ * {@link AsynchronousFileChannel}s served by a pool of threads of the store, so that a single
+ * reader can keep as many reads in flight as there are threads in the pool. The page file is
+ * opened before {@link #getAsync} returns, so the read is not affected by the page being
+ * deleted afterwards.
+ * <p>
+ * Likewise, {@link #getDataFileChannel} opens the page file right away and keeps it open until
+ * the returned channel is sent or released, which pins the data of the page: a page evicted or
+ * deleted in the meantime only has its file unlinked, and a page written again gets a new file,
+ * so the data being sent never changes.
  */
 @NotThreadSafe
 public class LocalPageStore implements PageStore {
@@ -51,6 +73,8 @@ public class LocalPageStore implements PageStore {
   private final long mPageSize;
   private final long mCapacity;
   private final int mFileBuckets;
+  @Nullable
+  private final ExecutorService mAsyncReadExecutor;
 
   /**
    * Creates a new instance of {@link LocalPageStore}.
@@ -62,6 +86,10 @@ public class LocalPageStore implements PageStore {
     mPageSize = options.getPageSize();
     mCapacity = (long) (options.getCacheSize() / (1 + options.getOverheadRatio()));
     mFileBuckets = options.getFileBuckets();
+    mAsyncReadExecutor = options.getAsyncReadThreads() > 0
+        ? Executors.newFixedThreadPool(options.getAsyncReadThreads(),
+            ThreadFactoryUtils.build("alluxio-page-store-async-read-%d", true))
+        : null;
   }
 
   @Override
@@ -76,6 +104,9 @@ public class LocalPageStore implements PageStore {
         Path parent = Preconditions.checkNotNull(pagePath.getParent(),
             "parent of cache file should not be null");
         Files.createDirectories(parent);
+      } else {
+        // do not overwrite the file in place, readers may still have it open
+        Files.delete(pagePath);
       }
       // extra try to ensure output stream is closed
       try (FileOutputStream fos = new FileOutputStream(pagePath.toFile(), false)) {
@@ -136,6 +167,43 @@ public class LocalPageStore implements PageStore {
     }
   }
 
+  @Override
+  public CompletableFuture<Integer> getAsync(PageId pageId, int pageOffset, int bytesToRead,
+      ByteBuffer buffer, boolean isTemporary) throws IOException, PageNotFoundException {
+    if (mAsyncReadExecutor == null) {
+      return PageStore.super.getAsync(pageId, pageOffset, bytesToRead, buffer, isTemporary);
+    }
+    Preconditions.checkArgument(pageOffset >= 0, "page offset should be non-negative");
+    Preconditions.checkArgument(bytesToRead >= 0, "bytes to read should be non-negative");
+    if (buffer.remaining() == 0 || bytesToRead == 0) {
+      return CompletableFuture.completedFuture(0);
+    }
+    Path pagePath = getPagePath(pageId, isTemporary);
+    AsynchronousFileChannel channel;
+    try {
+      channel = AsynchronousFileChannel.open(pagePath,
+          Collections.singleton(StandardOpenOption.READ), mAsyncReadExecutor);
+    } catch (NoSuchFileException e) {
+      throw new PageNotFoundException(pagePath.toString());
+    }
+    try {
+      long pageLength = channel.size();
+      if (pageOffset + bytesToRead > pageLength) {
+        throw new PageCorruptedException(String.format(
+            "The page %s (%s) probably has been corrupted, "
+                + "page-offset %s, bytes to read %s, page file length %s",
+            pageId, pagePath, pageOffset, bytesToRead, pageLength));
+      }
+      AsyncRead read = new AsyncRead(pageId, channel, pageOffset,
+          Math.min(buffer.remaining(), bytesToRead), buffer);
+      read.start();
+      return read.mFuture;
+    } catch (Throwable t) {
+      channel.close();
+      throw t;
+    }
+  }
+
   /**
    *
    * @param pageId page identifier
@@ -247,12 +315,96 @@ public class LocalPageStore implements PageStore {
       bytesToRead = (int) (fileLength - (long) pageOffset);
     }
 
-    DataFileChannel dataFileChannel = new DataFileChannel(pageFile, pageOffset, bytesToRead);
-    return dataFileChannel;
+    FileChannel channel;
+    try {
+      channel = FileChannel.open(pagePath, StandardOpenOption.READ);
+    } catch (NoSuchFileException e) {
+      throw new PageNotFoundException(pagePath.toString());
+    } catch (IOException e) {
+      throw new UncheckedIOException(
+          String.format("Failed to open file %s for page %s", pagePath, pageId), e);
+    }
+    return new DataFileChannel(channel, pageOffset, bytesToRead, () -> {
+      try {
+        channel.close();
+      } catch (IOException e) {
+        SAMPLING_LOG.warn("Failed to close file {} for page {}: {}", pagePath, pageId,
+            e.toString());
+      }
+    });
   }
 
   @Override
   public void close() {
-    // no-op
+    if (mAsyncReadExecutor != null) {
+      mAsyncReadExecutor.shutdownNow();
+    }
+  }
+
+  /**
+   * A read of a page file in progress, issuing reads until all the bytes are read or the end
+   * of the file is reached.
+   */
+  private static final class AsyncRead implements CompletionHandler<Integer, Void> {
+    private final PageId mPageId;
+    private final AsynchronousFileChannel mChannel;
+    private final long mPageOffset;
+    private final ByteBuffer mSlice;
+    private final ByteBuffer mTarget;
+    private final CompletableFuture<Integer> mFuture = new CompletableFuture<>();
+
+    private AsyncRead(PageId pageId, AsynchronousFileChannel channel, long pageOffset,
+        int length, ByteBuffer target) {
+      mPageId = pageId;
+      mChannel = channel;
+      mPageOffset = pageOffset;
+      mSlice = target.slice();
+      mSlice.limit(length);
+      mTarget = target;
+    }
+
+    private void start() {
+      mChannel.read(mSlice, mPageOffset, null, this);
+    }
+
+    @Override
+    public void completed(Integer bytes, Void attachment) {
+      if (bytes > 0 && mSlice.hasRemaining()) {
+        try {
+          mChannel.read(mSlice, mPageOffset + mSlice.position(), null, this);
+        } catch (Throwable t) {
+          failed(t);
+        }
+        return;
+      }
+      closeChannel();
+      int bytesRead = mSlice.position();
+      if (bytesRead == 0) {
+        SAMPLING_LOG.warn("Read 0 bytes from page {}, the page is probably empty", mPageId);
+        mFuture.complete(-1);
+        return;
+      }
+      mTarget.position(mTarget.position() + bytesRead);
+      mFuture.complete(bytesRead);
+    }
+
+    @Override
+    public void failed(Throwable t, Void attachment) {
+      failed(t);
+    }
+
+    private void failed(Throwable t) {
+      closeChannel();
+      mFuture.completeExceptionally(
+          new IOException("Failed to read page " + mPageId + " asynchronously", t));
+    }
+
+    private void closeChannel() {
+      try {
+        mChannel.close();
+      } catch (IOException e) {
+        LOG.debug("Failed to close the channel of page {}", mPageId, e);
+      }
+    }
   }
 }
@@ -0,0 +1,339 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.client.file.cache.store;
+
+import alluxio.client.file.cache.PageId;
+import alluxio.client.file.cache.PageStore;
+import alluxio.exception.PageCorruptedException;
+import alluxio.exception.PageNotFoundException;
+import alluxio.exception.status.ResourceExhaustedException;
+import alluxio.file.ReadTargetBuffer;
+import alluxio.network.protocol.databuffer.DataBuffer;
+import alluxio.network.protocol.databuffer.MappedNioByteBuf;
+import alluxio.network.protocol.databuffer.NettyDataBuffer;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Preconditions;
+import io.netty.buffer.Unpooled;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * The {@link OffHeapMemoryPageStore} is an implementation of {@link PageStore} which stores all
+ * pages in direct memory, outside of the Java heap, so that a large cache does not add to the
+ * garbage collection pressure like {@link MemoryPageStore} does.
+ * <p>
+ * Pages are stored in chunks allocated by a {@link SlabAllocator}. Reads copy the page data
+ * straight from the chunk into the target buffer, or hand out read-only slices of the chunk by
+ * {@link #getDataBuffer}. A chunk is pinned while it is being read and only returned to the
+ * allocator when the last reader unpins it, so a page deleted or evicted under an in-flight
+ * reader keeps its data until the reader is done.
+ */
+@ThreadSafe
+public class OffHeapMemoryPageStore implements PageStore {
+  private final SlabAllocator mAllocator;
+  private final Map<PageId, Page> mPages = new ConcurrentHashMap<>();
+  private final Map<PageId, Page> mTempPages = new ConcurrentHashMap<>();
+  /** Number of reads in progress and slices not yet released. */
+  private final AtomicLong mPinCount = new AtomicLong();
+  private volatile boolean mClosed = false;
+
+  /**
+   * Creates a new instance of {@link OffHeapMemoryPageStore}.
+   *
+   * @param options options for the off-heap page store
+   */
+  public OffHeapMemoryPageStore(PageStoreOptions options) {
+    Preconditions.checkArgument(
+        options.getPageSize() > 0 && options.getPageSize() <= Integer.MAX_VALUE,
+        "Invalid page size %s", options.getPageSize());
+    // the slabs take no more memory than the pages the quota of the directory allows
+    mAllocator = new SlabAllocator((int) options.getPageSize(), options.getSlabSize(),
+        (long) (options.getCacheSize() / (1 + options.getOverheadRatio())));
+  }
+
+  @Override
+  public void put(PageId pageId, ByteBuffer page, boolean isTemporary)
+      throws ResourceExhaustedException, IOException {
+    LOG.debug("Put page: {}, page's position: {}, page's limit: {}, page's capacity: {}",
+        pageId, page.position(), page.limit(), page.capacity());
+    SlabAllocator.Chunk chunk;
+    try {
+      chunk = allocate(page.remaining());
+    } catch (IllegalArgumentException | IllegalStateException e) {
+      throw new IOException("Failed to put cached data in memory for page " + pageId, e);
+    }
+    chunk.slice(0, chunk.getLength()).put(page);
+    Page previous = getIndex(isTemporary).put(pageId, new Page(chunk));
+    if (previous != null) {
+      dereference(previous);
+    }
+  }
+
+  @Override
+  public int get(PageId pageId, int pageOffset, int bytesToRead, ReadTargetBuffer target,
+      boolean isTemporary) throws IOException, PageNotFoundException {
+    Preconditions.checkArgument(target != null, "buffer is null");
+    Preconditions.checkArgument(pageOffset >= 0, "page offset should be non-negative");
+    Preconditions.checkArgument(bytesToRead >= 0, "bytes to read should be non-negative");
+    Page page = pin(pageId, isTemporary);
+    try {
+      int pageLength = page.mChunk.getLength();
+      if (pageOffset + bytesToRead > pageLength) {
+        throw new PageCorruptedException(String.format(
+            "The page %s probably has been corrupted, "
+                + "page-offset %s, bytes to read %s, page length %s",
+            pageId, pageOffset, bytesToRead, pageLength));
+      }
+      int bytesLeft = (int) Math.min(bytesToRead, target.remaining());
+      target.writeBytes(Unpooled.wrappedBuffer(page.mChunk.slice(pageOffset, bytesLeft)));
+      return bytesLeft;
+    } finally {
+      unpin(page);
+    }
+  }
+
+  @Override
+  public Optional<DataBuffer> getDataBuffer(
+      PageId pageId, int pageOffset, int bytesToRead, boolean isTemporary)
+      throws PageNotFoundException {
+    Preconditions.checkArgument(pageOffset >= 0, "page offset should be non-negative");
+    Page page = pin(pageId, isTemporary);
+    try {
+      int pageLength = page.mChunk.getLength();
+      if (pageLength < pageOffset) {
+        throw new IllegalArgumentException(
+            String.format("offset %s exceeds length of page %s", pageOffset, pageLength));
+      }
+      ByteBuffer slice =
+          page.mChunk.slice(pageOffset, Math.min(bytesToRead, pageLength - pageOffset));
+      return Optional.of(new NettyDataBuffer(
+          MappedNioByteBuf.wrap(slice.asReadOnlyBuffer(), () -> unpin(page))));
+    } catch (Throwable t) {
+      unpin(page);
+      throw t;
+    }
+  }
+
+  @Override
+  public void delete(PageId pageId, boolean isTemporary)
+      throws IOException, PageNotFoundException {
+    Page page = getIndex(isTemporary).remove(pageId);
+    if (page == null) {
+      throw new PageNotFoundException(pageId.getFileId() + "_" + pageId.getPageIndex());
+    }
+    dereference(page);
+  }
+
+  @Override
+  public void commit(String fileId, String newFileId) throws IOException {
+    for (PageId tempPageId : getTempPageIds(fileId)) {
+      Page page = mTempPages.remove(tempPageId);
+      if (page == null) {
+        continue;
+      }
+      Page previous = mPages.put(new PageId(newFileId, tempPageId.getPageIndex()), page);
+      if (previous != null) {
+        dereference(previous);
+      }
+    }
+  }
+
+  @Override
+  public void abort(String fileId) throws IOException {
+    for (PageId tempPageId : getTempPageIds(fileId)) {
+      Page page = mTempPages.remove(tempPageId);
+      if (page != null) {
+        dereference(page);
+      }
+    }
+  }
+
+  /**
+   * Removes all the pages. Pages still being read are freed once the reads are done.
+   */
+  public void reset() {
+    for (Map<PageId, Page> index : Arrays.asList(mPages, mTempPages)) {
+      for (PageId pageId : new ArrayList<>(index.keySet())) {
+        Page page = index.remove(pageId);
+        if (page != null) {
+          dereference(page);
+        }
+      }
+    }
+  }
+
+  @Override
+  public void close() {
+    mClosed = true;
+    // readers pin after checking the closed flag, so no new slice can be handed out from here
+    boolean inUse = mPinCount.get() > 0;
+    if (inUse) {
+      LOG.info("Off-heap pages are still being read, leaving the slabs to be freed by garbage "
+          + "collection");
+    }
+    mPages.clear();
+    mTempPages.clear();
+    mAllocator.close(!inUse);
+  }
+
+  /**
+   * @return the slab allocator of this store
+   */
+  @VisibleForTesting
+  SlabAllocator getAllocator() {
+    return mAllocator;
+  }
+
+  /**
+   * @return the number of reads in progress and slices not yet released
+   */
+  @VisibleForTesting
+  public long getPinCount() {
+    return mPinCount.get();
+  }
+
+  /**
+   * Allocates a chunk, compacting a slab of a smaller size class if no chunk can hold the bytes.
+   */
+  private SlabAllocator.Chunk allocate(int length) throws ResourceExhaustedException {
+    try {
+      return mAllocator.allocate(length);
+    } catch (ResourceExhaustedException e) {
+      if (!compact(length)) {
+        throw e;
+      }
+      return mAllocator.allocate(length);
+    }
+  }
+
+  /**
+   * Moves the pages out of a slab picked by the allocator, so that the slab is released once
+   * the pages being read in it are unpinned.
+   *
+   * @param length number of bytes to make room for
+   * @return whether a slab was compacted
+   */
+  private boolean compact(int length) {
+    if (!mAllocator.startCompaction(length)) {
+      return false;
+    }
+    try {
+      for (Map<PageId, Page> index : Arrays.asList(mPages, mTempPages)) {
+        for (Map.Entry<PageId, Page> entry : index.entrySet()) {
+          Page page = entry.getValue();
+          if (!mAllocator.isCompacting(page.mChunk)) {
+            continue;
+          }
+          mPinCount.incrementAndGet();
+          if (mClosed || !page.retain()) {
+            mPinCount.decrementAndGet();
+            continue;
+          }
+          try {
+            SlabAllocator.Chunk chunk = mAllocator.allocate(page.mChunk.getLength());
+            chunk.slice(0, chunk.getLength()).put(page.mChunk.slice(0, chunk.getLength()));
+            Page moved = new Page(chunk);
+            // the page may have been replaced or deleted meanwhile
+            dereference(index.replace(entry.getKey(), page, moved) ? page : moved);
+          } finally {
+            unpin(page);
+          }
+        }
+      }
+      return true;
+    } catch (ResourceExhaustedException e) {
+      LOG.debug("Failed to compact the slabs to make room for {} bytes", length, e);
+      return false;
+    } finally {
+      mAllocator.endCompaction();
+    }
+  }
+
+  private Map<PageId, Page> getIndex(boolean isTemporary) {
+    return isTemporary ? mTempPages : mPages;
+  }
+
+  private List<PageId> getTempPageIds(String fileId) {
+    List<PageId> pageIds = new ArrayList<>();
+    for (PageId pageId : mTempPages.keySet()) {
+      if (pageId.getFileId().equals(fileId)) {
+        pageIds.add(pageId);
+      }
+    }
+    return pageIds;
+  }
+
+  /**
+   * Pins the page so that its chunk is not reused or freed while being read.
+   */
+  private Page pin(PageId pageId, boolean isTemporary) throws PageNotFoundException {
+    mPinCount.incrementAndGet();
+    Page page = getIndex(isTemporary).get(pageId);
+    if (mClosed || page == null || !page.retain()) {
+      mPinCount.decrementAndGet();
+      throw new PageNotFoundException(pageId.getFileId() + "_" + pageId.getPageIndex());
+    }
+    return page;
+  }
+
+  private void unpin(Page page) {
+    try {
+      dereference(page);
+    } finally {
+      mPinCount.decrementAndGet();
+    }
+  }
+
+  private void dereference(Page page) {
+    if (page.mRefCount.decrementAndGet() == 0) {
+      mAllocator.free(page.mChunk);
+    }
+  }
+
+  /**
+   * A page stored in a chunk of a slab.
+   */
+  private static final class Page {
+    private final SlabAllocator.Chunk mChunk;
+    /** One reference held by the index, plus one per pinning reader. */
+    private final AtomicInteger mRefCount = new AtomicInteger(1);
+
+    private Page(SlabAllocator.Chunk chunk) {
+      mChunk = chunk;
+    }
+
+    /**
+     * @return false if the page has already been released by the index and all the readers
+     */
+    boolean retain() {
+      int refCount;
+      do {
+        refCount = mRefCount.get();
+        if (refCount <= 0) {
+          return false;
+        }
+      } while (!mRefCount.compareAndSet(refCount, refCount + 1));
+      return true;
+    }
+  }
+}
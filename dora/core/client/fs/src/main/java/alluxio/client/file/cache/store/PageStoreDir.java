@@ -67,12 +67,24 @@ public interface PageStoreDir extends CacheStatus {
             PageStore.create(pageStoreOptions),
             CacheEvictor.create(cacheEvictorOptions)
         );
+      case SEGMENT:
+        return new SegmentPageStoreDir(
+            pageStoreOptions,
+            new SegmentPageStore(pageStoreOptions),
+            CacheEvictor.create(cacheEvictorOptions)
+        );
       case MEM:
         return new MemoryPageStoreDir(
             pageStoreOptions,
             (MemoryPageStore) PageStore.create(pageStoreOptions),
             CacheEvictor.create(cacheEvictorOptions)
         );
+      case OFF_HEAP:
+        return new OffHeapMemoryPageStoreDir(
+            pageStoreOptions,
+            new OffHeapMemoryPageStore(pageStoreOptions),
+            CacheEvictor.create(cacheEvictorOptions)
+        );
       default:
         throw new IllegalArgumentException(String.format("Unrecognized store type %s",
             pageStoreOptions.getType().name()));
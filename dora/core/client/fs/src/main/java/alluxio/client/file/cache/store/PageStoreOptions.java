@@ -11,6 +11,7 @@
 
 package alluxio.client.file.cache.store;
 
+import alluxio.Constants;
 import alluxio.conf.AlluxioConfiguration;
 import alluxio.conf.PropertyKey;
 import alluxio.util.FormatUtils;
@@ -39,6 +40,12 @@ public class PageStoreOptions {
     List<PageStoreOptions> optionsList = createPageStoreOptions(dirs, cacheSizes, storeType);
     optionsList.forEach(options -> {
       options.setFileBuckets(conf.getInt(PropertyKey.USER_CLIENT_CACHE_LOCAL_STORE_FILE_BUCKETS))
+          .setSegmentSize(conf.getBytes(PropertyKey.USER_CLIENT_CACHE_LOCAL_STORE_SEGMENT_SIZE))
+          .setSlabSize(conf.getBytes(PropertyKey.USER_CLIENT_CACHE_OFF_HEAP_SLAB_SIZE))
+          .setSegmentMmapEnabled(
+              conf.getBoolean(PropertyKey.USER_CLIENT_CACHE_LOCAL_STORE_SEGMENT_MMAP_ENABLED))
+          .setAsyncReadThreads(
+              conf.getInt(PropertyKey.USER_CLIENT_CACHE_LOCAL_STORE_ASYNC_READ_THREADS))
           .setPageSize(conf.getBytes(PropertyKey.USER_CLIENT_CACHE_PAGE_SIZE))
           .setAlluxioVersion(conf.getString(PropertyKey.VERSION))
           .setTimeoutDuration(conf.getMs(PropertyKey.USER_CLIENT_CACHE_TIMEOUT_DURATION))
@@ -62,6 +69,12 @@ public class PageStoreOptions {
     List<PageStoreOptions> optionsList = createPageStoreOptions(dirs, cacheSizes, storeType);
     optionsList.forEach(options -> {
       options.setFileBuckets(conf.getInt(PropertyKey.WORKER_PAGE_STORE_LOCAL_STORE_FILE_BUCKETS))
+          .setSegmentSize(conf.getBytes(PropertyKey.WORKER_PAGE_STORE_LOCAL_STORE_SEGMENT_SIZE))
+          .setSlabSize(conf.getBytes(PropertyKey.WORKER_PAGE_STORE_OFF_HEAP_SLAB_SIZE))
+          .setSegmentMmapEnabled(
+              conf.getBoolean(PropertyKey.WORKER_PAGE_STORE_LOCAL_STORE_SEGMENT_MMAP_ENABLED))
+          .setAsyncReadThreads(
+              conf.getInt(PropertyKey.WORKER_PAGE_STORE_LOCAL_STORE_ASYNC_READ_THREADS))
           .setPageSize(conf.getBytes(PropertyKey.WORKER_PAGE_STORE_PAGE_SIZE))
           .setAlluxioVersion(conf.getString(PropertyKey.VERSION))
           .setTimeoutDuration(conf.getMs(PropertyKey.WORKER_PAGE_STORE_TIMEOUT_DURATION))
@@ -95,6 +108,22 @@ public class PageStoreOptions {
 
   private PageStoreType mStoreType = PageStoreType.LOCAL;
   private int mFileBuckets = 1000;
+  /**
+   * Size of each segment file for the segment page store.
+   */
+  private long mSegmentSize = Constants.GB;
+  /**
+   * Size of each direct memory slab for the off-heap page store.
+   */
+  private long mSlabSize = 64 * Constants.MB;
+  /**
+   * Whether to memory map the segment files of the segment page store.
+   */
+  private boolean mSegmentMmapEnabled = false;
+  /**
+   * Number of threads reading pages asynchronously from the local page store, 0 if disabled.
+   */
+  private int mAsyncReadThreads = 0;
   /**
    * Root directory where the data is stored.
    */
@@ -288,6 +317,72 @@ public class PageStoreOptions {
     return mFileBuckets;
   }
 
+  /**
+   * @param segmentSize the size of each segment file of the segment page store
+   * @return the updated options
+   */
+  public PageStoreOptions setSegmentSize(long segmentSize) {
+    mSegmentSize = segmentSize;
+    return this;
+  }
+
+  /**
+   * @return the size of each segment file of the segment page store
+   */
+  public long getSegmentSize() {
+    return mSegmentSize;
+  }
+
+  /**
+   * @param slabSize the size of each direct memory slab of the off-heap page store
+   * @return the updated options
+   */
+  public PageStoreOptions setSlabSize(long slabSize) {
+    mSlabSize = slabSize;
+    return this;
+  }
+
+  /**
+   * @return the size of each direct memory slab of the off-heap page store
+   */
+  public long getSlabSize() {
+    return mSlabSize;
+  }
+
+  /**
+   * @param segmentMmapEnabled whether to memory map the segment files of the segment page store
+   * @return the updated options
+   */
+  public PageStoreOptions setSegmentMmapEnabled(boolean segmentMmapEnabled) {
+    mSegmentMmapEnabled = segmentMmapEnabled;
+    return this;
+  }
+
+  /**
+   * @return whether to memory map the segment files of the segment page store
+   */
+  public boolean isSegmentMmapEnabled() {
+    return mSegmentMmapEnabled;
+  }
+
+  /**
+   * @param asyncReadThreads number of threads reading pages asynchronously from the local page
+   *        store, 0 to disable asynchronous reads
+   * @return the updated options
+   */
+  public PageStoreOptions setAsyncReadThreads(int asyncReadThreads) {
+    mAsyncReadThreads = asyncReadThreads;
+    return this;
+  }
+
+  /**
+   * @return number of threads reading pages asynchronously from the local page store, 0 if
+   *         asynchronous reads are disabled
+   */
+  public int getAsyncReadThreads() {
+    return mAsyncReadThreads;
+  }
+
   /**
    * @param storeType
    * @return the updated options
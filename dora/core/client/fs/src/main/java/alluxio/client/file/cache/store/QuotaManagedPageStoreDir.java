@@ -72,7 +72,10 @@ abstract class QuotaManagedPageStoreDir implements PageStoreDir {
 
   @Override
   public void putPage(PageInfo pageInfo) {
-    mEvictor.updateOnPut(pageInfo.getPageId());
+    // synchronized with the lookups of the concurrent page metadata store
+    synchronized (mEvictor) {
+      mEvictor.updateOnPut(pageInfo.getPageId());
+    }
     try (LockResource lock = new LockResource(mFileIdSetLock.writeLock())) {
       mFileIdSet.add(pageInfo.getPageId().getFileId());
     }
@@ -91,7 +94,9 @@ abstract class QuotaManagedPageStoreDir implements PageStoreDir {
 
   @Override
   public long deletePage(PageInfo pageInfo) {
-    mEvictor.updateOnDelete(pageInfo.getPageId());
+    synchronized (mEvictor) {
+      mEvictor.updateOnDelete(pageInfo.getPageId());
+    }
     return mBytesUsed.addAndGet(-pageInfo.getPageSize());
   }
 
@@ -180,8 +185,10 @@ abstract class QuotaManagedPageStoreDir implements PageStoreDir {
       mTempFileIdSet.remove(fileId);
       mFileIdSet.add(newFileId);
 
-      mTempFileToPageInfoListMap.get(fileId)
-          .forEach(pageInfo -> mEvictor.updateOnPut(pageInfo.getPageId()));
+      synchronized (mEvictor) {
+        mTempFileToPageInfoListMap.get(fileId)
+            .forEach(pageInfo -> mEvictor.updateOnPut(pageInfo.getPageId()));
+      }
       mTempFileToPageInfoListMap.remove(fileId);
     }
   }
@@ -0,0 +1,968 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.client.file.cache.store;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import alluxio.client.file.cache.PageId;
+import alluxio.client.file.cache.PageInfo;
+import alluxio.client.file.cache.PageStore;
+import alluxio.client.quota.CacheScope;
+import alluxio.exception.PageCorruptedException;
+import alluxio.exception.PageNotFoundException;
+import alluxio.exception.status.ResourceExhaustedException;
+import alluxio.file.ReadTargetBuffer;
+import alluxio.network.protocol.databuffer.DataBuffer;
+import alluxio.network.protocol.databuffer.DataFileChannel;
+import alluxio.network.protocol.databuffer.MappedNioByteBuf;
+import alluxio.network.protocol.databuffer.NettyDataBuffer;
+import alluxio.util.io.BufferUtils;
+import alluxio.util.io.FileUtils;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Preconditions;
+import io.netty.buffer.Unpooled;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import javax.annotation.concurrent.GuardedBy;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * The {@link SegmentPageStore} is an implementation of {@link PageStore} which packs pages into
+ * a bounded number of large fixed-size segment files on the local disk, instead of creating
+ * one file per page like {@link LocalPageStore}. Segment files are created sparse, so disk
+ * space is only used by the slots pages are written to.
+ * <p>
+ * Each segment file is laid out as follows:
+ * <ol>
+ * <li>a fixed-size segment header describing the layout of the segment</li>
+ * <li>a table of fixed-size slot records, one per page slot, holding the id, length and
+ * creation time of the page stored in the slot</li>
+ * <li>the data area, one page-sized slot per record</li>
+ * </ol>
+ * The location of every page is kept in an in-memory index, and the file channel of each segment
+ * is kept open and shared by all reads and writes. Page data is always written before its slot
+ * record, so a slot is only considered occupied once the page is complete. On restart the index
+ * is rebuilt from the slot record tables of the segments without walking the directory.
+ * <p>
+ * When memory mapping is enabled, the data area of every segment is mapped read-only, and
+ * reads are served from the mapping, either copied into the target buffer or handed out as
+ * read-only slices by {@link #getDataBuffer}. A slot is pinned while it is being read and
+ * only returned to the free pool when the last reader unpins it, so a page deleted or evicted
+ * under an in-flight reader keeps its data until the reader is done. The mappings are only
+ * unmapped on {@link #close()} when no slice is in use, and are otherwise left to the garbage
+ * collector, so that reading a slice never faults. Data file channels handed out by
+ * {@link #getDataFileChannel} pin their slot the same way until they are sent.
+ */
+@ThreadSafe
+public class SegmentPageStore implements PageStore {
+  private static final String ERROR_NO_SPACE_LEFT = "No space left on device";
+  public static final String SEGMENT_FILE_PREFIX = "segment_";
+
+  private static final long SEGMENT_MAGIC = 0x414C5850414745L; // "ALXPAGE"
+  private static final int SEGMENT_VERSION = 1;
+  @VisibleForTesting
+  static final int SEGMENT_HEADER_SIZE = 64;
+  @VisibleForTesting
+  static final int SLOT_RECORD_SIZE = 512;
+  // state (1) + page index (8) + page length (4) + created time (8) + file id length (2)
+  @VisibleForTesting
+  static final int SLOT_RECORD_FIXED_SIZE = 23;
+  @VisibleForTesting
+  static final int MAX_FILE_ID_LENGTH = SLOT_RECORD_SIZE - SLOT_RECORD_FIXED_SIZE;
+  private static final int DATA_ALIGNMENT = 4096;
+
+  private static final byte SLOT_FREE = 0;
+  private static final byte SLOT_COMMITTED = 1;
+  private static final byte SLOT_TEMPORARY = 2;
+
+  private final Path mRoot;
+  private final long mPageSize;
+  private final long mCapacity;
+  private final int mTotalSlots;
+  private final int mSlotsPerSegment;
+  private final long mDataOffset;
+  private final boolean mMmapEnabled;
+  private final AtomicReferenceArray<Segment> mSegments;
+  /** Number of reads in progress and mapped slices not yet released. */
+  private final AtomicLong mPinCount = new AtomicLong();
+  private volatile boolean mClosed = false;
+
+  private final Map<PageId, Slot> mPages = new ConcurrentHashMap<>();
+  private final Map<PageId, Slot> mTempPages = new ConcurrentHashMap<>();
+
+  @GuardedBy("mUsedSlots")
+  private final BitSet mUsedSlots;
+  @GuardedBy("mUsedSlots")
+  private int mNextFreeSlotHint = 0;
+
+  /**
+   * Creates a new instance of {@link SegmentPageStore}, restoring the index of the pages from
+   * any existing segment files under the root directory.
+   *
+   * @param options options for the segment page store
+   */
+  public SegmentPageStore(PageStoreOptions options) {
+    mPageSize = options.getPageSize();
+    Preconditions.checkArgument(mPageSize > 0 && mPageSize <= Integer.MAX_VALUE,
+        "Invalid page size %s", mPageSize);
+    mRoot = Paths.get(options.getRootDir().toString(), Long.toString(mPageSize));
+    mCapacity = (long) (options.getCacheSize() / (1 + options.getOverheadRatio()));
+    mTotalSlots = (int) Math.min(Integer.MAX_VALUE,
+        (options.getCacheSize() + mPageSize - 1) / mPageSize);
+    mMmapEnabled = options.isSegmentMmapEnabled();
+    long segmentSize = options.getSegmentSize();
+    if (mMmapEnabled) {
+      // the data area of a segment is mapped as a whole, which must fit in a single buffer
+      segmentSize = Math.min(segmentSize, Integer.MAX_VALUE);
+    }
+    mSlotsPerSegment = (int) Math.max(1, Math.min(mTotalSlots, segmentSize / mPageSize));
+    long recordTableEnd = SEGMENT_HEADER_SIZE + (long) mSlotsPerSegment * SLOT_RECORD_SIZE;
+    mDataOffset = (recordTableEnd + DATA_ALIGNMENT - 1) / DATA_ALIGNMENT * DATA_ALIGNMENT;
+    int numSegments = (mTotalSlots + mSlotsPerSegment - 1) / mSlotsPerSegment;
+    mSegments = new AtomicReferenceArray<>(numSegments);
+    mUsedSlots = new BitSet(mTotalSlots);
+    try {
+      Files.createDirectories(mRoot);
+      loadSegments();
+    } catch (IOException e) {
+      LOG.error("Failed to load segments under {}", mRoot, e);
+    }
+  }
+
+  @Override
+  public void put(PageId pageId,
+      ByteBuffer page,
+      boolean isTemporary) throws ResourceExhaustedException, IOException {
+    byte[] fileId = pageId.getFileId().getBytes(UTF_8);
+    if (fileId.length > MAX_FILE_ID_LENGTH) {
+      throw new IOException(String.format(
+          "File id of page %s is %d bytes, exceeding the limit of %d bytes of %s",
+          pageId, fileId.length, MAX_FILE_ID_LENGTH, getClass().getSimpleName()));
+    }
+    int pageLength = page.remaining();
+    if (pageLength > mPageSize) {
+      throw new IOException(String.format("Page %s of %d bytes exceeds the page size %d",
+          pageId, pageLength, mPageSize));
+    }
+    LOG.debug("Put page: {}, page's position: {}, page's limit: {}, page's capacity: {}",
+        pageId, page.position(), page.limit(), page.capacity());
+    Slot slot = new Slot(allocateSlot(), pageLength, System.currentTimeMillis());
+    try {
+      FileChannel channel = getSegment(slot.getSegmentIndex()).getChannel();
+      long position = getDataPosition(slot);
+      while (page.hasRemaining()) {
+        position += channel.write(page, position);
+      }
+      writeSlotRecord(channel, slot, isTemporary ? SLOT_TEMPORARY : SLOT_COMMITTED,
+          pageId.getPageIndex(), fileId);
+    } catch (Throwable t) {
+      freeSlot(slot.mId);
+      if (t.getMessage() != null && t.getMessage().contains(ERROR_NO_SPACE_LEFT)) {
+        throw new ResourceExhaustedException(
+            String.format("%s is full, configured with %d bytes", mRoot, mCapacity), t);
+      }
+      throw new IOException("Failed to write page " + pageId + " to segment "
+          + slot.getSegmentIndex() + " of " + mRoot, t);
+    }
+    Slot previous = getIndex(isTemporary).put(pageId, slot);
+    if (previous != null) {
+      // the page has been overwritten, recycle the slot holding the stale copy
+      releaseSlot(previous);
+    }
+  }
+
+  @Override
+  public int get(PageId pageId, int pageOffset, int bytesToRead, ReadTargetBuffer target,
+      boolean isTemporary) throws IOException, PageNotFoundException {
+    Preconditions.checkArgument(pageOffset >= 0, "page offset should be non-negative");
+    Preconditions.checkArgument(bytesToRead >= 0, "bytes to read should be non-negative");
+    if (target.remaining() == 0 || bytesToRead == 0) {
+      return 0;
+    }
+    Slot slot = getSlot(pageId, isTemporary);
+    if (pageOffset + bytesToRead > slot.mLength) {
+      throw new PageCorruptedException(String.format(
+          "The page %s (segment %s slot %s) probably has been corrupted, "
+              + "page-offset %s, bytes to read %s, page length %s",
+          pageId, slot.getSegmentIndex(), slot.getSlotIndex(), pageOffset, bytesToRead,
+          slot.mLength));
+    }
+    if (!pin(slot)) {
+      throw new PageNotFoundException(String.format("Page %s not found in %s", pageId, mRoot));
+    }
+    int bytesRead = 0;
+    int bytesLeft = Math.min((int) target.remaining(), bytesToRead);
+    try {
+      Segment segment = getSegment(slot.getSegmentIndex());
+      if (mMmapEnabled) {
+        target.writeBytes(Unpooled.wrappedBuffer(getMappedSlice(segment, slot, pageOffset,
+            bytesLeft)));
+        bytesRead = bytesLeft;
+      } else {
+        FileChannel channel = segment.getChannel();
+        long position = getDataPosition(slot) + pageOffset;
+        while (bytesLeft > 0) {
+          int bytes = target.readFromChannel(channel, position, bytesLeft);
+          if (bytes <= 0) {
+            break;
+          }
+          bytesRead += bytes;
+          bytesLeft -= bytes;
+          position += bytes;
+        }
+      }
+    } finally {
+      unpin(slot);
+    }
+    if (bytesRead == 0) {
+      SAMPLING_LOG.warn("Read 0 bytes from page {}, the page is probably empty", pageId);
+      return -1;
+    }
+    return bytesRead;
+  }
+
+  /**
+   * {@inheritDoc}
+   * <p>
+   * Pages stored in adjacent slots of the same segment are read at once.
+   */
+  @Override
+  public int get(List<PageId> pageIds, long pageSize, int pageOffset, int bytesToRead,
+      ReadTargetBuffer target, boolean isTemporary) throws IOException, PageNotFoundException {
+    if (pageIds.size() <= 1 || pageSize != mPageSize) {
+      return PageStore.super.get(pageIds, pageSize, pageOffset, bytesToRead, target, isTemporary);
+    }
+    Preconditions.checkArgument(pageOffset >= 0, "page offset should be non-negative");
+    Preconditions.checkArgument(bytesToRead >= 0, "bytes to read should be non-negative");
+    int bytesLeft = (int) Math.min(target.remaining(), bytesToRead);
+    int bytesRead = 0;
+    // pinned slots of the pages to read at once, and where to start reading the first one
+    List<Slot> run = new ArrayList<>();
+    int runOffset = pageOffset;
+    int runLength = 0;
+    boolean runAtPageEnd = false;
+    try {
+      for (int i = 0; i < pageIds.size() && bytesRead + runLength < bytesLeft; i++) {
+        PageId pageId = pageIds.get(i);
+        int offset = i == 0 ? pageOffset : 0;
+        int length = Math.min((int) mPageSize - offset, bytesLeft - bytesRead - runLength);
+        Slot slot = i == 0 ? getSlot(pageId, isTemporary) : getIndex(isTemporary).get(pageId);
+        if (slot == null) {
+          break;
+        }
+        if (offset + length > slot.mLength) {
+          if (i == 0) {
+            throw new PageCorruptedException(String.format(
+                "The page %s (segment %s slot %s) probably has been corrupted, "
+                    + "page-offset %s, bytes to read %s, page length %s",
+                pageId, slot.getSegmentIndex(), slot.getSlotIndex(), offset, length,
+                slot.mLength));
+          }
+          break;
+        }
+        if (!run.isEmpty() && !(runAtPageEnd && slot.mId == run.get(run.size() - 1).mId + 1
+            && slot.getSegmentIndex() == run.get(0).getSegmentIndex())) {
+          int bytes = readRun(run, runOffset, runLength, target, bytesRead == 0);
+          bytesRead += bytes;
+          unpinAll(run);
+          if (bytes < runLength) {
+            break;
+          }
+          runOffset = offset;
+          runLength = 0;
+        }
+        if (!pin(slot)) {
+          if (i == 0) {
+            throw new PageNotFoundException(
+                String.format("Page %s not found in %s", pageId, mRoot));
+          }
+          break;
+        }
+        run.add(slot);
+        runLength += length;
+        runAtPageEnd = offset + length == mPageSize;
+      }
+      if (!run.isEmpty()) {
+        bytesRead += readRun(run, runOffset, runLength, target, bytesRead == 0);
+      }
+    } finally {
+      unpinAll(run);
+    }
+    if (bytesRead == 0 && bytesLeft > 0) {
+      SAMPLING_LOG.warn("Read 0 bytes from page {}, the page is probably empty", pageIds.get(0));
+      return -1;
+    }
+    return bytesRead;
+  }
+
+  /**
+   * Reads the data of pinned pages in adjacent slots of a segment with a single read.
+   *
+   * @param throwOnError whether to throw errors, or to only return the number of bytes read so
+   *        far, which is 0 here as the target buffer is reset
+   * @return the number of bytes read
+   */
+  private int readRun(List<Slot> run, int offset, int length, ReadTargetBuffer target,
+      boolean throwOnError) throws IOException {
+    Slot first = run.get(0);
+    Segment segment = getSegment(first.getSegmentIndex());
+    if (mMmapEnabled) {
+      target.writeBytes(Unpooled.wrappedBuffer(getMappedSlice(segment, first, offset, length)));
+      return length;
+    }
+    int originOffset = target.offset();
+    FileChannel channel = segment.getChannel();
+    long position = getDataPosition(first) + offset;
+    int bytesRead = 0;
+    try {
+      while (bytesRead < length) {
+        int bytes = target.readFromChannel(channel, position + bytesRead, length - bytesRead);
+        if (bytes <= 0) {
+          break;
+        }
+        bytesRead += bytes;
+      }
+    } catch (IOException e) {
+      if (throwOnError) {
+        throw e;
+      }
+      bytesRead = -1;
+    }
+    if (bytesRead != length && !throwOnError) {
+      target.offset(originOffset);
+      return 0;
+    }
+    return bytesRead;
+  }
+
+  private void unpinAll(List<Slot> slots) {
+    for (Slot slot : slots) {
+      unpin(slot);
+    }
+    slots.clear();
+  }
+
+  @Override
+  public void delete(PageId pageId, boolean isTemporary)
+      throws IOException, PageNotFoundException {
+    Slot slot = getIndex(isTemporary).remove(pageId);
+    if (slot == null) {
+      throw new PageNotFoundException(String.format("Page %s not found in %s", pageId, mRoot));
+    }
+    releaseSlot(slot);
+  }
+
+  @Override
+  public void commit(String fileId, String newFileId) throws IOException {
+    byte[] newFileIdBytes = newFileId.getBytes(UTF_8);
+    if (newFileIdBytes.length > MAX_FILE_ID_LENGTH) {
+      throw new IOException(String.format("File id %s exceeds the limit of %d bytes",
+          newFileId, MAX_FILE_ID_LENGTH));
+    }
+    for (PageId tempPageId : getTempPageIds(fileId)) {
+      Slot slot = mTempPages.get(tempPageId);
+      if (slot == null) {
+        continue;
+      }
+      writeSlotRecord(getSegment(slot.getSegmentIndex()).getChannel(), slot, SLOT_COMMITTED,
+          tempPageId.getPageIndex(), newFileIdBytes);
+      mTempPages.remove(tempPageId);
+      Slot previous = mPages.put(new PageId(newFileId, tempPageId.getPageIndex()), slot);
+      if (previous != null) {
+        releaseSlot(previous);
+      }
+    }
+  }
+
+  @Override
+  public void abort(String fileId) throws IOException {
+    for (PageId tempPageId : getTempPageIds(fileId)) {
+      Slot slot = mTempPages.remove(tempPageId);
+      if (slot != null) {
+        releaseSlot(slot);
+      }
+    }
+  }
+
+  @Override
+  public DataFileChannel getDataFileChannel(
+      PageId pageId, int pageOffset, int bytesToRead, boolean isTemporary)
+      throws PageNotFoundException {
+    Preconditions.checkArgument(pageOffset >= 0,
+        "page offset should be non-negative");
+    Preconditions.checkArgument(!isTemporary,
+        "cannot acquire a data file channel to a temporary page");
+    Slot slot = getSlot(pageId, false);
+    if (slot.mLength < pageOffset) {
+      throw new IllegalArgumentException(
+          String.format("offset %s exceeds length of page %s", pageOffset, slot.mLength));
+    }
+    if (pageOffset + bytesToRead > slot.mLength) {
+      bytesToRead = (int) (slot.mLength - pageOffset);
+    }
+    if (!pin(slot)) {
+      throw new PageNotFoundException(String.format("Page %s not found in %s", pageId, mRoot));
+    }
+    try {
+      return new DataFileChannel(getSegment(slot.getSegmentIndex()).getChannel(),
+          getDataPosition(slot) + pageOffset, bytesToRead, () -> unpin(slot));
+    } catch (IOException e) {
+      unpin(slot);
+      throw new UncheckedIOException(String.format("Failed to open segment %s of %s",
+          slot.getSegmentIndex(), mRoot), e);
+    } catch (Throwable t) {
+      unpin(slot);
+      throw t;
+    }
+  }
+
+  @Override
+  public Optional<DataBuffer> getDataBuffer(
+      PageId pageId, int pageOffset, int bytesToRead, boolean isTemporary)
+      throws IOException, PageNotFoundException {
+    if (!mMmapEnabled) {
+      return Optional.empty();
+    }
+    Preconditions.checkArgument(pageOffset >= 0,
+        "page offset should be non-negative");
+    Slot slot = getSlot(pageId, isTemporary);
+    if (slot.mLength < pageOffset) {
+      throw new IllegalArgumentException(
+          String.format("offset %s exceeds length of page %s", pageOffset, slot.mLength));
+    }
+    if (pageOffset + bytesToRead > slot.mLength) {
+      bytesToRead = (int) (slot.mLength - pageOffset);
+    }
+    if (!pin(slot)) {
+      throw new PageNotFoundException(String.format("Page %s not found in %s", pageId, mRoot));
+    }
+    try {
+      ByteBuffer slice =
+          getMappedSlice(getSegment(slot.getSegmentIndex()), slot, pageOffset, bytesToRead);
+      return Optional.of(new NettyDataBuffer(MappedNioByteBuf.wrap(slice, () -> unpin(slot))));
+    } catch (Throwable t) {
+      unpin(slot);
+      throw t;
+    }
+  }
+
+  @Override
+  public void close() {
+    mClosed = true;
+    // readers pin after checking the closed flag, so no new slice can be handed out from here
+    boolean unmap = mPinCount.get() == 0;
+    if (mMmapEnabled && !unmap) {
+      LOG.info("Mapped slices of {} are still in use, leaving the segments to be unmapped "
+          + "by garbage collection", mRoot);
+    }
+    synchronized (mSegments) {
+      for (int i = 0; i < mSegments.length(); i++) {
+        Segment segment = mSegments.getAndSet(i, null);
+        if (segment != null) {
+          try {
+            segment.close(unmap);
+          } catch (IOException e) {
+            LOG.warn("Failed to close segment {} of {}: {}", i, mRoot, e.toString());
+          }
+        }
+      }
+    }
+    mPages.clear();
+    mTempPages.clear();
+  }
+
+  /**
+   * Feeds the info of all committed pages in the index to the consumer.
+   *
+   * @param pageStoreDir the dir this store belongs to
+   * @param pageInfoConsumer consumer of the page info
+   */
+  void scanPages(PageStoreDir pageStoreDir, Consumer<Optional<PageInfo>> pageInfoConsumer) {
+    for (Map.Entry<PageId, Slot> entry : mPages.entrySet()) {
+      Slot slot = entry.getValue();
+      pageInfoConsumer.accept(Optional.of(new PageInfo(entry.getKey(), slot.mLength,
+          CacheScope.GLOBAL, pageStoreDir, slot.mCreatedTimestamp)));
+    }
+  }
+
+  /**
+   * @return the number of page slots in use
+   */
+  @VisibleForTesting
+  public int getUsedSlots() {
+    synchronized (mUsedSlots) {
+      return mUsedSlots.cardinality();
+    }
+  }
+
+  /**
+   * @return the number of reads in progress, and mapped slices and data file channels not yet
+   *         released
+   */
+  @VisibleForTesting
+  public long getPinCount() {
+    return mPinCount.get();
+  }
+
+  /**
+   * @param segmentIndex index of the segment
+   * @return the local file system path of the segment file
+   */
+  @VisibleForTesting
+  public Path getSegmentPath(int segmentIndex) {
+    return mRoot.resolve(SEGMENT_FILE_PREFIX + segmentIndex);
+  }
+
+  private Map<PageId, Slot> getIndex(boolean isTemporary) {
+    return isTemporary ? mTempPages : mPages;
+  }
+
+  private Slot getSlot(PageId pageId, boolean isTemporary) throws PageNotFoundException {
+    Slot slot = getIndex(isTemporary).get(pageId);
+    if (slot == null) {
+      throw new PageNotFoundException(String.format("Page %s not found in %s", pageId, mRoot));
+    }
+    return slot;
+  }
+
+  private List<PageId> getTempPageIds(String fileId) {
+    List<PageId> pageIds = new ArrayList<>();
+    for (PageId pageId : mTempPages.keySet()) {
+      if (pageId.getFileId().equals(fileId)) {
+        pageIds.add(pageId);
+      }
+    }
+    return pageIds;
+  }
+
+  private int allocateSlot() throws ResourceExhaustedException {
+    synchronized (mUsedSlots) {
+      int slotId = mUsedSlots.nextClearBit(mNextFreeSlotHint);
+      if (slotId >= mTotalSlots) {
+        throw new ResourceExhaustedException(String.format(
+            "%s is full, all %d page slots are in use", mRoot, mTotalSlots));
+      }
+      mUsedSlots.set(slotId);
+      mNextFreeSlotHint = slotId + 1;
+      return slotId;
+    }
+  }
+
+  private void freeSlot(int slotId) {
+    synchronized (mUsedSlots) {
+      mUsedSlots.clear(slotId);
+      mNextFreeSlotHint = Math.min(mNextFreeSlotHint, slotId);
+    }
+  }
+
+  /**
+   * Marks the slot record as free on disk and drops the reference of the index to the slot.
+   * The slot is returned to the free pool once it is no longer pinned by any reader.
+   */
+  private void releaseSlot(Slot slot) throws IOException {
+    try {
+      writeSlotFree(getSegment(slot.getSegmentIndex()).getChannel(), slot);
+    } finally {
+      dereference(slot);
+    }
+  }
+
+  /**
+   * Releases a slot while the segment of the given index is being loaded. That segment is not
+   * in {@link #mSegments} yet, so its slot records are written through the channel given rather
+   * than through {@link #getSegment}, which would create the segment file again.
+   */
+  private void releaseLoadingSlot(Slot slot, int segmentIndex, FileChannel channel)
+      throws IOException {
+    if (slot.getSegmentIndex() != segmentIndex) {
+      // a slot of a segment loaded earlier
+      releaseSlot(slot);
+      return;
+    }
+    try {
+      writeSlotFree(channel, slot);
+    } finally {
+      dereference(slot);
+    }
+  }
+
+  private void dereference(Slot slot) {
+    if (slot.mRefCount.decrementAndGet() == 0) {
+      freeSlot(slot.mId);
+    }
+  }
+
+  /**
+   * Pins the slot so that its data is not overwritten or unmapped while being read.
+   *
+   * @return false if the slot has already been released or the store is closed
+   */
+  private boolean pin(Slot slot) {
+    mPinCount.incrementAndGet();
+    if (mClosed || !slot.retain()) {
+      mPinCount.decrementAndGet();
+      return false;
+    }
+    return true;
+  }
+
+  private void unpin(Slot slot) {
+    try {
+      dereference(slot);
+    } finally {
+      mPinCount.decrementAndGet();
+    }
+  }
+
+  private ByteBuffer getMappedSlice(Segment segment, Slot slot, int pageOffset, int length) {
+    ByteBuffer slice = segment.getMappedData().duplicate();
+    int position = (int) (slot.getSlotIndex() * mPageSize) + pageOffset;
+    slice.limit(position + length).position(position);
+    return slice.slice();
+  }
+
+  private long getRecordPosition(Slot slot) {
+    return SEGMENT_HEADER_SIZE + (long) slot.getSlotIndex() * SLOT_RECORD_SIZE;
+  }
+
+  private long getDataPosition(Slot slot) {
+    return mDataOffset + slot.getSlotIndex() * mPageSize;
+  }
+
+  private int getSlotsInSegment(int segmentIndex) {
+    return Math.min(mSlotsPerSegment, mTotalSlots - segmentIndex * mSlotsPerSegment);
+  }
+
+  private void writeSlotFree(FileChannel channel, Slot slot) throws IOException {
+    writeFully(channel, ByteBuffer.wrap(new byte[] {SLOT_FREE}), getRecordPosition(slot));
+  }
+
+  private void writeSlotRecord(FileChannel channel, Slot slot, byte state, long pageIndex,
+      byte[] fileId) throws IOException {
+    ByteBuffer record = ByteBuffer.allocate(SLOT_RECORD_SIZE);
+    record.put(state)
+        .putLong(pageIndex)
+        .putInt((int) slot.mLength)
+        .putLong(slot.mCreatedTimestamp)
+        .putShort((short) fileId.length)
+        .put(fileId);
+    record.clear();
+    writeFully(channel, record, getRecordPosition(slot));
+  }
+
+  private static void writeFully(FileChannel channel, ByteBuffer buffer, long position)
+      throws IOException {
+    while (buffer.hasRemaining()) {
+      position += channel.write(buffer, position);
+    }
+  }
+
+  private static void readFully(FileChannel channel, ByteBuffer buffer, long position)
+      throws IOException {
+    while (buffer.hasRemaining()) {
+      int bytesRead = channel.read(buffer, position);
+      if (bytesRead < 0) {
+        throw new IOException(String.format(
+            "Unexpected end of segment at position %d, %d bytes left to read",
+            position, buffer.remaining()));
+      }
+      position += bytesRead;
+    }
+  }
+
+  /**
+   * Gets the segment of the given index, creating the segment file if it does not exist yet. The
+   * file is created sparse with the length of the segment, so no disk space is allocated for the
+   * slots until pages are written to them.
+   */
+  private Segment getSegment(int segmentIndex) throws IOException {
+    Segment segment = mSegments.get(segmentIndex);
+    if (segment != null) {
+      return segment;
+    }
+    synchronized (mSegments) {
+      // checked under the lock, so that no segment is created again once close() removed them
+      if (mClosed) {
+        throw new IOException("Page store " + mRoot + " is closed");
+      }
+      segment = mSegments.get(segmentIndex);
+      if (segment == null) {
+        segment = Segment.create(getSegmentPath(segmentIndex).toFile(),
+            mDataOffset + getSlotsInSegment(segmentIndex) * mPageSize);
+        ByteBuffer header = ByteBuffer.allocate(SEGMENT_HEADER_SIZE);
+        header.putLong(SEGMENT_MAGIC)
+            .putInt(SEGMENT_VERSION)
+            .putLong(mPageSize)
+            .putInt(mSlotsPerSegment)
+            .putInt(getSlotsInSegment(segmentIndex))
+            .putLong(mDataOffset);
+        header.clear();
+        writeFully(segment.getChannel(), header, 0);
+        mapSegment(segmentIndex, segment);
+        mSegments.set(segmentIndex, segment);
+      }
+      return segment;
+    }
+  }
+
+  /**
+   * Rebuilds the page index from the slot records of existing segment files. Segments with an
+   * unrecognized layout are discarded, and slots holding temporary pages are freed as those
+   * pages have never been committed.
+   */
+  private void loadSegments() throws IOException {
+    try (Stream<Path> stream = Files.list(mRoot)) {
+      stream.forEach(path -> {
+        if (!isValidSegmentPath(path)) {
+          LOG.warn("Unrecognized file {} in page store is going to be deleted.", path);
+          deleteQuietly(path);
+        }
+      });
+    }
+    for (int i = 0; i < mSegments.length(); i++) {
+      Path path = getSegmentPath(i);
+      if (!Files.exists(path)) {
+        continue;
+      }
+      Segment segment = null;
+      try {
+        segment = Segment.open(path.toFile());
+        loadSegment(i, segment);
+        mapSegment(i, segment);
+        mSegments.set(i, segment);
+      } catch (IOException | RuntimeException e) {
+        LOG.error("Failed to load segment {}, it is going to be deleted.", path, e);
+        if (segment != null) {
+          try {
+            segment.close(true);
+          } catch (IOException ignored) {
+            // ignore.
+          }
+        }
+        deleteQuietly(path);
+      }
+    }
+    LOG.info("Loaded {} pages from segments under {}", mPages.size(), mRoot);
+  }
+
+  private void mapSegment(int segmentIndex, Segment segment) throws IOException {
+    if (mMmapEnabled) {
+      segment.map(mDataOffset, getSlotsInSegment(segmentIndex) * mPageSize);
+    }
+  }
+
+  private void loadSegment(int segmentIndex, Segment segment) throws IOException {
+    FileChannel channel = segment.getChannel();
+    int slotsInSegment = getSlotsInSegment(segmentIndex);
+    ByteBuffer header = ByteBuffer.allocate(SEGMENT_HEADER_SIZE);
+    readFully(channel, header, 0);
+    header.flip();
+    long magic = header.getLong();
+    int version = header.getInt();
+    long pageSize = header.getLong();
+    int slotsPerSegment = header.getInt();
+    int slots = header.getInt();
+    long dataOffset = header.getLong();
+    if (magic != SEGMENT_MAGIC || version != SEGMENT_VERSION || pageSize != mPageSize
+        || slotsPerSegment != mSlotsPerSegment || slots != slotsInSegment
+        || dataOffset != mDataOffset) {
+      throw new IOException(String.format("Segment layout mismatch: magic=%x version=%d "
+              + "pageSize=%d slotsPerSegment=%d slots=%d dataOffset=%d", magic, version, pageSize,
+          slotsPerSegment, slots, dataOffset));
+    }
+    ByteBuffer records = ByteBuffer.allocate(slotsInSegment * SLOT_RECORD_SIZE);
+    readFully(channel, records, SEGMENT_HEADER_SIZE);
+    for (int i = 0; i < slotsInSegment; i++) {
+      records.position(i * SLOT_RECORD_SIZE);
+      byte state = records.get();
+      if (state == SLOT_FREE) {
+        continue;
+      }
+      long pageIndex = records.getLong();
+      int pageLength = records.getInt();
+      long createdTimestamp = records.getLong();
+      int fileIdLength = records.getShort();
+      Slot slot = new Slot(segmentIndex * mSlotsPerSegment + i, pageLength, createdTimestamp);
+      if (state != SLOT_COMMITTED || pageIndex < 0 || pageLength < 0 || pageLength > mPageSize
+          || fileIdLength < 0 || fileIdLength > MAX_FILE_ID_LENGTH) {
+        if (state == SLOT_TEMPORARY) {
+          LOG.info("TEMP page in segment {} slot {} is going to be deleted.", segmentIndex, i);
+        } else {
+          LOG.error("Unrecognized page in segment {} slot {} is going to be deleted.",
+              segmentIndex, i);
+        }
+        writeSlotFree(channel, slot);
+        continue;
+      }
+      byte[] fileId = new byte[fileIdLength];
+      records.get(fileId);
+      PageId pageId = new PageId(new String(fileId, UTF_8), pageIndex);
+      synchronized (mUsedSlots) {
+        mUsedSlots.set(slot.mId);
+      }
+      Slot previous = mPages.get(pageId);
+      if (previous == null || previous.mCreatedTimestamp < createdTimestamp) {
+        mPages.put(pageId, slot);
+        if (previous != null) {
+          // a crash happened while overwriting the page, keep the latest copy only
+          releaseLoadingSlot(previous, segmentIndex, channel);
+        }
+      } else {
+        releaseLoadingSlot(slot, segmentIndex, channel);
+      }
+    }
+  }
+
+  private boolean isValidSegmentPath(Path path) {
+    String fileName = String.valueOf(path.getFileName());
+    if (!fileName.startsWith(SEGMENT_FILE_PREFIX) || !Files.isRegularFile(path)) {
+      return false;
+    }
+    try {
+      int segmentIndex = Integer.parseInt(fileName.substring(SEGMENT_FILE_PREFIX.length()));
+      return segmentIndex >= 0 && segmentIndex < mSegments.length();
+    } catch (NumberFormatException e) {
+      return false;
+    }
+  }
+
+  private void deleteQuietly(Path path) {
+    Preconditions.checkState(path.startsWith(mRoot),
+        String.format("%s is not inside the page store dir (%s)!", path, mRoot));
+    try {
+      FileUtils.deletePathRecursively(path.toString());
+    } catch (IOException e) {
+      // ignore.
+    }
+  }
+
+  /**
+   * Location and metadata of a page stored in the segment files.
+   */
+  private final class Slot {
+    private final int mId;
+    private final long mLength;
+    private final long mCreatedTimestamp;
+    /** One reference held by the index, plus one per pinning reader. */
+    private final AtomicInteger mRefCount = new AtomicInteger(1);
+
+    Slot(int id, long length, long createdTimestamp) {
+      mId = id;
+      mLength = length;
+      mCreatedTimestamp = createdTimestamp;
+    }
+
+    /**
+     * @return false if the slot has already been released by the index and all the readers
+     */
+    boolean retain() {
+      int refCount;
+      do {
+        refCount = mRefCount.get();
+        if (refCount <= 0) {
+          return false;
+        }
+      } while (!mRefCount.compareAndSet(refCount, refCount + 1));
+      return true;
+    }
+
+    int getSegmentIndex() {
+      return mId / mSlotsPerSegment;
+    }
+
+    int getSlotIndex() {
+      return mId % mSlotsPerSegment;
+    }
+  }
+
+  /**
+   * An open segment file, whose channel is shared by all positional reads and writes, and
+   * optionally the read-only mapping of its data area.
+   */
+  private static final class Segment implements Closeable {
+    private final RandomAccessFile mFile;
+    private final FileChannel mChannel;
+    private MappedByteBuffer mMappedData;
+
+    private Segment(RandomAccessFile file) {
+      mFile = file;
+      mChannel = file.getChannel();
+    }
+
+    static Segment create(File file, long length) throws IOException {
+      RandomAccessFile randomAccessFile = new RandomAccessFile(file, "rw");
+      try {
+        randomAccessFile.setLength(length);
+      } catch (IOException e) {
+        randomAccessFile.close();
+        throw e;
+      }
+      return new Segment(randomAccessFile);
+    }
+
+    static Segment open(File file) throws IOException {
+      return new Segment(new RandomAccessFile(file, "rw"));
+    }
+
+    FileChannel getChannel() {
+      return mChannel;
+    }
+
+    void map(long position, long length) throws IOException {
+      mMappedData = mChannel.map(FileChannel.MapMode.READ_ONLY, position, length);
+    }
+
+    MappedByteBuffer getMappedData() {
+      return mMappedData;
+    }
+
+    /**
+     * Closes the segment file. The mapping stays valid after the file is closed.
+     *
+     * @param unmap whether to unmap the data area right away
+     */
+    void close(boolean unmap) throws IOException {
+      if (unmap && mMappedData != null) {
+        BufferUtils.cleanDirectBuffer(mMappedData);
+      }
+      mMappedData = null;
+      close();
+    }
+
+    @Override
+    public void close() throws IOException {
+      mFile.close();
+    }
+  }
+}
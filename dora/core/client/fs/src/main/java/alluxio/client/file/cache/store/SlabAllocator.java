@@ -0,0 +1,410 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.client.file.cache.store;
+
+import alluxio.Constants;
+import alluxio.exception.status.ResourceExhaustedException;
+import alluxio.metrics.MetricKey;
+import alluxio.metrics.MetricsSystem;
+import alluxio.util.CommonUtils;
+import alluxio.util.io.BufferUtils;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Preconditions;
+
+import java.io.Closeable;
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.GuardedBy;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * Allocates chunks of direct memory for pages out of large slabs.
+ * <p>
+ * Chunk sizes are organized in size classes, from the page size down to {@link #MIN_CHUNK_SIZE}
+ * halving at each class, and every slab is split into chunks of a single size class. A page is
+ * given a chunk of the smallest class it fits in, so a partial last page of a file does not take
+ * a whole page-sized chunk. Slabs are allocated lazily as long as the total slab memory does not
+ * exceed the capacity, and released once all their chunks are free.
+ * <p>
+ * As slabs are only released when all their chunks are free, slabs of small size classes may
+ * hold the memory needed by a larger chunk while having free chunks. Such a slab can be
+ * compacted by the owner of the chunks, which moves the chunks in use out of the slab between
+ * {@link #startCompaction} and {@link #endCompaction}.
+ */
+@ThreadSafe
+class SlabAllocator implements Closeable {
+  @VisibleForTesting
+  static final int MIN_CHUNK_SIZE = 4 * Constants.KB;
+
+  private final long mCapacity;
+  private final int mSlabSize;
+  private final SizeClass[] mSizeClasses;
+
+  @GuardedBy("this")
+  private long mSlabBytes = 0;
+  @GuardedBy("this")
+  private long mChunkBytes = 0;
+  @GuardedBy("this")
+  private long mDataBytes = 0;
+  @GuardedBy("this")
+  private boolean mClosed = false;
+  /** The slab being compacted, from which no chunk is allocated. */
+  @GuardedBy("this")
+  @Nullable
+  private Slab mCompacting = null;
+
+  /**
+   * @param pageSize size of a page, which is the largest size class
+   * @param slabSize size of each slab, rounded up to a multiple of the page size and capped at
+   *        the capacity
+   * @param capacity the max number of bytes of all the slabs
+   */
+  SlabAllocator(int pageSize, long slabSize, long capacity) {
+    Preconditions.checkArgument(pageSize > 0, "Invalid page size %s", pageSize);
+    Preconditions.checkArgument(slabSize > 0, "Invalid slab size %s", slabSize);
+    // a slab never exceeds the capacity, so that small caches can still allocate one
+    long slabPages = Math.max(1,
+        Math.min((slabSize + pageSize - 1) / pageSize, capacity / pageSize));
+    mSlabSize = (int) Math.min(slabPages * pageSize, Integer.MAX_VALUE / pageSize * pageSize);
+    mCapacity = capacity;
+    int numClasses = 1;
+    for (int size = pageSize; size / 2 >= MIN_CHUNK_SIZE; size /= 2) {
+      numClasses++;
+    }
+    mSizeClasses = new SizeClass[numClasses];
+    for (int i = 0, size = pageSize; i < numClasses; i++, size = (size + 1) / 2) {
+      mSizeClasses[i] = new SizeClass(size);
+    }
+  }
+
+  /**
+   * Allocates a chunk to hold the given number of bytes. A chunk of a larger class is used when
+   * no chunk of the best fitting class is free and no more slab can be allocated.
+   *
+   * @param length number of bytes to hold
+   * @return the allocated chunk
+   * @throws ResourceExhaustedException when no chunk can hold the bytes
+   */
+  synchronized Chunk allocate(int length) throws ResourceExhaustedException {
+    Preconditions.checkArgument(length >= 0 && length <= mSizeClasses[0].mChunkSize,
+        "Invalid chunk length %s", length);
+    Preconditions.checkState(!mClosed, "Slab allocator is closed");
+    int classIndex = mSizeClasses.length - 1;
+    while (mSizeClasses[classIndex].mChunkSize < length) {
+      classIndex--;
+    }
+    SizeClass sizeClass = mSizeClasses[classIndex];
+    if (sizeClass.mAvailable.isEmpty() && mSlabBytes + mSlabSize <= mCapacity) {
+      Slab slab = new Slab(sizeClass, ByteBuffer.allocateDirect(mSlabSize));
+      sizeClass.mSlabs.add(slab);
+      sizeClass.mAvailable.push(slab);
+      mSlabBytes += mSlabSize;
+      Metrics.SLAB_BYTES.addAndGet(mSlabSize);
+    }
+    for (int i = classIndex; i >= 0; i--) {
+      if (!mSizeClasses[i].mAvailable.isEmpty()) {
+        Chunk chunk = mSizeClasses[i].mAvailable.peek().allocate(length);
+        mChunkBytes += chunk.mSlab.mSizeClass.mChunkSize;
+        mDataBytes += length;
+        Metrics.CHUNK_BYTES.addAndGet(chunk.mSlab.mSizeClass.mChunkSize);
+        Metrics.DATA_BYTES.addAndGet(length);
+        return chunk;
+      }
+    }
+    throw new ResourceExhaustedException(String.format(
+        "No free chunk of %d bytes, %d bytes of slabs are allocated out of %d", length,
+        mSlabBytes, mCapacity));
+  }
+
+  /**
+   * Returns the chunk to its slab, and releases the slab if all its chunks are free. Freeing a
+   * chunk after the allocator is closed has no effect.
+   *
+   * @param chunk the chunk to free
+   */
+  synchronized void free(Chunk chunk) {
+    if (mClosed) {
+      return;
+    }
+    Slab slab = chunk.mSlab;
+    SizeClass sizeClass = slab.mSizeClass;
+    slab.free(chunk);
+    mChunkBytes -= sizeClass.mChunkSize;
+    mDataBytes -= chunk.mLength;
+    Metrics.CHUNK_BYTES.addAndGet(-sizeClass.mChunkSize);
+    Metrics.DATA_BYTES.addAndGet(-chunk.mLength);
+    if (slab.mFreeCount == slab.mFreeChunks.length) {
+      sizeClass.mAvailable.remove(slab);
+      sizeClass.mSlabs.remove(slab);
+      mSlabBytes -= mSlabSize;
+      Metrics.SLAB_BYTES.addAndGet(-mSlabSize);
+      BufferUtils.cleanDirectBuffer(slab.mBuffer);
+      if (slab == mCompacting) {
+        mCompacting = null;
+      }
+    } else if (slab.mFreeCount == 1 && slab != mCompacting) {
+      // the slab was full and has a free chunk again
+      sizeClass.mAvailable.push(slab);
+    }
+  }
+
+  /**
+   * Picks a slab to compact, when no chunk can hold the given number of bytes and no more slab
+   * can be allocated. The slab picked is the slab of a smaller size class with the fewest chunks
+   * in use, among those whose chunks in use fit in the free chunks of the other slabs of their
+   * class. No chunk is allocated from the slab until {@link #endCompaction} is called, so that
+   * the slab is released once its chunks are moved out of it and freed.
+   *
+   * @param length number of bytes to make room for
+   * @return whether a slab is picked, false if another slab is being compacted or no slab
+   *         qualifies
+   */
+  synchronized boolean startCompaction(int length) {
+    Preconditions.checkState(!mClosed, "Slab allocator is closed");
+    if (mCompacting != null) {
+      return false;
+    }
+    int classIndex = mSizeClasses.length - 1;
+    while (mSizeClasses[classIndex].mChunkSize < length) {
+      classIndex--;
+    }
+    Slab candidate = null;
+    for (int i = classIndex + 1; i < mSizeClasses.length; i++) {
+      SizeClass sizeClass = mSizeClasses[i];
+      int freeChunks = 0;
+      for (Slab slab : sizeClass.mAvailable) {
+        freeChunks += slab.mFreeCount;
+      }
+      for (Slab slab : sizeClass.mAvailable) {
+        int usedChunks = slab.mFreeChunks.length - slab.mFreeCount;
+        if (usedChunks <= freeChunks - slab.mFreeCount && (candidate == null
+            || usedChunks < candidate.mFreeChunks.length - candidate.mFreeCount)) {
+          candidate = slab;
+        }
+      }
+    }
+    if (candidate == null) {
+      return false;
+    }
+    candidate.mSizeClass.mAvailable.remove(candidate);
+    mCompacting = candidate;
+    return true;
+  }
+
+  /**
+   * @param chunk a chunk in use
+   * @return whether the chunk is in the slab being compacted
+   */
+  synchronized boolean isCompacting(Chunk chunk) {
+    return mCompacting != null && chunk.mSlab == mCompacting;
+  }
+
+  /**
+   * Ends the compaction started by {@link #startCompaction}. If some chunks could not be moved
+   * out of the slab, the slab is used for allocations again.
+   */
+  synchronized void endCompaction() {
+    if (mCompacting == null) {
+      return;
+    }
+    if (!mClosed && mCompacting.mFreeCount > 0) {
+      mCompacting.mSizeClass.mAvailable.push(mCompacting);
+    }
+    mCompacting = null;
+  }
+
+  /**
+   * @return number of bytes of all the slabs allocated
+   */
+  synchronized long getSlabBytes() {
+    return mSlabBytes;
+  }
+
+  /**
+   * @return number of bytes of all the chunks in use
+   */
+  synchronized long getChunkBytes() {
+    return mChunkBytes;
+  }
+
+  /**
+   * @return number of bytes of data held by the chunks in use
+   */
+  synchronized long getDataBytes() {
+    return mDataBytes;
+  }
+
+  /**
+   * Releases all the slabs right away. Chunks allocated before must not be accessed afterwards.
+   */
+  @Override
+  public void close() {
+    close(true);
+  }
+
+  /**
+   * Releases all the slabs.
+   *
+   * @param cleanSlabs whether to free the memory of the slabs right away, otherwise the memory
+   *        is freed by garbage collection once no chunk is referenced
+   */
+  synchronized void close(boolean cleanSlabs) {
+    if (mClosed) {
+      return;
+    }
+    mClosed = true;
+    mCompacting = null;
+    for (SizeClass sizeClass : mSizeClasses) {
+      if (cleanSlabs) {
+        for (Slab slab : sizeClass.mSlabs) {
+          BufferUtils.cleanDirectBuffer(slab.mBuffer);
+        }
+      }
+      sizeClass.mSlabs.clear();
+      sizeClass.mAvailable.clear();
+    }
+    Metrics.SLAB_BYTES.addAndGet(-mSlabBytes);
+    Metrics.CHUNK_BYTES.addAndGet(-mChunkBytes);
+    Metrics.DATA_BYTES.addAndGet(-mDataBytes);
+    mSlabBytes = 0;
+    mChunkBytes = 0;
+    mDataBytes = 0;
+  }
+
+  /**
+   * A region of a slab holding a page.
+   */
+  static final class Chunk {
+    private final Slab mSlab;
+    private final int mIndex;
+    private final int mLength;
+
+    private Chunk(Slab slab, int index, int length) {
+      mSlab = slab;
+      mIndex = index;
+      mLength = length;
+    }
+
+    /**
+     * @return number of bytes held by the chunk
+     */
+    int getLength() {
+      return mLength;
+    }
+
+    /**
+     * @return size of the chunk, which is at least its length
+     */
+    int getChunkSize() {
+      return mSlab.mSizeClass.mChunkSize;
+    }
+
+    /**
+     * @param offset offset in the chunk
+     * @param length number of bytes
+     * @return a buffer sharing the memory of the chunk in the given range
+     */
+    ByteBuffer slice(int offset, int length) {
+      Preconditions.checkArgument(offset >= 0 && length >= 0 && offset + length <= mLength,
+          "Range [%s, %s) is out of the chunk of %s bytes", offset, offset + length, mLength);
+      ByteBuffer slice = mSlab.mBuffer.duplicate();
+      int position = mIndex * mSlab.mSizeClass.mChunkSize + offset;
+      slice.limit(position + length).position(position);
+      return slice.slice();
+    }
+  }
+
+  /**
+   * Chunks of the same size.
+   */
+  private static final class SizeClass {
+    private final int mChunkSize;
+    private final List<Slab> mSlabs = new ArrayList<>();
+    /** Slabs of this class with free chunks. */
+    private final Deque<Slab> mAvailable = new ArrayDeque<>();
+
+    private SizeClass(int chunkSize) {
+      mChunkSize = chunkSize;
+    }
+  }
+
+  /**
+   * A direct memory buffer split into chunks of a single size class.
+   */
+  private static final class Slab {
+    private final SizeClass mSizeClass;
+    private final ByteBuffer mBuffer;
+    /** Stack of the indexes of the free chunks. */
+    private final int[] mFreeChunks;
+    private int mFreeCount;
+
+    private Slab(SizeClass sizeClass, ByteBuffer buffer) {
+      mSizeClass = sizeClass;
+      mBuffer = buffer;
+      mFreeChunks = new int[buffer.capacity() / sizeClass.mChunkSize];
+      mFreeCount = mFreeChunks.length;
+      for (int i = 0; i < mFreeCount; i++) {
+        mFreeChunks[i] = mFreeCount - 1 - i;
+      }
+    }
+
+    private Chunk allocate(int length) {
+      Chunk chunk = new Chunk(this, mFreeChunks[--mFreeCount], length);
+      if (mFreeCount == 0) {
+        mSizeClass.mAvailable.remove(this);
+      }
+      return chunk;
+    }
+
+    private void free(Chunk chunk) {
+      mFreeChunks[mFreeCount++] = chunk.mIndex;
+    }
+  }
+
+  /**
+   * Metrics of the slabs of all the off-heap page stores, reported as worker metrics by the page
+   * store of a worker, and as client cache metrics otherwise.
+   */
+  private static final class Metrics {
+    private static final AtomicLong SLAB_BYTES = new AtomicLong();
+    private static final AtomicLong CHUNK_BYTES = new AtomicLong();
+    private static final AtomicLong DATA_BYTES = new AtomicLong();
+
+    static {
+      boolean worker = CommonUtils.PROCESS_TYPE.get() == CommonUtils.ProcessType.WORKER;
+      MetricsSystem.registerGaugeIfAbsent(
+          MetricsSystem.getMetricName((worker ? MetricKey.WORKER_PAGE_STORE_SLAB_BYTES
+              : MetricKey.CLIENT_CACHE_SLAB_BYTES).getName()),
+          SLAB_BYTES::get);
+      MetricsSystem.registerGaugeIfAbsent(
+          MetricsSystem.getMetricName((worker ? MetricKey.WORKER_PAGE_STORE_SLAB_OCCUPANCY
+              : MetricKey.CLIENT_CACHE_SLAB_OCCUPANCY).getName()),
+          () -> ratio(CHUNK_BYTES.get(), SLAB_BYTES.get()));
+      MetricsSystem.registerGaugeIfAbsent(
+          MetricsSystem.getMetricName((worker ? MetricKey.WORKER_PAGE_STORE_SLAB_FRAGMENTATION
+              : MetricKey.CLIENT_CACHE_SLAB_FRAGMENTATION).getName()),
+          () -> ratio(CHUNK_BYTES.get() - DATA_BYTES.get(), CHUNK_BYTES.get()));
+    }
+
+    private static double ratio(long numerator, long denominator) {
+      return denominator == 0 ? 0 : (double) numerator / denominator;
+    }
+
+    private Metrics() {} // prevent instantiation
+  }
+}
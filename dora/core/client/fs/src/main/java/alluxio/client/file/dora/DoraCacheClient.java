@@ -69,6 +69,7 @@ import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -90,6 +91,8 @@ public class DoraCacheClient {
   private final int mPreferredWorkerCount;
 
   private final boolean mEnableDynamicHashRing;
+  @Nullable
+  private final HedgedReadPolicy mHedgedReadPolicy;
   private static final Logger LOG = LoggerFactory.getLogger(DoraCacheClient.class);
 
   /**
@@ -108,6 +111,9 @@ public class DoraCacheClient {
         context.getClusterConf().getBoolean(PropertyKey.USER_DYNAMIC_CONSISTENT_HASH_RING_ENABLED);
     int minReplicaCount = context.getClusterConf().getInt(PropertyKey.USER_FILE_REPLICATION_MIN);
     mPreferredWorkerCount = Math.max(1, minReplicaCount);
+    mHedgedReadPolicy =
+        context.getClusterConf().getBoolean(PropertyKey.USER_POSITION_READER_HEDGED_READ_ENABLED)
+        ? new HedgedReadPolicy(context.getClusterConf()) : null;
   }
 
   /**
@@ -166,7 +172,16 @@ public class DoraCacheClient {
     WorkerNetAddress workerNetAddress = getWorkerNetAddress(status.toString());
     // Construct the partial read request
     NettyDataReader reader = createNettyDataReader(workerNetAddress, ufsOptions);
-    return new DoraCachePositionReader(reader, status.getLength(), externalPositionReader);
+    if (mHedgedReadPolicy == null) {
+      return new DoraCachePositionReader(reader, status.getLength(), externalPositionReader);
+    }
+    List<PositionReader> hedgeReaders = new ArrayList<>();
+    for (WorkerNetAddress hedgeWorker
+        : getHedgeWorkerNetAddresses(status.toString(), workerNetAddress)) {
+      hedgeReaders.add(createNettyDataReader(hedgeWorker, ufsOptions));
+    }
+    return new DoraCachePositionReader(reader, hedgeReaders, mHedgedReadPolicy,
+        status.getLength(), externalPositionReader);
   }
 
   protected GrpcDataReader.Factory createGrpcDataReader(
@@ -441,16 +456,7 @@ public class DoraCacheClient {
    */
   public WorkerNetAddress getWorkerNetAddress(String path) {
     try {
-      WorkerClusterView workers = mEnableDynamicHashRing ? mContext.getCachedWorkers(
-          FileSystemContext.GetWorkerListType.LIVE) : mContext.getCachedWorkers(
-          FileSystemContext.GetWorkerListType.ALL);
-      checkState(!workers.isEmpty(), "No workers available in the cluster. Lost workers %s",
-          mEnableDynamicHashRing ? "excluded" : "included");
-      List<BlockWorkerInfo> preferredWorkers =
-          mWorkerLocationPolicy.getPreferredWorkers(workers,
-              path, mPreferredWorkerCount);
-      checkState(!preferredWorkers.isEmpty(),
-          "Worker location policy returned no usable worker. Workers available are %s", workers);
+      List<BlockWorkerInfo> preferredWorkers = getPreferredWorkers(path, mPreferredWorkerCount);
       BlockWorkerInfo worker = choosePreferredWorker(preferredWorkers);
       if (!worker.isActive()) {
         throw new RuntimeException("The preferred worker is not active.");
@@ -464,6 +470,43 @@ public class DoraCacheClient {
     }
   }
 
+  /**
+   * Gets the workers to hedge the reads of a file from the given worker with.
+   *
+   * @param path the file path
+   * @param workerNetAddress the address of the worker the file is read from
+   * @return the addresses of the other active preferred workers of the file, in order of
+   *         preference, or an empty list if there is none
+   */
+  protected List<WorkerNetAddress> getHedgeWorkerNetAddresses(String path,
+      WorkerNetAddress workerNetAddress) {
+    try {
+      // there is at least one worker to hedge with if the cluster has more than one
+      return getPreferredWorkers(path, Math.max(2, mPreferredWorkerCount)).stream()
+          .filter(worker -> worker.isActive()
+              && !worker.getNetAddress().equals(workerNetAddress))
+          .map(BlockWorkerInfo::getNetAddress)
+          .collect(Collectors.toList());
+    } catch (IOException | RuntimeException e) {
+      // reads are not hedged, but still served by the preferred worker
+      LOG.debug("Failed to find workers to hedge the reads of {} with", path, e);
+      return Collections.emptyList();
+    }
+  }
+
+  private List<BlockWorkerInfo> getPreferredWorkers(String path, int count) throws IOException {
+    WorkerClusterView workers = mEnableDynamicHashRing ? mContext.getCachedWorkers(
+        FileSystemContext.GetWorkerListType.LIVE) : mContext.getCachedWorkers(
+        FileSystemContext.GetWorkerListType.ALL);
+    checkState(!workers.isEmpty(), "No workers available in the cluster. Lost workers %s",
+        mEnableDynamicHashRing ? "excluded" : "included");
+    List<BlockWorkerInfo> preferredWorkers =
+        mWorkerLocationPolicy.getPreferredWorkers(workers, path, count);
+    checkState(!preferredWorkers.isEmpty(),
+        "Worker location policy returned no usable worker. Workers available are %s", workers);
+    return preferredWorkers;
+  }
+
   /**
    * Caches data from ufs.
    * @param ufsPath the full ufs path
@@ -14,28 +14,71 @@ package alluxio.client.file.dora;
 import alluxio.CloseableSupplier;
 import alluxio.PositionReader;
 import alluxio.client.file.dora.netty.PartialReadException;
+import alluxio.file.ByteBufferTargetBuffer;
+import alluxio.file.ReadRange;
 import alluxio.file.ReadTargetBuffer;
 import alluxio.metrics.MetricKey;
 import alluxio.metrics.MetricsSystem;
+import alluxio.util.ThreadFactoryUtils;
 
 import com.codahale.metrics.Counter;
 import com.codahale.metrics.Meter;
+import com.google.common.base.Preconditions;
+import com.google.common.base.Throwables;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.Nullable;
 import javax.annotation.concurrent.ThreadSafe;
 
 /**
  * Implementation of {@link PositionReader} that reads data through network from source.
+ * <p>
+ * If readers from other workers holding the file are given, reads are hedged: a read the
+ * preferred worker has not completed within the delay of the {@link HedgedReadPolicy} is also
+ * sent to the next worker, and the first read to complete is used while the others are
+ * cancelled. A read that fails is hedged right away. The read from the preferred worker writes
+ * into the target buffer directly, while each hedged read is read into a buffer of its own, which
+ * is only copied to the target buffer if the hedged read is used.
+ * <p>
+ * Several ranges read by {@link #readRanges} are read from the preferred worker with a single
+ * request, which is not hedged. If it fails, the ranges are read again one by one as single
+ * reads.
  */
 @ThreadSafe
 public class DoraCachePositionReader implements PositionReader {
   private static final Logger LOG = LoggerFactory.getLogger(DoraCachePositionReader.class);
+  private static final ExecutorService HEDGED_READ_EXECUTOR = Executors.newCachedThreadPool(
+      ThreadFactoryUtils.build("alluxio-hedged-read-%d", true));
+
   private final PositionReader mNettyReader;
   private final long mFileLength;
   private final Optional<CloseableSupplier<PositionReader>> mFallbackReader;
+  /** Readers to hedge the reads of {@link #mNettyReader} with, in the order to use them. */
+  private final List<PositionReader> mHedgeReaders;
+  @Nullable
+  private final HedgedReadPolicy mHedgedReadPolicy;
   private volatile boolean mClosed;
 
   /**
@@ -46,7 +89,26 @@ public class DoraCachePositionReader implements PositionReader {
    */
   public DoraCachePositionReader(PositionReader dataReader,
       long length, Optional<CloseableSupplier<PositionReader>> fallbackReader) {
+    this(dataReader, Collections.emptyList(), null, length, fallbackReader);
+  }
+
+  /**
+   * @param dataReader     reader to read data through network
+   * @param hedgeReaders   readers to hedge the reads of the data reader with, from other workers
+   * @param hedgedReadPolicy the policy deciding when to hedge reads, must be set if there are
+   *    hedge readers
+   * @param length         file length
+   * @param fallbackReader the position reader to fallback to when errors happen,
+   *    or none if no fallback read is needed
+   */
+  public DoraCachePositionReader(PositionReader dataReader, List<PositionReader> hedgeReaders,
+      @Nullable HedgedReadPolicy hedgedReadPolicy, long length,
+      Optional<CloseableSupplier<PositionReader>> fallbackReader) {
+    Preconditions.checkArgument(hedgeReaders.isEmpty() || hedgedReadPolicy != null,
+        "hedged read policy is required to hedge reads");
     mNettyReader = dataReader;
+    mHedgeReaders = hedgeReaders;
+    mHedgedReadPolicy = hedgedReadPolicy;
     mFileLength = length;
     mFallbackReader = fallbackReader;
   }
@@ -57,6 +119,9 @@ public class DoraCachePositionReader implements PositionReader {
     if (position >= mFileLength) { // at end of file
       return -1;
     }
+    if (!mHedgeReaders.isEmpty()) {
+      return hedgedRead(position, buffer, (int) Math.min(length, mFileLength - position));
+    }
     int originalOffset = buffer.offset();
     try {
       return mNettyReader.read(position, buffer, length);
@@ -84,6 +149,80 @@ public class DoraCachePositionReader implements PositionReader {
     }
   }
 
+  @Override
+  public int[] readRanges(List<ReadRange> ranges) throws IOException {
+    if (ranges.size() <= 1) {
+      return PositionReader.super.readRanges(ranges);
+    }
+    // ranges are cut at the end of the file, so that the worker sends all the data asked for
+    List<ReadRange> rangesInFile = new ArrayList<>(ranges.size());
+    int[] startOffsets = new int[ranges.size()];
+    for (int i = 0; i < ranges.size(); i++) {
+      ReadRange range = ranges.get(i);
+      startOffsets[i] = range.getTarget().offset();
+      long length = Math.max(0, Math.min(range.getLength(), mFileLength - range.getPosition()));
+      rangesInFile.add(length == range.getLength() ? range
+          : new ReadRange(range.getPosition(), (int) length, range.getTarget()));
+    }
+    try {
+      return mNettyReader.readRanges(rangesInFile);
+    } catch (Throwable t) {
+      LOG.debug("Failed to read ranges of file from worker through Netty", t);
+      for (int i = 0; i < ranges.size(); i++) {
+        ranges.get(i).getTarget().offset(startOffsets[i]);
+      }
+      return PositionReader.super.readRanges(ranges);
+    }
+  }
+
+  private int hedgedRead(long position, ReadTargetBuffer buffer, int length)
+      throws IOException {
+    int originalOffset = buffer.offset();
+    HedgedReads reads = new HedgedReads(position, buffer, length);
+    Throwable failure = null;
+    try {
+      Future<Integer> completed = reads.poll(mHedgedReadPolicy.getDelayNanos());
+      if (completed == null) {
+        reads.hedge();
+      }
+      while (true) {
+        if (completed == null) {
+          completed = reads.take();
+        }
+        try {
+          return reads.complete(completed);
+        } catch (ExecutionException e) {
+          LOG.debug("Failed to read file from worker through Netty", e.getCause());
+          if (failure == null) {
+            failure = e.getCause();
+          } else {
+            failure.addSuppressed(e.getCause());
+          }
+          // a failed read is hedged right away, even if other reads are still in progress
+          if (reads.canHedge()) {
+            reads.hedge();
+          }
+        }
+        if (reads.getPendingReads() == 0) {
+          break;
+        }
+        completed = null;
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new InterruptedIOException("Interrupted while waiting for hedged reads");
+    } finally {
+      reads.cancel();
+    }
+    buffer.offset(originalOffset);
+    if (mFallbackReader.isPresent()) {
+      return fallback(mFallbackReader.get().get(), position, buffer, length);
+    }
+    Throwables.throwIfInstanceOf(failure, IOException.class);
+    Throwables.throwIfUnchecked(failure);
+    throw new IOException(failure);
+  }
+
   @Override
   public synchronized void close() throws IOException {
     if (mClosed) {
@@ -91,6 +230,9 @@ public class DoraCachePositionReader implements PositionReader {
     }
     mClosed = true;
     mNettyReader.close();
+    for (PositionReader reader : mHedgeReaders) {
+      reader.close();
+    }
     if (mFallbackReader.isPresent()) {
       mFallbackReader.get().close();
     }
@@ -104,10 +246,229 @@ public class DoraCachePositionReader implements PositionReader {
     return read;
   }
 
+  /**
+   * The reads of the same data sent to the preferred worker and to the workers it is hedged
+   * with. The latency of every read used, and of every read cancelled once another read is used,
+   * is recorded to the {@link HedgedReadPolicy}, so that slow reads are not left out of the
+   * percentile. The latency of a cancelled read is how long it ran before it was cancelled.
+   */
+  private final class HedgedReads {
+    private final CompletionService<Integer> mCompletionService =
+        new ExecutorCompletionService<>(HEDGED_READ_EXECUTOR);
+    private final long mPosition;
+    private final int mLength;
+    private final ReadTargetBuffer mTarget;
+    private final int mTargetOffset;
+    /** The target of the first read, revoked before the data of another read is copied. */
+    private final RevocableTargetBuffer mFirstTarget;
+    private final List<Future<Integer>> mReads = new ArrayList<>();
+    /** The buffers the reads read into, null for the first read. */
+    private final List<ByteBuffer> mBuffers = new ArrayList<>();
+    private final List<Long> mStartNanos = new ArrayList<>();
+    private int mPendingReads = 0;
+
+    HedgedReads(long position, ReadTargetBuffer target, int length) {
+      mPosition = position;
+      mLength = length;
+      mTarget = target;
+      mTargetOffset = target.offset();
+      mFirstTarget = new RevocableTargetBuffer(target);
+      submit(mNettyReader, mFirstTarget, null);
+    }
+
+    private void submit(PositionReader reader, ReadTargetBuffer target,
+        @Nullable ByteBuffer buffer) {
+      mStartNanos.add(System.nanoTime());
+      mBuffers.add(buffer);
+      mReads.add(mCompletionService.submit(() -> reader.read(mPosition, target, mLength)));
+      mPendingReads++;
+    }
+
+    /**
+     * @return whether there is a worker left to hedge the read with
+     */
+    boolean canHedge() {
+      return mReads.size() <= mHedgeReaders.size();
+    }
+
+    /**
+     * Sends the read to the next worker.
+     */
+    void hedge() {
+      Metrics.HEDGED_READ_COUNT.inc();
+      ByteBuffer buffer = ByteBuffer.allocate(mLength);
+      submit(mHedgeReaders.get(mReads.size() - 1), new ByteBufferTargetBuffer(buffer), buffer);
+    }
+
+    @Nullable
+    Future<Integer> poll(long timeoutNanos) throws InterruptedException {
+      return mCompletionService.poll(timeoutNanos, TimeUnit.NANOSECONDS);
+    }
+
+    Future<Integer> take() throws InterruptedException {
+      return mCompletionService.take();
+    }
+
+    int getPendingReads() {
+      return mPendingReads;
+    }
+
+    /**
+     * Uses the data of a completed read, copying it to the target buffer unless it is the
+     * first read, which wrote into the target buffer directly.
+     *
+     * @param read the completed read
+     * @return the number of bytes read, or -1 at the end of the file
+     */
+    int complete(Future<Integer> read) throws ExecutionException, InterruptedException {
+      mPendingReads--;
+      int index = mReads.indexOf(read);
+      int bytesRead = read.get();
+      mHedgedReadPolicy.recordLatency(System.nanoTime() - mStartNanos.get(index));
+      if (index == 0) {
+        return bytesRead;
+      }
+      Metrics.HEDGED_READ_WINS.inc();
+      // the first read may still be writing into the target buffer until it is revoked
+      mFirstTarget.revoke();
+      mTarget.offset(mTargetOffset);
+      if (bytesRead > 0) {
+        mTarget.writeBytes(mBuffers.get(index).array(), 0, bytesRead);
+      }
+      return bytesRead;
+    }
+
+    /**
+     * Cancels the reads still in progress.
+     */
+    void cancel() {
+      mFirstTarget.revoke();
+      long nowNanos = System.nanoTime();
+      for (int i = 0; i < mReads.size(); i++) {
+        if (mReads.get(i).cancel(true)) {
+          mHedgedReadPolicy.recordLatency(nowNanos - mStartNanos.get(i));
+        }
+      }
+    }
+  }
+
+  /**
+   * Target buffer which writes into another target buffer until it is revoked. Once revoked,
+   * writes fail, so that a read which is still in progress does not write into the target buffer
+   * after the data of another read is copied there.
+   */
+  private static final class RevocableTargetBuffer implements ReadTargetBuffer {
+    private final ReadTargetBuffer mTarget;
+    private boolean mRevoked = false;
+
+    RevocableTargetBuffer(ReadTargetBuffer target) {
+      mTarget = target;
+    }
+
+    /**
+     * Revokes this buffer, waiting for a write in progress to complete.
+     */
+    synchronized void revoke() {
+      mRevoked = true;
+    }
+
+    private void checkNotRevoked() {
+      if (mRevoked) {
+        throw new CancellationException("The read was superseded by a hedged read");
+      }
+    }
+
+    @Override
+    public byte[] byteArray() {
+      throw new UnsupportedOperationException(
+          "The array of a revocable target buffer cannot be written to");
+    }
+
+    @Override
+    public ByteBuffer byteBuffer() {
+      throw new UnsupportedOperationException(
+          "The buffer of a revocable target buffer cannot be written to");
+    }
+
+    @Override
+    public synchronized int offset() {
+      return mTarget.offset();
+    }
+
+    @Override
+    public synchronized void offset(int newOffset) {
+      checkNotRevoked();
+      mTarget.offset(newOffset);
+    }
+
+    @Override
+    public WritableByteChannel byteChannel() {
+      return new WritableByteChannel() {
+        @Override
+        public int write(ByteBuffer src) {
+          int length = src.remaining();
+          writeBytes(Unpooled.wrappedBuffer(src));
+          src.position(src.position() + length);
+          return length;
+        }
+
+        @Override
+        public boolean isOpen() {
+          return true;
+        }
+
+        @Override
+        public void close() {
+        }
+      };
+    }
+
+    @Override
+    public synchronized long remaining() {
+      return mTarget.remaining();
+    }
+
+    @Override
+    public synchronized void writeBytes(byte[] srcArray, int srcOffset, int length) {
+      checkNotRevoked();
+      mTarget.writeBytes(srcArray, srcOffset, length);
+    }
+
+    @Override
+    public synchronized void writeBytes(ByteBuf buf) {
+      checkNotRevoked();
+      mTarget.writeBytes(buf);
+    }
+
+    @Override
+    public synchronized int readFromFile(RandomAccessFile file, int length)
+        throws IOException {
+      checkNotRevoked();
+      return mTarget.readFromFile(file, length);
+    }
+
+    @Override
+    public synchronized int readFromChannel(FileChannel channel, long position, int length)
+        throws IOException {
+      checkNotRevoked();
+      return mTarget.readFromChannel(channel, position, length);
+    }
+
+    @Override
+    public synchronized int readFromInputStream(InputStream is, int length) throws IOException {
+      checkNotRevoked();
+      return mTarget.readFromInputStream(is, length);
+    }
+  }
+
   private static class Metrics {
     static final Counter UFS_FALLBACK_COUNT =
         MetricsSystem.counter(MetricKey.CLIENT_UFS_FALLBACK_COUNT.getName());
     static final Meter UFS_FALLBACK_READ_BYTES =
         MetricsSystem.meter(MetricKey.CLIENT_UFS_FALLBACK_READ_BYTES.getName());
+    static final Counter HEDGED_READ_COUNT =
+        MetricsSystem.counter(MetricKey.CLIENT_HEDGED_READ_COUNT.getName());
+    static final Counter HEDGED_READ_WINS =
+        MetricsSystem.counter(MetricKey.CLIENT_HEDGED_READ_WINS.getName());
   }
 }
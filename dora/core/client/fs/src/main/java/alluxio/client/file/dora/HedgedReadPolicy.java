@@ -0,0 +1,90 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.client.file.dora;
+
+import alluxio.conf.AlluxioConfiguration;
+import alluxio.conf.PropertyKey;
+
+import com.codahale.metrics.Histogram;
+import com.codahale.metrics.SlidingWindowReservoir;
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Preconditions;
+
+import java.util.concurrent.TimeUnit;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * Decides how long a positioned read from a worker can take before it is hedged, that is, before
+ * the same read is also sent to another worker.
+ * <p>
+ * The delay is either static, or a percentile of the latencies of the recent reads from workers
+ * recorded by {@link #recordLatency(long)}. The percentile is only recomputed every
+ * {@link #RECOMPUTE_INTERVAL} reads, so that reads do not pay for sorting the latencies.
+ */
+@ThreadSafe
+public class HedgedReadPolicy {
+  @VisibleForTesting
+  static final int WINDOW_SIZE = 1024;
+  @VisibleForTesting
+  static final int RECOMPUTE_INTERVAL = 64;
+
+  private final long mStaticDelayNanos;
+  private final double mPercentile;
+  private final Histogram mLatencies = new Histogram(new SlidingWindowReservoir(WINDOW_SIZE));
+  private volatile long mDelayNanos;
+
+  /**
+   * @param conf the configuration
+   */
+  public HedgedReadPolicy(AlluxioConfiguration conf) {
+    this(conf.getMs(PropertyKey.USER_POSITION_READER_HEDGED_READ_DELAY),
+        conf.getDouble(PropertyKey.USER_POSITION_READER_HEDGED_READ_DELAY_PERCENTILE));
+  }
+
+  /**
+   * @param staticDelayMs the delay to use if it is not derived from the latencies, or until
+   *        enough latencies are recorded
+   * @param percentile the percentile of the latencies to use as delay, or 0 to always use the
+   *        static delay
+   */
+  @VisibleForTesting
+  HedgedReadPolicy(long staticDelayMs, double percentile) {
+    Preconditions.checkArgument(percentile >= 0 && percentile < 1,
+        "Invalid hedged read delay percentile %s", percentile);
+    mStaticDelayNanos = TimeUnit.MILLISECONDS.toNanos(staticDelayMs);
+    mPercentile = percentile;
+    mDelayNanos = mStaticDelayNanos;
+  }
+
+  /**
+   * @return how long a read waits before it is hedged, in nanoseconds
+   */
+  public long getDelayNanos() {
+    return mDelayNanos;
+  }
+
+  /**
+   * Records the latency of a read completed by a worker.
+   *
+   * @param latencyNanos the latency in nanoseconds
+   */
+  public void recordLatency(long latencyNanos) {
+    if (mPercentile == 0) {
+      return;
+    }
+    mLatencies.update(latencyNanos);
+    long count = mLatencies.getCount();
+    if (count >= RECOMPUTE_INTERVAL && count % RECOMPUTE_INTERVAL == 0) {
+      mDelayNanos = (long) mLatencies.getSnapshot().getValue(mPercentile);
+    }
+  }
+}
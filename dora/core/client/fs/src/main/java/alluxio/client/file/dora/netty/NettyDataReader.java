@@ -13,7 +13,10 @@ package alluxio.client.file.dora.netty;
 
 import alluxio.PositionReader;
 import alluxio.client.file.FileSystemContext;
+import alluxio.conf.PropertyKey;
+import alluxio.file.ReadRange;
 import alluxio.file.ReadTargetBuffer;
+import alluxio.file.ScatterTargetBuffer;
 import alluxio.metrics.MetricKey;
 import alluxio.metrics.MetricsSystem;
 import alluxio.proto.dataserver.Protocol;
@@ -22,15 +25,25 @@ import alluxio.wire.WorkerNetAddress;
 import com.codahale.metrics.Counter;
 
 import java.io.IOException;
+import java.util.List;
 import java.util.function.Supplier;
+import javax.annotation.Nullable;
 
 /**
  * Positioned Netty data reader.
+ * <p>
+ * If {@link PropertyKey#USER_NETWORK_NETTY_READER_SESSION_ENABLED} is set, the reads are served
+ * by a {@link NettyReadSession} held by the reader until it is closed.
+ * <p>
+ * {@link #readRanges} reads all the ranges with a single request, to which the worker responds
+ * with the data of the ranges one after another.
  */
 public class NettyDataReader implements PositionReader {
   private final FileSystemContext mContext;
   private final WorkerNetAddress mAddress;
   private final Supplier<Protocol.ReadRequest.Builder> mRequestBuilder;
+  @Nullable
+  private final NettyReadSession mSession;
 
   /**
    * Constructor.
@@ -45,6 +58,9 @@ public class NettyDataReader implements PositionReader {
     mAddress = address;
     // clone the builder so that the initial values does not get overridden
     mRequestBuilder = requestBuilder::clone;
+    mSession = context.getClusterConf()
+        .getBoolean(PropertyKey.USER_NETWORK_NETTY_READER_SESSION_ENABLED)
+        ? new NettyReadSession(context, address) : null;
   }
 
   @Override
@@ -53,8 +69,34 @@ public class NettyDataReader implements PositionReader {
         .setLength(length)
         .setOffset(position)
         .clearCancel();
+    return readFromWorker(builder, buffer);
+  }
+
+  @Override
+  public int[] readRanges(List<ReadRange> ranges) throws IOException {
+    Protocol.ReadRequest.Builder builder = mRequestBuilder.get()
+        .setOffset(0)
+        .clearCancel();
+    long length = 0;
+    for (ReadRange range : ranges) {
+      builder.addRanges(Protocol.ReadRange.newBuilder()
+          .setOffset(range.getPosition())
+          .setLength(range.getLength()));
+      length += range.getLength();
+    }
+    if (length == 0 || length > Integer.MAX_VALUE) {
+      return PositionReader.super.readRanges(ranges);
+    }
+    ScatterTargetBuffer buffer = new ScatterTargetBuffer(ranges);
+    readFromWorker(builder.setLength(length), buffer);
+    return buffer.getBytesWritten();
+  }
+
+  private int readFromWorker(Protocol.ReadRequest.Builder builder, ReadTargetBuffer buffer)
+      throws IOException {
+    NettyReadSession session = mSession != null && mSession.tryStartRead() ? mSession : null;
     NettyDataReaderStateMachine clientStateMachine =
-        new NettyDataReaderStateMachine(mContext, mAddress, builder, buffer);
+        new NettyDataReaderStateMachine(mContext, mAddress, builder, buffer, session);
     clientStateMachine.run();
     int bytesRead = clientStateMachine.getBytesRead();
     PartialReadException exception = clientStateMachine.getException();
@@ -69,6 +111,13 @@ public class NettyDataReader implements PositionReader {
     }
   }
 
+  @Override
+  public void close() {
+    if (mSession != null) {
+      mSession.close();
+    }
+  }
+
   /**
    * Class that contains metrics about FileOutStream.
    */
@@ -82,7 +82,12 @@ public class NettyDataReaderStateMachine {
   private final Supplier<Protocol.ReadRequest.Builder> mRequestBuilder;
   private final int mLength;
   private final ReadTargetBuffer mOutputBuffer;
-  private final BlockingQueue<ResponseEvent> mResponseEventQueue = new LinkedBlockingQueue<>();
+  private final BlockingQueue<ResponseEvent> mResponseEventQueue;
+  @Nullable
+  private final NettyReadSession mSession;
+  /** Number of packets to consume before granting credits for them to the server. */
+  private final int mCreditGrantBatch;
+  private int mPacketsToGrant;
 
   @Nullable
   private Channel mChannel;
@@ -179,13 +184,47 @@ public class NettyDataReaderStateMachine {
       WorkerNetAddress address,
       Protocol.ReadRequest.Builder requestBuilder,
       ReadTargetBuffer buffer) {
+    this(context, address, requestBuilder, buffer, null);
+  }
+
+  /**
+   * Constructor.
+   *
+   * @param context
+   * @param address
+   * @param requestBuilder
+   * @param buffer
+   * @param session the read session to read in, which must have been started for this read,
+   *        or null to read on a channel acquired for this read only
+   */
+  public NettyDataReaderStateMachine(
+      FileSystemContext context,
+      WorkerNetAddress address,
+      Protocol.ReadRequest.Builder requestBuilder,
+      ReadTargetBuffer buffer,
+      @Nullable NettyReadSession session) {
     mContext = context;
     AlluxioConfiguration conf = context.getClusterConf();
     mReadTimeoutMs = conf.getMs(PropertyKey.USER_NETWORK_NETTY_TIMEOUT_MS);
     mMaxPacketsInFlight = conf.getInt(PropertyKey.USER_NETWORK_NETTY_READER_BUFFER_SIZE_PACKETS);
     mAddress = address;
-    // clone the builder so that the initial values does not get overridden
-    mRequestBuilder = requestBuilder::clone;
+    mSession = session;
+    if (session == null) {
+      // clone the builder so that the initial values does not get overridden
+      mRequestBuilder = requestBuilder::clone;
+      mResponseEventQueue = new LinkedBlockingQueue<>();
+      mCreditGrantBatch = 0;
+    } else {
+      // the worker keeps the file open for the next read of the session, and sends no more
+      // packets than the client has granted credits for
+      Protocol.ReadRequest.Builder sessionRequestBuilder = requestBuilder.clone()
+          .setKeepOpen(true)
+          .setCredits(session.getCredits())
+          .setRequestId(session.nextRequestId());
+      mRequestBuilder = sessionRequestBuilder::clone;
+      mResponseEventQueue = session.getResponseEventQueue();
+      mCreditGrantBatch = Math.max(1, session.getCredits() / 2);
+    }
     mLength = (int) requestBuilder.getLength();
     mOutputBuffer = buffer;
 
@@ -312,7 +351,9 @@ public class NettyDataReaderStateMachine {
     } catch (RuntimeException e) {
       LOG.error("Unexpected exception during execution, state: {}", mStateMachine.getState(), e);
       // close and release the channel in case there is a programming error in the state machine
-      if (mChannel != null) {
+      if (mSession != null) {
+        mSession.endRead(false);
+      } else if (mChannel != null) {
         CommonUtils.closeChannel(mChannel);
         mContext.releaseNettyChannel(mAddress, mChannel);
       }
@@ -379,8 +420,13 @@ public class NettyDataReaderStateMachine {
 
   void acquireNettyChannel() {
     try {
-      mChannel = mContext.acquireNettyChannel(mAddress);
-      mChannel.pipeline().addLast(new PacketReadHandler(mResponseEventQueue, mMaxPacketsInFlight));
+      if (mSession != null) {
+        mChannel = mSession.acquireChannel();
+      } else {
+        mChannel = mContext.acquireNettyChannel(mAddress);
+        mChannel.pipeline().addLast(
+            new PacketReadHandler(mResponseEventQueue, mMaxPacketsInFlight));
+      }
     } catch (IOException ioe) {
       fireNext(mTriggerEventsWithParam.mChannelUnavailableEvent, ioe);
       return;
@@ -439,6 +485,10 @@ public class NettyDataReaderStateMachine {
     }
     mBytesRead += bytesToWrite;
     if (mBytesRead < mLength) {
+      if (mSession != null && ++mPacketsToGrant >= mCreditGrantBatch) {
+        sendCreditGrant(mPacketsToGrant);
+        mPacketsToGrant = 0;
+      }
       fireNext(TriggerEvent.OUTPUT_LENGTH_NOT_FULFILLED);
     } else {
       fireNext(TriggerEvent.OUTPUT_LENGTH_FULFILLED);
@@ -485,6 +535,19 @@ public class NettyDataReaderStateMachine {
         });
   }
 
+  void sendCreditGrant(int credits) {
+    Preconditions.checkNotNull(mChannel, "cannot grant credits when channel has not been acquired");
+    Protocol.ReadRequest grant =
+        mRequestBuilder.get().clearCredits().setCreditGrant(credits).build();
+    mChannel.writeAndFlush(new RPCProtoMessage(new ProtoMessage(grant)))
+        .addListener((ChannelFutureListener) future -> {
+          if (!future.isSuccess()) {
+            mResponseEventQueue.offer(ResponseEventFactory.getResponseEventFactory()
+                .createChannelErrorResponseEvent(future.cause()));
+          }
+        });
+  }
+
   /**
    * Synchronously closes the channel.
    */
@@ -502,7 +565,9 @@ public class NettyDataReaderStateMachine {
   }
 
   void onTerminatedExceptionally(Transition<State, TriggerEvent> transition) {
-    if (mChannel != null) {
+    if (mSession != null) {
+      mSession.endRead(false);
+    } else if (mChannel != null) {
       if (mChannel.isOpen()) {
         CommonUtils.closeChannel(mChannel);
       }
@@ -512,6 +577,14 @@ public class NettyDataReaderStateMachine {
 
   void onTerminatedNormally(Transition<State, TriggerEvent> transition) {
     Preconditions.checkNotNull(mChannel, "terminated normally but channel is null");
+    if (mSession != null) {
+      // the channel stays with the session for the next read if it is still open
+      if (mChannel.isOpen()) {
+        NettyUtils.enableAutoRead(mChannel);
+      }
+      mSession.endRead(mChannel.isOpen());
+      return;
+    }
     if (mChannel.isOpen()) {
       mChannel.pipeline().removeLast();
       NettyUtils.enableAutoRead(mChannel);
@@ -524,7 +597,7 @@ public class NettyDataReaderStateMachine {
     return queue.size() >= maxPacketsInFlight;
   }
 
-  private static class PacketReadHandler extends ChannelInboundHandlerAdapter {
+  static class PacketReadHandler extends ChannelInboundHandlerAdapter {
     private final BlockingQueue<ResponseEvent> mResponseEventQueue;
     private final int mMaxPacketsInFlight;
 
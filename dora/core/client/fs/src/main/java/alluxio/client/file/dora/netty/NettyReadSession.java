@@ -0,0 +1,169 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.client.file.dora.netty;
+
+import alluxio.client.file.FileSystemContext;
+import alluxio.client.file.dora.netty.event.ResponseEvent;
+import alluxio.conf.PropertyKey;
+import alluxio.network.protocol.RPCProtoMessage;
+import alluxio.proto.dataserver.Protocol;
+import alluxio.util.CommonUtils;
+import alluxio.util.network.NettyUtils;
+import alluxio.util.proto.ProtoMessage;
+import alluxio.wire.WorkerNetAddress;
+
+import com.google.common.base.Preconditions;
+import io.netty.channel.Channel;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.GuardedBy;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * A read session of a file on a worker, which keeps the channel it acquired from the channel pool
+ * across the positioned reads of the file, so that the reads do not go through the pool and the
+ * worker can keep the file open between them.
+ * <p>
+ * A session serves one read at a time. A read started while another one is in progress does
+ * not use the session, and acquires a channel of its own as reads without session do.
+ */
+@ThreadSafe
+public class NettyReadSession implements Closeable {
+  private final FileSystemContext mContext;
+  private final WorkerNetAddress mAddress;
+  private final int mMaxPacketsInFlight;
+  private final BlockingQueue<ResponseEvent> mResponseEventQueue = new LinkedBlockingQueue<>();
+
+  @GuardedBy("this")
+  @Nullable
+  private Channel mChannel;
+  @GuardedBy("this")
+  private boolean mInUse = false;
+  @GuardedBy("this")
+  private boolean mClosed = false;
+  @GuardedBy("this")
+  private long mNextRequestId = 0;
+
+  /**
+   * @param context the file system context
+   * @param address the address of the worker
+   */
+  public NettyReadSession(FileSystemContext context, WorkerNetAddress address) {
+    mContext = context;
+    mAddress = address;
+    mMaxPacketsInFlight =
+        context.getClusterConf().getInt(PropertyKey.USER_NETWORK_NETTY_READER_BUFFER_SIZE_PACKETS);
+  }
+
+  /**
+   * Starts a read in the session.
+   *
+   * @return false if the session is serving another read or is closed
+   */
+  public synchronized boolean tryStartRead() {
+    if (mInUse || mClosed) {
+      return false;
+    }
+    mInUse = true;
+    return true;
+  }
+
+  /**
+   * Gets the channel of the session for the read in progress, acquiring a new one if the session
+   * has no channel yet or its channel has been closed.
+   *
+   * @return the channel
+   */
+  synchronized Channel acquireChannel() throws IOException {
+    Preconditions.checkState(mInUse, "no read in progress in the session");
+    if (mChannel != null && !mChannel.isOpen()) {
+      mContext.releaseNettyChannel(mAddress, mChannel);
+      mChannel = null;
+    }
+    if (mChannel == null) {
+      Channel channel = mContext.acquireNettyChannel(mAddress);
+      mResponseEventQueue.clear();
+      channel.pipeline().addLast(new NettyDataReaderStateMachine.PacketReadHandler(
+          mResponseEventQueue, mMaxPacketsInFlight));
+      mChannel = channel;
+    }
+    return mChannel;
+  }
+
+  /**
+   * @return the queue of the responses received from the channel of the session
+   */
+  BlockingQueue<ResponseEvent> getResponseEventQueue() {
+    return mResponseEventQueue;
+  }
+
+  /**
+   * @return the id of the next request of the session, which the credit grants of the request
+   *         refer to
+   */
+  synchronized long nextRequestId() {
+    return mNextRequestId++;
+  }
+
+  /**
+   * @return the maximum number of packets the worker is allowed to send ahead of the client
+   */
+  int getCredits() {
+    return mMaxPacketsInFlight;
+  }
+
+  /**
+   * Ends the read in progress.
+   *
+   * @param reusable whether the channel can be used by the next read, the channel is closed
+   *        and released otherwise
+   */
+  synchronized void endRead(boolean reusable) {
+    Preconditions.checkState(mInUse, "no read in progress in the session");
+    mInUse = false;
+    if (mChannel == null) {
+      return;
+    }
+    if (!reusable) {
+      CommonUtils.closeChannel(mChannel);
+    }
+    if (!reusable || mClosed) {
+      releaseChannel();
+    }
+  }
+
+  @Override
+  public synchronized void close() {
+    mClosed = true;
+    if (!mInUse && mChannel != null) {
+      releaseChannel();
+    }
+  }
+
+  @GuardedBy("this")
+  private void releaseChannel() {
+    if (mChannel.isOpen()) {
+      mChannel.pipeline().removeLast();
+      NettyUtils.enableAutoRead(mChannel);
+      // the worker closes the file it kept open for the session, rather than keeping it open
+      // while the channel sits in the pool
+      mChannel.writeAndFlush(new RPCProtoMessage(new ProtoMessage(
+          Protocol.ReadRequest.newBuilder().setCloseSession(true).build())));
+    }
+    mContext.releaseNettyChannel(mAddress, mChannel);
+    mChannel = null;
+  }
+}
@@ -141,6 +141,58 @@ public class PositionReadFileInStreamTest {
     }
   }
 
+  @Test
+  public void sequentialReadWithReadAhead() throws Exception {
+    Configuration.set(PropertyKey.USER_POSITION_READER_STREAMING_READ_AHEAD_BUFFERS, 2);
+    Configuration.set(PropertyKey.USER_POSITION_READER_STREAMING_READ_AHEAD_MAX_SIZE,
+        4 * mBufferSize);
+    try {
+      PositionReadFileInStream stream =
+          new PositionReadFileInStream(mPositionReader, mUriStatus, null);
+      int totalBytesRead = 0;
+      boolean readAhead = false;
+      for (Pair<Integer, Integer> pair :
+          generateReadSequence(1.0, 0.5, mDataLength, mBufferSize)) {
+        int bytesRead = stream.read(mBuffer, 0, pair.getSecond());
+        assertEquals(pair.getSecond().intValue(), bytesRead);
+        totalBytesRead += bytesRead;
+        assertTrue(BufferUtils.equalIncreasingByteBuffer(
+            totalBytesRead - bytesRead, bytesRead, ByteBuffer.wrap(mBuffer, 0, bytesRead)));
+        assertTrue(stream.getReadAheadBytes() <= 4L * mBufferSize);
+        readAhead |= stream.getReadAheadBytes() > 0;
+      }
+      assertEquals(mDataLength, totalBytesRead);
+      if (mDataLength >= 4 * mBufferSize) {
+        assertTrue(readAhead);
+      }
+      assertEquals(-1, stream.read(mBuffer, 0, mBufferSize));
+      stream.close();
+      assertEquals(0, stream.getReadAheadBytes());
+    } finally {
+      Configuration.unset(PropertyKey.USER_POSITION_READER_STREAMING_READ_AHEAD_BUFFERS);
+      Configuration.unset(PropertyKey.USER_POSITION_READER_STREAMING_READ_AHEAD_MAX_SIZE);
+    }
+  }
+
+  @Test
+  public void positionedReadWithReadAhead() throws Exception {
+    Configuration.set(PropertyKey.USER_POSITION_READER_STREAMING_READ_AHEAD_BUFFERS, 2);
+    try {
+      PositionReadFileInStream stream =
+          new PositionReadFileInStream(mPositionReader, mUriStatus, null);
+      for (Pair<Integer, Integer> pair :
+          generateReadSequence(0.7, 0.0, mDataLength, mBufferSize)) {
+        int bytesRead = stream.positionedRead(pair.getFirst(), mBuffer, 0, pair.getSecond());
+        assertEquals(pair.getSecond().intValue(), bytesRead);
+        assertTrue(BufferUtils.equalIncreasingByteBuffer(
+            pair.getFirst(), bytesRead, ByteBuffer.wrap(mBuffer, 0, bytesRead)));
+      }
+      stream.close();
+    } finally {
+      Configuration.unset(PropertyKey.USER_POSITION_READER_STREAMING_READ_AHEAD_BUFFERS);
+    }
+  }
+
   /**
    * Generates a sequence of read positions and length.
    *
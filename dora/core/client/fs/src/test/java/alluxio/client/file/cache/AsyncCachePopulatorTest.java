@@ -0,0 +1,165 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.client.file.cache;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import alluxio.Constants;
+import alluxio.client.file.CacheContext;
+import alluxio.client.file.cache.AsyncCachePopulator.AddResult;
+import alluxio.util.CommonUtils;
+import alluxio.util.WaitForOptions;
+import alluxio.util.io.BufferUtils;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+
+/**
+ * Tests for the {@link AsyncCachePopulator} class.
+ */
+public final class AsyncCachePopulatorTest {
+  private static final int PAGE_SIZE = Constants.KB;
+
+  private final List<PageId> mWritten = Collections.synchronizedList(new ArrayList<>());
+  private final Map<PageId, byte[]> mPages = new ConcurrentHashMap<>();
+  private final CountDownLatch mFirstWrite = new CountDownLatch(1);
+  private final CountDownLatch mRelease = new CountDownLatch(1);
+  private AsyncCachePopulator mPopulator;
+
+  @Before
+  public void before() {
+    mPopulator = create(PAGE_SIZE * 8);
+  }
+
+  @After
+  public void after() {
+    mRelease.countDown();
+    mPopulator.close();
+  }
+
+  /**
+   * Creates a populator with a single writer, which hangs on the first page until released.
+   */
+  private AsyncCachePopulator create(long capacity) {
+    return new AsyncCachePopulator((pageId, page, cacheContext) -> {
+      mFirstWrite.countDown();
+      try {
+        mRelease.await();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        return false;
+      }
+      byte[] data = new byte[page.remaining()];
+      page.get(data);
+      mPages.put(pageId, data);
+      mWritten.add(pageId);
+      return true;
+    }, PAGE_SIZE, capacity, 1);
+  }
+
+  private AddResult add(String fileId, long pageIndex) {
+    return mPopulator.add(new PageId(fileId, pageIndex),
+        ByteBuffer.wrap(BufferUtils.getIncreasingByteArray((int) pageIndex, PAGE_SIZE)),
+        CacheContext.defaults());
+  }
+
+  private void waitForWrites() throws Exception {
+    CommonUtils.waitFor("pages written", () -> mPopulator.getNumPages() == 0,
+        WaitForOptions.defaults().setTimeoutMs(10000));
+  }
+
+  @Test
+  public void batchPagesOfSameFile() throws Exception {
+    assertEquals(AddResult.QUEUED, add("hanging", 0));
+    mFirstWrite.await();
+    assertEquals(AddResult.QUEUED, add("a", 3));
+    assertEquals(AddResult.QUEUED, add("b", 0));
+    assertEquals(AddResult.QUEUED, add("a", 1));
+    assertEquals(AddResult.QUEUED, add("a", 2));
+    mRelease.countDown();
+    waitForWrites();
+    assertEquals(Arrays.asList(new PageId("hanging", 0), new PageId("a", 1), new PageId("a", 2),
+        new PageId("a", 3), new PageId("b", 0)), mWritten);
+    for (int i = 1; i <= 3; i++) {
+      assertArrayEquals(BufferUtils.getIncreasingByteArray(i, PAGE_SIZE),
+          mPages.get(new PageId("a", i)));
+    }
+  }
+
+  @Test
+  public void prioritizeRequestedAgain() throws Exception {
+    assertEquals(AddResult.QUEUED, add("hanging", 0));
+    mFirstWrite.await();
+    assertEquals(AddResult.QUEUED, add("a", 0));
+    assertEquals(AddResult.QUEUED, add("b", 0));
+    assertEquals(AddResult.QUEUED, add("c", 0));
+    assertEquals(AddResult.ALREADY_QUEUED, add("c", 0));
+    assertEquals(AddResult.ALREADY_QUEUED, add("hanging", 0));
+    mRelease.countDown();
+    waitForWrites();
+    assertEquals(Arrays.asList(new PageId("hanging", 0), new PageId("c", 0), new PageId("a", 0),
+        new PageId("b", 0)), mWritten);
+  }
+
+  @Test
+  public void dropWhenBuffersExhausted() throws Exception {
+    mPopulator.close();
+    mPopulator = create(PAGE_SIZE * 2);
+    assertEquals(AddResult.QUEUED, add("a", 0));
+    mFirstWrite.await();
+    assertEquals(AddResult.QUEUED, add("a", 1));
+    assertEquals(AddResult.DROPPED, add("a", 2));
+    mRelease.countDown();
+    waitForWrites();
+    assertEquals(Arrays.asList(new PageId("a", 0), new PageId("a", 1)), mWritten);
+    // buffers are reused
+    assertEquals(AddResult.QUEUED, add("a", 2));
+    assertEquals(AddResult.QUEUED, add("a", 3));
+    waitForWrites();
+    assertEquals(4, mWritten.size());
+  }
+
+  @Test
+  public void copyPageData() throws Exception {
+    byte[] data = BufferUtils.getIncreasingByteArray(PAGE_SIZE);
+    ByteBuffer page = ByteBuffer.wrap(data, 10, 100);
+    PageId pageId = new PageId("a", 0);
+    assertEquals(AddResult.QUEUED, mPopulator.add(pageId, page, CacheContext.defaults()));
+    assertEquals(10, page.position());
+    Arrays.fill(data, (byte) 0);
+    mRelease.countDown();
+    waitForWrites();
+    assertArrayEquals(BufferUtils.getIncreasingByteArray(10, 100), mPages.get(pageId));
+  }
+
+  @Test
+  public void closeDropsQueuedPages() throws Exception {
+    assertEquals(AddResult.QUEUED, add("hanging", 0));
+    mFirstWrite.await();
+    assertEquals(AddResult.QUEUED, add("a", 0));
+    mPopulator.close();
+    assertEquals(AddResult.DROPPED, add("b", 0));
+    waitForWrites();
+    assertEquals(Collections.emptyList(), mWritten);
+  }
+}
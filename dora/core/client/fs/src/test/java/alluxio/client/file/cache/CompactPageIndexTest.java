@@ -0,0 +1,102 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.client.file.cache;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+
+import alluxio.client.file.cache.store.PageStoreDir;
+import alluxio.client.quota.CacheScope;
+
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Tests for the {@link CompactPageIndex} class.
+ */
+public final class CompactPageIndexTest {
+  private final PageStoreDir mDir = mock(PageStoreDir.class);
+  private final CompactPageIndex mIndex = new CompactPageIndex();
+
+  @Test
+  public void addGetRemove() {
+    CacheScope scope = CacheScope.create("schema.table");
+    PageInfo pageInfo = new PageInfo(new PageId("file", 3), 100, scope, mDir, 12345L);
+    assertTrue(mIndex.add(pageInfo));
+    assertFalse(mIndex.add(new PageInfo(new PageId("file", 3), 200, mDir)));
+    PageInfo found = mIndex.get(new PageId("file", 3));
+    assertEquals(pageInfo, found);
+    assertSame(mDir, found.getLocalCacheDir());
+    assertEquals(12345L, found.getCreatedTimestamp());
+    assertEquals(1, mIndex.size());
+    assertTrue(mIndex.remove(pageInfo));
+    assertFalse(mIndex.remove(pageInfo));
+    assertNull(mIndex.get(new PageId("file", 3)));
+    assertNull(mIndex.getFirstByFileId("file"));
+    assertTrue(mIndex.getByFileId("file").isEmpty());
+    assertEquals(0, mIndex.size());
+  }
+
+  @Test
+  public void internFileId() {
+    String fileId = "file";
+    mIndex.add(new PageInfo(new PageId(fileId, 0), 100, mDir));
+    PageInfo other = new PageInfo(new PageId(new String(fileId), 1), 100, mDir);
+    mIndex.add(other);
+    PageInfo interned = mIndex.intern(other);
+    assertEquals(other, interned);
+    assertSame(fileId, interned.getPageId().getFileId());
+    assertSame(fileId, mIndex.get(new PageId("file", 1)).getPageId().getFileId());
+  }
+
+  @Test
+  public void randomOperations() {
+    Random random = new Random(42);
+    Map<PageId, PageInfo> expected = new HashMap<>();
+    for (int i = 0; i < 50000; i++) {
+      PageId pageId = new PageId(Integer.toString(random.nextInt(50)), random.nextInt(200));
+      if (random.nextInt(3) == 0) {
+        PageInfo pageInfo = expected.remove(pageId);
+        assertEquals(pageInfo != null,
+            mIndex.remove(new PageInfo(pageId, 0, mDir)));
+      } else {
+        PageInfo pageInfo = new PageInfo(pageId, random.nextInt(1000), mDir);
+        assertEquals(!expected.containsKey(pageId), mIndex.add(pageInfo));
+        expected.putIfAbsent(pageId, pageInfo);
+      }
+    }
+    assertEquals(expected.size(), mIndex.size());
+    for (PageInfo pageInfo : expected.values()) {
+      assertEquals(pageInfo, mIndex.get(pageInfo.getPageId()));
+    }
+    for (int file = 0; file < 50; file++) {
+      String fileId = Integer.toString(file);
+      Set<PageInfo> pages = expected.values().stream()
+          .filter(pageInfo -> pageInfo.getPageId().getFileId().equals(fileId))
+          .collect(Collectors.toSet());
+      assertEquals(pages, new HashSet<>(mIndex.getByFileId(fileId)));
+    }
+    mIndex.clear();
+    assertEquals(0, mIndex.size());
+    assertFalse(mIndex.contains(expected.keySet().iterator().next()));
+  }
+}
@@ -0,0 +1,148 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.client.file.cache;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+import alluxio.client.file.cache.allocator.HashAllocator;
+import alluxio.client.file.cache.evictor.CacheEvictorOptions;
+import alluxio.client.file.cache.evictor.FIFOCacheEvictor;
+import alluxio.client.file.cache.store.PageStoreDir;
+import alluxio.client.file.cache.store.PageStoreOptions;
+import alluxio.client.quota.CacheScope;
+import alluxio.exception.PageNotFoundException;
+import alluxio.metrics.MetricKey;
+import alluxio.metrics.MetricsSystem;
+import alluxio.resource.LockResource;
+
+import com.google.common.collect.ImmutableList;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Tests for the {@link DefaultPageMetaStore} class with the
+ * {@link PageMetaStoreType#CONCURRENT} type.
+ */
+public final class ConcurrentPageMetaStoreTest extends DefaultPageMetaStoreTest {
+  private static final int NUM_PAGES = 100;
+  private static final int NUM_READERS = 4;
+
+  @Before
+  @Override
+  public void before() {
+    MetricsSystem.clearAllMetrics();
+    mPageStoreDir =
+        PageStoreDir.createPageStoreDir(
+            new CacheEvictorOptions().setEvictorClass(FIFOCacheEvictor.class),
+            new PageStoreOptions().setRootDir(
+                Paths.get(mTempFolder.getRoot().getAbsolutePath())));
+    mPageInfo = new PageInfo(mPage, 1024, mPageStoreDir);
+    List<PageStoreDir> dirs = ImmutableList.of(mPageStoreDir);
+    mMetaStore =
+        new DefaultPageMetaStore(dirs, new HashAllocator(dirs), PageMetaStoreType.CONCURRENT);
+    mCachedPageGauge =
+        MetricsSystem.METRIC_REGISTRY.getGauges().get(MetricKey.CLIENT_CACHE_PAGES.getName());
+  }
+
+  @Test
+  public void readLockDoesNotBlockOnWriter() throws Exception {
+    mMetaStore.addPage(mPage, mPageInfo);
+    ExecutorService executor = Executors.newSingleThreadExecutor();
+    try (LockResource r = new LockResource(mMetaStore.getLock().writeLock())) {
+      Future<PageInfo> future = executor.submit(() -> {
+        try (LockResource r2 = new LockResource(mMetaStore.getLock().readLock())) {
+          return mMetaStore.getPageInfo(mPage);
+        }
+      });
+      assertEquals(mPageInfo, future.get(10, TimeUnit.SECONDS));
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  public void concurrentLookupsAndUpdates() throws Exception {
+    for (int i = 0; i < NUM_PAGES; i += 2) {
+      PageId pageId = new PageId("stable", i);
+      mMetaStore.addPage(pageId, new PageInfo(pageId, 1, mPageStoreDir));
+    }
+    AtomicBoolean done = new AtomicBoolean(false);
+    ExecutorService executor = Executors.newFixedThreadPool(NUM_READERS);
+    List<Future<?>> readers = new ArrayList<>();
+    for (int t = 0; t < NUM_READERS; t++) {
+      readers.add(executor.submit(() -> {
+        while (!done.get()) {
+          for (int i = 0; i < NUM_PAGES; i += 2) {
+            PageId pageId = new PageId("stable", i);
+            assertEquals(pageId, mMetaStore.getPageInfo(pageId).getPageId());
+          }
+          for (PageInfo pageInfo : mMetaStore.getAllPagesByFileId("volatile")) {
+            assertEquals("volatile", pageInfo.getPageId().getFileId());
+          }
+        }
+        return null;
+      }));
+    }
+    try {
+      for (int round = 0; round < 20; round++) {
+        for (int i = 0; i < NUM_PAGES; i++) {
+          PageId pageId = new PageId("volatile", i);
+          try (LockResource r = new LockResource(mMetaStore.getLock().writeLock())) {
+            mMetaStore.addPage(pageId, new PageInfo(pageId, 1, mPageStoreDir));
+          }
+        }
+        for (int i = 0; i < NUM_PAGES; i++) {
+          try (LockResource r = new LockResource(mMetaStore.getLock().writeLock())) {
+            mMetaStore.removePage(new PageId("volatile", i));
+          }
+        }
+      }
+    } finally {
+      done.set(true);
+    }
+    for (Future<?> reader : readers) {
+      reader.get(10, TimeUnit.SECONDS);
+    }
+    executor.shutdownNow();
+    assertEquals(NUM_PAGES / 2, mMetaStore.numPages());
+    assertEquals(NUM_PAGES / 2, mMetaStore.bytes());
+    assertTrue(mMetaStore.getAllPagesByFileId("volatile").isEmpty());
+  }
+
+  @Test
+  public void quotaMetaStore() throws Exception {
+    CacheEvictorOptions evictorOptions =
+        new CacheEvictorOptions().setEvictorClass(FIFOCacheEvictor.class);
+    QuotaPageMetaStore metaStore = new QuotaPageMetaStore(evictorOptions,
+        ImmutableList.of(mPageStoreDir), PageMetaStoreType.CONCURRENT);
+    CacheScope scope = CacheScope.create("schema.table");
+    PageInfo pageInfo = new PageInfo(mPage, 1024, scope, mPageStoreDir);
+    metaStore.addPage(mPage, pageInfo);
+    assertEquals(1024, metaStore.bytes(scope));
+    assertEquals(pageInfo, metaStore.getPageInfo(mPage));
+    assertEquals(pageInfo, metaStore.evict(scope, mPageStoreDir));
+    metaStore.removePage(mPage);
+    assertEquals(0, metaStore.bytes(scope));
+    assertThrows(PageNotFoundException.class, () -> metaStore.getPageInfo(mPage));
+  }
+}
@@ -15,6 +15,7 @@ import static alluxio.client.file.cache.CacheUsage.PartitionDescriptor.dir;
 import static alluxio.client.file.cache.CacheUsage.PartitionDescriptor.file;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
 
 import alluxio.Constants;
 import alluxio.client.file.cache.evictor.CacheEvictorOptions;
@@ -25,9 +26,11 @@ import alluxio.client.file.cache.store.PageStoreDir;
 import alluxio.client.file.cache.store.PageStoreOptions;
 import alluxio.conf.AlluxioConfiguration;
 import alluxio.conf.Configuration;
+import alluxio.exception.FileDoesNotExistException;
 import alluxio.exception.PageNotFoundException;
 import alluxio.metrics.MetricKey;
 import alluxio.metrics.MetricsSystem;
+import alluxio.resource.LockResource;
 
 import com.codahale.metrics.Gauge;
 import com.google.common.collect.ImmutableList;
@@ -38,8 +41,15 @@ import org.junit.Test;
 import org.junit.rules.TemporaryFolder;
 
 import java.nio.file.Paths;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
  * Tests for the {@link DefaultPageMetaStore} class.
@@ -169,6 +179,64 @@ public class DefaultPageMetaStoreTest {
         cacheUsage.map(CacheUsageView::available));
   }
 
+  @Test
+  public void concurrentLookupsAndUpdates() throws Exception {
+    int numFiles = 64;
+    int numPagesPerFile = 32;
+    AtomicBoolean done = new AtomicBoolean();
+    ExecutorService executor = Executors.newFixedThreadPool(3);
+    try {
+      List<Future<?>> readers = new ArrayList<>();
+      for (int i = 0; i < 3; i++) {
+        readers.add(executor.submit(() -> {
+          Random random = new Random();
+          while (!done.get()) {
+            String fileId = Integer.toString(random.nextInt(numFiles));
+            try (LockResource r = new LockResource(mMetaStore.getLock().readLock())) {
+              mMetaStore.hasPage(new PageId(fileId, random.nextInt(numPagesPerFile)));
+            }
+            long used = mMetaStore.getUsage()
+                .flatMap(usage -> usage.partitionedBy(file(fileId)))
+                .map(CacheUsage::used).orElse(0L);
+            assertTrue(used <= (long) numPagesPerFile * Constants.KB);
+            try {
+              assertEquals(mPageStoreDir, mMetaStore.getStoreDirOfFile(fileId));
+            } catch (FileDoesNotExistException e) {
+              // the file is not cached at the moment
+            }
+          }
+          return null;
+        }));
+      }
+      // adding and removing all the pages grows the index and reuses its slots
+      for (int round = 0; round < 10; round++) {
+        for (int file = 0; file < numFiles; file++) {
+          for (int page = 0; page < numPagesPerFile; page++) {
+            PageId pageId = new PageId(Integer.toString(file), page);
+            try (LockResource r = new LockResource(mMetaStore.getLock().writeLock())) {
+              mMetaStore.addPage(pageId, new PageInfo(pageId, Constants.KB, mPageStoreDir));
+            }
+          }
+        }
+        for (int file = 0; file < numFiles; file++) {
+          for (int page = 0; page < numPagesPerFile; page++) {
+            try (LockResource r = new LockResource(mMetaStore.getLock().writeLock())) {
+              mMetaStore.removePage(new PageId(Integer.toString(file), page));
+            }
+          }
+        }
+      }
+      done.set(true);
+      for (Future<?> reader : readers) {
+        reader.get(30, TimeUnit.SECONDS);
+      }
+      assertEquals(0, mMetaStore.numPages());
+    } finally {
+      done.set(true);
+      executor.shutdownNow();
+    }
+  }
+
   @Test
   public void fileCacheUsage() {
     PageId page1 = new PageId("0", 0);
@@ -65,14 +65,17 @@ import java.io.File;
 import java.io.IOException;
 import java.nio.ByteBuffer;
 import java.nio.file.Paths;
-import java.util.HashSet;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
-import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Consumer;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 /**
@@ -824,10 +827,11 @@ public final class LocalCacheManagerTest {
 
   @Test
   public void asyncCache() throws Exception {
-    // this must be smaller than the number of locks in the page store for the test to succeed
     final int threads = 16;
+    final int buffers = threads + 4;
     mConf.set(PropertyKey.USER_CLIENT_CACHE_ASYNC_WRITE_ENABLED, true);
     mConf.set(PropertyKey.USER_CLIENT_CACHE_ASYNC_WRITE_THREADS, threads);
+    mConf.set(PropertyKey.USER_CLIENT_CACHE_ASYNC_WRITE_BUFFER_SIZE, buffers * PAGE_SIZE_BYTES);
     mConf.set(PropertyKey.USER_CLIENT_CACHE_STORE_TYPE, PageStoreType.LOCAL);
     mCacheManagerOptions = CacheManagerOptions.create(mConf);
     PageStoreOptions pageStoreOptions = PageStoreOptions.create(mConf).get(0);
@@ -838,38 +842,26 @@ public final class LocalCacheManagerTest {
     pageStore.setPutHanging(true);
     mPageMetaStore = new DefaultPageMetaStore(ImmutableList.of(dir));
     mCacheManager = createLocalCacheManager(mConf, mPageMetaStore);
-    Set<Integer> lockedPages = new HashSet<>();
-    for (int i = 0; i < threads; i++) {
-      PageId pageId = new PageId("5", i);
+    // pages are held in the async write buffers until written
+    for (int i = 0; i < buffers; i++) {
+      PageId pageId = new PageId(Integer.toString(i), 0);
       assertTrue(mCacheManager.put(pageId, page(i, PAGE_SIZE_BYTES)));
-      lockedPages.add(mCacheManager.getPageLockId(pageId));
     }
-    // by setting the following line the hanging will only be stopped when the current
-    // thread adds a page
-    pageStore.setStopHangingThread(Thread.currentThread().getId());
-    // fallback to caller's thread (the current here) when queue is full
-    // find a page id that is not already locked
-    int pageLockId;
-    long nxtIdx = 0;
-    PageId callerPageId;
-    do {
-      callerPageId = new PageId("0L", nxtIdx);
-      pageLockId = mCacheManager.getPageLockId(callerPageId);
-      nxtIdx++;
-    } while (lockedPages.contains(pageLockId));
-    // this page will be inserted by the current thread and not a worker thread
-    assertTrue(mCacheManager.put(callerPageId, PAGE1));
-    // Wait for all tasks to complete
-    // one for each thread worker thread, and one on the main thread
-    while (pageStore.getPuts() < threads + 1) {
-      Thread.sleep(1000);
+    // no buffer left, the page is dropped instead of blocking the caller
+    assertFalse(mCacheManager.put(new PageId("dropped", 0), PAGE1));
+    pageStore.setPutHanging(false);
+    while (pageStore.getPuts() < buffers) {
+      Thread.sleep(100);
     }
-    pageStore.setPutHanging(true);
-    for (int i = 0; i < threads; i++) {
-      PageId pageId = new PageId("6", i);
-      assertTrue(mCacheManager.put(pageId, page(i, PAGE_SIZE_BYTES)));
+    // buffers are reused once the pages are written
+    CommonUtils.waitFor("buffers released",
+        () -> mCacheManager.put(new PageId("dropped", 0), PAGE1),
+        WaitForOptions.defaults().setTimeoutMs(10000));
+    for (int i = 0; i < buffers; i++) {
+      PageId pageId = new PageId(Integer.toString(i), 0);
+      assertEquals(PAGE_SIZE_BYTES, mCacheManager.get(pageId, PAGE_SIZE_BYTES, mBuf, 0));
+      assertArrayEquals(page(i, PAGE_SIZE_BYTES), mBuf);
     }
-    pageStore.setPutHanging(false);
   }
 
   @Test
@@ -1158,6 +1150,52 @@ public final class LocalCacheManagerTest {
             0).get(0));
   }
 
+  @Test
+  public void getMultiplePages() throws Exception {
+    List<PageId> pageIds = new ArrayList<>();
+    for (int i = 0; i < 4; i++) {
+      PageId pageId = new PageId("5", i);
+      mCacheManager.put(pageId, page(i * PAGE_SIZE_BYTES, PAGE_SIZE_BYTES));
+      pageIds.add(pageId);
+    }
+    byte[] buf = new byte[4 * PAGE_SIZE_BYTES];
+    int length = 4 * PAGE_SIZE_BYTES - 10;
+    assertEquals(length, mCacheManager.get(pageIds, PAGE_SIZE_BYTES, 10, length,
+        new ByteArrayTargetBuffer(buf, 0), CacheContext.defaults()));
+    assertArrayEquals(page(10, length), Arrays.copyOfRange(buf, 0, length));
+
+    // stops at the first page not cached
+    mCacheManager.delete(pageIds.get(2));
+    assertEquals(2 * PAGE_SIZE_BYTES - 10, mCacheManager.get(pageIds, PAGE_SIZE_BYTES, 10,
+        length, new ByteArrayTargetBuffer(buf, 0), CacheContext.defaults()));
+    assertEquals(0, mCacheManager.get(pageIds.subList(2, 4), PAGE_SIZE_BYTES, 0,
+        2 * PAGE_SIZE_BYTES, new ByteArrayTargetBuffer(buf, 0), CacheContext.defaults()));
+  }
+
+  @Test
+  public void getAsync() throws Exception {
+    mCacheManager.close();
+    mConf.set(PropertyKey.USER_CLIENT_CACHE_TIMEOUT_DURATION, "-1");
+    mConf.set(PropertyKey.USER_CLIENT_CACHE_LOCAL_STORE_ASYNC_READ_THREADS, 4);
+    mCacheManager = createLocalCacheManager();
+    List<CompletableFuture<Integer>> reads = new ArrayList<>();
+    ByteBuffer buffer = ByteBuffer.allocate(4 * PAGE_SIZE_BYTES);
+    for (int i = 0; i < 4; i++) {
+      PageId pageId = new PageId("5", i);
+      mCacheManager.put(pageId, page(i * PAGE_SIZE_BYTES, PAGE_SIZE_BYTES));
+      ByteBuffer slice = buffer.duplicate();
+      slice.position(i * PAGE_SIZE_BYTES);
+      reads.add(mCacheManager.getAsync(pageId, 0, PAGE_SIZE_BYTES, slice,
+          CacheContext.defaults()));
+    }
+    for (CompletableFuture<Integer> read : reads) {
+      assertEquals(PAGE_SIZE_BYTES, (int) read.get());
+    }
+    assertArrayEquals(page(0, 4 * PAGE_SIZE_BYTES), buffer.array());
+    assertEquals(0, (int) mCacheManager.getAsync(new PageId("5", 4), 0, PAGE_SIZE_BYTES,
+        buffer, CacheContext.defaults()).get());
+  }
+
   @Test
   public void getDataFileChannel() throws Exception {
     mCacheManager = createLocalCacheManager();
@@ -1180,6 +1218,87 @@ public final class LocalCacheManagerTest {
     assertArrayEquals(PAGE1, bytes);
   }
 
+  @Test
+  public void getAndLoadDeduplicatesConcurrentMisses() throws Exception {
+    CountDownLatch loading = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    AtomicInteger loads = new AtomicInteger();
+    Supplier<byte[]> supplier = () -> {
+      loads.incrementAndGet();
+      loading.countDown();
+      try {
+        release.await();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+      return PAGE1;
+    };
+    byte[][] results = new byte[4][PAGE_SIZE_BYTES];
+    List<Thread> readers = new ArrayList<>();
+    for (byte[] result : results) {
+      readers.add(new Thread(() -> mCacheManager.getAndLoad(PAGE_ID1, 0, PAGE_SIZE_BYTES,
+          new ByteArrayTargetBuffer(result, 0), CacheContext.defaults(), supplier)));
+    }
+    readers.get(0).start();
+    loading.await();
+    for (Thread reader : readers.subList(1, readers.size())) {
+      reader.start();
+    }
+    // wait for the other readers to block on the in-flight load
+    CommonUtils.waitFor("readers waiting", () -> readers.subList(1, readers.size()).stream()
+            .allMatch(reader -> reader.getState() == Thread.State.WAITING),
+        WaitForOptions.defaults().setTimeoutMs(10000));
+    release.countDown();
+    for (Thread reader : readers) {
+      reader.join();
+    }
+    assertEquals(1, loads.get());
+    for (byte[] result : results) {
+      assertArrayEquals(PAGE1, result);
+    }
+    assertEquals(PAGE_SIZE_BYTES, mCacheManager.get(PAGE_ID1, PAGE_SIZE_BYTES, mBuf, 0));
+  }
+
+  @Test
+  public void getAndLoadAfterFailedConcurrentMiss() throws Exception {
+    CountDownLatch loading = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    AtomicBoolean failedLoad = new AtomicBoolean(false);
+    Thread failed = new Thread(() -> {
+      try {
+        mCacheManager.getAndLoad(PAGE_ID1, 0, PAGE_SIZE_BYTES,
+            new ByteArrayTargetBuffer(new byte[PAGE_SIZE_BYTES], 0), CacheContext.defaults(),
+            () -> {
+              loading.countDown();
+              try {
+                release.await();
+              } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+              }
+              throw new IllegalStateException("failed to read page");
+            });
+      } catch (IllegalStateException e) {
+        failedLoad.set(true);
+      }
+    });
+    failed.start();
+    loading.await();
+    AtomicInteger bytesRead = new AtomicInteger();
+    Thread reader = new Thread(() -> bytesRead.set(mCacheManager.getAndLoad(PAGE_ID1, 0,
+        PAGE_SIZE_BYTES, new ByteArrayTargetBuffer(mBuf, 0), CacheContext.defaults(),
+        () -> PAGE1)));
+    reader.start();
+    CommonUtils.waitFor("reader waiting", () -> reader.getState() == Thread.State.WAITING,
+        WaitForOptions.defaults().setTimeoutMs(10000));
+    release.countDown();
+    failed.join();
+    reader.join();
+    assertTrue(failedLoad.get());
+    // the waiting reader falls back to reading the page itself
+    assertEquals(PAGE_SIZE_BYTES, bytesRead.get());
+    assertArrayEquals(PAGE1, mBuf);
+  }
+
   /**
    * A PageStore where put can throw IOException on put or delete.
    */
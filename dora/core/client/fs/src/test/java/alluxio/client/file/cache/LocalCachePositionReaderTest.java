@@ -11,6 +11,9 @@
 
 package alluxio.client.file.cache;
 
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
 import alluxio.AlluxioURI;
 import alluxio.CloseableSupplier;
 import alluxio.Constants;
@@ -49,6 +52,7 @@ import org.junit.runners.Parameterized;
 import java.io.File;
 import java.io.FileOutputStream;
 import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.Arrays;
@@ -149,6 +153,28 @@ public final class LocalCachePositionReaderTest {
     mPositionReaderTest.concurrentReadPart();
   }
 
+  @Test
+  public void readConcurrently() throws IOException {
+    LocalCachePositionReader reader = (LocalCachePositionReader) mPositionReader;
+    // from the source first, then from the cache
+    for (int i = 0; i < 2; i++) {
+      ByteBuffer buffer = ByteBuffer.allocate(mFileLen);
+      assertEquals(mFileLen == 0 ? -1 : mFileLen, reader.readConcurrently(0, buffer, mFileLen));
+      assertEquals(Math.max(mFileLen, 0), buffer.position());
+      assertArrayEquals(BufferUtils.getIncreasingByteArray(mFileLen), buffer.array());
+    }
+    if (mFileLen > Constants.KB + 10) {
+      // with a page in the middle of the range not cached
+      mCacheManager.delete(new PageId(new AlluxioURI(mTestFile).hash(), 1));
+      ByteBuffer buffer = ByteBuffer.allocate(mFileLen);
+      buffer.position(5);
+      assertEquals(mFileLen - 10, reader.readConcurrently(10, buffer, mFileLen));
+      assertEquals(mFileLen - 5, buffer.position());
+      assertArrayEquals(BufferUtils.getIncreasingByteArray(10, mFileLen - 10),
+          Arrays.copyOfRange(buffer.array(), 5, mFileLen - 5));
+    }
+  }
+
   /**
    * Creates a manager and waits until it is ready.
    */
@@ -0,0 +1,220 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.client.file.cache;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import alluxio.client.file.cache.evictor.CacheEvictor;
+import alluxio.client.file.cache.evictor.CacheEvictorOptions;
+import alluxio.client.file.cache.evictor.FIFOCacheEvictor;
+import alluxio.client.file.cache.evictor.FrequencySketch;
+import alluxio.client.file.cache.evictor.LFUCacheEvictor;
+import alluxio.client.file.cache.evictor.LRUCacheEvictor;
+import alluxio.client.file.cache.evictor.TinyLFUCacheEvictor;
+import alluxio.client.file.cache.evictor.TwoChoiceRandomEvictor;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Tests for the {@link TinyLFUCacheEvictor} class.
+ */
+public final class TinyLFUCacheEvictorTest {
+  private static final int CACHE_PAGES = 500;
+
+  private TinyLFUCacheEvictor mEvictor;
+
+  /**
+   * Sets up the instances.
+   */
+  @Before
+  public void before() {
+    mEvictor = new TinyLFUCacheEvictor(new CacheEvictorOptions());
+  }
+
+  @Test
+  public void evictEmpty() {
+    assertNull(mEvictor.evict());
+  }
+
+  @Test
+  public void rejectColdPageFromWindow() {
+    PageId hot = new PageId("hot", 0);
+    PageId cold = new PageId("cold", 0);
+    mEvictor.updateOnPut(hot);
+    for (int i = 0; i < 5; i++) {
+      mEvictor.updateOnGet(hot);
+    }
+    mEvictor.updateOnPut(cold);
+    // the hot page left the window first and was admitted over the empty main segment
+    assertEquals(cold, mEvictor.evict());
+    mEvictor.updateOnDelete(cold);
+    assertEquals(hot, mEvictor.evict());
+    mEvictor.updateOnDelete(hot);
+    assertNull(mEvictor.evict());
+  }
+
+  @Test
+  public void admitFrequentPageFromWindow() {
+    List<PageId> pages = new ArrayList<>();
+    for (int i = 0; i < 10; i++) {
+      PageId page = new PageId("main", i);
+      pages.add(page);
+      mEvictor.updateOnPut(page);
+    }
+    PageId frequent = new PageId("frequent", 0);
+    for (int i = 0; i < 5; i++) {
+      mEvictor.updateOnPut(frequent);
+      mEvictor.updateOnDelete(frequent);
+    }
+    // a page read often in the recent past is admitted over the least recently used main page
+    mEvictor.updateOnPut(frequent);
+    assertEquals(pages.get(0), mEvictor.evict());
+    mEvictor.updateOnDelete(pages.get(0));
+    // a new page is not
+    PageId newest = new PageId("newest", 0);
+    mEvictor.updateOnPut(newest);
+    assertEquals(newest, mEvictor.evict());
+  }
+
+  @Test
+  public void evictMatching() {
+    for (int i = 0; i < 10; i++) {
+      mEvictor.updateOnPut(new PageId("file", i));
+    }
+    assertEquals(new PageId("file", 7),
+        mEvictor.evictMatching(pageId -> pageId.getPageIndex() == 7));
+    assertNull(mEvictor.evictMatching(pageId -> pageId.getPageIndex() == 10));
+    mEvictor.reset();
+    assertNull(mEvictor.evict());
+  }
+
+  @Test
+  public void frequencySketch() {
+    FrequencySketch sketch = new FrequencySketch(1024);
+    for (int i = 0; i < 20; i++) {
+      sketch.increment("hot");
+    }
+    sketch.increment("warm");
+    sketch.increment("warm");
+    assertEquals(15, sketch.frequency("hot"));
+    assertEquals(2, sketch.frequency("warm"));
+    assertEquals(0, sketch.frequency("cold"));
+    sketch.clear();
+    assertEquals(0, sketch.frequency("hot"));
+  }
+
+  @Test
+  public void frequencySketchAging() {
+    FrequencySketch sketch = new FrequencySketch(16);
+    for (int i = 0; i < 8; i++) {
+      sketch.increment("old");
+    }
+    // enough distinct items to reach the sample size and halve the counters
+    for (int i = 0; i < 1000; i++) {
+      sketch.increment(Integer.toString(i));
+    }
+    assertTrue(sketch.frequency("old") < 8);
+  }
+
+  /**
+   * Compares the hit ratio of the evictors on a skewed trace of a hot working set interleaved
+   * with scans of pages read only once.
+   */
+  @Test
+  public void hitRatioWithScans() {
+    List<PageId> trace = zipfTrace(100000, 5000, 0.9, new Random(42));
+    List<PageId> traceWithScans = new ArrayList<>();
+    int scanned = 0;
+    for (int i = 0; i < trace.size(); i++) {
+      traceWithScans.add(trace.get(i));
+      if (i % 10000 == 0) {
+        for (int j = 0; j < 2 * CACHE_PAGES; j++) {
+          traceWithScans.add(new PageId("scan", scanned++));
+        }
+      }
+    }
+    double tinyLfu = hitRatio(new TinyLFUCacheEvictor(new CacheEvictorOptions()),
+        traceWithScans);
+    for (CacheEvictor evictor : Arrays.asList(
+        new LRUCacheEvictor(new CacheEvictorOptions()),
+        new LFUCacheEvictor(new CacheEvictorOptions()),
+        new FIFOCacheEvictor(new CacheEvictorOptions()),
+        new TwoChoiceRandomEvictor(new CacheEvictorOptions()))) {
+      double other = hitRatio(evictor, traceWithScans);
+      assertTrue(String.format("TinyLFU hit ratio %.3f should beat %.3f of %s", tinyLfu, other,
+          evictor.getClass().getSimpleName()), tinyLfu > other);
+    }
+  }
+
+  /**
+   * Compares the hit ratio of the evictors on a skewed trace without scans.
+   */
+  @Test
+  public void hitRatioWithoutScans() {
+    List<PageId> trace = zipfTrace(100000, 5000, 0.9, new Random(42));
+    double tinyLfu = hitRatio(new TinyLFUCacheEvictor(new CacheEvictorOptions()), trace);
+    double lru = hitRatio(new LRUCacheEvictor(new CacheEvictorOptions()), trace);
+    double lfu = hitRatio(new LFUCacheEvictor(new CacheEvictorOptions()), trace);
+    assertTrue(String.format("TinyLFU hit ratio %.3f should beat %.3f of LRU", tinyLfu, lru),
+        tinyLfu > lru);
+    assertTrue(String.format("TinyLFU hit ratio %.3f should be close to %.3f of LFU", tinyLfu,
+        lfu), tinyLfu > lfu - 0.02);
+  }
+
+  /**
+   * Replays the trace against a cache of {@link #CACHE_PAGES} pages evicted by the evictor.
+   */
+  private static double hitRatio(CacheEvictor evictor, List<PageId> trace) {
+    Set<PageId> cached = new HashSet<>();
+    int hits = 0;
+    for (PageId pageId : trace) {
+      if (cached.contains(pageId)) {
+        hits++;
+        evictor.updateOnGet(pageId);
+        continue;
+      }
+      if (cached.size() == CACHE_PAGES) {
+        PageId victim = evictor.evict();
+        cached.remove(victim);
+        evictor.updateOnDelete(victim);
+      }
+      cached.add(pageId);
+      evictor.updateOnPut(pageId);
+    }
+    return (double) hits / trace.size();
+  }
+
+  private static List<PageId> zipfTrace(int length, int numPages, double skew, Random random) {
+    double[] cdf = new double[numPages];
+    double sum = 0;
+    for (int i = 0; i < numPages; i++) {
+      sum += 1 / Math.pow(i + 1, skew);
+      cdf[i] = sum;
+    }
+    List<PageId> trace = new ArrayList<>(length);
+    for (int i = 0; i < length; i++) {
+      int rank = Arrays.binarySearch(cdf, random.nextDouble() * sum);
+      trace.add(new PageId("hot", rank < 0 ? -rank - 1 : rank));
+    }
+    return trace;
+  }
+}
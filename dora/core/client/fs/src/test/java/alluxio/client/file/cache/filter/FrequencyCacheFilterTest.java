@@ -0,0 +1,43 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.client.file.cache.filter;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import alluxio.client.file.URIStatus;
+import alluxio.conf.Configuration;
+import alluxio.conf.InstancedConfiguration;
+import alluxio.conf.PropertyKey;
+import alluxio.wire.FileInfo;
+
+import org.junit.Test;
+
+/**
+ * Tests for the {@link FrequencyCacheFilter} class.
+ */
+public final class FrequencyCacheFilterTest {
+  @Test
+  public void admitRepeatedReads() {
+    InstancedConfiguration conf = Configuration.copyGlobal();
+    conf.set(PropertyKey.USER_CLIENT_CACHE_FILTER_FREQUENCY_THRESHOLD, 3);
+    CacheFilter filter = new FrequencyCacheFilter(conf, "");
+    URIStatus hot = new URIStatus(new FileInfo().setPath("/hot"));
+    URIStatus cold = new URIStatus(new FileInfo().setPath("/cold"));
+    assertFalse(filter.needsCache(hot));
+    assertFalse(filter.needsCache(cold));
+    assertFalse(filter.needsCache(hot));
+    assertTrue(filter.needsCache(hot));
+    assertTrue(filter.needsCache(hot));
+    assertFalse(filter.needsCache(cold));
+  }
+}
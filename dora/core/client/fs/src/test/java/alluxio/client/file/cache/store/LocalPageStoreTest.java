@@ -21,17 +21,27 @@ import static org.junit.Assert.assertTrue;
 import alluxio.client.file.cache.PageId;
 import alluxio.client.file.cache.PageStore;
 import alluxio.exception.PageCorruptedException;
+import alluxio.exception.PageNotFoundException;
 import alluxio.file.ByteArrayTargetBuffer;
+import alluxio.network.protocol.databuffer.DataFileChannel;
+import alluxio.util.io.BufferUtils;
 
+import io.netty.channel.FileRegion;
 import org.junit.Before;
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.TemporaryFolder;
 
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 public class LocalPageStoreTest {
 
@@ -53,6 +63,75 @@ public class LocalPageStoreTest {
     helloWorldTest(pageStore);
   }
 
+  @Test
+  public void getAsync() throws Exception {
+    mOptions.setAsyncReadThreads(2);
+    LocalPageStore pageStore = new LocalPageStore(mOptions);
+    try {
+      List<CompletableFuture<Integer>> reads = new ArrayList<>();
+      ByteBuffer buffer = ByteBuffer.allocate(10 * 100);
+      for (int i = 0; i < 10; i++) {
+        PageId id = new PageId("0", i);
+        pageStore.put(id, BufferUtils.getIncreasingByteArray(i * 100, 100));
+        ByteBuffer slice = buffer.duplicate();
+        slice.limit(i * 100 + 90).position(i * 100);
+        reads.add(pageStore.getAsync(id, 0, 100, slice, false));
+      }
+      for (int i = 0; i < 10; i++) {
+        assertEquals(90, (int) reads.get(i).get());
+      }
+      for (int i = 0; i < 10; i++) {
+        assertArrayEquals(BufferUtils.getIncreasingByteArray(i * 100, 90),
+            Arrays.copyOfRange(buffer.array(), i * 100, i * 100 + 90));
+      }
+
+      // the page file is opened before the read is started
+      PageId id = new PageId("0", 0);
+      ByteBuffer target = ByteBuffer.allocate(50);
+      CompletableFuture<Integer> read = pageStore.getAsync(id, 50, 50, target, false);
+      pageStore.delete(id);
+      assertEquals(50, (int) read.get());
+      assertEquals(50, target.position());
+      assertArrayEquals(BufferUtils.getIncreasingByteArray(50, 50), target.array());
+      assertThrows(PageNotFoundException.class,
+          () -> pageStore.getAsync(id, 0, 10, ByteBuffer.allocate(10), false));
+      assertThrows(PageCorruptedException.class, () -> pageStore.getAsync(
+          new PageId("0", 1), 50, 100, ByteBuffer.allocate(100), false));
+    } finally {
+      pageStore.close();
+    }
+  }
+
+  @Test
+  public void dataFileChannelKeepsPageData() throws Exception {
+    LocalPageStore pageStore = new LocalPageStore(mOptions);
+    try {
+      PageId id = new PageId("0", 0);
+      pageStore.put(id, BufferUtils.getIncreasingByteArray(100));
+      // the page file is opened before the page is written again or deleted
+      DataFileChannel overwritten = pageStore.getDataFileChannel(id, 10, 100, false);
+      assertEquals(90, overwritten.getLength());
+      pageStore.put(id, BufferUtils.getIncreasingByteArray(1, 100));
+      DataFileChannel deleted = pageStore.getDataFileChannel(id, 0, 100, false);
+      pageStore.delete(id);
+      assertThrows(PageNotFoundException.class,
+          () -> pageStore.getDataFileChannel(id, 0, 100, false));
+
+      FileRegion region = (FileRegion) overwritten.getNettyOutput();
+      ByteArrayOutputStream out = new ByteArrayOutputStream();
+      assertEquals(90, region.transferTo(Channels.newChannel(out), 0));
+      assertArrayEquals(BufferUtils.getIncreasingByteArray(10, 90), out.toByteArray());
+      region.release();
+      region = (FileRegion) deleted.getNettyOutput();
+      out = new ByteArrayOutputStream();
+      assertEquals(100, region.transferTo(Channels.newChannel(out), 0));
+      assertArrayEquals(BufferUtils.getIncreasingByteArray(1, 100), out.toByteArray());
+      deleted.release();
+    } finally {
+      pageStore.close();
+    }
+  }
+
   @Test
   public void testSingleFileBucket() throws Exception {
     mOptions.setFileBuckets(1);
@@ -0,0 +1,197 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.client.file.cache.store;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThrows;
+
+import alluxio.client.file.cache.PageId;
+import alluxio.exception.PageNotFoundException;
+import alluxio.exception.status.ResourceExhaustedException;
+import alluxio.file.ByteArrayTargetBuffer;
+import alluxio.network.protocol.databuffer.DataBuffer;
+import alluxio.util.io.BufferUtils;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+
+public class OffHeapMemoryPageStoreTest {
+  private static final int PAGE_SIZE = 64 * 1024;
+  private static final int SLAB_SIZE = PAGE_SIZE * 4;
+
+  private PageStoreOptions mOptions;
+  private OffHeapMemoryPageStore mPageStore;
+
+  @Before
+  public void before() {
+    mOptions = new PageStoreOptions()
+        .setStoreType(PageStoreType.OFF_HEAP)
+        .setPageSize(PAGE_SIZE)
+        .setSlabSize(SLAB_SIZE)
+        .setCacheSize(SLAB_SIZE * 2);
+    mPageStore = new OffHeapMemoryPageStore(mOptions);
+  }
+
+  @After
+  public void after() {
+    mPageStore.close();
+  }
+
+  @Test
+  public void putGet() throws Exception {
+    PageId id = new PageId("0", 0);
+    mPageStore.put(id, BufferUtils.getIncreasingByteArray(PAGE_SIZE));
+    byte[] buf = new byte[PAGE_SIZE - 100];
+    assertEquals(buf.length,
+        mPageStore.get(id, 100, buf.length, new ByteArrayTargetBuffer(buf, 0)));
+    assertArrayEquals(BufferUtils.getIncreasingByteArray(100, buf.length), buf);
+    assertEquals(SLAB_SIZE, mPageStore.getAllocator().getSlabBytes());
+    assertEquals(PAGE_SIZE, mPageStore.getAllocator().getChunkBytes());
+  }
+
+  @Test
+  public void partialPageUsesSmallerChunk() throws Exception {
+    PageId id = new PageId("0", 0);
+    mPageStore.put(id, BufferUtils.getIncreasingByteArray(5000));
+    // the smallest power-of-two class holding 5000 bytes
+    assertEquals(8 * 1024, mPageStore.getAllocator().getChunkBytes());
+    assertEquals(5000, mPageStore.getAllocator().getDataBytes());
+    byte[] buf = new byte[5000];
+    assertEquals(buf.length, mPageStore.get(id, 0, buf.length, new ByteArrayTargetBuffer(buf, 0)));
+    assertArrayEquals(BufferUtils.getIncreasingByteArray(5000), buf);
+
+    mPageStore.put(new PageId("0", 1), BufferUtils.getIncreasingByteArray(10));
+    assertEquals(8 * 1024 + SlabAllocator.MIN_CHUNK_SIZE,
+        mPageStore.getAllocator().getChunkBytes());
+  }
+
+  @Test
+  public void fallBackToLargerChunk() throws Exception {
+    // fill up both slabs allowed by the capacity, one of them with small pages
+    mPageStore.put(new PageId("small", 0), BufferUtils.getIncreasingByteArray(10));
+    for (int i = 0; i < 4; i++) {
+      mPageStore.put(new PageId("0", i), BufferUtils.getIncreasingByteArray(PAGE_SIZE));
+    }
+    mPageStore.delete(new PageId("0", 0));
+    // no slab left for another small page class, the free full-page chunk is used instead
+    mPageStore.put(new PageId("medium", 0), BufferUtils.getIncreasingByteArray(9000));
+    assertThrows(ResourceExhaustedException.class,
+        () -> mPageStore.put(new PageId("0", 0), BufferUtils.getIncreasingByteArray(PAGE_SIZE)));
+  }
+
+  @Test
+  public void compactSmallPages() throws Exception {
+    mPageStore.close();
+    mPageStore = new OffHeapMemoryPageStore(mOptions.setCacheSize(SLAB_SIZE * 3));
+    // two slabs of the smallest class, with a single page left in each
+    int chunksPerSlab = SLAB_SIZE / SlabAllocator.MIN_CHUNK_SIZE;
+    for (int i = 0; i <= chunksPerSlab; i++) {
+      mPageStore.put(new PageId("small", i), BufferUtils.getIncreasingByteArray(i, 10));
+    }
+    for (int i = 1; i < chunksPerSlab; i++) {
+      mPageStore.delete(new PageId("small", i));
+    }
+    for (int i = 0; i < 4; i++) {
+      mPageStore.put(new PageId("0", i), BufferUtils.getIncreasingByteArray(PAGE_SIZE));
+    }
+    assertEquals(SLAB_SIZE * 3, mPageStore.getAllocator().getSlabBytes());
+    // one of the small page slabs is compacted to make room for another slab of full pages
+    mPageStore.put(new PageId("0", 4), BufferUtils.getIncreasingByteArray(PAGE_SIZE));
+    assertEquals(SLAB_SIZE * 3, mPageStore.getAllocator().getSlabBytes());
+    for (int i : new int[] {0, chunksPerSlab}) {
+      byte[] buf = new byte[10];
+      assertEquals(10, mPageStore.get(new PageId("small", i), 0, 10,
+          new ByteArrayTargetBuffer(buf, 0)));
+      assertArrayEquals(BufferUtils.getIncreasingByteArray(i, 10), buf);
+    }
+  }
+
+  @Test
+  public void releaseEmptySlab() throws Exception {
+    for (int i = 0; i < 5; i++) {
+      mPageStore.put(new PageId("0", i), BufferUtils.getIncreasingByteArray(PAGE_SIZE));
+    }
+    assertEquals(SLAB_SIZE * 2, mPageStore.getAllocator().getSlabBytes());
+    mPageStore.delete(new PageId("0", 4));
+    assertEquals(SLAB_SIZE, mPageStore.getAllocator().getSlabBytes());
+    mPageStore.reset();
+    assertEquals(0, mPageStore.getAllocator().getSlabBytes());
+    assertEquals(0, mPageStore.getAllocator().getChunkBytes());
+  }
+
+  @Test
+  public void overwritePage() throws Exception {
+    PageId id = new PageId("0", 0);
+    mPageStore.put(id, BufferUtils.getIncreasingByteArray(PAGE_SIZE));
+    mPageStore.put(id, BufferUtils.getIncreasingByteArray(1, 100));
+    assertEquals(100, mPageStore.getAllocator().getDataBytes());
+    byte[] buf = new byte[100];
+    assertEquals(100, mPageStore.get(id, 0, 100, new ByteArrayTargetBuffer(buf, 0)));
+    assertArrayEquals(BufferUtils.getIncreasingByteArray(1, 100), buf);
+  }
+
+  @Test
+  public void rejectOversizedPage() {
+    assertThrows(IOException.class, () -> mPageStore.put(new PageId("0", 0),
+        BufferUtils.getIncreasingByteArray(PAGE_SIZE + 1)));
+  }
+
+  @Test
+  public void dataBuffer() throws Exception {
+    PageId id = new PageId("0", 0);
+    mPageStore.put(id, BufferUtils.getIncreasingByteArray(1000));
+    DataBuffer dataBuffer = mPageStore.getDataBuffer(id, 10, PAGE_SIZE, false).get();
+    assertEquals(990, dataBuffer.getLength());
+    byte[] buf = new byte[990];
+    dataBuffer.readBytes(buf, 0, buf.length);
+    assertArrayEquals(BufferUtils.getIncreasingByteArray(10, 990), buf);
+    assertEquals(1, mPageStore.getPinCount());
+    dataBuffer.release();
+    assertEquals(0, mPageStore.getPinCount());
+  }
+
+  @Test
+  public void deletedPageStaysReadableWhilePinned() throws Exception {
+    PageId id = new PageId("0", 0);
+    mPageStore.put(id, BufferUtils.getIncreasingByteArray(PAGE_SIZE));
+    DataBuffer dataBuffer = mPageStore.getDataBuffer(id, 0, PAGE_SIZE, false).get();
+    mPageStore.delete(id);
+    assertThrows(PageNotFoundException.class,
+        () -> mPageStore.get(id, 0, PAGE_SIZE, new ByteArrayTargetBuffer(new byte[10], 0)));
+    assertEquals(PAGE_SIZE, mPageStore.getAllocator().getChunkBytes());
+    for (int i = 1; i < 8; i++) {
+      mPageStore.put(new PageId("1", i), BufferUtils.getIncreasingByteArray(i, PAGE_SIZE));
+    }
+    byte[] buf = new byte[PAGE_SIZE];
+    dataBuffer.readBytes(buf, 0, PAGE_SIZE);
+    assertArrayEquals(BufferUtils.getIncreasingByteArray(PAGE_SIZE), buf);
+    dataBuffer.release();
+    assertEquals(PAGE_SIZE * 7, mPageStore.getAllocator().getChunkBytes());
+  }
+
+  @Test
+  public void commitAndAbortTempPages() throws Exception {
+    mPageStore.putTemporary(new PageId("temp", 0), BufferUtils.getIncreasingByteArray(100));
+    mPageStore.putTemporary(new PageId("aborted", 0), BufferUtils.getIncreasingByteArray(100));
+    mPageStore.commit("temp", "committed");
+    mPageStore.abort("aborted");
+    byte[] buf = new byte[100];
+    assertEquals(100, mPageStore.get(new PageId("committed", 0), 0, 100,
+        new ByteArrayTargetBuffer(buf, 0)));
+    assertArrayEquals(BufferUtils.getIncreasingByteArray(100), buf);
+    assertEquals(100, mPageStore.getAllocator().getDataBytes());
+  }
+}
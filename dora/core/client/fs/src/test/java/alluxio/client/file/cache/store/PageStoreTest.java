@@ -33,8 +33,10 @@ import org.junit.runner.RunWith;
 import org.junit.runners.Parameterized;
 
 import java.nio.file.Paths;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.List;
 
 @RunWith(Parameterized.class)
 public class PageStoreTest {
@@ -43,7 +45,9 @@ public class PageStoreTest {
   public static Collection<Object[]> data() {
     return Arrays.asList(new Object[][] {
         {PageStoreType.LOCAL},
-        {PageStoreType.MEM}
+        {PageStoreType.SEGMENT},
+        {PageStoreType.MEM},
+        {PageStoreType.OFF_HEAP}
     });
   }
 
@@ -107,6 +111,34 @@ public class PageStoreTest {
     }
   }
 
+  @Test
+  public void getMultiplePages() throws Exception {
+    int pageSize = 1024;
+    int lastPageSize = 100;
+    List<PageId> ids = new ArrayList<>();
+    for (int i = 0; i < 4; i++) {
+      PageId id = new PageId("0", i);
+      mPageStore.put(id, BufferUtils.getIncreasingByteArray(i * pageSize,
+          i == 3 ? lastPageSize : pageSize));
+      ids.add(id);
+    }
+    int length = 3 * pageSize - 10 + lastPageSize;
+    byte[] buf = new byte[length];
+    assertEquals(length,
+        mPageStore.get(ids, pageSize, 10, length, new ByteArrayTargetBuffer(buf, 0), false));
+    assertArrayEquals(BufferUtils.getIncreasingByteArray(10, length), buf);
+
+    // stops at the first page not found
+    mPageStore.delete(ids.get(2));
+    buf = new byte[length];
+    assertEquals(2 * pageSize - 10,
+        mPageStore.get(ids, pageSize, 10, length, new ByteArrayTargetBuffer(buf, 0), false));
+    assertArrayEquals(BufferUtils.getIncreasingByteArray(10, 2 * pageSize - 10),
+        Arrays.copyOfRange(buf, 0, 2 * pageSize - 10));
+    assertThrows(PageNotFoundException.class, () -> mPageStore.get(ids.subList(2, 4), pageSize,
+        0, pageSize, new ByteArrayTargetBuffer(new byte[pageSize], 0), false));
+  }
+
   @Test
   public void getOffsetOverflow() throws Exception {
     int len = 32;
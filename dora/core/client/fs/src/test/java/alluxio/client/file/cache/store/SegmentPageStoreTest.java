@@ -0,0 +1,380 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.client.file.cache.store;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+import alluxio.client.file.cache.PageId;
+import alluxio.client.file.cache.PageInfo;
+import alluxio.exception.PageNotFoundException;
+import alluxio.exception.status.ResourceExhaustedException;
+import alluxio.file.ByteArrayTargetBuffer;
+import alluxio.network.protocol.databuffer.DataBuffer;
+import alluxio.network.protocol.databuffer.DataFileChannel;
+import alluxio.util.io.BufferUtils;
+
+import io.netty.channel.FileRegion;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+public class SegmentPageStoreTest {
+  private static final int PAGE_SIZE = 1024;
+  private static final int NUM_PAGES = 16;
+
+  @Rule
+  public TemporaryFolder mTemp = new TemporaryFolder();
+
+  private PageStoreOptions mOptions;
+
+  @Before
+  public void before() {
+    mOptions = new PageStoreOptions()
+        .setStoreType(PageStoreType.SEGMENT)
+        .setPageSize(PAGE_SIZE)
+        .setCacheSize(PAGE_SIZE * NUM_PAGES)
+        .setSegmentSize(PAGE_SIZE * 4)
+        .setRootDir(Paths.get(mTemp.getRoot().getAbsolutePath()));
+  }
+
+  @Test
+  public void packPagesIntoSegments() throws Exception {
+    SegmentPageStore pageStore = new SegmentPageStore(mOptions);
+    for (int i = 0; i < NUM_PAGES; i++) {
+      pageStore.put(new PageId(Integer.toString(i), 0), BufferUtils.getIncreasingByteArray(i, 8));
+    }
+    assertEquals(NUM_PAGES / 4, Files.list(
+        Paths.get(mOptions.getRootDir().toString(), Long.toString(mOptions.getPageSize())))
+        .count());
+    for (int i = 0; i < NUM_PAGES; i++) {
+      byte[] buf = new byte[8];
+      assertEquals(8, pageStore.get(new PageId(Integer.toString(i), 0), 0, 8,
+          new ByteArrayTargetBuffer(buf, 0)));
+      assertArrayEquals(BufferUtils.getIncreasingByteArray(i, 8), buf);
+    }
+    pageStore.close();
+  }
+
+  @Test
+  public void outOfSlots() throws Exception {
+    SegmentPageStore pageStore = new SegmentPageStore(mOptions);
+    for (int i = 0; i < NUM_PAGES; i++) {
+      pageStore.put(new PageId("0", i), "test".getBytes());
+    }
+    assertThrows(ResourceExhaustedException.class,
+        () -> pageStore.put(new PageId("1", 0), "test".getBytes()));
+    pageStore.delete(new PageId("0", 3));
+    pageStore.put(new PageId("1", 0), "test".getBytes());
+    assertEquals(NUM_PAGES, pageStore.getUsedSlots());
+    pageStore.close();
+  }
+
+  @Test
+  public void overwritePage() throws Exception {
+    SegmentPageStore pageStore = new SegmentPageStore(mOptions);
+    PageId id = new PageId("0", 0);
+    pageStore.put(id, "old".getBytes());
+    pageStore.put(id, "new!".getBytes());
+    assertEquals(1, pageStore.getUsedSlots());
+    byte[] buf = new byte[4];
+    assertEquals(4, pageStore.get(id, 0, 4, new ByteArrayTargetBuffer(buf, 0)));
+    assertArrayEquals("new!".getBytes(), buf);
+    pageStore.close();
+  }
+
+  @Test
+  public void restoreFromSegmentHeaders() throws Exception {
+    SegmentPageStore pageStore = new SegmentPageStore(mOptions);
+    for (int i = 0; i < NUM_PAGES; i++) {
+      pageStore.put(new PageId("0", i), BufferUtils.getIncreasingByteArray(i, i + 1));
+    }
+    pageStore.delete(new PageId("0", 5));
+    pageStore.putTemporary(new PageId("temp", 0), "temp".getBytes());
+    pageStore.close();
+
+    SegmentPageStore restored = new SegmentPageStore(mOptions);
+    SegmentPageStoreDir dir = new SegmentPageStoreDir(mOptions, restored, null);
+    List<PageInfo> pages = new ArrayList<>();
+    dir.scanPages(pageInfo -> pages.add(pageInfo.get()));
+    assertEquals(NUM_PAGES - 1, pages.size());
+    for (PageInfo pageInfo : pages) {
+      int index = (int) pageInfo.getPageId().getPageIndex();
+      assertTrue(index != 5);
+      assertEquals(index + 1, pageInfo.getPageSize());
+      byte[] buf = new byte[index + 1];
+      assertEquals(index + 1, restored.get(pageInfo.getPageId(), 0, index + 1,
+          new ByteArrayTargetBuffer(buf, 0)));
+      assertArrayEquals(BufferUtils.getIncreasingByteArray(index, index + 1), buf);
+    }
+    // uncommitted temporary pages are dropped on restore
+    assertThrows(PageNotFoundException.class, () -> restored.get(new PageId("temp", 0), 0, 4,
+        new ByteArrayTargetBuffer(new byte[4], 0), true));
+    assertEquals(NUM_PAGES - 1, restored.getUsedSlots());
+    restored.close();
+  }
+
+  @Test
+  public void restoreDuplicatePages() throws Exception {
+    SegmentPageStore pageStore = new SegmentPageStore(mOptions);
+    pageStore.put(new PageId("0", 0), "old".getBytes());
+    pageStore.put(new PageId("1", 0), "new!".getBytes());
+    Path segmentPath = pageStore.getSegmentPath(0);
+    pageStore.close();
+    // emulates a crash while overwriting page 0 of file 0, leaving two copies in the segment,
+    // by renaming the file id following the fixed fields of the second record
+    try (FileChannel channel = FileChannel.open(segmentPath, StandardOpenOption.WRITE)) {
+      channel.write(ByteBuffer.wrap("0".getBytes()), SegmentPageStore.SEGMENT_HEADER_SIZE
+          + SegmentPageStore.SLOT_RECORD_SIZE + SegmentPageStore.SLOT_RECORD_FIXED_SIZE);
+    }
+
+    for (int restart = 0; restart < 2; restart++) {
+      SegmentPageStore restored = new SegmentPageStore(mOptions);
+      assertEquals(1, restored.getUsedSlots());
+      byte[] buf = new byte[3];
+      assertEquals(3, restored.get(new PageId("0", 0), 0, 3, new ByteArrayTargetBuffer(buf, 0)));
+      assertThrows(PageNotFoundException.class, () -> restored.get(new PageId("1", 0), 0, 3,
+          new ByteArrayTargetBuffer(new byte[3], 0)));
+      restored.close();
+    }
+  }
+
+  @Test
+  public void discardMismatchedSegments() throws Exception {
+    SegmentPageStore pageStore = new SegmentPageStore(mOptions);
+    pageStore.put(new PageId("0", 0), "test".getBytes());
+    pageStore.close();
+
+    mOptions.setSegmentSize(PAGE_SIZE * 8);
+    SegmentPageStore restored = new SegmentPageStore(mOptions);
+    assertEquals(0, restored.getUsedSlots());
+    assertThrows(PageNotFoundException.class, () -> restored.get(new PageId("0", 0), 0, 4,
+        new ByteArrayTargetBuffer(new byte[4], 0)));
+    restored.close();
+  }
+
+  @Test
+  public void commitTempFile() throws Exception {
+    SegmentPageStore pageStore = new SegmentPageStore(mOptions);
+    String tmpFileId = "tmp_file";
+    pageStore.putTemporary(new PageId(tmpFileId, 0), "test0".getBytes());
+    pageStore.putTemporary(new PageId(tmpFileId, 6), "test6".getBytes());
+    pageStore.commit(tmpFileId, "new_file");
+    byte[] buf = new byte[5];
+    assertEquals(5, pageStore.get(new PageId("new_file", 6), 0, 5,
+        new ByteArrayTargetBuffer(buf, 0)));
+    assertArrayEquals("test6".getBytes(), buf);
+    pageStore.close();
+
+    SegmentPageStore restored = new SegmentPageStore(mOptions);
+    assertEquals(5, restored.get(new PageId("new_file", 0), 0, 5,
+        new ByteArrayTargetBuffer(buf, 0)));
+    assertArrayEquals("test0".getBytes(), buf);
+    restored.close();
+  }
+
+  @Test
+  public void abortTempFile() throws Exception {
+    SegmentPageStore pageStore = new SegmentPageStore(mOptions);
+    pageStore.putTemporary(new PageId("tmp_file", 0), "test0".getBytes());
+    pageStore.putTemporary(new PageId("other_file", 0), "other".getBytes());
+    pageStore.abort("tmp_file");
+    assertEquals(1, pageStore.getUsedSlots());
+    assertThrows(PageNotFoundException.class, () -> pageStore.get(new PageId("tmp_file", 0), 0,
+        5, new ByteArrayTargetBuffer(new byte[5], 0), true));
+    pageStore.close();
+  }
+
+  @Test
+  public void rejectOversizedPage() throws Exception {
+    SegmentPageStore pageStore = new SegmentPageStore(mOptions);
+    assertThrows(IOException.class,
+        () -> pageStore.put(new PageId("0", 0), new byte[PAGE_SIZE + 1]));
+    assertEquals(0, pageStore.getUsedSlots());
+    pageStore.close();
+  }
+
+  @Test
+  public void rejectPutAfterClose() throws Exception {
+    SegmentPageStore pageStore = new SegmentPageStore(mOptions);
+    pageStore.close();
+    assertThrows(IOException.class, () -> pageStore.put(new PageId("0", 0), "data".getBytes()));
+    // the segment file is not created again by a closed page store
+    assertFalse(Files.exists(pageStore.getSegmentPath(0)));
+  }
+
+  @Test
+  public void getOffset() throws Exception {
+    SegmentPageStore pageStore = new SegmentPageStore(mOptions);
+    PageId id = new PageId("0", 0);
+    pageStore.put(id, BufferUtils.getIncreasingByteArray(PAGE_SIZE));
+    byte[] buf = new byte[16];
+    assertEquals(16, pageStore.get(id, 100, 16, new ByteArrayTargetBuffer(buf, 0)));
+    assertArrayEquals(Arrays.copyOfRange(BufferUtils.getIncreasingByteArray(PAGE_SIZE), 100, 116),
+        buf);
+    pageStore.close();
+  }
+
+  @Test
+  public void getAdjacentPages() throws Exception {
+    readAdjacentPages(false);
+  }
+
+  @Test
+  public void mmapGetAdjacentPages() throws Exception {
+    readAdjacentPages(true);
+  }
+
+  private void readAdjacentPages(boolean mmap) throws Exception {
+    mOptions.setSegmentMmapEnabled(mmap);
+    SegmentPageStore pageStore = new SegmentPageStore(mOptions);
+    List<PageId> ids = new ArrayList<>();
+    // pages across two segments
+    for (int i = 0; i < 6; i++) {
+      PageId id = new PageId("0", i);
+      pageStore.put(id, BufferUtils.getIncreasingByteArray(i * PAGE_SIZE, PAGE_SIZE));
+      ids.add(id);
+    }
+    // move a page out of order
+    pageStore.delete(ids.get(1));
+    pageStore.put(new PageId("1", 0), BufferUtils.getIncreasingByteArray(PAGE_SIZE));
+    pageStore.put(ids.get(1), BufferUtils.getIncreasingByteArray(PAGE_SIZE, PAGE_SIZE));
+    int length = 6 * PAGE_SIZE - 20;
+    byte[] buf = new byte[length];
+    assertEquals(length, pageStore.get(ids, PAGE_SIZE, 10, length,
+        new ByteArrayTargetBuffer(buf, 0), false));
+    assertArrayEquals(BufferUtils.getIncreasingByteArray(10, length), buf);
+    assertEquals(0, pageStore.getPinCount());
+    pageStore.close();
+  }
+
+  @Test
+  public void noDataBufferWithoutMmap() throws Exception {
+    SegmentPageStore pageStore = new SegmentPageStore(mOptions);
+    PageId id = new PageId("0", 0);
+    pageStore.put(id, BufferUtils.getIncreasingByteArray(PAGE_SIZE));
+    assertFalse(pageStore.getDataBuffer(id, 0, PAGE_SIZE, false).isPresent());
+    pageStore.close();
+  }
+
+  @Test
+  public void mmapRead() throws Exception {
+    mOptions.setSegmentMmapEnabled(true);
+    SegmentPageStore pageStore = new SegmentPageStore(mOptions);
+    PageId id = new PageId("0", 1);
+    pageStore.put(id, BufferUtils.getIncreasingByteArray(PAGE_SIZE));
+    byte[] buf = new byte[PAGE_SIZE / 2];
+    assertEquals(PAGE_SIZE / 2,
+        pageStore.get(id, 10, PAGE_SIZE / 2, new ByteArrayTargetBuffer(buf, 0)));
+    assertArrayEquals(BufferUtils.getIncreasingByteArray(10, PAGE_SIZE / 2), buf);
+
+    Optional<DataBuffer> dataBuffer = pageStore.getDataBuffer(id, 10, PAGE_SIZE, false);
+    assertTrue(dataBuffer.isPresent());
+    assertEquals(PAGE_SIZE - 10, dataBuffer.get().getLength());
+    byte[] slice = new byte[PAGE_SIZE - 10];
+    dataBuffer.get().readBytes(slice, 0, slice.length);
+    assertArrayEquals(BufferUtils.getIncreasingByteArray(10, PAGE_SIZE - 10), slice);
+    assertEquals(1, pageStore.getPinCount());
+    dataBuffer.get().release();
+    assertEquals(0, pageStore.getPinCount());
+    pageStore.close();
+  }
+
+  @Test
+  public void mmapDeletedPageStaysReadableWhilePinned() throws Exception {
+    mOptions.setSegmentMmapEnabled(true);
+    SegmentPageStore pageStore = new SegmentPageStore(mOptions);
+    PageId id = new PageId("0", 0);
+    pageStore.put(id, BufferUtils.getIncreasingByteArray(PAGE_SIZE));
+    DataBuffer dataBuffer = pageStore.getDataBuffer(id, 0, PAGE_SIZE, false).get();
+    pageStore.delete(id);
+    assertThrows(PageNotFoundException.class,
+        () -> pageStore.getDataBuffer(id, 0, PAGE_SIZE, false));
+    // the slot of the deleted page is not reused while the slice is in use
+    assertEquals(1, pageStore.getUsedSlots());
+    for (int i = 1; i < NUM_PAGES; i++) {
+      pageStore.put(new PageId("1", i), BufferUtils.getIncreasingByteArray(i, PAGE_SIZE));
+    }
+    assertThrows(ResourceExhaustedException.class,
+        () -> pageStore.put(new PageId("1", 0), BufferUtils.getIncreasingByteArray(PAGE_SIZE)));
+    byte[] buf = new byte[PAGE_SIZE];
+    dataBuffer.readBytes(buf, 0, PAGE_SIZE);
+    assertArrayEquals(BufferUtils.getIncreasingByteArray(PAGE_SIZE), buf);
+    dataBuffer.release();
+    assertEquals(NUM_PAGES - 1, pageStore.getUsedSlots());
+    pageStore.put(new PageId("1", 0), BufferUtils.getIncreasingByteArray(PAGE_SIZE));
+    pageStore.close();
+  }
+
+  @Test
+  public void mmapRestoreFromSegments() throws Exception {
+    mOptions.setSegmentMmapEnabled(true);
+    SegmentPageStore pageStore = new SegmentPageStore(mOptions);
+    PageId id = new PageId("0", 0);
+    pageStore.put(id, BufferUtils.getIncreasingByteArray(PAGE_SIZE));
+    pageStore.close();
+    pageStore = new SegmentPageStore(mOptions);
+    DataBuffer dataBuffer = pageStore.getDataBuffer(id, 0, PAGE_SIZE, false).get();
+    byte[] buf = new byte[PAGE_SIZE];
+    dataBuffer.readBytes(buf, 0, PAGE_SIZE);
+    assertArrayEquals(BufferUtils.getIncreasingByteArray(PAGE_SIZE), buf);
+    dataBuffer.release();
+    pageStore.close();
+  }
+
+  @Test
+  public void dataFileChannelPinsSlot() throws Exception {
+    SegmentPageStore pageStore = new SegmentPageStore(mOptions);
+    PageId id = new PageId("0", 0);
+    pageStore.put(id, BufferUtils.getIncreasingByteArray(PAGE_SIZE));
+    DataFileChannel dataFileChannel = pageStore.getDataFileChannel(id, 10, PAGE_SIZE, false);
+    assertEquals(PAGE_SIZE - 10, dataFileChannel.getLength());
+    assertEquals(1, pageStore.getPinCount());
+    pageStore.delete(id);
+    // the slot of the deleted page is not reused until the data is sent
+    for (int i = 1; i < NUM_PAGES; i++) {
+      pageStore.put(new PageId("1", i), BufferUtils.getIncreasingByteArray(i, PAGE_SIZE));
+    }
+    assertThrows(ResourceExhaustedException.class,
+        () -> pageStore.put(new PageId("1", 0), BufferUtils.getIncreasingByteArray(PAGE_SIZE)));
+    FileRegion region = (FileRegion) dataFileChannel.getNettyOutput();
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    assertEquals(PAGE_SIZE - 10, region.transferTo(Channels.newChannel(out), 0));
+    assertArrayEquals(BufferUtils.getIncreasingByteArray(10, PAGE_SIZE - 10), out.toByteArray());
+    region.release();
+    assertEquals(0, pageStore.getPinCount());
+    pageStore.put(new PageId("1", 0), BufferUtils.getIncreasingByteArray(PAGE_SIZE));
+
+    // released without being sent
+    pageStore.getDataFileChannel(new PageId("1", 0), 0, PAGE_SIZE, false).release();
+    assertEquals(0, pageStore.getPinCount());
+    pageStore.close();
+  }
+}
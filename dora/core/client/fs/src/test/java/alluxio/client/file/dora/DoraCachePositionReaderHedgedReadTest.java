@@ -0,0 +1,240 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.client.file.dora;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+import alluxio.ByteArrayPositionReader;
+import alluxio.CloseableSupplier;
+import alluxio.Constants;
+import alluxio.PositionReader;
+import alluxio.file.ReadTargetBuffer;
+import alluxio.util.io.BufferUtils;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Tests for the hedged reads of {@link DoraCachePositionReader}.
+ */
+public class DoraCachePositionReaderHedgedReadTest {
+  private static final int LENGTH = Constants.KB;
+  private final byte[] mData = BufferUtils.getIncreasingByteArray(LENGTH);
+
+  @Test
+  public void hedgeSlowRead() throws Exception {
+    SlowPositionReader primary = new SlowPositionReader(mData, Constants.MINUTE_MS);
+    CountingPositionReader hedge = new CountingPositionReader(mData, false);
+    PositionReader reader = new DoraCachePositionReader(primary,
+        Collections.singletonList(hedge), new HedgedReadPolicy(10, 0), LENGTH,
+        Optional.empty());
+    checkRead(reader, 10, 100);
+    assertEquals(1, hedge.getReadCount());
+    // the read from the slow worker is cancelled
+    assertTrue(primary.awaitInterrupted());
+  }
+
+  @Test
+  public void fastReadNotHedged() throws Exception {
+    CountingPositionReader hedge = new CountingPositionReader(mData, false);
+    PositionReader reader = new DoraCachePositionReader(new ByteArrayPositionReader(mData),
+        Collections.singletonList(hedge), new HedgedReadPolicy(Constants.MINUTE_MS, 0), LENGTH,
+        Optional.empty());
+    for (int i = 0; i < 10; i++) {
+      checkRead(reader, i * 100, 100);
+    }
+    checkRead(reader, LENGTH - 10, 100);
+    assertEquals(0, hedge.getReadCount());
+    assertEquals(-1, reader.read(LENGTH, new byte[10], 10));
+  }
+
+  @Test
+  public void hedgeFailedReadRightAway() throws Exception {
+    CountingPositionReader hedge = new CountingPositionReader(mData, false);
+    PositionReader reader = new DoraCachePositionReader(new CountingPositionReader(mData, true),
+        Collections.singletonList(hedge), new HedgedReadPolicy(Constants.MINUTE_MS, 0), LENGTH,
+        Optional.empty());
+    checkRead(reader, 0, 100);
+    assertEquals(1, hedge.getReadCount());
+  }
+
+  @Test
+  public void hedgeFailedHedgeWhileReadPending() throws Exception {
+    SlowPositionReader primary = new SlowPositionReader(mData, Constants.MINUTE_MS);
+    CountingPositionReader failingHedge = new CountingPositionReader(mData, true);
+    CountingPositionReader hedge = new CountingPositionReader(mData, false);
+    PositionReader reader = new DoraCachePositionReader(primary,
+        Arrays.asList(failingHedge, hedge), new HedgedReadPolicy(10, 0), LENGTH,
+        Optional.empty());
+    checkRead(reader, 10, 100);
+    assertEquals(1, failingHedge.getReadCount());
+    assertEquals(1, hedge.getReadCount());
+    assertTrue(primary.awaitInterrupted());
+  }
+
+  @Test
+  public void cancelledReadDoesNotOverwriteHedgedData() throws Exception {
+    CountDownLatch hedgeUsed = new CountDownLatch(1);
+    CountDownLatch primaryDone = new CountDownLatch(1);
+    // a read which ignores the cancellation and writes wrong data once the hedged read is used
+    PositionReader primary = new ByteArrayPositionReader(mData) {
+      @Override
+      public int readInternal(long position, ReadTargetBuffer buffer, int length) {
+        try {
+          while (true) {
+            try {
+              hedgeUsed.await();
+              break;
+            } catch (InterruptedException e) {
+              // keep waiting
+            }
+          }
+          buffer.writeBytes(new byte[length], 0, length);
+          return length;
+        } finally {
+          primaryDone.countDown();
+        }
+      }
+    };
+    PositionReader reader = new DoraCachePositionReader(primary,
+        Collections.singletonList(new CountingPositionReader(mData, false)),
+        new HedgedReadPolicy(10, 0), LENGTH, Optional.empty());
+    byte[] buffer = new byte[100];
+    assertEquals(100, reader.read(10, buffer, 100));
+    hedgeUsed.countDown();
+    assertTrue(primaryDone.await(10, TimeUnit.SECONDS));
+    assertArrayEquals(Arrays.copyOfRange(mData, 10, 110), buffer);
+  }
+
+  @Test
+  public void fallbackWhenAllReadsFail() throws Exception {
+    CountingPositionReader primary = new CountingPositionReader(mData, true);
+    CountingPositionReader hedge = new CountingPositionReader(mData, true);
+    PositionReader reader = new DoraCachePositionReader(primary,
+        Collections.singletonList(hedge), new HedgedReadPolicy(10, 0), LENGTH,
+        Optional.of(new CloseableSupplier<>(() -> new ByteArrayPositionReader(mData))));
+    checkRead(reader, 100, 100);
+    assertEquals(1, primary.getReadCount());
+    assertEquals(1, hedge.getReadCount());
+
+    PositionReader noFallback = new DoraCachePositionReader(primary,
+        Collections.singletonList(hedge), new HedgedReadPolicy(10, 0), LENGTH,
+        Optional.empty());
+    assertThrows(IOException.class, () -> noFallback.read(0, new byte[10], 10));
+  }
+
+  @Test
+  public void percentileDelay() {
+    HedgedReadPolicy policy = new HedgedReadPolicy(50, 0.95);
+    assertEquals(TimeUnit.MILLISECONDS.toNanos(50), policy.getDelayNanos());
+    for (int i = 1; i < HedgedReadPolicy.RECOMPUTE_INTERVAL; i++) {
+      policy.recordLatency(i * 1000L);
+    }
+    assertEquals(TimeUnit.MILLISECONDS.toNanos(50), policy.getDelayNanos());
+    policy.recordLatency(HedgedReadPolicy.RECOMPUTE_INTERVAL * 1000L);
+    // the 95th percentile of 1 to 64 microseconds
+    long delay = policy.getDelayNanos();
+    assertTrue(String.valueOf(delay), delay >= 60_000 && delay <= 62_000);
+
+    HedgedReadPolicy staticPolicy = new HedgedReadPolicy(50, 0);
+    for (int i = 0; i < HedgedReadPolicy.RECOMPUTE_INTERVAL; i++) {
+      staticPolicy.recordLatency(1000);
+    }
+    assertEquals(TimeUnit.MILLISECONDS.toNanos(50), staticPolicy.getDelayNanos());
+  }
+
+  @Test
+  public void recordLatencyOfCancelledRead() throws Exception {
+    AtomicInteger recorded = new AtomicInteger();
+    HedgedReadPolicy policy = new HedgedReadPolicy(10, 0) {
+      @Override
+      public void recordLatency(long latencyNanos) {
+        recorded.incrementAndGet();
+      }
+    };
+    PositionReader reader = new DoraCachePositionReader(
+        new SlowPositionReader(mData, Constants.MINUTE_MS),
+        Collections.singletonList(new CountingPositionReader(mData, false)), policy, LENGTH,
+        Optional.empty());
+    checkRead(reader, 0, 100);
+    // both the hedged read used and the slow read cancelled are sampled
+    assertEquals(2, recorded.get());
+  }
+
+  private void checkRead(PositionReader reader, int position, int length) throws IOException {
+    byte[] buffer = new byte[length];
+    int expected = Math.min(length, LENGTH - position);
+    assertEquals(expected, reader.read(position, buffer, length));
+    assertArrayEquals(Arrays.copyOfRange(mData, position, position + expected),
+        Arrays.copyOf(buffer, expected));
+  }
+
+  private static class SlowPositionReader extends ByteArrayPositionReader {
+    private final long mDelayMs;
+    private final CountDownLatch mInterrupted = new CountDownLatch(1);
+
+    SlowPositionReader(byte[] data, long delayMs) {
+      super(data);
+      mDelayMs = delayMs;
+    }
+
+    @Override
+    public int readInternal(long position, ReadTargetBuffer buffer, int length)
+        throws IOException {
+      try {
+        Thread.sleep(mDelayMs);
+      } catch (InterruptedException e) {
+        mInterrupted.countDown();
+        throw new IOException(e);
+      }
+      return super.readInternal(position, buffer, length);
+    }
+
+    boolean awaitInterrupted() throws InterruptedException {
+      return mInterrupted.await(10, TimeUnit.SECONDS);
+    }
+  }
+
+  private static class CountingPositionReader extends ByteArrayPositionReader {
+    private final boolean mFailing;
+    private final AtomicInteger mReadCount = new AtomicInteger();
+
+    CountingPositionReader(byte[] data, boolean failing) {
+      super(data);
+      mFailing = failing;
+    }
+
+    @Override
+    public int readInternal(long position, ReadTargetBuffer buffer, int length)
+        throws IOException {
+      mReadCount.incrementAndGet();
+      if (mFailing) {
+        throw new IOException("Failed to read for whatever reason");
+      }
+      return super.readInternal(position, buffer, length);
+    }
+
+    int getReadCount() {
+      return mReadCount.get();
+    }
+  }
+}
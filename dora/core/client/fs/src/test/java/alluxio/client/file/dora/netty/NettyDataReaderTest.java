@@ -11,13 +11,17 @@
 
 package alluxio.client.file.dora.netty;
 
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertThrows;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -29,6 +33,7 @@ import alluxio.conf.PropertyKey;
 import alluxio.exception.status.AlluxioStatusException;
 import alluxio.exception.status.UnavailableException;
 import alluxio.exception.status.UnknownException;
+import alluxio.file.ReadRange;
 import alluxio.network.protocol.RPCMessage;
 import alluxio.network.protocol.RPCProtoMessage;
 import alluxio.network.protocol.databuffer.NettyDataBuffer;
@@ -38,6 +43,7 @@ import alluxio.util.WaitForOptions;
 import alluxio.util.proto.ProtoMessage;
 import alluxio.wire.WorkerNetAddress;
 
+import com.google.common.collect.ImmutableList;
 import io.netty.buffer.Unpooled;
 import io.netty.channel.Channel;
 import io.netty.channel.embedded.EmbeddedChannel;
@@ -45,6 +51,7 @@ import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
 
+import java.nio.ByteBuffer;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
@@ -96,6 +103,29 @@ public class NettyDataReaderTest {
     checkResult("helloworld".getBytes(), byteArray);
   }
 
+  @Test
+  public void readRanges() throws Exception {
+    ByteBuffer first = ByteBuffer.allocate(3);
+    ByteBuffer second = ByteBuffer.allocate(7);
+    ServerState start = new WaitForRequestState(mRequestBuilder.clone()
+        .setLength(10)
+        .setOffset(0)
+        .addRanges(Protocol.ReadRange.newBuilder().setOffset(100).setLength(3))
+        .addRanges(Protocol.ReadRange.newBuilder().setOffset(50).setLength(7))
+        .build());
+    start.andThen(new SendDataState("hello".getBytes()))
+        .andThen(new SendDataState("world".getBytes()))
+        .andThen(new EofState());
+    Future<Throwable> serverFault = mStateDriver.run(start);
+    int[] bytesRead = mReader.readRanges(
+        ImmutableList.of(new ReadRange(100, first), new ReadRange(50, second)));
+
+    assertNull(serverFault.get());
+    assertArrayEquals(new int[] {3, 7}, bytesRead);
+    checkResult("hel".getBytes(), first.array());
+    checkResult("loworld".getBytes(), second.array());
+  }
+
   @Test
   public void eof() throws Exception {
     final long offset = 0;
@@ -221,6 +251,49 @@ public class NettyDataReaderTest {
     checkResult("helloworld".getBytes(), byteArray);
   }
 
+  @Test
+  public void readInSession() throws Exception {
+    InstancedConfiguration conf = Configuration.copyGlobal();
+    conf.set(PropertyKey.USER_NETWORK_NETTY_READER_SESSION_ENABLED, true);
+    conf.set(PropertyKey.USER_NETWORK_NETTY_READER_BUFFER_SIZE_PACKETS, 2);
+    when(mFsContext.getClusterConf())
+        .thenReturn(conf);
+    mReader = new NettyDataReader(mFsContext, mWorkerAddress, mRequestBuilder);
+    Protocol.ReadRequest.Builder sessionBuilder = mRequestBuilder.clone()
+        .setKeepOpen(true)
+        .setCredits(2);
+    Protocol.ReadRequest.Builder firstRead =
+        sessionBuilder.clone().setLength(10).setOffset(0).setRequestId(0);
+    ServerState start = new WaitForRequestState(firstRead.clone().build());
+    // the second packet is only sent once the client has granted the credit for it
+    start.andThen(new SendDataState("hello".getBytes()))
+        .andThen(new WaitForRequestState(
+            firstRead.clone().clearCredits().setCreditGrant(1).build()))
+        .andThen(new SendDataState("world".getBytes()))
+        .andThen(new EofState())
+        .andThen(new WaitForRequestState(
+            sessionBuilder.clone().setLength(5).setOffset(20).setRequestId(1).build()))
+        .andThen(new SendDataState("again".getBytes()))
+        .andThen(new EofState());
+    Future<Throwable> serverFault = mStateDriver.run(start);
+
+    byte[] byteArray = new byte[10];
+    assertEquals(10, mReader.read(0, byteArray, 10));
+    checkResult("helloworld".getBytes(), byteArray);
+    byteArray = new byte[5];
+    assertEquals(5, mReader.read(20, byteArray, 5));
+    checkResult("again".getBytes(), byteArray);
+    assertNull(serverFault.get());
+    // both reads are served by the same channel, which is released once the reader is closed
+    verify(mFsContext, never()).releaseNettyChannel(mWorkerAddress, mChannel);
+    mReader.close();
+    verify(mFsContext, times(1)).acquireNettyChannel(mWorkerAddress);
+    // the worker is told to close the file it kept open for the session
+    RPCProtoMessage closeSession = mChannel.readOutbound();
+    assertNotNull(closeSession);
+    assertTrue(closeSession.getMessage().asReadRequest().getCloseSession());
+  }
+
   private void checkResult(byte[] expected, byte[] actual) {
     assertTrue(expected.length <= actual.length);
     for (int i = 0; i < expected.length; i++) {
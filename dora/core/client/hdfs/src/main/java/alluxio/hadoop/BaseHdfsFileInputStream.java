@@ -14,9 +14,12 @@ package alluxio.hadoop;
 import alluxio.AlluxioURI;
 import alluxio.client.file.FileInStream;
 import alluxio.client.file.FileSystem;
+import alluxio.conf.Configuration;
+import alluxio.conf.PropertyKey;
 import alluxio.exception.AlluxioException;
 import alluxio.exception.ExceptionMessage;
 import alluxio.exception.FileDoesNotExistException;
+import alluxio.file.ReadRange;
 
 import org.apache.hadoop.fs.ByteBufferReadable;
 import org.apache.hadoop.fs.FileSystem.Statistics;
@@ -30,6 +33,9 @@ import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.InputStream;
 import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.function.IntFunction;
+import javax.annotation.Nullable;
 import javax.annotation.concurrent.NotThreadSafe;
 
 /**
@@ -45,6 +51,8 @@ public class BaseHdfsFileInputStream extends InputStream implements Seekable, Po
   protected final FileInStream mInputStream;
 
   private boolean mClosed = false;
+  @Nullable
+  private VectoredReader mVectoredReader;
 
   /**
    * Constructs a new stream for reading a file from HDFS.
@@ -92,6 +100,9 @@ public class BaseHdfsFileInputStream extends InputStream implements Seekable, Po
     if (mClosed) {
       return;
     }
+    if (mVectoredReader != null) {
+      mVectoredReader.close();
+    }
     mInputStream.close();
     mClosed = true;
   }
@@ -157,6 +168,73 @@ public class BaseHdfsFileInputStream extends InputStream implements Seekable, Po
     return bytesRead;
   }
 
+  /**
+   * Reads several ranges of the file, each into its own target buffer, without changing the
+   * current position of the stream. The ranges are read from the workers with a single request
+   * where possible, instead of a request for each range.
+   *
+   * @param ranges the ranges to read
+   * @return the number of bytes read for each range, in the order of the ranges, which is less
+   *         than the length of the range only if the range goes past the end of the file
+   */
+  public int[] readRanges(List<ReadRange> ranges) throws IOException {
+    if (mClosed) {
+      throw new IOException(ExceptionMessage.READ_CLOSED_STREAM.getMessage());
+    }
+    int[] bytesRead = mInputStream.readRanges(ranges);
+    if (mStatistics != null) {
+      for (int bytes : bytesRead) {
+        mStatistics.incrementBytesRead(bytes);
+      }
+    }
+    return bytesRead;
+  }
+
+  /**
+   * Reads the given ranges of the file without changing the current position of the stream, in
+   * the way of {@code PositionedReadable#readVectored} of newer Hadoop versions. Ranges closer to
+   * each other than {@link #minSeekForVectorReads} are read as one, and the merged ranges are
+   * read with up to {@link PropertyKey#USER_VECTORED_READ_PARALLELISM} requests in parallel.
+   * <p>
+   * The future of the data of each range is set before this returns. It is completed with a
+   * buffer holding the data of the range between its position and limit, or completed
+   * exceptionally, with an {@link EOFException} if the range goes past the end of the file.
+   *
+   * @param ranges the ranges to read, which must not overlap
+   * @param allocate the function to allocate the buffers of the given size to read into
+   */
+  public void readVectored(List<? extends VectoredRange> ranges,
+      IntFunction<ByteBuffer> allocate) throws IOException {
+    if (mClosed) {
+      throw new IOException(ExceptionMessage.READ_CLOSED_STREAM.getMessage());
+    }
+    getVectoredReader().read(ranges, allocate);
+  }
+
+  /**
+   * @return the largest gap between two ranges of a vectored read which are read as one
+   */
+  public int minSeekForVectorReads() {
+    return getVectoredReader().getMinSeekSize();
+  }
+
+  /**
+   * @return the largest size of the ranges of a vectored read which are read as one
+   */
+  public int maxReadSizeForVectorReads() {
+    return getVectoredReader().getMaxMergedSize();
+  }
+
+  private VectoredReader getVectoredReader() {
+    if (mVectoredReader == null) {
+      mVectoredReader = new VectoredReader(this, mInputStream.isReadRangesThreadSafe(),
+          (int) Configuration.getBytes(PropertyKey.USER_VECTORED_READ_MIN_SEEK_SIZE),
+          (int) Configuration.getBytes(PropertyKey.USER_VECTORED_READ_MAX_MERGED_SIZE),
+          Configuration.getInt(PropertyKey.USER_VECTORED_READ_PARALLELISM));
+    }
+    return mVectoredReader;
+  }
+
   @Override
   public void readFully(long position, byte[] buffer) throws IOException {
     readFully(position, buffer, 0, buffer.length);
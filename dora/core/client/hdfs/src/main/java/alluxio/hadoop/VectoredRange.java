@@ -0,0 +1,79 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.hadoop;
+
+import com.google.common.base.MoreObjects;
+import com.google.common.base.Preconditions;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.CompletableFuture;
+import javax.annotation.Nullable;
+
+/**
+ * A range of a file to read with {@link BaseHdfsFileInputStream#readVectored}, holding the future
+ * of its data once the read is issued. This mirrors {@code org.apache.hadoop.fs.FileRange} of
+ * newer Hadoop versions.
+ */
+public final class VectoredRange {
+  private final long mOffset;
+  private final int mLength;
+  @Nullable
+  private CompletableFuture<ByteBuffer> mData;
+
+  /**
+   * @param offset the offset of the range in the file
+   * @param length the length of the range
+   */
+  public VectoredRange(long offset, int length) {
+    Preconditions.checkArgument(offset >= 0, "offset should be non-negative");
+    Preconditions.checkArgument(length >= 0, "length should be non-negative");
+    mOffset = offset;
+    mLength = length;
+  }
+
+  /**
+   * @return the offset of the range in the file
+   */
+  public long getOffset() {
+    return mOffset;
+  }
+
+  /**
+   * @return the length of the range
+   */
+  public int getLength() {
+    return mLength;
+  }
+
+  /**
+   * @return the future of the data of the range, null if the read is not issued yet
+   */
+  @Nullable
+  public CompletableFuture<ByteBuffer> getData() {
+    return mData;
+  }
+
+  /**
+   * @param data the future of the data of the range
+   */
+  public void setData(CompletableFuture<ByteBuffer> data) {
+    mData = data;
+  }
+
+  @Override
+  public String toString() {
+    return MoreObjects.toStringHelper(this)
+        .add("offset", mOffset)
+        .add("length", mLength)
+        .toString();
+  }
+}
@@ -0,0 +1,287 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.hadoop;
+
+import alluxio.file.ByteBufferTargetBuffer;
+import alluxio.file.ReadRange;
+import alluxio.util.ThreadFactoryUtils;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Preconditions;
+
+import java.io.EOFException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.IntFunction;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * Serves the vectored reads of a {@link BaseHdfsFileInputStream}.
+ * <p>
+ * The ranges are sorted, and ranges close to each other are merged into one read whose buffer is
+ * shared by their data. The merged ranges are split into up to a number of batches of about the
+ * same size, each read with a single request to the worker serving the file. The batches are
+ * read in parallel if the stream allows it, otherwise one after another on the caller's thread.
+ */
+@ThreadSafe
+final class VectoredReader implements AutoCloseable {
+  // Vectored reads of all the streams are async so a cached thread pool is used here.
+  private static final ExecutorService VECTORED_READ_EXECUTOR = Executors.newCachedThreadPool(
+      ThreadFactoryUtils.build("alluxio-vectored-read-%d", true));
+
+  private final BaseHdfsFileInputStream mStream;
+  private final boolean mParallel;
+  private final int mMinSeekSize;
+  private final int mMaxMergedSize;
+  private final int mParallelism;
+  private final Set<CompletableFuture<Void>> mInFlightReads = ConcurrentHashMap.newKeySet();
+
+  /**
+   * @param stream the stream to read the ranges from
+   * @param parallel whether the ranges can be read from the stream in parallel
+   * @param minSeekSize the largest gap between two ranges merged into one read
+   * @param maxMergedSize the largest size of the ranges merged into one read
+   * @param parallelism the maximum number of batches read in parallel
+   */
+  VectoredReader(BaseHdfsFileInputStream stream, boolean parallel, int minSeekSize,
+      int maxMergedSize, int parallelism) {
+    Preconditions.checkArgument(parallelism > 0, "parallelism should be positive");
+    mStream = stream;
+    mParallel = parallel;
+    mMinSeekSize = minSeekSize;
+    mMaxMergedSize = maxMergedSize;
+    mParallelism = parallelism;
+  }
+
+  /**
+   * @return the largest gap between two ranges merged into one read
+   */
+  int getMinSeekSize() {
+    return mMinSeekSize;
+  }
+
+  /**
+   * @return the largest size of the ranges merged into one read
+   */
+  int getMaxMergedSize() {
+    return mMaxMergedSize;
+  }
+
+  /**
+   * Issues the read of the given ranges, setting the future of the data of each of them.
+   *
+   * @param ranges the ranges to read, which must not overlap
+   * @param allocate the function to allocate the buffers of the given size to read into
+   */
+  void read(List<? extends VectoredRange> ranges, IntFunction<ByteBuffer> allocate) {
+    List<VectoredRange> sortedRanges = sortRanges(ranges);
+    for (VectoredRange range : sortedRanges) {
+      range.setData(new CompletableFuture<>());
+    }
+    List<MergedRange> mergedRanges = mergeRanges(sortedRanges, mMinSeekSize, mMaxMergedSize);
+    for (List<MergedRange> batch : splitBatches(mergedRanges, mParallel ? mParallelism : 1)) {
+      if (!mParallel) {
+        readBatch(batch, allocate);
+        continue;
+      }
+      CompletableFuture<Void> future =
+          CompletableFuture.runAsync(() -> readBatch(batch, allocate), VECTORED_READ_EXECUTOR);
+      mInFlightReads.add(future);
+      future.whenComplete((result, e) -> mInFlightReads.remove(future));
+    }
+  }
+
+  /**
+   * Waits for the reads in progress to finish, so that the stream can be closed.
+   */
+  @Override
+  public void close() {
+    for (CompletableFuture<Void> future : mInFlightReads) {
+      try {
+        future.join();
+      } catch (CompletionException e) {
+        // the error is reported through the futures of the ranges
+      }
+    }
+  }
+
+  private void readBatch(List<MergedRange> batch, IntFunction<ByteBuffer> allocate) {
+    try {
+      List<ByteBuffer> buffers = new ArrayList<>(batch.size());
+      List<ReadRange> readRanges = new ArrayList<>(batch.size());
+      for (MergedRange range : batch) {
+        ByteBuffer buffer = allocate.apply(range.mLength);
+        ByteBuffer target = buffer.duplicate();
+        target.limit(target.position() + range.mLength);
+        buffers.add(buffer);
+        readRanges.add(new ReadRange(range.mOffset, range.mLength,
+            new ByteBufferTargetBuffer(target)));
+      }
+      int[] bytesRead = mStream.readRanges(readRanges);
+      for (int i = 0; i < batch.size(); i++) {
+        batch.get(i).complete(buffers.get(i), bytesRead[i]);
+      }
+    } catch (Throwable t) {
+      for (MergedRange range : batch) {
+        range.fail(t);
+      }
+    }
+  }
+
+  /**
+   * @param ranges the ranges to read
+   * @return the ranges sorted by offset
+   * @throws IllegalArgumentException if any of the ranges overlap
+   */
+  @VisibleForTesting
+  static List<VectoredRange> sortRanges(List<? extends VectoredRange> ranges) {
+    List<VectoredRange> sortedRanges = new ArrayList<>(ranges);
+    sortedRanges.sort(Comparator.comparingLong(VectoredRange::getOffset));
+    for (int i = 1; i < sortedRanges.size(); i++) {
+      VectoredRange previous = sortedRanges.get(i - 1);
+      VectoredRange range = sortedRanges.get(i);
+      Preconditions.checkArgument(previous.getOffset() + previous.getLength() <= range.getOffset(),
+          "Overlapping ranges %s and %s", previous, range);
+    }
+    return sortedRanges;
+  }
+
+  /**
+   * Merges the ranges whose gap is not larger than the given size, as long as the merged range
+   * is not larger than the given maximum.
+   *
+   * @param sortedRanges the ranges sorted by offset
+   * @param minSeekSize the largest gap between two ranges merged into one
+   * @param maxMergedSize the largest size of a merged range
+   * @return the merged ranges
+   */
+  @VisibleForTesting
+  static List<MergedRange> mergeRanges(List<VectoredRange> sortedRanges, int minSeekSize,
+      int maxMergedSize) {
+    List<MergedRange> mergedRanges = new ArrayList<>();
+    MergedRange current = null;
+    for (VectoredRange range : sortedRanges) {
+      if (current == null || !current.merge(range, minSeekSize, maxMergedSize)) {
+        current = new MergedRange(range);
+        mergedRanges.add(current);
+      }
+    }
+    return mergedRanges;
+  }
+
+  /**
+   * Splits the merged ranges into up to the given number of batches of consecutive ranges, each
+   * of about the same number of bytes.
+   */
+  @VisibleForTesting
+  static List<List<MergedRange>> splitBatches(List<MergedRange> mergedRanges, int maxBatches) {
+    long totalLength = 0;
+    for (MergedRange range : mergedRanges) {
+      totalLength += range.mLength;
+    }
+    long batchLength = Math.max(1, (totalLength + maxBatches - 1) / maxBatches);
+    List<List<MergedRange>> batches = new ArrayList<>();
+    List<MergedRange> batch = new ArrayList<>();
+    long length = 0;
+    for (MergedRange range : mergedRanges) {
+      batch.add(range);
+      length += range.mLength;
+      if (length >= batchLength && batches.size() < maxBatches - 1) {
+        batches.add(batch);
+        batch = new ArrayList<>();
+        length = 0;
+      }
+    }
+    if (!batch.isEmpty()) {
+      batches.add(batch);
+    }
+    return batches;
+  }
+
+  /**
+   * Ranges read as one, the data of each of them being a part of the buffer of the merged range.
+   */
+  @VisibleForTesting
+  static final class MergedRange {
+    private final long mOffset;
+    private int mLength;
+    private final List<VectoredRange> mRanges = new ArrayList<>();
+
+    private MergedRange(VectoredRange range) {
+      mOffset = range.getOffset();
+      mLength = range.getLength();
+      mRanges.add(range);
+    }
+
+    private boolean merge(VectoredRange range, int minSeekSize, int maxMergedSize) {
+      long end = mOffset + mLength;
+      long mergedLength = range.getOffset() + range.getLength() - mOffset;
+      if (range.getOffset() - end > minSeekSize || mergedLength > maxMergedSize) {
+        return false;
+      }
+      mLength = (int) mergedLength;
+      mRanges.add(range);
+      return true;
+    }
+
+    @VisibleForTesting
+    long getOffset() {
+      return mOffset;
+    }
+
+    @VisibleForTesting
+    int getLength() {
+      return mLength;
+    }
+
+    @VisibleForTesting
+    List<VectoredRange> getRanges() {
+      return mRanges;
+    }
+
+    /**
+     * Completes the futures of the ranges with their part of the buffer.
+     *
+     * @param buffer the buffer the merged range is read into, from its position
+     * @param bytesRead the number of bytes read into the buffer
+     */
+    private void complete(ByteBuffer buffer, int bytesRead) {
+      int start = buffer.position();
+      for (VectoredRange range : mRanges) {
+        int offsetInBuffer = (int) (range.getOffset() - mOffset);
+        if (offsetInBuffer + range.getLength() > bytesRead) {
+          range.getData().completeExceptionally(new EOFException(String.format(
+              "Range %s goes past the end of the file", range)));
+          continue;
+        }
+        ByteBuffer data = mRanges.size() == 1 ? buffer : buffer.duplicate();
+        data.limit(start + offsetInBuffer + range.getLength());
+        data.position(start + offsetInBuffer);
+        range.getData().complete(mRanges.size() == 1 ? data : data.slice());
+      }
+    }
+
+    private void fail(Throwable t) {
+      for (VectoredRange range : mRanges) {
+        range.getData().completeExceptionally(t);
+      }
+    }
+  }
+}
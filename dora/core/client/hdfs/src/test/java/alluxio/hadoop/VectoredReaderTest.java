@@ -0,0 +1,129 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.hadoop;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import alluxio.client.file.FileInStream;
+import alluxio.file.ReadRange;
+import alluxio.util.io.BufferUtils;
+
+import com.google.common.collect.ImmutableList;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.EOFException;
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Tests for {@link VectoredReader}.
+ */
+public final class VectoredReaderTest {
+  private static final int FILE_LENGTH = 100000;
+
+  private FileInStream mInputStream;
+  private BaseHdfsFileInputStream mStream;
+
+  @Before
+  public void before() throws Exception {
+    mInputStream = mock(FileInStream.class);
+    when(mInputStream.isReadRangesThreadSafe()).thenReturn(true);
+    when(mInputStream.readRanges(any())).thenAnswer(invocation -> {
+      List<ReadRange> ranges = invocation.getArgument(0);
+      int[] bytesRead = new int[ranges.size()];
+      for (int i = 0; i < ranges.size(); i++) {
+        ReadRange range = ranges.get(i);
+        bytesRead[i] = (int) Math.max(0,
+            Math.min(range.getLength(), FILE_LENGTH - range.getPosition()));
+        range.getTarget().writeBytes(
+            BufferUtils.getIncreasingByteArray((int) range.getPosition(), bytesRead[i]), 0,
+            bytesRead[i]);
+      }
+      return bytesRead;
+    });
+    mStream = new BaseHdfsFileInputStream(mInputStream, null);
+  }
+
+  @Test
+  public void mergeRanges() {
+    List<VectoredReader.MergedRange> merged = VectoredReader.mergeRanges(ImmutableList.of(
+        new VectoredRange(0, 10), new VectoredRange(14, 10), new VectoredRange(30, 10),
+        new VectoredRange(40, 30), new VectoredRange(70, 10)), 4, 45);
+    assertEquals(3, merged.size());
+    assertEquals(0, merged.get(0).getOffset());
+    assertEquals(24, merged.get(0).getLength());
+    assertEquals(2, merged.get(0).getRanges().size());
+    assertEquals(30, merged.get(1).getOffset());
+    assertEquals(40, merged.get(1).getLength());
+    assertEquals(70, merged.get(2).getOffset());
+    assertEquals(1, merged.get(2).getRanges().size());
+  }
+
+  @Test
+  public void splitBatches() {
+    List<VectoredReader.MergedRange> merged = VectoredReader.mergeRanges(ImmutableList.of(
+        new VectoredRange(0, 10), new VectoredRange(100, 10), new VectoredRange(200, 10),
+        new VectoredRange(300, 30)), 0, 100);
+    List<List<VectoredReader.MergedRange>> batches = VectoredReader.splitBatches(merged, 2);
+    assertEquals(2, batches.size());
+    assertEquals(3, batches.get(0).size());
+    assertEquals(1, batches.get(1).size());
+    assertEquals(1, VectoredReader.splitBatches(merged, 1).size());
+  }
+
+  @Test
+  public void overlappingRanges() {
+    assertThrows(IllegalArgumentException.class, () -> VectoredReader.sortRanges(
+        ImmutableList.of(new VectoredRange(10, 10), new VectoredRange(0, 11))));
+  }
+
+  @Test
+  public void readVectored() throws Exception {
+    List<VectoredRange> ranges = ImmutableList.of(new VectoredRange(50000, 10),
+        new VectoredRange(0, 10), new VectoredRange(12, 5), new VectoredRange(99995, 10));
+    mStream.readVectored(ranges, ByteBuffer::allocateDirect);
+    for (VectoredRange range : ranges.subList(0, 3)) {
+      ByteBuffer data = range.getData().get();
+      assertEquals(range.getLength(), data.remaining());
+      byte[] bytes = new byte[data.remaining()];
+      data.get(bytes);
+      assertArrayEquals(
+          BufferUtils.getIncreasingByteArray((int) range.getOffset(), range.getLength()), bytes);
+    }
+    ExecutionException e = assertThrows(ExecutionException.class,
+        () -> ranges.get(3).getData().get());
+    assertTrue(e.getCause() instanceof EOFException);
+    mStream.close();
+    // the first two ranges are merged, and each of the merged ranges is read in its own batch
+    verify(mInputStream, times(3)).readRanges(any());
+  }
+
+  @Test
+  public void readFailure() throws Exception {
+    doThrow(new EOFException("failed")).when(mInputStream).readRanges(any());
+    VectoredRange range = new VectoredRange(0, 10);
+    mStream.readVectored(ImmutableList.of(range), ByteBuffer::allocate);
+    ExecutionException e = assertThrows(ExecutionException.class, () -> range.getData().get());
+    assertEquals("failed", e.getCause().getMessage());
+  }
+}
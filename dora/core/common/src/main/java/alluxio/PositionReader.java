@@ -14,6 +14,7 @@ package alluxio;
 import alluxio.file.ByteArrayTargetBuffer;
 import alluxio.file.ByteBufferTargetBuffer;
 import alluxio.file.NettyBufTargetBuffer;
+import alluxio.file.ReadRange;
 import alluxio.file.ReadTargetBuffer;
 
 import com.google.common.base.Preconditions;
@@ -22,6 +23,7 @@ import io.netty.buffer.ByteBuf;
 import java.io.Closeable;
 import java.io.IOException;
 import java.nio.ByteBuffer;
+import java.util.List;
 import javax.annotation.concurrent.ThreadSafe;
 
 /**
@@ -99,6 +101,30 @@ public interface PositionReader extends Closeable {
   int readInternal(long position, ReadTargetBuffer buffer, int length)
       throws IOException;
 
+  /**
+   * Reads several ranges of the file, each into its own target buffer. This reads the ranges
+   * one after another, readers which can serve them in fewer round trips override it.
+   *
+   * @param ranges the ranges to read
+   * @return the number of bytes read for each range, in the order of the ranges, which is less
+   *         than the length of the range only if the range goes past the end of the file
+   */
+  default int[] readRanges(List<ReadRange> ranges) throws IOException {
+    int[] bytesRead = new int[ranges.size()];
+    for (int i = 0; i < ranges.size(); i++) {
+      ReadRange range = ranges.get(i);
+      while (bytesRead[i] < range.getLength()) {
+        int bytes = read(range.getPosition() + bytesRead[i], range.getTarget(),
+            range.getLength() - bytesRead[i]);
+        if (bytes <= 0) {
+          break;
+        }
+        bytesRead[i] += bytes;
+      }
+    }
+    return bytesRead;
+  }
+
   /**
    * Closes the positon reader and do cleanup job if any.
    */
@@ -0,0 +1,33 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.client.file.cache;
+
+/**
+ * This represents the different page index implementations of the page metadata store.
+ */
+public enum PageMetaStoreType {
+  /**
+   * Pages are indexed by a single indexed set, and all the accesses to the metadata store are
+   * serialized by a global read-write lock.
+   */
+  LOCKED,
+  /**
+   * Pages are indexed by concurrent hash maps, with a secondary index per file. Lookups of
+   * pages take no lock, and only updates to the metadata store are serialized.
+   */
+  CONCURRENT,
+  /**
+   * Pages are indexed by primitive arrays with file IDs interned to integer handles, to reduce
+   * the heap footprint of each page. Accesses are serialized by a global read-write lock.
+   */
+  COMPACT,
+}
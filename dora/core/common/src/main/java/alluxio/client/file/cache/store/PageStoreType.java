@@ -19,10 +19,18 @@ public enum PageStoreType {
    * A simple store with pages on the local filesystem.
    */
   LOCAL(PageStoreType.LOCAL_OVERHEAD_RATIO),
+  /**
+   * A store with pages packed into large preallocated segment files on the local filesystem.
+   */
+  SEGMENT(PageStoreType.SEGMENT_OVERHEAD_RATIO),
   /**
    * A simple store with pages on the memory (HeapByteBuffer).
    */
-  MEM(PageStoreType.MEMORY_OVERHEAD_RATIO);
+  MEM(PageStoreType.MEMORY_OVERHEAD_RATIO),
+  /**
+   * A store with pages in direct memory slabs, outside of the Java heap.
+   */
+  OFF_HEAP(PageStoreType.OFF_HEAP_OVERHEAD_RATIO);
 
   // We assume there will be some overhead using ByteBuffer as a page store,
   // i.e., with 1GB space allocated, we
@@ -32,6 +40,12 @@ public enum PageStoreType {
   // i.e., with 1GB space allocated, we
   // expect no more than 1024MB / (1 + LOCAL_OVERHEAD_RATIO) logical data stored
   private static final double LOCAL_OVERHEAD_RATIO = 0.05;
+  // Segment files only carry a small fixed-size header per page slot, and no per-page inode
+  // or filesystem block rounding overhead
+  private static final double SEGMENT_OVERHEAD_RATIO = 0.01;
+  // Pages are stored in chunks of power-of-two size classes, so a partial page may take up to
+  // twice its size, but full pages, which are the majority, fit their chunks exactly
+  private static final double OFF_HEAP_OVERHEAD_RATIO = 0.05;
   private final double mOverheadRatio;
 
   /**
@@ -42,6 +42,7 @@ import java.io.OutputStream;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.function.Consumer;
 import javax.annotation.Nullable;
 
@@ -275,6 +276,16 @@ public class ManagedBlockingUfsForwarder implements UnderFileSystem {
     }.get();
   }
 
+  @Override
+  public Optional<String> getContentMd5(String path) throws IOException {
+    return new ManagedBlockingUfsMethod<Optional<String>>() {
+      @Override
+      public Optional<String> execute() throws IOException {
+        return mUfs.getContentMd5(path);
+      }
+    }.get();
+  }
+
   @Override
   public UfsFileStatus getExistingFileStatus(String path) throws IOException {
     return new ManagedBlockingUfsMethod<UfsFileStatus>() {
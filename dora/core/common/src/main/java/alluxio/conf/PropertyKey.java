@@ -31,6 +31,7 @@ import alluxio.ProjectConstants;
 import alluxio.annotation.PublicApi;
 import alluxio.client.ReadType;
 import alluxio.client.WriteType;
+import alluxio.client.file.cache.PageMetaStoreType;
 import alluxio.client.file.cache.ShadowCacheType;
 import alluxio.client.file.cache.store.PageStoreType;
 import alluxio.exception.ExceptionMessage;
@@ -1322,6 +1323,65 @@ public final class PropertyKey implements Comparable<PropertyKey> {
           .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
           .setScope(Scope.SERVER)
           .build();
+  public static final PropertyKey UNDERFS_OBJECT_STORE_CONCURRENCY_LIMIT_ENABLED =
+      booleanBuilder(Name.UNDERFS_OBJECT_STORE_CONCURRENCY_LIMIT_ENABLED)
+          .setDefaultValue(true)
+          .setDescription("Whether to limit the requests in flight to an object store bucket "
+              + "from a process, halving the limit when the store throttles a request and "
+              + "growing it back as requests succeed. The limit is shared by all the users of "
+              + "the bucket in the process.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.ALL)
+          .build();
+  public static final PropertyKey UNDERFS_OBJECT_STORE_CONCURRENCY_LIMIT_MAX =
+      intBuilder(Name.UNDERFS_OBJECT_STORE_CONCURRENCY_LIMIT_MAX)
+          .setDefaultValue(512)
+          .setDescription("The initial and highest number of requests in flight to an object "
+              + "store bucket from a process, when "
+              + Name.UNDERFS_OBJECT_STORE_CONCURRENCY_LIMIT_ENABLED + " is set.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.ALL)
+          .build();
+  public static final PropertyKey UNDERFS_OBJECT_STORE_CONCURRENCY_LIMIT_MIN =
+      intBuilder(Name.UNDERFS_OBJECT_STORE_CONCURRENCY_LIMIT_MIN)
+          .setDefaultValue(4)
+          .setDescription("The lowest number of requests in flight to an object store bucket "
+              + "from a process the limit can shrink to on throttling, when "
+              + Name.UNDERFS_OBJECT_STORE_CONCURRENCY_LIMIT_ENABLED + " is set.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.ALL)
+          .build();
+  public static final PropertyKey UNDERFS_OBJECT_STORE_PARALLEL_LISTING_SHARDS =
+      intBuilder(Name.UNDERFS_OBJECT_STORE_PARALLEL_LISTING_SHARDS)
+          .setDefaultValue(1)
+          .setDescription("The number of pseudo-directories directly under the listed path "
+              + "which recursive listings of object store UFS list concurrently, each with its "
+              + "own paginated listing. Values above 1 make recursive listings return the "
+              + "statuses unsorted across these directories.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.ALL)
+          .build();
+  public static final PropertyKey UNDERFS_OBJECT_STORE_PARALLEL_READ_CONNECTIONS =
+      intBuilder(Name.UNDERFS_OBJECT_STORE_PARALLEL_READ_CONNECTIONS)
+          .setDefaultValue(16)
+          .setDescription("The number of ranged reads of object store UFS issued concurrently "
+              + "by a process to serve the parts of large position reads, in addition to the "
+              + "part read by the reading thread itself. This also bounds the number of parts "
+              + "read ahead and buffered on the heap by the process, each of "
+              + Name.UNDERFS_OBJECT_STORE_PARALLEL_READ_PART_SIZE + ". Set to 0 to read every "
+              + "range with a single request.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.SERVER)
+          .build();
+  public static final PropertyKey UNDERFS_OBJECT_STORE_PARALLEL_READ_PART_SIZE =
+      dataSizeBuilder(Name.UNDERFS_OBJECT_STORE_PARALLEL_READ_PART_SIZE)
+          .setDefaultValue("8MB")
+          .setDescription("Position reads of object store UFS of at least twice this size are "
+              + "split into ranged reads of this size issued concurrently, limited by "
+              + Name.UNDERFS_OBJECT_STORE_PARALLEL_READ_CONNECTIONS + ".")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.SERVER)
+          .build();
   public static final PropertyKey UNDERFS_OBJECT_STORE_SERVICE_THREADS =
       intBuilder(Name.UNDERFS_OBJECT_STORE_SERVICE_THREADS)
           .setDefaultValue(20)
@@ -1581,6 +1641,17 @@ public final class PropertyKey implements Comparable<PropertyKey> {
           .setConsistencyCheckLevel(ConsistencyCheckLevel.ENFORCE)
           .setScope(Scope.SERVER)
           .build();
+  public static final PropertyKey UNDERFS_S3_ETAG_MD5_ENABLED =
+      booleanBuilder(Name.UNDERFS_S3_ETAG_MD5_ENABLED)
+          .setDefaultValue(true)
+          .setDescription("Whether the ETag of an object uploaded in a single part and not "
+              + "encrypted with SSE-KMS or SSE-C is the MD5 of its content, as in AWS S3. "
+              + "Loads with verification compare the data loaded with this MD5, and skip the "
+              + "comparison for other objects. Disable it for S3 compatible stores whose ETags "
+              + "are not MD5s.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.ENFORCE)
+          .setScope(Scope.SERVER)
+          .build();
   public static final PropertyKey UNDERFS_S3_BULK_DELETE_ENABLED =
       booleanBuilder(Name.UNDERFS_S3_BULK_DELETE_ENABLED)
           .setAlias("alluxio.underfs.s3a.bulk.delete.enabled")
@@ -4042,6 +4113,16 @@ public final class PropertyKey implements Comparable<PropertyKey> {
           .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
           .setScope(Scope.WORKER)
           .build();
+  public static final PropertyKey WORKER_FAST_DATA_LOAD_BATCH_SIZE =
+      dataSizeBuilder(Name.WORKER_FAST_DATA_LOAD_BATCH_SIZE)
+          .setDescription("When " + Name.WORKER_FAST_DATA_LOAD_ENABLED + " is set, the "
+              + "maximum size of the consecutive pages read from UFS with a single position "
+              + "read, which object stores serve with concurrent ranged reads.")
+          .setIsHidden(true)
+          .setDefaultValue("64MB")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.WORKER)
+          .build();
   public static final PropertyKey WORKER_DATA_SERVER_DOMAIN_SOCKET_AS_UUID =
       booleanBuilder(Name.WORKER_DATA_SERVER_DOMAIN_SOCKET_AS_UUID)
           .setDefaultValue(false)
@@ -4281,6 +4362,23 @@ public final class PropertyKey implements Comparable<PropertyKey> {
               + "transferred; valid options are `MAPPED` (uses java MappedByteBuffer) and "
               + "`TRANSFER` (uses Java FileChannel.transferTo).")
           .build();
+  public static final PropertyKey WORKER_NETWORK_NETTY_MULTIPLEX_STREAMS_MAX =
+      intBuilder(Name.WORKER_NETWORK_NETTY_MULTIPLEX_STREAMS_MAX)
+          .setDefaultValue(1024)
+          .setDescription("The maximum number of concurrent streams a client can open on a "
+              + "multiplexed connection to the worker.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.WORKER)
+          .build();
+  public static final PropertyKey WORKER_NETWORK_NETTY_MULTIPLEX_WINDOW_SIZE =
+      dataSizeBuilder(Name.WORKER_NETWORK_NETTY_MULTIPLEX_WINDOW_SIZE)
+          .setDefaultValue("2MB")
+          .setDescription("The flow control window of each stream of a multiplexed connection, "
+              + "that is, the number of bytes a client can send on a stream before the worker "
+              + "has consumed them.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.WORKER)
+          .build();
   public static final PropertyKey WORKER_NETWORK_NETTY_SHUTDOWN_QUIET_PERIOD =
       durationBuilder(Name.WORKER_NETWORK_NETTY_SHUTDOWN_QUIET_PERIOD)
           .setDefaultValue("2sec")
@@ -4444,6 +4542,15 @@ public final class PropertyKey implements Comparable<PropertyKey> {
           .setConsistencyCheckLevel(ConsistencyCheckLevel.IGNORE)
           .setScope(Scope.WORKER)
           .build();
+  public static final PropertyKey WORKER_PAGE_STORE_ASYNC_WRITE_BUFFER_SIZE =
+      dataSizeBuilder(Name.WORKER_PAGE_STORE_ASYNC_WRITE_BUFFER_SIZE)
+          .setDefaultValue("64MB")
+          .setDescription("The max amount of memory holding pages queued to be cached "
+              + "asynchronously. Pages are dropped instead of being cached when the limit is "
+              + "reached. Must not be smaller than the page size.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.IGNORE)
+          .setScope(Scope.WORKER)
+          .build();
   public static final PropertyKey WORKER_PAGE_STORE_ASYNC_WRITE_ENABLED =
       booleanBuilder(Name.WORKER_PAGE_STORE_ASYNC_WRITE_ENABLED)
           .setDefaultValue(false)
@@ -4478,7 +4585,8 @@ public final class PropertyKey implements Comparable<PropertyKey> {
           .setDescription("The strategy that worker uses to evict local cached pages when running "
               + "out of space. Currently valid options include "
               + "`alluxio.client.file.cache.evictor.LRUCacheEvictor`,"
-              + "`alluxio.client.file.cache.evictor.LFUCacheEvictor`.")
+              + "`alluxio.client.file.cache.evictor.LFUCacheEvictor`,"
+              + "`alluxio.client.file.cache.evictor.TinyLFUCacheEvictor`.")
           .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
           .setScope(Scope.WORKER)
           .build();
@@ -4507,6 +4615,57 @@ public final class PropertyKey implements Comparable<PropertyKey> {
           .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
           .setScope(Scope.WORKER)
           .build();
+  public static final PropertyKey WORKER_PAGE_STORE_LOCAL_STORE_SEGMENT_SIZE =
+      dataSizeBuilder(Name.WORKER_PAGE_STORE_LOCAL_STORE_SEGMENT_SIZE)
+          .setDefaultValue("1GB")
+          .setDescription("The size of each segment file when "
+              + Name.WORKER_PAGE_STORE_TYPE + " is `SEGMENT`. Pages are packed into fixed-size "
+              + "slots of these files instead of being stored as one file per page. Segment "
+              + "files are sparse, disk space is only used as pages are written.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.WORKER)
+          .build();
+  public static final PropertyKey WORKER_PAGE_STORE_LOCAL_STORE_SEGMENT_MMAP_ENABLED =
+      booleanBuilder(Name.WORKER_PAGE_STORE_LOCAL_STORE_SEGMENT_MMAP_ENABLED)
+          .setDefaultValue(false)
+          .setDescription("Whether to memory map the segment files when "
+              + Name.WORKER_PAGE_STORE_TYPE + " is `SEGMENT`. When enabled, cached pages are "
+              + "read from read-only mapped slices of the segments instead of being copied "
+              + "through file reads. Segments are capped to 2GB when mapped.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.WORKER)
+          .build();
+  public static final PropertyKey WORKER_PAGE_STORE_LOCAL_STORE_ASYNC_READ_THREADS =
+      intBuilder(Name.WORKER_PAGE_STORE_LOCAL_STORE_ASYNC_READ_THREADS)
+          .setDefaultValue(0)
+          .setDescription("Number of threads reading pages asynchronously from each directory "
+              + "when " + Name.WORKER_PAGE_STORE_TYPE + " is `LOCAL`. Reads of several pages are "
+              + "then all issued at once, keeping the device busy with many reads in flight "
+              + "instead of one per reading thread. 0 disables asynchronous reads.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.WORKER)
+          .build();
+  public static final PropertyKey WORKER_PAGE_STORE_META_STORE_TYPE =
+      enumBuilder(Name.WORKER_PAGE_STORE_META_STORE_TYPE, PageMetaStoreType.class)
+          .setDefaultValue(PageMetaStoreType.LOCKED)
+          .setDescription("The type of the metadata store indexing the pages of the worker "
+              + "page store. Can be `LOCKED`, `CONCURRENT` or `COMPACT`. The `LOCKED` metadata "
+              + "store serializes all accesses with a global lock, the `CONCURRENT` metadata "
+              + "store looks up pages without locking so that cache hits do not contend with "
+              + "each other, the `COMPACT` metadata store is locked like `LOCKED` but keeps "
+              + "the pages in primitive arrays to reduce the heap used per page.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.WORKER)
+          .build();
+  public static final PropertyKey WORKER_PAGE_STORE_OFF_HEAP_SLAB_SIZE =
+      dataSizeBuilder(Name.WORKER_PAGE_STORE_OFF_HEAP_SLAB_SIZE)
+          .setDefaultValue("64MB")
+          .setDescription("The size of each direct memory slab allocated when "
+              + Name.WORKER_PAGE_STORE_TYPE + " is `OFF_HEAP`. Each slab is split into chunks "
+              + "of a single size class, ranging from the page size down to 4KB.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.WORKER)
+          .build();
   public static final PropertyKey WORKER_PAGE_STORE_OVERHEAD =
       doubleBuilder(Name.WORKER_PAGE_STORE_OVERHEAD)
           .setDefaultValue(0.1)
@@ -4559,9 +4718,11 @@ public final class PropertyKey implements Comparable<PropertyKey> {
   public static final PropertyKey WORKER_PAGE_STORE_TYPE =
       enumBuilder(Name.WORKER_PAGE_STORE_TYPE, PageStoreType.class)
           .setDefaultValue(PageStoreType.LOCAL)
-          .setDescription("The type of page store to use for worker page store. Can be either "
-              + "`LOCAL` or `MEM`. The `LOCAL` page store stores all pages in a directory, "
-              + "the `MEM` page store stores all pages in memory.")
+          .setDescription("The type of page store to use for worker page store. Can be "
+              + "`LOCAL`, `SEGMENT`, `MEM` or `OFF_HEAP`. The `LOCAL` page store stores all "
+              + "pages in a directory, the `SEGMENT` page store packs pages into large "
+              + "fixed-size segment files, the `MEM` page store stores all pages in heap "
+              + "memory, the `OFF_HEAP` page store stores all pages in direct memory slabs.")
           .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
           .setScope(Scope.WORKER)
           .build();
@@ -5403,6 +5564,15 @@ public final class PropertyKey implements Comparable<PropertyKey> {
           .setConsistencyCheckLevel(ConsistencyCheckLevel.IGNORE)
           .setScope(Scope.CLIENT)
           .build();
+  public static final PropertyKey USER_CLIENT_CACHE_ASYNC_WRITE_BUFFER_SIZE =
+      dataSizeBuilder(Name.USER_CLIENT_CACHE_ASYNC_WRITE_BUFFER_SIZE)
+          .setDefaultValue("64MB")
+          .setDescription("The max amount of memory holding pages queued to be cached "
+              + "asynchronously. Pages are dropped instead of being cached when the limit is "
+              + "reached. Must not be smaller than the page size.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.IGNORE)
+          .setScope(Scope.CLIENT)
+          .build();
   public static final PropertyKey USER_CLIENT_CACHE_ASYNC_WRITE_ENABLED =
       booleanBuilder(Name.USER_CLIENT_CACHE_ASYNC_WRITE_ENABLED)
           .setDefaultValue(false)
@@ -5434,7 +5604,10 @@ public final class PropertyKey implements Comparable<PropertyKey> {
   public static final PropertyKey USER_CLIENT_CACHE_FILTER_CLASS =
       classBuilder(Name.USER_CLIENT_CACHE_FILTER_CLASS)
           .setDefaultValue("alluxio.client.file.cache.filter.DefaultCacheFilter")
-          .setDescription("The default cache filter caches everything")
+          .setDescription("The cache filter deciding which files are cached. The default "
+              + "`alluxio.client.file.cache.filter.DefaultCacheFilter` caches everything, "
+              + "`alluxio.client.file.cache.filter.FrequencyCacheFilter` only caches the files "
+              + "read repeatedly in the recent past, so that one-shot scans bypass the cache.")
           .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
           .setScope(Scope.CLIENT)
           .build();
@@ -5445,13 +5618,32 @@ public final class PropertyKey implements Comparable<PropertyKey> {
           .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
           .setScope(Scope.CLIENT)
           .build();
+  public static final PropertyKey USER_CLIENT_CACHE_FILTER_FREQUENCY_SKETCH_SIZE =
+      intBuilder(Name.USER_CLIENT_CACHE_FILTER_FREQUENCY_SKETCH_SIZE)
+          .setDefaultValue(65536)
+          .setDescription("The number of distinct files whose reads are counted by the "
+              + "`alluxio.client.file.cache.filter.FrequencyCacheFilter`. The sketch counting "
+              + "the reads takes about 8 bytes per file.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.CLIENT)
+          .build();
+  public static final PropertyKey USER_CLIENT_CACHE_FILTER_FREQUENCY_THRESHOLD =
+      intBuilder(Name.USER_CLIENT_CACHE_FILTER_FREQUENCY_THRESHOLD)
+          .setDefaultValue(2)
+          .setDescription("The number of recent reads of a file after which the "
+              + "`alluxio.client.file.cache.filter.FrequencyCacheFilter` caches it, "
+              + "between 1 and 15.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.CLIENT)
+          .build();
   public static final PropertyKey USER_CLIENT_CACHE_EVICTOR_CLASS =
       classBuilder(Name.USER_CLIENT_CACHE_EVICTOR_CLASS)
           .setDefaultValue("alluxio.client.file.cache.evictor.LRUCacheEvictor")
           .setDescription("The strategy that client uses to evict local cached pages when running "
               + "out of space. Currently valid options include "
               + "`alluxio.client.file.cache.evictor.LRUCacheEvictor`,"
-              + "`alluxio.client.file.cache.evictor.LFUCacheEvictor`.")
+              + "`alluxio.client.file.cache.evictor.LFUCacheEvictor`,"
+              + "`alluxio.client.file.cache.evictor.TinyLFUCacheEvictor`.")
           .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
           .setScope(Scope.CLIENT)
           .build();
@@ -5599,9 +5791,11 @@ public final class PropertyKey implements Comparable<PropertyKey> {
   public static final PropertyKey USER_CLIENT_CACHE_STORE_TYPE =
       enumBuilder(Name.USER_CLIENT_CACHE_STORE_TYPE, PageStoreType.class)
           .setDefaultValue(PageStoreType.LOCAL)
-          .setDescription("The type of page store to use for client-side cache. Can be either "
-              + "`LOCAL` or `ROCKS`. The `LOCAL` page store stores all pages in a directory, "
-              + "the `ROCKS` page store utilizes rocksDB to persist the data.")
+          .setDescription("The type of page store to use for client-side cache. Can be "
+              + "`LOCAL`, `SEGMENT`, `MEM` or `OFF_HEAP`. The `LOCAL` page store stores all "
+              + "pages in a directory, the `SEGMENT` page store packs pages into large "
+              + "fixed-size segment files, the `MEM` page store stores all pages in heap "
+              + "memory, the `OFF_HEAP` page store stores all pages in direct memory slabs.")
           .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
           .setScope(Scope.CLIENT)
           .build();
@@ -5614,6 +5808,36 @@ public final class PropertyKey implements Comparable<PropertyKey> {
           .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
           .setScope(Scope.CLIENT)
           .build();
+  public static final PropertyKey USER_CLIENT_CACHE_LOCAL_STORE_SEGMENT_SIZE =
+      dataSizeBuilder(Name.USER_CLIENT_CACHE_LOCAL_STORE_SEGMENT_SIZE)
+          .setDefaultValue("1GB")
+          .setDescription("The size of each segment file when "
+              + Name.USER_CLIENT_CACHE_STORE_TYPE + " is `SEGMENT`. Pages are packed into "
+              + "fixed-size slots of these files instead of being stored as one file per page. "
+              + "Segment files are sparse, disk space is only used as pages are written.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.CLIENT)
+          .build();
+  public static final PropertyKey USER_CLIENT_CACHE_LOCAL_STORE_SEGMENT_MMAP_ENABLED =
+      booleanBuilder(Name.USER_CLIENT_CACHE_LOCAL_STORE_SEGMENT_MMAP_ENABLED)
+          .setDefaultValue(false)
+          .setDescription("Whether to memory map the segment files when "
+              + Name.USER_CLIENT_CACHE_STORE_TYPE + " is `SEGMENT`. When enabled, cached pages "
+              + "are read from read-only mapped slices of the segments instead of being copied "
+              + "through file reads. Segments are capped to 2GB when mapped.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.CLIENT)
+          .build();
+  public static final PropertyKey USER_CLIENT_CACHE_LOCAL_STORE_ASYNC_READ_THREADS =
+      intBuilder(Name.USER_CLIENT_CACHE_LOCAL_STORE_ASYNC_READ_THREADS)
+          .setDefaultValue(0)
+          .setDescription("Number of threads reading pages asynchronously from each directory "
+              + "when " + Name.USER_CLIENT_CACHE_STORE_TYPE + " is `LOCAL`. Reads of several "
+              + "pages are then all issued at once, keeping the device busy with many reads in "
+              + "flight instead of one per reading thread. 0 disables asynchronous reads.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.CLIENT)
+          .build();
   public static final PropertyKey USER_CLIENT_CACHE_QUOTA_ENABLED =
       booleanBuilder(Name.USER_CLIENT_CACHE_QUOTA_ENABLED)
           .setDefaultValue(false)
@@ -5649,6 +5873,27 @@ public final class PropertyKey implements Comparable<PropertyKey> {
           .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
           .setScope(Scope.CLIENT)
           .build();
+  public static final PropertyKey USER_CLIENT_CACHE_META_STORE_TYPE =
+      enumBuilder(Name.USER_CLIENT_CACHE_META_STORE_TYPE, PageMetaStoreType.class)
+          .setDefaultValue(PageMetaStoreType.LOCKED)
+          .setDescription("The type of the metadata store indexing the pages of the client "
+              + "cache. Can be `LOCKED`, `CONCURRENT` or `COMPACT`. The `LOCKED` metadata store "
+              + "serializes all accesses with a global lock, the `CONCURRENT` metadata store "
+              + "looks up pages without locking so that cache hits do not contend with each "
+              + "other, the `COMPACT` metadata store is locked like `LOCKED` but keeps the "
+              + "pages in primitive arrays to reduce the heap used per page.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.CLIENT)
+          .build();
+  public static final PropertyKey USER_CLIENT_CACHE_OFF_HEAP_SLAB_SIZE =
+      dataSizeBuilder(Name.USER_CLIENT_CACHE_OFF_HEAP_SLAB_SIZE)
+          .setDefaultValue("64MB")
+          .setDescription("The size of each direct memory slab allocated when "
+              + Name.USER_CLIENT_CACHE_STORE_TYPE + " is `OFF_HEAP`. Each slab is split into "
+              + "chunks of a single size class, ranging from the page size down to 4KB.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.CLIENT)
+          .build();
   public static final PropertyKey USER_CLIENT_CACHE_PAGE_SIZE =
       dataSizeBuilder(Name.USER_CLIENT_CACHE_PAGE_SIZE)
           .setDefaultValue("1MB")
@@ -5888,6 +6133,51 @@ public final class PropertyKey implements Comparable<PropertyKey> {
           .setIsHidden(true)
           .setConsistencyCheckLevel(ConsistencyCheckLevel.IGNORE)
           .build();
+  public static final PropertyKey USER_POSITION_READER_STREAMING_READ_AHEAD_BUFFERS =
+      intBuilder(Name.USER_POSITION_READER_STREAMING_READ_AHEAD_BUFFERS)
+          .setScope(Scope.CLIENT)
+          .setDefaultValue(0)
+          .setDescription("The number of buffers of each stream filled asynchronously ahead of "
+              + "a sequential read, each of the prefetch size, so that the data following the "
+              + "prefetched data is read from the worker while the application consumes it. "
+              + "0 disables the read-ahead.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.IGNORE)
+          .build();
+  public static final PropertyKey USER_POSITION_READER_STREAMING_READ_AHEAD_MAX_SIZE =
+      dataSizeBuilder(Name.USER_POSITION_READER_STREAMING_READ_AHEAD_MAX_SIZE)
+          .setScope(Scope.CLIENT)
+          .setDefaultValue("64MB")
+          .setDescription("The max number of bytes of the read-ahead buffers of each stream.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.IGNORE)
+          .build();
+  public static final PropertyKey USER_POSITION_READER_HEDGED_READ_ENABLED =
+      booleanBuilder(Name.USER_POSITION_READER_HEDGED_READ_ENABLED)
+          .setScope(Scope.CLIENT)
+          .setDefaultValue(false)
+          .setDescription("If true, a positioned read from a worker that has not completed within "
+              + "the hedged read delay is also sent to the next preferred worker of the file, "
+              + "and the first of the two reads to complete is used.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.IGNORE)
+          .build();
+  public static final PropertyKey USER_POSITION_READER_HEDGED_READ_DELAY =
+      durationBuilder(Name.USER_POSITION_READER_HEDGED_READ_DELAY)
+          .setScope(Scope.CLIENT)
+          .setDefaultValue("50ms")
+          .setDescription("How long a positioned read waits for a worker before it is hedged, "
+              + "when hedged reads are enabled and the delay is not derived from the read "
+              + "latencies.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.IGNORE)
+          .build();
+  public static final PropertyKey USER_POSITION_READER_HEDGED_READ_DELAY_PERCENTILE =
+      doubleBuilder(Name.USER_POSITION_READER_HEDGED_READ_DELAY_PERCENTILE)
+          .setScope(Scope.CLIENT)
+          .setDefaultValue(0.0)
+          .setDescription("If greater than 0, the hedged read delay is this percentile, between 0 "
+              + "and 1, of the latencies of the recent reads from workers. "
+              + Name.USER_POSITION_READER_HEDGED_READ_DELAY + " is used until enough reads have "
+              + "completed.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.IGNORE)
+          .build();
   public static final PropertyKey USER_POSITION_READER_PRELOAD_DATA_ENABLED =
       booleanBuilder(Name.USER_POSITION_READER_PRELOAD_DATA_ENABLED)
           .setScope(Scope.CLIENT)
@@ -5912,6 +6202,31 @@ public final class PropertyKey implements Comparable<PropertyKey> {
           .setDescription("The preload data size to load on worker.")
           .setConsistencyCheckLevel(ConsistencyCheckLevel.IGNORE)
           .build();
+  public static final PropertyKey USER_VECTORED_READ_MIN_SEEK_SIZE =
+      dataSizeBuilder(Name.USER_VECTORED_READ_MIN_SEEK_SIZE)
+          .setScope(Scope.CLIENT)
+          .setDefaultValue("4KB")
+          .setDescription("In a vectored read of the Hadoop compatible client, two ranges are "
+              + "read as one if the gap between them is not larger than this size.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.IGNORE)
+          .build();
+  public static final PropertyKey USER_VECTORED_READ_MAX_MERGED_SIZE =
+      dataSizeBuilder(Name.USER_VECTORED_READ_MAX_MERGED_SIZE)
+          .setScope(Scope.CLIENT)
+          .setDefaultValue("1MB")
+          .setDescription("The maximum size of the ranges merged into one read in a vectored "
+              + "read of the Hadoop compatible client.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.IGNORE)
+          .build();
+  public static final PropertyKey USER_VECTORED_READ_PARALLELISM =
+      intBuilder(Name.USER_VECTORED_READ_PARALLELISM)
+          .setScope(Scope.CLIENT)
+          .setDefaultValue(4)
+          .setDescription("The maximum number of requests a vectored read of the Hadoop "
+              + "compatible client sends to the workers in parallel, each reading a part of the "
+              + "merged ranges.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.IGNORE)
+          .build();
   public static final PropertyKey USER_STREAMING_DATA_READ_TIMEOUT =
       durationBuilder(Name.USER_STREAMING_DATA_READ_TIMEOUT)
           .setAlias("alluxio.user.network.data.timeout.ms", Name.USER_NETWORK_DATA_TIMEOUT,
@@ -6391,6 +6706,22 @@ public final class PropertyKey implements Comparable<PropertyKey> {
           .setConsistencyCheckLevel(ConsistencyCheckLevel.IGNORE)
           .setScope(Scope.CLIENT)
           .build();
+  public static final PropertyKey FUSE_ATTR_CACHE_EXPIRATION_TIME =
+      durationBuilder(Name.FUSE_ATTR_CACHE_EXPIRATION_TIME)
+          .setDefaultValue("10s")
+          .setDescription("How long the statuses listed by readdir are kept by FUSE to answer "
+              + "the getattr calls following it, such as for ls -l. Set to 0 to disable.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.IGNORE)
+          .setScope(Scope.CLIENT)
+          .build();
+  public static final PropertyKey FUSE_ATTR_CACHE_MAX_SIZE =
+      intBuilder(Name.FUSE_ATTR_CACHE_MAX_SIZE)
+          .setDefaultValue(100000)
+          .setDescription("Maximum number of statuses listed by readdir kept by FUSE to answer "
+              + "the getattr calls following it. Set to 0 to disable.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.IGNORE)
+          .setScope(Scope.CLIENT)
+          .build();
   public static final PropertyKey FUSE_CACHED_PATHS_MAX =
       intBuilder(Name.FUSE_CACHED_PATHS_MAX)
           .setDefaultValue(500)
@@ -6420,6 +6751,30 @@ public final class PropertyKey implements Comparable<PropertyKey> {
               + "Libfuse2 (value=\"2\") and Libfuse3 (value=\"3\", default value) are supported.")
           .setScope(Scope.ALL)
           .build();
+  public static final PropertyKey FUSE_KERNEL_CACHE_ENABLED =
+      booleanBuilder(Name.FUSE_KERNEL_CACHE_ENABLED)
+          .setDefaultValue(false)
+          .setDescription("Whether to let the kernel cache the data and the attributes of the "
+              + "files read through FUSE. This adds the auto_cache mount option, sets the "
+              + "attr_timeout and entry_timeout mount options to "
+              + Name.USER_METADATA_CACHE_EXPIRATION_TIME + " if it is set and the timeouts are "
+              + "not given in " + Name.FUSE_MOUNT_OPTIONS + ", and removes direct_io. The "
+              + "kernel caches of a file are invalidated when its status served by the worker "
+              + "shows a change of the file. Writes are not cached by the kernel, since the "
+              + "writeback_cache mount option is not supported.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.IGNORE)
+          .setScope(Scope.CLIENT)
+          .build();
+  public static final PropertyKey FUSE_KERNEL_CACHE_MAX_READ =
+      dataSizeBuilder(Name.FUSE_KERNEL_CACHE_MAX_READ)
+          .setDefaultValue("1MB")
+          .setDescription("When " + Name.FUSE_KERNEL_CACHE_ENABLED + " is set, the maximum "
+              + "size of a read request and of the read-ahead of the kernel, set as the max_read "
+              + "and max_readahead mount options unless they are given in "
+              + Name.FUSE_MOUNT_OPTIONS + ". The kernel may cap the requests to a smaller size.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.IGNORE)
+          .setScope(Scope.CLIENT)
+          .build();
   public static final PropertyKey FUSE_LOGGING_THRESHOLD =
       durationBuilder(Name.FUSE_LOGGING_THRESHOLD)
           .setDefaultValue("10s")
@@ -7110,6 +7465,45 @@ public final class PropertyKey implements Comparable<PropertyKey> {
           .setDescription("When a client reads from a remote worker, the maximum number of packets "
               + "to buffer by the client.")
           .build();
+  public static final PropertyKey USER_NETWORK_NETTY_READER_SESSION_ENABLED =
+      booleanBuilder(Name.USER_NETWORK_NETTY_READER_SESSION_ENABLED)
+          .setDefaultValue(false)
+          .setDescription("If true, a client reading a file from a worker keeps a channel to the "
+              + "worker across the positioned reads of the file, and the worker keeps the file "
+              + "open between them. The packets sent by the worker ahead of the client are "
+              + "bounded by credits granted by the client, up to "
+              + Name.USER_NETWORK_NETTY_READER_BUFFER_SIZE_PACKETS + " packets.")
+          .build();
+  public static final PropertyKey USER_NETWORK_NETTY_MULTIPLEX_ENABLED =
+      booleanBuilder(Name.USER_NETWORK_NETTY_MULTIPLEX_ENABLED)
+          .setDefaultValue(false)
+          .setDescription("Experimental. If true, the reads and writes of a client to a worker "
+              + "are sent as streams multiplexed over a few connections, instead of each taking "
+              + "a channel of its own. The data of each stream is subject to the flow control "
+              + "window set by " + Name.USER_NETWORK_NETTY_MULTIPLEX_WINDOW_SIZE + ". Warning: "
+              + "the framing of the streams costs CPU time, and reads were measured several "
+              + "times slower than without multiplexing. Only enable it when the number of "
+              + "connections to the workers is the bottleneck.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.IGNORE)
+          .setScope(Scope.CLIENT)
+          .build();
+  public static final PropertyKey USER_NETWORK_NETTY_MULTIPLEX_STREAMS_PER_CONNECTION =
+      intBuilder(Name.USER_NETWORK_NETTY_MULTIPLEX_STREAMS_PER_CONNECTION)
+          .setDefaultValue(256)
+          .setDescription("The number of concurrent streams above which a client opens another "
+              + "multiplexed connection to a worker.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.IGNORE)
+          .setScope(Scope.CLIENT)
+          .build();
+  public static final PropertyKey USER_NETWORK_NETTY_MULTIPLEX_WINDOW_SIZE =
+      dataSizeBuilder(Name.USER_NETWORK_NETTY_MULTIPLEX_WINDOW_SIZE)
+          .setDefaultValue("2MB")
+          .setDescription("The flow control window of each stream of a multiplexed connection, "
+              + "that is, the number of bytes a worker can send on a stream before the client "
+              + "has consumed them.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.IGNORE)
+          .setScope(Scope.CLIENT)
+          .build();
   public static final PropertyKey USER_NETWORK_NETTY_CHANNEL_POOL_DISABLED =
       booleanBuilder(Name.USER_NETWORK_NETTY_CHANNEL_POOL_DISABLED)
           .setDefaultValue(false)
@@ -7431,6 +7825,18 @@ public final class PropertyKey implements Comparable<PropertyKey> {
         "alluxio.underfs.object.store.multipart.upload.timeout";
     public static final String UNDERFS_OBJECT_STORE_BREADCRUMBS_ENABLED =
         "alluxio.underfs.object.store.breadcrumbs.enabled";
+    public static final String UNDERFS_OBJECT_STORE_CONCURRENCY_LIMIT_ENABLED =
+        "alluxio.underfs.object.store.concurrency.limit.enabled";
+    public static final String UNDERFS_OBJECT_STORE_CONCURRENCY_LIMIT_MAX =
+        "alluxio.underfs.object.store.concurrency.limit.max";
+    public static final String UNDERFS_OBJECT_STORE_CONCURRENCY_LIMIT_MIN =
+        "alluxio.underfs.object.store.concurrency.limit.min";
+    public static final String UNDERFS_OBJECT_STORE_PARALLEL_LISTING_SHARDS =
+        "alluxio.underfs.object.store.parallel.listing.shards";
+    public static final String UNDERFS_OBJECT_STORE_PARALLEL_READ_CONNECTIONS =
+        "alluxio.underfs.object.store.parallel.read.connections";
+    public static final String UNDERFS_OBJECT_STORE_PARALLEL_READ_PART_SIZE =
+        "alluxio.underfs.object.store.parallel.read.part.size";
     public static final String UNDERFS_OBJECT_STORE_SERVICE_THREADS =
         "alluxio.underfs.object.store.service.threads";
     public static final String UNDERFS_OBJECT_STORE_SKIP_PARENT_DIRECTORY_CREATION =
@@ -7477,6 +7883,8 @@ public final class PropertyKey implements Comparable<PropertyKey> {
     public static final String UNDERFS_S3_DEFAULT_MODE = "alluxio.underfs.s3.default.mode";
     public static final String UNDERFS_S3_DIRECTORY_SUFFIX =
         "alluxio.underfs.s3.directory.suffix";
+    public static final String UNDERFS_S3_ETAG_MD5_ENABLED =
+        "alluxio.underfs.s3.etag.md5.enabled";
     public static final String UNDERFS_S3_INHERIT_ACL = "alluxio.underfs.s3.inherit.acl";
     public static final String UNDERFS_S3_INTERMEDIATE_UPLOAD_CLEAN_AGE =
         "alluxio.underfs.s3.intermediate.upload.clean.age";
@@ -8019,6 +8427,8 @@ public final class PropertyKey implements Comparable<PropertyKey> {
         "alluxio.worker.data.server.domain.socket.address";
     public static final String WORKER_DATA_SERVER_DOMAIN_SOCKET_AS_UUID =
         "alluxio.worker.data.server.domain.socket.as.uuid";
+    public static final String WORKER_FAST_DATA_LOAD_BATCH_SIZE =
+        "alluxio.worker.fast.data.load.batch.size";
     public static final String WORKER_FAST_DATA_LOAD_ENABLED =
         "alluxio.worker.fast.data.load.enabled";
     public static final String WORKER_FUSE_MOUNT_ALLUXIO_PATH =
@@ -8085,6 +8495,10 @@ public final class PropertyKey implements Comparable<PropertyKey> {
         "alluxio.user.network.netty.channel.pool.size.max";
     public static final String USER_NETWORK_NETTY_CHANNEL_POOL_GC_THRESHOLD_MS =
         "alluxio.user.network.netty.channel.pool.gc.threshold";
+    public static final String WORKER_NETWORK_NETTY_MULTIPLEX_STREAMS_MAX =
+        "alluxio.worker.network.netty.multiplex.streams.max";
+    public static final String WORKER_NETWORK_NETTY_MULTIPLEX_WINDOW_SIZE =
+        "alluxio.worker.network.netty.multiplex.window.size";
     public static final String WORKER_NETWORK_NETTY_SHUTDOWN_QUIET_PERIOD =
         "alluxio.worker.network.netty.shutdown.quiet.period";
     public static final String WORKER_NETWORK_NETTY_WATERMARK_HIGH =
@@ -8122,6 +8536,8 @@ public final class PropertyKey implements Comparable<PropertyKey> {
     public static final String WORKER_PRINCIPAL = "alluxio.worker.principal";
     public static final String WORKER_PAGE_STORE_ASYNC_RESTORE_ENABLED =
         "alluxio.worker.page.store.async.restore.enabled";
+    public static final String WORKER_PAGE_STORE_ASYNC_WRITE_BUFFER_SIZE =
+        "alluxio.worker.page.store.async.write.buffer.size";
     public static final String WORKER_PAGE_STORE_ASYNC_WRITE_ENABLED =
         "alluxio.worker.page.store.async.write.enabled";
     public static final String WORKER_PAGE_STORE_ASYNC_WRITE_THREADS =
@@ -8138,6 +8554,16 @@ public final class PropertyKey implements Comparable<PropertyKey> {
         "alluxio.worker.page.store.evictor.nondeterministic.enabled";
     public static final String WORKER_PAGE_STORE_LOCAL_STORE_FILE_BUCKETS =
         "alluxio.worker.page.store.local.store.file.buckets";
+    public static final String WORKER_PAGE_STORE_LOCAL_STORE_SEGMENT_SIZE =
+        "alluxio.worker.page.store.local.store.segment.size";
+    public static final String WORKER_PAGE_STORE_LOCAL_STORE_SEGMENT_MMAP_ENABLED =
+        "alluxio.worker.page.store.local.store.segment.mmap.enabled";
+    public static final String WORKER_PAGE_STORE_LOCAL_STORE_ASYNC_READ_THREADS =
+        "alluxio.worker.page.store.local.store.async.read.threads";
+    public static final String WORKER_PAGE_STORE_META_STORE_TYPE =
+        "alluxio.worker.page.store.meta.store.type";
+    public static final String WORKER_PAGE_STORE_OFF_HEAP_SLAB_SIZE =
+        "alluxio.worker.page.store.off.heap.slab.size";
     public static final String WORKER_PAGE_STORE_OVERHEAD =
         "alluxio.worker.page.store.overhead";
     public static final String WORKER_PAGE_STORE_PAGE_SIZE =
@@ -8303,6 +8729,8 @@ public final class PropertyKey implements Comparable<PropertyKey> {
         "alluxio.user.block.worker.client.pool.max";
     public static final String USER_CLIENT_CACHE_ASYNC_RESTORE_ENABLED =
         "alluxio.user.client.cache.async.restore.enabled";
+    public static final String USER_CLIENT_CACHE_ASYNC_WRITE_BUFFER_SIZE =
+        "alluxio.user.client.cache.async.write.buffer.size";
     public static final String USER_CLIENT_CACHE_ASYNC_WRITE_ENABLED =
         "alluxio.user.client.cache.async.write.enabled";
     public static final String USER_CLIENT_CACHE_ASYNC_WRITE_THREADS =
@@ -8315,6 +8743,10 @@ public final class PropertyKey implements Comparable<PropertyKey> {
         "alluxio.user.client.cache.filter.class";
     public static final String USER_CLIENT_CACHE_FILTER_CONFIG_FILE =
         "alluxio.user.client.cache.filter.config-file";
+    public static final String USER_CLIENT_CACHE_FILTER_FREQUENCY_SKETCH_SIZE =
+        "alluxio.user.client.cache.filter.frequency.sketch.size";
+    public static final String USER_CLIENT_CACHE_FILTER_FREQUENCY_THRESHOLD =
+        "alluxio.user.client.cache.filter.frequency.threshold";
     public static final String USER_CLIENT_CACHE_EVICTION_RETRIES =
         "alluxio.user.client.cache.eviction.retries";
     public static final String USER_CLIENT_CACHE_EVICTOR_CLASS =
@@ -8349,8 +8781,18 @@ public final class PropertyKey implements Comparable<PropertyKey> {
         "alluxio.user.client.cache.dirs";
     public static final String USER_CLIENT_CACHE_LOCAL_STORE_FILE_BUCKETS =
         "alluxio.user.client.cache.local.store.file.buckets";
+    public static final String USER_CLIENT_CACHE_LOCAL_STORE_SEGMENT_SIZE =
+        "alluxio.user.client.cache.local.store.segment.size";
+    public static final String USER_CLIENT_CACHE_LOCAL_STORE_SEGMENT_MMAP_ENABLED =
+        "alluxio.user.client.cache.local.store.segment.mmap.enabled";
+    public static final String USER_CLIENT_CACHE_LOCAL_STORE_ASYNC_READ_THREADS =
+        "alluxio.user.client.cache.local.store.async.read.threads";
     public static final String USER_CLIENT_CACHE_IN_STREAM_BUFFER_SIZE =
         "alluxio.user.client.cache.instream_buffer_size";
+    public static final String USER_CLIENT_CACHE_META_STORE_TYPE =
+        "alluxio.user.client.cache.meta.store.type";
+    public static final String USER_CLIENT_CACHE_OFF_HEAP_SLAB_SIZE =
+        "alluxio.user.client.cache.off.heap.slab.size";
     public static final String USER_CLIENT_CACHE_PAGE_SIZE =
         "alluxio.user.client.cache.page.size";
     public static final String USER_CLIENT_CACHE_QUOTA_ENABLED =
@@ -8457,12 +8899,28 @@ public final class PropertyKey implements Comparable<PropertyKey> {
         "alluxio.user.position.reader.streaming.adaptive.policy.enabled";
     public static final String USER_POSITION_READER_STREAMING_PREFETCH_MAX_SIZE =
         "alluxio.user.position.reader.streaming.prefetch.max.size";
+    public static final String USER_POSITION_READER_STREAMING_READ_AHEAD_BUFFERS =
+        "alluxio.user.position.reader.streaming.read.ahead.buffers";
+    public static final String USER_POSITION_READER_STREAMING_READ_AHEAD_MAX_SIZE =
+        "alluxio.user.position.reader.streaming.read.ahead.max.size";
+    public static final String USER_POSITION_READER_HEDGED_READ_ENABLED =
+        "alluxio.user.position.reader.hedged.read.enabled";
+    public static final String USER_POSITION_READER_HEDGED_READ_DELAY =
+        "alluxio.user.position.reader.hedged.read.delay";
+    public static final String USER_POSITION_READER_HEDGED_READ_DELAY_PERCENTILE =
+        "alluxio.user.position.reader.hedged.read.delay.percentile";
     public static final String USER_POSITION_READER_PRELOAD_DATA_ENABLED =
         "alluxio.user.position.reader.preload.data.enabled";
     public static final String USER_POSITION_READER_PRELOAD_DATA_FILE_SIZE_THRESHOLD =
         "alluxio.user.position.reader.preload.data.file.size.threshold";
     public static final String USER_POSITION_READER_PRELOAD_DATA_SIZE =
         "alluxio.user.position.reader.preload.data.size";
+    public static final String USER_VECTORED_READ_MIN_SEEK_SIZE =
+        "alluxio.user.vectored.read.min.seek.size";
+    public static final String USER_VECTORED_READ_MAX_MERGED_SIZE =
+        "alluxio.user.vectored.read.max.merged.size";
+    public static final String USER_VECTORED_READ_PARALLELISM =
+        "alluxio.user.vectored.read.parallelism";
     public static final String USER_NETWORK_DATA_TIMEOUT =
         "alluxio.user.network.data.timeout";
     public static final String USER_NETWORK_READER_BUFFER_SIZE_MESSAGES =
@@ -8567,9 +9025,14 @@ public final class PropertyKey implements Comparable<PropertyKey> {
         "alluxio.fuse.auth.policy.custom.user";
     public static final String FUSE_AUTH_POLICY_CUSTOM_GROUP =
         "alluxio.fuse.auth.policy.custom.group";
+    public static final String FUSE_ATTR_CACHE_EXPIRATION_TIME =
+        "alluxio.fuse.attr.cache.expiration.time";
+    public static final String FUSE_ATTR_CACHE_MAX_SIZE = "alluxio.fuse.attr.cache.max.size";
     public static final String FUSE_CACHED_PATHS_MAX = "alluxio.fuse.cached.paths.max";
     public static final String FUSE_DEBUG_ENABLED = "alluxio.fuse.debug.enabled";
     public static final String FUSE_FS_NAME = "alluxio.fuse.fs.name";
+    public static final String FUSE_KERNEL_CACHE_ENABLED = "alluxio.fuse.kernel.cache.enabled";
+    public static final String FUSE_KERNEL_CACHE_MAX_READ = "alluxio.fuse.kernel.cache.max.read";
     public static final String FUSE_LOGGING_THRESHOLD = "alluxio.fuse.logging.threshold";
     public static final String FUSE_MAX_READER_CONCURRENCY =
         "alluxio.fuse.max.reader.concurrency";
@@ -8747,6 +9210,14 @@ public final class PropertyKey implements Comparable<PropertyKey> {
         "alluxio.user.network.netty.writer.buffer.size.packets";
     public static final String USER_NETWORK_NETTY_READER_BUFFER_SIZE_PACKETS =
         "alluxio.user.network.netty.reader.buffer.size.packets";
+    public static final String USER_NETWORK_NETTY_READER_SESSION_ENABLED =
+        "alluxio.user.network.netty.reader.session.enabled";
+    public static final String USER_NETWORK_NETTY_MULTIPLEX_ENABLED =
+        "alluxio.user.network.netty.multiplex.enabled";
+    public static final String USER_NETWORK_NETTY_MULTIPLEX_STREAMS_PER_CONNECTION =
+        "alluxio.user.network.netty.multiplex.streams.per.connection";
+    public static final String USER_NETWORK_NETTY_MULTIPLEX_WINDOW_SIZE =
+        "alluxio.user.network.netty.multiplex.window.size";
 
     public static final String DORA_ENABLED =
         "alluxio.dora.enabled";
@@ -21,6 +21,7 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.RandomAccessFile;
 import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.nio.channels.WritableByteChannel;
 
 /**
@@ -90,6 +91,16 @@ public class ByteArrayTargetBuffer implements ReadTargetBuffer {
     return bytesRead;
   }
 
+  @Override
+  public int readFromChannel(FileChannel channel, long position, int length) throws IOException {
+    int bytesToRead = Math.min(length, mTarget.length - mOffset);
+    int bytesRead = channel.read(ByteBuffer.wrap(mTarget, mOffset, bytesToRead), position);
+    if (bytesRead != -1) {
+      mOffset += bytesRead;
+    }
+    return bytesRead;
+  }
+
   @Override
   public int readFromInputStream(InputStream is, int length) throws IOException {
     int bytesRead = is.read(mTarget, mOffset, length);
@@ -0,0 +1,80 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.file;
+
+import com.google.common.base.MoreObjects;
+import com.google.common.base.Preconditions;
+
+import java.nio.ByteBuffer;
+
+/**
+ * A range of a file to read, with the target buffer to read it into.
+ */
+public final class ReadRange {
+  private final long mPosition;
+  private final int mLength;
+  private final ReadTargetBuffer mTarget;
+
+  /**
+   * @param position position of the file to start reading data
+   * @param length bytes to read
+   * @param target the buffer to read the data into, from its current offset
+   */
+  public ReadRange(long position, int length, ReadTargetBuffer target) {
+    Preconditions.checkArgument(position >= 0, "position should be non-negative");
+    Preconditions.checkArgument(length >= 0, "length should be non-negative");
+    Preconditions.checkArgument(target.remaining() >= length,
+        "given buffer should have enough space to write given length");
+    mPosition = position;
+    mLength = length;
+    mTarget = target;
+  }
+
+  /**
+   * Creates a range to read as many bytes as the buffer has remaining.
+   *
+   * @param position position of the file to start reading data
+   * @param buffer the buffer to read the data into, from its position
+   */
+  public ReadRange(long position, ByteBuffer buffer) {
+    this(position, buffer.remaining(), new ByteBufferTargetBuffer(buffer));
+  }
+
+  /**
+   * @return the position of the file to start reading data
+   */
+  public long getPosition() {
+    return mPosition;
+  }
+
+  /**
+   * @return the number of bytes to read
+   */
+  public int getLength() {
+    return mLength;
+  }
+
+  /**
+   * @return the buffer to read the data into
+   */
+  public ReadTargetBuffer getTarget() {
+    return mTarget;
+  }
+
+  @Override
+  public String toString() {
+    return MoreObjects.toStringHelper(this)
+        .add("position", mPosition)
+        .add("length", mLength)
+        .toString();
+  }
+}
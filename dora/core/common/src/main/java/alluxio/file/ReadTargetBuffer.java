@@ -17,6 +17,7 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.RandomAccessFile;
 import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.nio.channels.WritableByteChannel;
 
 /**
@@ -76,6 +77,16 @@ public interface ReadTargetBuffer {
    */
   int readFromFile(RandomAccessFile file, int length) throws IOException;
 
+  /**
+   * Reads from a file channel at the given position without changing the position of the channel.
+   *
+   * @param channel the file channel
+   * @param position the position in the file to start reading
+   * @param length the maximum number of bytes to read
+   * @return bytes read from the channel, or -1 if the position is at or beyond the end of file
+   */
+  int readFromChannel(FileChannel channel, long position, int length) throws IOException;
+
   /**
    * @param is
    * @param length
@@ -0,0 +1,190 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.file;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.util.List;
+import javax.annotation.concurrent.NotThreadSafe;
+
+/**
+ * Target buffer of the data of several ranges read one after another, which scatters the data
+ * into the target buffers of the ranges. The offset of this buffer is the number of bytes of
+ * all the ranges written so far.
+ */
+@NotThreadSafe
+public class ScatterTargetBuffer implements ReadTargetBuffer {
+  private final List<ReadRange> mRanges;
+  /** Offsets of the target buffers of the ranges before anything is written. */
+  private final int[] mStartOffsets;
+  private final long mLength;
+  private int mRangeIndex = 0;
+  private int mRangeOffset = 0;
+  private long mOffset = 0;
+
+  /**
+   * @param ranges the ranges to write the data of
+   */
+  public ScatterTargetBuffer(List<ReadRange> ranges) {
+    mRanges = ranges;
+    mStartOffsets = new int[ranges.size()];
+    long length = 0;
+    for (int i = 0; i < ranges.size(); i++) {
+      mStartOffsets[i] = ranges.get(i).getTarget().offset();
+      length += ranges.get(i).getLength();
+    }
+    mLength = length;
+    skipEmptyRanges();
+  }
+
+  /**
+   * @return the number of bytes written into each range, in the order of the ranges
+   */
+  public int[] getBytesWritten() {
+    int[] bytesWritten = new int[mRanges.size()];
+    for (int i = 0; i < mRanges.size(); i++) {
+      if (i < mRangeIndex) {
+        bytesWritten[i] = mRanges.get(i).getLength();
+      } else if (i == mRangeIndex) {
+        bytesWritten[i] = mRangeOffset;
+      }
+    }
+    return bytesWritten;
+  }
+
+  @Override
+  public byte[] byteArray() {
+    throw new UnsupportedOperationException("ScatterTargetBuffer is not backed by an array");
+  }
+
+  @Override
+  public ByteBuffer byteBuffer() {
+    throw new UnsupportedOperationException("ScatterTargetBuffer is not backed by a buffer");
+  }
+
+  @Override
+  public int offset() {
+    return (int) mOffset;
+  }
+
+  @Override
+  public void offset(int newOffset) {
+    long position = 0;
+    mRangeIndex = mRanges.size();
+    mRangeOffset = 0;
+    for (int i = 0; i < mRanges.size(); i++) {
+      int length = mRanges.get(i).getLength();
+      int written = (int) Math.max(0, Math.min(length, newOffset - position));
+      mRanges.get(i).getTarget().offset(mStartOffsets[i] + written);
+      if (written < length && mRangeIndex == mRanges.size()) {
+        mRangeIndex = i;
+        mRangeOffset = written;
+      }
+      position += length;
+    }
+    mOffset = Math.min(newOffset, mLength);
+  }
+
+  @Override
+  public WritableByteChannel byteChannel() {
+    return new WritableByteChannel() {
+      @Override
+      public int write(ByteBuffer src) {
+        int length = (int) Math.min(src.remaining(), remaining());
+        ByteBuffer slice = src.slice();
+        slice.limit(length);
+        writeBytes(Unpooled.wrappedBuffer(slice));
+        src.position(src.position() + length);
+        return length;
+      }
+
+      @Override
+      public boolean isOpen() {
+        return true;
+      }
+
+      @Override
+      public void close() {
+      }
+    };
+  }
+
+  @Override
+  public long remaining() {
+    return mLength - mOffset;
+  }
+
+  @Override
+  public void writeBytes(byte[] srcArray, int srcOffset, int length) {
+    writeBytes(Unpooled.wrappedBuffer(srcArray, srcOffset, length));
+  }
+
+  @Override
+  public void writeBytes(ByteBuf buf) {
+    while (buf.isReadable() && mRangeIndex < mRanges.size()) {
+      ReadRange range = mRanges.get(mRangeIndex);
+      int length = Math.min(buf.readableBytes(), range.getLength() - mRangeOffset);
+      range.getTarget().writeBytes(buf.readSlice(length));
+      mRangeOffset += length;
+      mOffset += length;
+      if (mRangeOffset == range.getLength()) {
+        mRangeIndex++;
+        mRangeOffset = 0;
+        skipEmptyRanges();
+      }
+    }
+  }
+
+  @Override
+  public int readFromFile(RandomAccessFile file, int length) throws IOException {
+    byte[] buffer = new byte[(int) Math.min(length, remaining())];
+    int bytesRead = file.read(buffer);
+    if (bytesRead > 0) {
+      writeBytes(buffer, 0, bytesRead);
+    }
+    return bytesRead;
+  }
+
+  @Override
+  public int readFromChannel(FileChannel channel, long position, int length) throws IOException {
+    ByteBuffer buffer = ByteBuffer.allocate((int) Math.min(length, remaining()));
+    int bytesRead = channel.read(buffer, position);
+    if (bytesRead > 0) {
+      buffer.flip();
+      writeBytes(Unpooled.wrappedBuffer(buffer));
+    }
+    return bytesRead;
+  }
+
+  @Override
+  public int readFromInputStream(InputStream is, int length) throws IOException {
+    byte[] buffer = new byte[(int) Math.min(length, remaining())];
+    int bytesRead = is.read(buffer);
+    if (bytesRead > 0) {
+      writeBytes(buffer, 0, bytesRead);
+    }
+    return bytesRead;
+  }
+
+  private void skipEmptyRanges() {
+    while (mRangeIndex < mRanges.size() && mRanges.get(mRangeIndex).getLength() == 0) {
+      mRangeIndex++;
+    }
+  }
+}
@@ -2025,6 +2025,28 @@ public final class MetricKey implements Comparable<MetricKey> {
           .setMetricType(MetricType.COUNTER)
           .setIsClusterAggregated(false)
           .build();
+  public static final MetricKey WORKER_PAGE_STORE_SLAB_BYTES =
+      new Builder("Worker.PageStoreSlabBytes")
+          .setDescription("Amount of direct memory allocated as slabs by the off-heap "
+              + "worker page store.")
+          .setMetricType(MetricType.GAUGE)
+          .setIsClusterAggregated(false)
+          .build();
+  public static final MetricKey WORKER_PAGE_STORE_SLAB_OCCUPANCY =
+      new Builder("Worker.PageStoreSlabOccupancy")
+          .setDescription("Fraction of the slab memory of the off-heap worker page store which "
+              + "is allocated to pages.")
+          .setMetricType(MetricType.GAUGE)
+          .setIsClusterAggregated(false)
+          .build();
+  public static final MetricKey WORKER_PAGE_STORE_SLAB_FRAGMENTATION =
+      new Builder("Worker.PageStoreSlabFragmentation")
+          .setDescription("Fraction of the slab chunks allocated to pages by the off-heap "
+              + "worker page store which is not used by page data, because pages are smaller "
+              + "than the size class of their chunks.")
+          .setMetricType(MetricType.GAUGE)
+          .setIsClusterAggregated(false)
+          .build();
   public static final MetricKey WORKER_BLOCK_REMOVER_TRY_REMOVE_COUNT =
       new Builder("Worker.BlockRemoverTryRemoveCount")
           .setDescription("The total number of blocks this worker attempted to remove "
@@ -2257,6 +2279,15 @@ public final class MetricKey implements Comparable<MetricKey> {
           .setMetricType(MetricType.COUNTER)
           .setIsClusterAggregated(false)
           .build();
+  public static final MetricKey CLIENT_CACHE_EXTERNAL_REQUESTS_DEDUPLICATED =
+      new Builder("Client.CacheExternalRequestsDeduplicated")
+          .setDescription("Total number of requests to read a page from external storage which "
+              + "were served by a concurrent read of the same page instead. The deduplication "
+              + "rate is this number over the sum of this number and "
+              + "Client.CacheExternalRequests.")
+          .setMetricType(MetricType.COUNTER)
+          .setIsClusterAggregated(false)
+          .build();
   public static final MetricKey CLIENT_CACHE_PAGE_READ_CACHE_TIME_NS =
       new Builder("Client.CachePageReadCacheTimeNanos")
           .setDescription("Time in nanoseconds taken to read a page from the client cache "
@@ -2277,6 +2308,27 @@ public final class MetricKey implements Comparable<MetricKey> {
           .setMetricType(MetricType.COUNTER)
           .setIsClusterAggregated(false)
           .build();
+  public static final MetricKey CLIENT_CACHE_ASYNC_WRITE_DROPPED_BYTES =
+      new Builder("Client.CacheAsyncWriteDroppedBytes")
+          .setDescription("Total number of bytes of pages not cached as the async write buffers "
+              + "were all in use.")
+          .setMetricType(MetricType.COUNTER)
+          .setIsClusterAggregated(false)
+          .build();
+  public static final MetricKey CLIENT_CACHE_ASYNC_WRITE_LATENCY =
+      new Builder("Client.CacheAsyncWriteLatency")
+          .setDescription("Latency of writing a page queued for async write to the client cache,"
+              + " excluding the time spent in the queue.")
+          .setMetricType(MetricType.TIMER)
+          .setIsClusterAggregated(false)
+          .build();
+  public static final MetricKey CLIENT_CACHE_ASYNC_WRITE_QUEUE_BYTES =
+      new Builder("Client.CacheAsyncWriteQueueBytes")
+          .setDescription("Amount of bytes of pages queued for async write to the client cache "
+              + "or being written.")
+          .setMetricType(MetricType.GAUGE)
+          .setIsClusterAggregated(false)
+          .build();
   public static final MetricKey CLIENT_CACHE_BYTES_DISCARDED =
       new Builder("Client.CacheBytesDiscarded")
           .setDescription("Total number of bytes discarded when restoring the page store.")
@@ -2350,6 +2402,28 @@ public final class MetricKey implements Comparable<MetricKey> {
           .setMetricType(MetricType.GAUGE)
           .setIsClusterAggregated(false)
           .build();
+  public static final MetricKey CLIENT_CACHE_SLAB_BYTES =
+      new Builder("Client.CacheSlabBytes")
+          .setDescription("Amount of direct memory allocated as slabs by the off-heap "
+              + "client cache.")
+          .setMetricType(MetricType.GAUGE)
+          .setIsClusterAggregated(false)
+          .build();
+  public static final MetricKey CLIENT_CACHE_SLAB_OCCUPANCY =
+      new Builder("Client.CacheSlabOccupancy")
+          .setDescription("Fraction of the slab memory of the off-heap client cache which is "
+              + "allocated to pages.")
+          .setMetricType(MetricType.GAUGE)
+          .setIsClusterAggregated(false)
+          .build();
+  public static final MetricKey CLIENT_CACHE_SLAB_FRAGMENTATION =
+      new Builder("Client.CacheSlabFragmentation")
+          .setDescription("Fraction of the slab chunks allocated to pages by the off-heap "
+              + "client cache which is not used by page data, because pages are smaller than "
+              + "the size class of their chunks.")
+          .setMetricType(MetricType.GAUGE)
+          .setIsClusterAggregated(false)
+          .build();
   public static final MetricKey CLIENT_CACHE_SHADOW_CACHE_BYTES =
       new Builder("Client.CacheShadowCacheBytes")
           .setDescription("Amount of bytes in the client shadow cache.")
@@ -2466,7 +2540,8 @@ public final class MetricKey implements Comparable<MetricKey> {
   public static final MetricKey CLIENT_CACHE_PUT_ASYNC_REJECTION_ERRORS =
       new Builder("Client.CachePutAsyncRejectionErrors")
           .setDescription("Number of failures when putting cached data in the client cache due to"
-              + " failed injection to async write queue.")
+              + " failed injection to async write queue, as the async write buffers are all in"
+              + " use.")
           .setMetricType(MetricType.COUNTER)
           .setIsClusterAggregated(false)
           .build();
@@ -2584,6 +2659,40 @@ public final class MetricKey implements Comparable<MetricKey> {
           .setIsClusterAggregated(false)
           .build();
 
+  public static final MetricKey NETTY_MULTIPLEXED_CONNECTION_COUNT =
+      new Builder("Process.NettyMultiplexedConnectionCount")
+          .setDescription("Number of multiplexed connections to workers.")
+          .setMetricType(MetricType.COUNTER)
+          .setIsClusterAggregated(false)
+          .build();
+  public static final MetricKey NETTY_MULTIPLEXED_STREAM_COUNT =
+      new Builder("Process.NettyMultiplexedStreamCount")
+          .setDescription("Number of streams open on the multiplexed connections to workers.")
+          .setMetricType(MetricType.COUNTER)
+          .setIsClusterAggregated(false)
+          .build();
+
+  public static final MetricKey PROCESS_UFS_CONCURRENCY_LIMIT =
+      new Builder("Process.UfsConcurrencyLimit")
+          .setDescription("Current limit of requests in flight to an object store bucket, "
+              + "adapted to the throttling responses of the store.")
+          .setMetricType(MetricType.GAUGE)
+          .setIsClusterAggregated(false)
+          .build();
+  public static final MetricKey PROCESS_UFS_REQUESTS_IN_FLIGHT =
+      new Builder("Process.UfsRequestsInFlight")
+          .setDescription("Number of requests in flight to an object store bucket.")
+          .setMetricType(MetricType.GAUGE)
+          .setIsClusterAggregated(false)
+          .build();
+  public static final MetricKey PROCESS_UFS_REQUESTS_THROTTLED =
+      new Builder("Process.UfsRequestsThrottled")
+          .setDescription("Total number of requests to an object store bucket throttled by the "
+              + "store.")
+          .setMetricType(MetricType.COUNTER)
+          .setIsClusterAggregated(false)
+          .build();
+
   public static final MetricKey CLIENT_DEFAULT_HIVE_CLIENT_COUNT =
       new Builder("Client.DefaultHiveClientCount")
           .setDescription("Number of instances in the DefaultHiveClientPool.")
@@ -2605,6 +2714,20 @@ public final class MetricKey implements Comparable<MetricKey> {
           .setMetricType(MetricType.METER)
           .setIsClusterAggregated(false)
           .build();
+  public static final MetricKey CLIENT_HEDGED_READ_COUNT =
+      new Builder("Client.HedgedReadCount")
+          .setDescription("The number of positioned reads sent to another worker because the "
+              + "preferred worker did not answer within the hedged read delay.")
+          .setMetricType(MetricType.COUNTER)
+          .setIsClusterAggregated(false)
+          .build();
+  public static final MetricKey CLIENT_HEDGED_READ_WINS =
+      new Builder("Client.HedgedReadWins")
+          .setDescription("The number of hedged reads which completed before the read from the "
+              + "preferred worker.")
+          .setMetricType(MetricType.COUNTER)
+          .setIsClusterAggregated(false)
+          .build();
 
   public static final MetricKey CLOSE_UFS_OUTSTREAM_LATENCY =
       new Builder("Client.CloseUFSOutStreamLatency")
@@ -2633,6 +2756,20 @@ public final class MetricKey implements Comparable<MetricKey> {
           .setMetricType(MetricType.GAUGE)
           .setIsClusterAggregated(false)
           .build();
+  public static final MetricKey FUSE_KERNEL_CACHE_INVALIDATIONS =
+      new Builder("Fuse.KernelCacheInvalidations")
+          .setDescription("Total number of paths whose kernel caches are invalidated because "
+              + "their status shows a change of the file.")
+          .setMetricType(MetricType.COUNTER)
+          .setIsClusterAggregated(false)
+          .build();
+  public static final MetricKey FUSE_ATTR_CACHE_HITS =
+      new Builder("Fuse.AttrCacheHits")
+          .setDescription("Total number of getattr calls answered with the statuses listed by "
+              + "readdir.")
+          .setMetricType(MetricType.COUNTER)
+          .setIsClusterAggregated(false)
+          .build();
   public static final MetricKey FUSE_CACHED_PATH_COUNT =
       new Builder("Fuse.CachedPathCount")
           .setDescription(String
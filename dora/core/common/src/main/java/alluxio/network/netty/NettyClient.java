@@ -14,6 +14,8 @@ package alluxio.network.netty;
 import alluxio.conf.Configuration;
 import alluxio.conf.PropertyKey;
 import alluxio.network.ChannelType;
+import alluxio.network.protocol.MultiplexedProtocol;
+import alluxio.network.protocol.MultiplexedStreamCodec;
 import alluxio.network.protocol.RPCMessage;
 import alluxio.network.protocol.RPCMessageDecoder;
 import alluxio.network.protocol.RPCMessageEncoder;
@@ -22,12 +24,14 @@ import alluxio.util.network.NettyUtils;
 import io.netty.bootstrap.Bootstrap;
 import io.netty.buffer.PooledByteBufAllocator;
 import io.netty.channel.Channel;
+import io.netty.channel.ChannelHandler;
 import io.netty.channel.ChannelInitializer;
 import io.netty.channel.ChannelOption;
 import io.netty.channel.ChannelPipeline;
 import io.netty.channel.EventLoopGroup;
 import io.netty.channel.epoll.EpollChannelOption;
 import io.netty.channel.epoll.EpollMode;
+import io.netty.handler.codec.http2.Http2MultiplexHandler;
 import io.netty.handler.timeout.IdleStateHandler;
 
 import java.net.InetSocketAddress;
@@ -63,6 +67,63 @@ public final class NettyClient {
    * @return the new client {@link Bootstrap}
    */
   public static Bootstrap createClientBootstrap(SocketAddress address) {
+    final Bootstrap boot = createBootstrap(address);
+    boot.handler(new ChannelInitializer<Channel>() {
+      @Override
+      public void initChannel(Channel ch) throws Exception {
+        addRPCHandlers(ch.pipeline());
+      }
+    });
+
+    return boot;
+  }
+
+  /**
+   * Creates and returns a new Netty client bootstrap for clients to open multiplexed connections
+   * to remote servers. The streams of the connections are opened with the handler returned by
+   * {@link #createStreamHandler()}.
+   *
+   * @param address the socket address
+   * @return the new client {@link Bootstrap}
+   */
+  public static Bootstrap createMultiplexedClientBootstrap(SocketAddress address) {
+    final Bootstrap boot = createBootstrap(address);
+    final long windowSize =
+        Configuration.getBytes(PropertyKey.USER_NETWORK_NETTY_MULTIPLEX_WINDOW_SIZE);
+    boot.handler(new ChannelInitializer<Channel>() {
+      @Override
+      public void initChannel(Channel ch) throws Exception {
+        ChannelPipeline pipeline = ch.pipeline();
+
+        // servers do not open streams
+        pipeline.addLast(MultiplexedProtocol.createFrameCodec(false, windowSize, 0));
+        pipeline.addLast(new Http2MultiplexHandler(new ChannelInitializer<Channel>() {
+          @Override
+          public void initChannel(Channel stream) {
+            stream.close();
+          }
+        }));
+      }
+    });
+
+    return boot;
+  }
+
+  /**
+   * @return the handler to set up the pipeline of a stream of a multiplexed connection, which
+   *         sends and receives the same messages as a channel of a plain connection
+   */
+  public static ChannelHandler createStreamHandler() {
+    return new ChannelInitializer<Channel>() {
+      @Override
+      public void initChannel(Channel ch) throws Exception {
+        ch.pipeline().addLast(new MultiplexedStreamCodec(false));
+        addRPCHandlers(ch.pipeline());
+      }
+    };
+  }
+
+  private static Bootstrap createBootstrap(SocketAddress address) {
     final Bootstrap boot = new Bootstrap();
 
     boot.group(WORKER_GROUP).channel(NettyUtils
@@ -73,23 +134,18 @@ public final class NettyClient {
     if (NettyUtils.CHANNEL_TYPE == ChannelType.EPOLL) {
       boot.option(EpollChannelOption.EPOLL_MODE, EpollMode.LEVEL_TRIGGERED);
     }
+    return boot;
+  }
 
+  private static void addRPCHandlers(ChannelPipeline pipeline) {
     // After 10 missed heartbeat attempts and no write activity, the server will close the channel.
     final long timeoutMs = Configuration.getMs(PropertyKey.NETWORK_NETTY_HEARTBEAT_TIMEOUT_MS);
     final long heartbeatPeriodMs = Math.max(timeoutMs / 10, 1);
-    boot.handler(new ChannelInitializer<Channel>() {
-      @Override
-      public void initChannel(Channel ch) throws Exception {
-        ChannelPipeline pipeline = ch.pipeline();
 
-        pipeline.addLast(RPCMessage.createFrameDecoder());
-        pipeline.addLast(ENCODER);
-        pipeline.addLast(DECODER);
-        pipeline.addLast(new IdleStateHandler(0, heartbeatPeriodMs, 0, TimeUnit.MILLISECONDS));
-        pipeline.addLast(new IdleWriteHandler());
-      }
-    });
-
-    return boot;
+    pipeline.addLast(RPCMessage.createFrameDecoder());
+    pipeline.addLast(ENCODER);
+    pipeline.addLast(DECODER);
+    pipeline.addLast(new IdleStateHandler(0, heartbeatPeriodMs, 0, TimeUnit.MILLISECONDS));
+    pipeline.addLast(new IdleWriteHandler());
   }
 }
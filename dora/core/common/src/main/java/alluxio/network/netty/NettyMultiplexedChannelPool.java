@@ -0,0 +1,248 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.network.netty;
+
+import alluxio.exception.status.CancelledException;
+import alluxio.exception.status.UnavailableException;
+import alluxio.metrics.MetricKey;
+import alluxio.metrics.MetricsSystem;
+import alluxio.network.protocol.MultiplexedProtocol;
+import alluxio.util.CommonUtils;
+
+import com.codahale.metrics.Counter;
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Preconditions;
+import io.netty.bootstrap.Bootstrap;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelFuture;
+import io.netty.channel.ChannelHandler;
+import io.netty.handler.codec.http2.Http2StreamChannel;
+import io.netty.handler.codec.http2.Http2StreamChannelBootstrap;
+import io.netty.util.concurrent.Future;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.annotation.concurrent.GuardedBy;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * A pool of channels to a server, where each channel is a stream multiplexed over a few shared
+ * connections, see {@link MultiplexedProtocol}. A new stream is opened on the connection with the
+ * fewest streams, and a new connection is made once all the connections have the maximum number
+ * of streams, so the number of connections grows with the number of concurrent streams divided
+ * by that maximum, instead of with the number of concurrent streams like {@link NettyChannelPool}.
+ * <p>
+ * Released streams are kept open and handed out again, the most recently released first, since
+ * opening a stream costs a round of headers and a new pipeline on both sides. Streams released
+ * longer ago than the GC threshold are closed.
+ */
+@ThreadSafe
+public final class NettyMultiplexedChannelPool implements Closeable {
+  private static final Logger LOG = LoggerFactory.getLogger(NettyMultiplexedChannelPool.class);
+
+  private static final Counter CONNECTION_COUNTER = MetricsSystem.counter(
+      MetricKey.NETTY_MULTIPLEXED_CONNECTION_COUNT.getName());
+  private static final Counter STREAM_COUNTER = MetricsSystem.counter(
+      MetricKey.NETTY_MULTIPLEXED_STREAM_COUNT.getName());
+
+  private final Bootstrap mBootstrap;
+  private final ChannelHandler mStreamHandler;
+  private final int mMaxStreamsPerConnection;
+  private final long mWindowSize;
+  private final long mGcThresholdMs;
+  /** Streams released and still open, the most recently released first. */
+  private final Deque<IdleStream> mIdleStreams = new ConcurrentLinkedDeque<>();
+
+  /** Updated by the event loops when connections are closed, so it is not guarded by a lock. */
+  private final List<Connection> mConnections = new CopyOnWriteArrayList<>();
+  private volatile boolean mClosed = false;
+
+  /**
+   * @param bootstrap the netty bootstrap used to make multiplexed connections
+   * @param streamHandler the handler to set up the pipeline of each stream
+   * @param maxStreamsPerConnection the number of streams above which a new connection is made
+   * @param windowSize the flow control window of each stream, in bytes
+   * @param gcThresholdMs the time after which a released stream is closed
+   */
+  public NettyMultiplexedChannelPool(Bootstrap bootstrap, ChannelHandler streamHandler,
+      int maxStreamsPerConnection, long windowSize, long gcThresholdMs) {
+    Preconditions.checkArgument(maxStreamsPerConnection > 0,
+        "Invalid number of streams per connection %s", maxStreamsPerConnection);
+    mBootstrap = bootstrap;
+    mStreamHandler = streamHandler;
+    mMaxStreamsPerConnection = maxStreamsPerConnection;
+    mWindowSize = windowSize;
+    mGcThresholdMs = gcThresholdMs;
+  }
+
+  /**
+   * Takes a released stream, or opens a new stream if none is left.
+   *
+   * @return the channel of the stream
+   */
+  public Channel acquire() throws IOException {
+    IdleStream idleStream;
+    while ((idleStream = mIdleStreams.pollFirst()) != null) {
+      if (idleStream.mChannel.isActive()) {
+        return idleStream.mChannel;
+      }
+    }
+    return openStream();
+  }
+
+  /**
+   * Releases a stream taken by {@link #acquire()}, and closes the streams released longer ago
+   * than the GC threshold.
+   *
+   * @param channel the channel of the stream
+   */
+  public void release(Channel channel) {
+    if (mClosed || !channel.isActive()) {
+      CommonUtils.closeChannel(channel);
+      return;
+    }
+    long nowMs = System.currentTimeMillis();
+    mIdleStreams.offerFirst(new IdleStream(channel, nowMs));
+    IdleStream oldest;
+    while ((oldest = mIdleStreams.peekLast()) != null
+        && nowMs - oldest.mReleaseTimeMs > mGcThresholdMs) {
+      if (mIdleStreams.removeLastOccurrence(oldest)) {
+        CommonUtils.closeChannel(oldest.mChannel);
+      }
+    }
+  }
+
+  private Channel openStream() throws IOException {
+    Connection connection = reserveStream();
+    Future<Http2StreamChannel> future =
+        new Http2StreamChannelBootstrap(connection.mChannel).handler(mStreamHandler).open();
+    try {
+      future.await();
+    } catch (InterruptedException e) {
+      future.addListener(f -> {
+        if (f.isSuccess()) {
+          CommonUtils.closeChannel((Channel) f.getNow());
+        }
+      });
+      connection.mStreams.decrementAndGet();
+      Thread.currentThread().interrupt();
+      throw new CancelledException(e);
+    }
+    if (!future.isSuccess()) {
+      connection.mStreams.decrementAndGet();
+      throw new UnavailableException(future.cause());
+    }
+    Channel stream = future.getNow();
+    STREAM_COUNTER.inc();
+    stream.closeFuture().addListener(f -> {
+      connection.mStreams.decrementAndGet();
+      STREAM_COUNTER.dec();
+    });
+    return stream;
+  }
+
+  /**
+   * @return the number of connections of the pool
+   */
+  @VisibleForTesting
+  public int getConnectionCount() {
+    return mConnections.size();
+  }
+
+  @Override
+  public synchronized void close() {
+    mClosed = true;
+    for (Connection connection : mConnections) {
+      CommonUtils.closeChannel(connection.mChannel);
+    }
+    mIdleStreams.clear();
+  }
+
+  /**
+   * Picks the connection with the fewest streams, or makes a new connection if they all have the
+   * maximum number of streams, and counts a stream on it.
+   */
+  private synchronized Connection reserveStream() throws IOException {
+    if (mClosed) {
+      throw new UnavailableException("Channel pool is closed");
+    }
+    Connection selected = null;
+    for (Connection connection : mConnections) {
+      if (connection.mChannel.isActive() && (selected == null
+          || connection.mStreams.get() < selected.mStreams.get())) {
+        selected = connection;
+      }
+    }
+    if (selected == null || selected.mStreams.get() >= mMaxStreamsPerConnection) {
+      selected = connect();
+    }
+    selected.mStreams.incrementAndGet();
+    return selected;
+  }
+
+  @GuardedBy("this")
+  private Connection connect() throws IOException {
+    Channel channel;
+    try {
+      ChannelFuture channelFuture = mBootstrap.clone().connect().sync();
+      if (!channelFuture.isSuccess()) {
+        throw new UnavailableException(channelFuture.cause());
+      }
+      channel = channelFuture.channel();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new CancelledException(e);
+    }
+    LOG.debug("Created multiplexed connection with netty bootstrap {}.", mBootstrap);
+    MultiplexedProtocol.expandConnectionWindow(channel, mWindowSize);
+    Connection connection = new Connection(channel);
+    mConnections.add(connection);
+    CONNECTION_COUNTER.inc();
+    channel.closeFuture().addListener(f -> {
+      mConnections.remove(connection);
+      CONNECTION_COUNTER.dec();
+    });
+    return connection;
+  }
+
+  /**
+   * A multiplexed connection with the number of its streams.
+   */
+  private static final class Connection {
+    private final Channel mChannel;
+    private final AtomicInteger mStreams = new AtomicInteger();
+
+    private Connection(Channel channel) {
+      mChannel = channel;
+    }
+  }
+
+  /**
+   * A released stream with the time it was released.
+   */
+  private static final class IdleStream {
+    private final Channel mChannel;
+    private final long mReleaseTimeMs;
+
+    private IdleStream(Channel channel, long releaseTimeMs) {
+      mChannel = channel;
+      mReleaseTimeMs = releaseTimeMs;
+    }
+  }
+}
@@ -0,0 +1,109 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.network.protocol;
+
+import alluxio.Constants;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.Channel;
+import io.netty.handler.codec.http2.DefaultHttp2Headers;
+import io.netty.handler.codec.http2.DefaultHttp2WindowUpdateFrame;
+import io.netty.handler.codec.http2.Http2CodecUtil;
+import io.netty.handler.codec.http2.Http2FrameCodec;
+import io.netty.handler.codec.http2.Http2FrameCodecBuilder;
+import io.netty.handler.codec.http2.Http2Headers;
+import io.netty.handler.codec.http2.Http2Settings;
+
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * The multiplexed data protocol, which carries the RPC messages of many concurrent reads and
+ * writes over a single connection.
+ * <p>
+ * A multiplexed connection is an HTTP/2 connection with prior knowledge, where each read or write
+ * is a stream. Every frame is tagged with the ID of its stream, and the data in flight is bounded
+ * by a flow control window per stream as well as per connection. Each stream is a child channel
+ * of the connection, whose pipeline is the one of a plain connection preceded by a
+ * {@link MultiplexedStreamCodec}, so the handlers of a stream see the same {@link RPCMessage}s as
+ * the handlers of a plain connection. A server tells the two kinds of connections apart by the
+ * connection preface, see {@link MultiplexedProtocolDetector}.
+ */
+@ThreadSafe
+public final class MultiplexedProtocol {
+  /** The maximum size of the data frames a peer accepts. */
+  private static final int MAX_FRAME_SIZE = Constants.MB;
+  /** The flow control window of a connection is the window of this many streams. */
+  private static final int CONNECTION_WINDOW_STREAMS = 16;
+  private static final ByteBuf CONNECTION_PREFACE = Http2CodecUtil.connectionPrefaceBuf();
+
+  private MultiplexedProtocol() {} // prevent instantiation
+
+  /**
+   * Creates the codec of the frames of a multiplexed connection.
+   *
+   * @param isServer whether the codec is for the server side of the connection
+   * @param windowSize the flow control window of each stream, in bytes
+   * @param maxConcurrentStreams the maximum number of concurrent streams the peer can open
+   * @return the frame codec
+   */
+  public static Http2FrameCodec createFrameCodec(boolean isServer, long windowSize,
+      int maxConcurrentStreams) {
+    Http2Settings settings = Http2Settings.defaultSettings()
+        .initialWindowSize(toWindowSize(windowSize))
+        .maxFrameSize(MAX_FRAME_SIZE)
+        .maxConcurrentStreams(maxConcurrentStreams);
+    Http2FrameCodecBuilder builder =
+        isServer ? Http2FrameCodecBuilder.forServer() : Http2FrameCodecBuilder.forClient();
+    return builder.initialSettings(settings).build();
+  }
+
+  /**
+   * Widens the flow control window of a newly established connection, which is 64KB by default
+   * no matter the window of its streams. The frame codec must already be in the pipeline.
+   *
+   * @param channel the channel of the connection
+   * @param windowSize the flow control window of each stream, in bytes
+   */
+  public static void expandConnectionWindow(Channel channel, long windowSize) {
+    long increment = Math.min(Integer.MAX_VALUE,
+        (long) toWindowSize(windowSize) * CONNECTION_WINDOW_STREAMS)
+        - Http2CodecUtil.DEFAULT_WINDOW_SIZE;
+    if (increment > 0) {
+      channel.writeAndFlush(new DefaultHttp2WindowUpdateFrame((int) increment));
+    }
+  }
+
+  /**
+   * @return the connection preface sent by a client first on a multiplexed connection
+   */
+  static ByteBuf getConnectionPreface() {
+    return CONNECTION_PREFACE;
+  }
+
+  /**
+   * @param isServer whether the headers are sent by the server
+   * @return the headers opening a stream, which carry no information but are required before
+   *         any data can be sent on the stream
+   */
+  static Http2Headers createHeaders(boolean isServer) {
+    Http2Headers headers = new DefaultHttp2Headers();
+    if (isServer) {
+      return headers.status("200");
+    }
+    return headers.method("POST").scheme("http").path("/");
+  }
+
+  private static int toWindowSize(long windowSize) {
+    return (int) Math.max(Http2CodecUtil.MAX_FRAME_SIZE_LOWER_BOUND,
+        Math.min(windowSize, Http2CodecUtil.MAX_INITIAL_WINDOW_SIZE));
+  }
+}
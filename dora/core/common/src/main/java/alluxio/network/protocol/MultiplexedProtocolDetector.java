@@ -0,0 +1,68 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.network.protocol;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.channel.ChannelHandler;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelPipeline;
+import io.netty.handler.codec.ByteToMessageDecoder;
+
+import java.util.ArrayList;
+import java.util.List;
+import javax.annotation.concurrent.NotThreadSafe;
+
+/**
+ * Tells a multiplexed connection from a plain one by the first bytes received, so that a server
+ * can accept both on the same port. It must be the first handler of a pipeline set up for a
+ * plain connection. If the connection starts with the preface of a multiplexed connection, all
+ * the handlers after the detector are replaced by the handlers of a multiplexed connection,
+ * otherwise the detector just removes itself. Either way, the bytes received so far are passed
+ * on to the handlers that follow.
+ * <p>
+ * The frames of a plain connection start with their length as a long, whose first byte is zero,
+ * so a plain connection is recognized on its first byte.
+ */
+@NotThreadSafe
+public final class MultiplexedProtocolDetector extends ByteToMessageDecoder {
+  private final ChannelHandler mMultiplexedHandler;
+
+  /**
+   * @param multiplexedHandler the handler to set up the pipeline of a multiplexed connection,
+   *        usually a {@link io.netty.channel.ChannelInitializer}
+   */
+  public MultiplexedProtocolDetector(ChannelHandler multiplexedHandler) {
+    mMultiplexedHandler = multiplexedHandler;
+  }
+
+  @Override
+  protected void decode(ChannelHandlerContext ctx, ByteBuf in, List<Object> out) {
+    ByteBuf preface = MultiplexedProtocol.getConnectionPreface();
+    int length = Math.min(in.readableBytes(), preface.readableBytes());
+    if (!ByteBufUtil.equals(in, in.readerIndex(), preface, preface.readerIndex(), length)) {
+      ctx.pipeline().remove(this);
+      return;
+    }
+    if (length < preface.readableBytes()) {
+      // wait for the rest of the preface
+      return;
+    }
+    ChannelPipeline pipeline = ctx.pipeline();
+    List<String> names = new ArrayList<>(pipeline.toMap().keySet());
+    for (String name : names.subList(names.indexOf(ctx.name()) + 1, names.size())) {
+      pipeline.remove(name);
+    }
+    pipeline.addLast(mMultiplexedHandler);
+    pipeline.remove(this);
+  }
+}
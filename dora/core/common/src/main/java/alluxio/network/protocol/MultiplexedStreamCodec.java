@@ -0,0 +1,88 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.network.protocol;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.ChannelDuplexHandler;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelPromise;
+import io.netty.channel.FileRegion;
+import io.netty.handler.codec.http2.DefaultHttp2DataFrame;
+import io.netty.handler.codec.http2.DefaultHttp2HeadersFrame;
+import io.netty.handler.codec.http2.Http2DataFrame;
+import io.netty.handler.codec.http2.Http2HeadersFrame;
+import io.netty.util.ReferenceCountUtil;
+
+import javax.annotation.concurrent.NotThreadSafe;
+
+/**
+ * Converts between the frames of a stream of a multiplexed connection and the bytes of the RPC
+ * messages sent on the stream. It is the first handler of the pipeline of a stream, so that the
+ * handlers after it are the same as the ones of a plain connection. Headers are sent before the
+ * first data of the stream, and ignored when received.
+ * <p>
+ * File regions cannot be sent on a stream since the data of a stream is framed, so the messages
+ * sent on a stream must carry their payload in buffers.
+ */
+@NotThreadSafe
+public final class MultiplexedStreamCodec extends ChannelDuplexHandler {
+  private final boolean mIsServer;
+  private boolean mHeadersSent = false;
+
+  /**
+   * @param isServer whether the codec is for the server side of the stream
+   */
+  public MultiplexedStreamCodec(boolean isServer) {
+    mIsServer = isServer;
+  }
+
+  @Override
+  public void channelRead(ChannelHandlerContext ctx, Object msg) throws Exception {
+    if (msg instanceof Http2DataFrame) {
+      Http2DataFrame frame = (Http2DataFrame) msg;
+      ByteBuf content = frame.content();
+      if (content.isReadable()) {
+        ctx.fireChannelRead(content);
+      } else {
+        content.release();
+      }
+      if (frame.isEndStream()) {
+        ctx.close();
+      }
+      return;
+    }
+    if (msg instanceof Http2HeadersFrame && ((Http2HeadersFrame) msg).isEndStream()) {
+      ctx.close();
+    }
+    ReferenceCountUtil.release(msg);
+  }
+
+  @Override
+  public void write(ChannelHandlerContext ctx, Object msg, ChannelPromise promise)
+      throws Exception {
+    if (msg instanceof ByteBuf) {
+      if (!mHeadersSent) {
+        mHeadersSent = true;
+        ctx.write(new DefaultHttp2HeadersFrame(MultiplexedProtocol.createHeaders(mIsServer)));
+      }
+      ctx.write(new DefaultHttp2DataFrame((ByteBuf) msg), promise);
+      return;
+    }
+    if (msg instanceof FileRegion) {
+      ReferenceCountUtil.release(msg);
+      promise.setFailure(new UnsupportedOperationException(
+          "File regions cannot be sent on a multiplexed stream"));
+      return;
+    }
+    ctx.write(msg, promise);
+  }
+}
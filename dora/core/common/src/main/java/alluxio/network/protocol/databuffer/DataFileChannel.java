@@ -13,18 +13,28 @@ package alluxio.network.protocol.databuffer;
 
 import com.google.common.base.Preconditions;
 import io.netty.channel.DefaultFileRegion;
+import io.netty.channel.FileRegion;
 
 import java.io.File;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.nio.ByteBuffer;
 import java.nio.channels.FileChannel;
+import javax.annotation.Nullable;
 
 /**
  * A DataBuffer with the underlying data being a {@link FileChannel}.
+ * <p>
+ * A pinned data file channel wraps a file channel opened by the creator, which holds the data
+ * in place until the channel is released. Like a netty buffer, its file region is handed over
+ * to netty by {@link #getNettyOutput()} and released once sent, or released by
+ * {@link #release()} if it is never sent.
  */
 public final class DataFileChannel implements DataBuffer {
+  @Nullable
   private final File mFile;
+  @Nullable
+  private final FileRegion mFileRegion;
   private final long mOffset;
   private final long mLength;
 
@@ -36,12 +46,35 @@ public final class DataFileChannel implements DataBuffer {
    */
   public DataFileChannel(File file, long offset, long length) {
     mFile = Preconditions.checkNotNull(file, "file");
+    mFileRegion = null;
+    mOffset = offset;
+    mLength = length;
+  }
+
+  /**
+   * Creates a pinned data file channel, which is sent from a file channel opened beforehand.
+   *
+   * @param channel the file channel, which is not closed by this data file channel
+   * @param offset the offset into the FileChannel
+   * @param length the length of the data to read
+   * @param releaseCallback callback to run when the data is sent or released, which unpins the
+   *        data and closes the channel if needed
+   */
+  public DataFileChannel(FileChannel channel, long offset, long length,
+      Runnable releaseCallback) {
+    Preconditions.checkNotNull(channel, "channel");
+    Preconditions.checkNotNull(releaseCallback, "releaseCallback");
+    mFile = null;
+    mFileRegion = new PinnedFileRegion(channel, offset, length, releaseCallback);
     mOffset = offset;
     mLength = length;
   }
 
   @Override
   public Object getNettyOutput() {
+    if (mFileRegion != null) {
+      return mFileRegion;
+    }
     return new DefaultFileRegion(mFile, mOffset, mLength);
   }
 
@@ -75,12 +108,36 @@ public final class DataFileChannel implements DataBuffer {
   public int readableBytes() {
     int lengthInt = (int) mLength;
     Preconditions.checkArgument(mLength == (long) lengthInt,
-        "size of file %s is %s, cannot be cast to int", mFile, mLength);
+        "size of file %s is %s, cannot be cast to int", mFile != null ? mFile : mFileRegion,
+        mLength);
     return lengthInt;
   }
 
   @Override
   public void release() {
-    // Nothing we need to release explicitly, let GC take care of all objects.
+    if (mFileRegion != null) {
+      mFileRegion.release();
+    }
+    // Nothing else we need to release explicitly, let GC take care of all objects.
+  }
+
+  /**
+   * A file region over a file channel owned by someone else, which runs the release callback
+   * instead of closing the channel when deallocated. It is still a {@link DefaultFileRegion},
+   * so that the native transports send it by sendfile.
+   */
+  private static final class PinnedFileRegion extends DefaultFileRegion {
+    private final Runnable mReleaseCallback;
+
+    private PinnedFileRegion(FileChannel channel, long offset, long length,
+        Runnable releaseCallback) {
+      super(channel, offset, length);
+      mReleaseCallback = releaseCallback;
+    }
+
+    @Override
+    protected void deallocate() {
+      mReleaseCallback.run();
+    }
   }
 }
@@ -0,0 +1,57 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.network.protocol.databuffer;
+
+import io.netty.buffer.ByteBuf;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Read-only slice of a memory mapped file or of an off-heap memory region wrapped in Netty
+ * ByteBuf. The memory is owned by the creator of the slice, which is notified through the
+ * release callback when the reference count goes down to zero, so that the region backing the
+ * slice is not reused, unmapped or freed while the slice is still being read. The slice is
+ * wrapped read-only, so that setting or writing bytes throws
+ * {@link java.nio.ReadOnlyBufferException} instead of writing through to the memory, which is
+ * writable for off-heap regions.
+ */
+public class MappedNioByteBuf extends RefCountedNioByteBuf {
+  private final Runnable mReleaseCallback;
+
+  private MappedNioByteBuf(ByteBuffer slice, Runnable releaseCallback) {
+    super(slice.asReadOnlyBuffer(), slice.capacity(), slice.capacity());
+    mReleaseCallback = releaseCallback;
+    writerIndex(slice.capacity());
+  }
+
+  @Override
+  protected void deallocate() {
+    mReleaseCallback.run();
+  }
+
+  @Override
+  public boolean isReadOnly() {
+    return true;
+  }
+
+  /**
+   * Wraps a slice of a mapped file or of an off-heap memory region.
+   * The reader index of the returned buffer is 0 and the writer index is the slice capacity.
+   *
+   * @param slice the slice
+   * @param releaseCallback callback to run when the buffer is released
+   * @return the wrapped buffer
+   */
+  public static ByteBuf wrap(ByteBuffer slice, Runnable releaseCallback) {
+    return new MappedNioByteBuf(slice, releaseCallback);
+  }
+}
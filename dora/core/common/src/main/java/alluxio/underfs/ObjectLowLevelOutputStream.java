@@ -128,6 +128,9 @@ public abstract class ObjectLowLevelOutputStream extends OutputStream
    */
   private final AtomicInteger mPartNumber;
 
+  /** Limits the requests in flight to the bucket. */
+  private final ObjectStoreConcurrencyLimiter mLimiter;
+
   /** Executing the upload tasks. */
   private final ListeningExecutorService mExecutor;
 
@@ -156,9 +159,31 @@ public abstract class ObjectLowLevelOutputStream extends OutputStream
       ListeningExecutorService executor,
       long streamingUploadPartitionSize,
       AlluxioConfiguration ufsConf) {
+    this(bucketName, key, executor, streamingUploadPartitionSize, ufsConf,
+        ObjectStoreConcurrencyLimiter.UNLIMITED);
+  }
+
+  /**
+   * Constructs a new stream for writing a file.
+   *
+   * @param bucketName the name of the bucket
+   * @param key the key of the file
+   * @param streamingUploadPartitionSize the size in bytes for partitions of streaming uploads
+   * @param executor executor
+   * @param ufsConf the object store under file system configuration
+   * @param limiter the limiter of the requests in flight to the bucket
+   */
+  public ObjectLowLevelOutputStream(
+      String bucketName,
+      String key,
+      ListeningExecutorService executor,
+      long streamingUploadPartitionSize,
+      AlluxioConfiguration ufsConf,
+      ObjectStoreConcurrencyLimiter limiter) {
     Preconditions.checkArgument(bucketName != null && !bucketName.isEmpty(),
         "Bucket name must not be null or empty.");
     mBucketName = bucketName;
+    mLimiter = limiter;
     mTmpDirs = ufsConf.getList(PropertyKey.TMP_DIRS);
     Preconditions.checkArgument(!mTmpDirs.isEmpty(), "No temporary directories available");
     mExecutor = executor;
@@ -319,7 +344,8 @@ public abstract class ObjectLowLevelOutputStream extends OutputStream
     Callable<?> callable = () -> {
       try {
         RetryUtils.retry("upload part for key " + mKey + " and part number " + partNumber,
-            () -> uploadPartInternal(file, partNumber, lastPart, md5), mRetryPolicy.get());
+            () -> mLimiter.run(() -> uploadPartInternal(file, partNumber, lastPart, md5)),
+            mRetryPolicy.get());
         return null;
       } finally {
         // Delete the uploaded or failed to upload file
@@ -102,6 +102,10 @@ public abstract class ObjectMultipartUploadOutputStream extends OutputStream
    * so that object storage knows the part sequence to concatenate the parts to a single object.
    */
   private final AtomicInteger mPartNumber;
+  /**
+   * Limits the requests in flight to the bucket.
+   */
+  private final ObjectStoreConcurrencyLimiter mLimiter;
   /**
    * Executing the upload tasks.
    */
@@ -146,9 +150,31 @@ public abstract class ObjectMultipartUploadOutputStream extends OutputStream
       ListeningExecutorService executor,
       long multipartUploadPartitionSize,
       AlluxioConfiguration ufsConf) {
+    this(bucketName, key, executor, multipartUploadPartitionSize, ufsConf,
+        ObjectStoreConcurrencyLimiter.UNLIMITED);
+  }
+
+  /**
+   * Constructs a new stream for writing a file.
+   *
+   * @param bucketName                   the name of the bucket
+   * @param key                          the key of the file
+   * @param executor                     executor
+   * @param multipartUploadPartitionSize the size in bytes for partitions of multipart uploads
+   * @param ufsConf                      the object store under file system configuration
+   * @param limiter                      the limiter of the requests in flight to the bucket
+   */
+  public ObjectMultipartUploadOutputStream(
+      String bucketName,
+      String key,
+      ListeningExecutorService executor,
+      long multipartUploadPartitionSize,
+      AlluxioConfiguration ufsConf,
+      ObjectStoreConcurrencyLimiter limiter) {
     Preconditions.checkArgument(bucketName != null && !bucketName.isEmpty(),
         "Bucket name must not be null or empty.");
     mBucketName = bucketName;
+    mLimiter = limiter;
     mExecutor = executor;
     mKey = key;
     mPartNumber = new AtomicInteger(1);
@@ -300,7 +326,8 @@ public abstract class ObjectMultipartUploadOutputStream extends OutputStream
     Callable<?> callable = () -> {
       try {
         RetryUtils.retry("upload part for key " + mKey + " and part number " + partNumber,
-            () -> uploadPartInternal(buf, partNumber, isLastPart, length), mRetryPolicy.get());
+            () -> mLimiter.run(() -> uploadPartInternal(buf, partNumber, isLastPart, length)),
+            mRetryPolicy.get());
         return null;
       } catch (Exception e) {
         LOG.error("Failed to upload part {} for key {}", partNumber, mKey, e);
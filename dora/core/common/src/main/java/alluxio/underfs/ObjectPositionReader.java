@@ -12,13 +12,38 @@
 package alluxio.underfs;
 
 import alluxio.PositionReader;
+import alluxio.conf.Configuration;
+import alluxio.conf.PropertyKey;
 import alluxio.file.ReadTargetBuffer;
+import alluxio.util.ThreadFactoryUtils;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.io.ByteStreams;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
 /**
  * A stream for reading data using position reader.
+ * <p>
+ * Reads of at least twice {@link PropertyKey#UNDERFS_OBJECT_STORE_PARALLEL_READ_PART_SIZE} are
+ * split into parts read with concurrent ranged requests, since a single request is limited to
+ * the throughput of one connection. The reading thread reads the first part itself, while the
+ * following parts are read ahead by a pool shared by the process, whose size bounds the number
+ * of connections used for the read-ahead. The parts read ahead are buffered on the heap, and the
+ * number of such buffers in the process is bounded by the size of the pool as well, so that
+ * concurrent reads cannot pin more than that many parts in memory. When no buffer is available,
+ * the reading thread reads the next part straight into the target buffer.
  */
 
 public abstract class ObjectPositionReader implements PositionReader {
@@ -31,15 +56,36 @@ public abstract class ObjectPositionReader implements PositionReader {
   /** Name of the bucket the object resides in. */
   protected final String mBucketName;
 
+  /** Size of the parts of large reads, 0 if reads are not split. */
+  private final int mPartSize;
+
+  /** Limits the requests in flight to the bucket. */
+  private final ObjectStoreConcurrencyLimiter mLimiter;
+
   /**
    * @param bucketName the bucket name
    * @param path path of the file when it is uploaded to object storage
    * @param fileLength the file length
    */
   public ObjectPositionReader(String bucketName, String path, long fileLength) {
+    this(bucketName, path, fileLength, ObjectStoreConcurrencyLimiter.UNLIMITED);
+  }
+
+  /**
+   * @param bucketName the bucket name
+   * @param path path of the file when it is uploaded to object storage
+   * @param fileLength the file length
+   * @param limiter the limiter of the requests in flight to the bucket
+   */
+  public ObjectPositionReader(String bucketName, String path, long fileLength,
+      ObjectStoreConcurrencyLimiter limiter) {
+    mLimiter = limiter;
     mBucketName = bucketName;
     mPath = path;
     mFileLength = fileLength;
+    mPartSize = Configuration.getInt(PropertyKey.UNDERFS_OBJECT_STORE_PARALLEL_READ_CONNECTIONS)
+        > 0 ? (int) Math.min(Integer.MAX_VALUE,
+        Configuration.getBytes(PropertyKey.UNDERFS_OBJECT_STORE_PARALLEL_READ_PART_SIZE)) : 0;
   }
 
   /**
@@ -55,20 +101,139 @@ public abstract class ObjectPositionReader implements PositionReader {
       return -1;
     }
     int bytesToRead = (int) Math.min(mFileLength - position, length);
-    try (InputStream in = openObjectInputStream(position, bytesToRead)) {
-      int totalRead = 0;
-      int currentRead = 0;
-      while (totalRead < bytesToRead) {
-        currentRead = buffer.readFromInputStream(in, bytesToRead - totalRead);
-        if (currentRead < 0) {
+    if (mPartSize > 0 && bytesToRead >= 2L * mPartSize) {
+      return readParts(position, buffer, bytesToRead);
+    }
+    return readRange(position, buffer, bytesToRead);
+  }
+
+  private int readRange(long position, ReadTargetBuffer buffer, int bytesToRead)
+      throws IOException {
+    return mLimiter.call(() -> {
+      try (InputStream in = openObjectInputStream(position, bytesToRead)) {
+        int totalRead = 0;
+        int currentRead = 0;
+        while (totalRead < bytesToRead) {
+          currentRead = buffer.readFromInputStream(in, bytesToRead - totalRead);
+          if (currentRead < 0) {
+            break;
+          }
+          totalRead += currentRead;
+        }
+        return totalRead == 0 ? currentRead : totalRead;
+      }
+    });
+  }
+
+  /**
+   * Reads a range split into parts. The parts after the first one are read ahead into heap
+   * buffers while buffers are available, and copied to the target buffer in order. A part
+   * which could not be read ahead is read by the calling thread into the target buffer.
+   */
+  private int readParts(long position, ReadTargetBuffer buffer, int bytesToRead)
+      throws IOException {
+    int numParts = (bytesToRead + mPartSize - 1) / mPartSize;
+    // the parts from the one being read to the one before nextPart, in order
+    Queue<Future<ByteBuffer>> parts = new ArrayDeque<>();
+    int nextPart = 1;
+    try {
+      nextPart = submitParts(parts, nextPart, numParts, position, bytesToRead);
+      int totalRead = readRange(position, buffer, mPartSize);
+      if (totalRead < mPartSize) {
+        // the object is shorter than expected
+        return totalRead;
+      }
+      for (int partIndex = 1; partIndex < numParts; partIndex++) {
+        long offset = (long) partIndex * mPartSize;
+        int expectedLength = (int) Math.min(mPartSize, bytesToRead - offset);
+        int partLength;
+        if (parts.isEmpty()) {
+          // no buffer was available to read the part ahead
+          nextPart = partIndex + 1;
+          partLength = readRange(position + offset, buffer, expectedLength);
+        } else {
+          ByteBuffer part;
+          try {
+            part = getPart(parts.poll());
+          } finally {
+            PartReaderPool.BUFFERS.release();
+          }
+          partLength = part.remaining();
+          buffer.writeBytes(part.array(), part.arrayOffset() + part.position(), partLength);
+        }
+        if (partLength <= 0) {
+          break;
+        }
+        totalRead += partLength;
+        if (partLength < expectedLength) {
           break;
         }
-        totalRead += currentRead;
+        nextPart = submitParts(parts, nextPart, numParts, position, bytesToRead);
+      }
+      return totalRead;
+    } finally {
+      for (Future<ByteBuffer> part : parts) {
+        part.cancel(true);
+        PartReaderPool.BUFFERS.release();
+      }
+    }
+  }
+
+  /**
+   * Submits the parts from the given one to be read ahead, as long as there are buffers for
+   * them.
+   *
+   * @return the index of the first part not submitted
+   */
+  private int submitParts(Queue<Future<ByteBuffer>> parts, int nextPart, int numParts,
+      long position, int bytesToRead) {
+    ThreadPoolExecutor executor = PartReaderPool.EXECUTOR;
+    while (nextPart < numParts && parts.size() < executor.getMaximumPoolSize()
+        && PartReaderPool.BUFFERS.tryAcquire()) {
+      parts.add(submitPart(executor, position, bytesToRead, nextPart++));
+    }
+    return nextPart;
+  }
+
+  private Future<ByteBuffer> submitPart(ThreadPoolExecutor executor, long position,
+      int bytesToRead, int partIndex) {
+    long offset = (long) partIndex * mPartSize;
+    int partLength = (int) Math.min(mPartSize, bytesToRead - offset);
+    return executor.submit(() -> mLimiter.call(() -> {
+      byte[] data = new byte[partLength];
+      try (InputStream in = openObjectInputStream(position + offset, partLength)) {
+        int read = ByteStreams.read(in, data, 0, partLength);
+        return ByteBuffer.wrap(data, 0, read);
+      }
+    }));
+  }
+
+  private static ByteBuffer getPart(Future<ByteBuffer> part) throws IOException {
+    try {
+      return part.get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new InterruptedIOException("Interrupted while reading a part of the range");
+    } catch (ExecutionException e) {
+      Throwable cause = e.getCause();
+      if (cause instanceof IOException) {
+        throw (IOException) cause;
       }
-      return totalRead == 0 ? currentRead : totalRead;
+      if (cause instanceof RuntimeException) {
+        throw (RuntimeException) cause;
+      }
+      throw new IOException(cause);
     }
   }
 
+  /**
+   * @return the size of the parts of large reads, 0 if reads are not split
+   */
+  @VisibleForTesting
+  int getPartSize() {
+    return mPartSize;
+  }
+
   /**
    * @param position position of the file to start reading data
    * @param bytesToRead bytes to read
@@ -76,4 +241,34 @@ public abstract class ObjectPositionReader implements PositionReader {
    */
   protected abstract InputStream openObjectInputStream(
       long position, int bytesToRead) throws IOException;
+
+  /**
+   * @return the permits to buffer the parts read ahead, shared by all the reads of the process
+   */
+  @VisibleForTesting
+  static Semaphore getReadAheadBuffers() {
+    return PartReaderPool.BUFFERS;
+  }
+
+  /**
+   * Holds the pool reading the parts ahead, created on the first large read.
+   */
+  private static final class PartReaderPool {
+    private static final int THREADS = Math.max(1,
+        Configuration.getInt(PropertyKey.UNDERFS_OBJECT_STORE_PARALLEL_READ_CONNECTIONS));
+    private static final ThreadPoolExecutor EXECUTOR = createExecutor();
+    /** Permits to buffer a part read ahead, shared by all the reads of the process. */
+    private static final Semaphore BUFFERS = new Semaphore(THREADS);
+
+    private static ThreadPoolExecutor createExecutor() {
+      ThreadPoolExecutor executor = new ThreadPoolExecutor(THREADS, THREADS,
+          60, TimeUnit.SECONDS, new LinkedBlockingQueue<>(),
+          ThreadFactoryUtils.build("object-position-reader-%d", true));
+      executor.allowCoreThreadTimeOut(true);
+      return executor;
+    }
+
+    private PartReaderPool() {
+    } // prevent instantiation
+  }
 }
@@ -0,0 +1,254 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.underfs;
+
+import alluxio.AlluxioURI;
+import alluxio.conf.AlluxioConfiguration;
+import alluxio.conf.PropertyKey;
+import alluxio.metrics.Metric;
+import alluxio.metrics.MetricInfo;
+import alluxio.metrics.MetricKey;
+import alluxio.metrics.MetricsSystem;
+import alluxio.retry.RetryUtils.RunnableThrowsIOException;
+
+import com.codahale.metrics.Counter;
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Preconditions;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Predicate;
+import javax.annotation.concurrent.GuardedBy;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * Limits the number of requests in flight to an object store bucket, adapting the limit to the
+ * throttling responses of the store.
+ * <p>
+ * The limit grows additively, by one for every limit's worth of successful requests, and is
+ * halved when a request is throttled. Only requests started after the last decrease can
+ * decrease it again, so a burst of throttled requests issued under the same limit halves it
+ * once. A single limiter is shared by all the users of a bucket in the process, so that cache
+ * fills, load tasks and uploads back off together.
+ * <p>
+ * Permits are reentrant: a request issued by a thread which already holds a permit runs under
+ * that permit, so that nested requests neither wait for the permit of their caller nor are
+ * counted twice.
+ */
+@ThreadSafe
+public final class ObjectStoreConcurrencyLimiter {
+  private static final Logger LOG = LoggerFactory.getLogger(ObjectStoreConcurrencyLimiter.class);
+
+  /** A limiter letting every request through. */
+  public static final ObjectStoreConcurrencyLimiter UNLIMITED =
+      new ObjectStoreConcurrencyLimiter(Integer.MAX_VALUE, Integer.MAX_VALUE, e -> false);
+
+  private static final Map<String, ObjectStoreConcurrencyLimiter> LIMITERS =
+      new ConcurrentHashMap<>();
+
+  private final int mMinLimit;
+  private final int mMaxLimit;
+  private final Predicate<Throwable> mIsThrottled;
+  private final ReentrantLock mLock = new ReentrantLock();
+  private final Condition mPermitReleased = mLock.newCondition();
+  @GuardedBy("mLock")
+  private double mLimit;
+  @GuardedBy("mLock")
+  private int mInFlight;
+  /** Incremented on every decrease of the limit. */
+  @GuardedBy("mLock")
+  private long mEpoch;
+  private Counter mThrottledCounter;
+  /** Whether the current thread holds a permit. */
+  private final ThreadLocal<Boolean> mHoldingPermit = ThreadLocal.withInitial(() -> false);
+
+  /**
+   * Gets the limiter of a bucket, creating it on first use.
+   *
+   * @param bucketUri the root URI of the bucket, e.g. s3://bucket/
+   * @param conf the UFS configuration
+   * @param isThrottled whether an exception thrown by a request is a throttling response
+   * @return the limiter shared by the users of the bucket, or {@link #UNLIMITED} if adaptive
+   *         concurrency control is disabled
+   */
+  public static ObjectStoreConcurrencyLimiter get(String bucketUri, AlluxioConfiguration conf,
+      Predicate<Throwable> isThrottled) {
+    if (!conf.getBoolean(PropertyKey.UNDERFS_OBJECT_STORE_CONCURRENCY_LIMIT_ENABLED)) {
+      return UNLIMITED;
+    }
+    return LIMITERS.computeIfAbsent(bucketUri, uri -> {
+      ObjectStoreConcurrencyLimiter limiter = new ObjectStoreConcurrencyLimiter(
+          conf.getInt(PropertyKey.UNDERFS_OBJECT_STORE_CONCURRENCY_LIMIT_MIN),
+          conf.getInt(PropertyKey.UNDERFS_OBJECT_STORE_CONCURRENCY_LIMIT_MAX), isThrottled);
+      limiter.registerMetrics(MetricsSystem.escape(new AlluxioURI(uri)));
+      return limiter;
+    });
+  }
+
+  /**
+   * @param minLimit the lowest limit
+   * @param maxLimit the highest and initial limit
+   * @param isThrottled whether an exception thrown by a request is a throttling response
+   */
+  @VisibleForTesting
+  ObjectStoreConcurrencyLimiter(int minLimit, int maxLimit, Predicate<Throwable> isThrottled) {
+    Preconditions.checkArgument(minLimit > 0 && minLimit <= maxLimit,
+        "Invalid concurrency limits [%s, %s]", minLimit, maxLimit);
+    mMinLimit = minLimit;
+    mMaxLimit = maxLimit;
+    mIsThrottled = isThrottled;
+    mLimit = maxLimit;
+  }
+
+  private void registerMetrics(String escapedUri) {
+    MetricsSystem.registerGaugeIfAbsent(Metric.getMetricNameWithTags(
+        MetricKey.PROCESS_UFS_CONCURRENCY_LIMIT.getName(), MetricInfo.TAG_UFS, escapedUri),
+        this::getLimit);
+    MetricsSystem.registerGaugeIfAbsent(Metric.getMetricNameWithTags(
+        MetricKey.PROCESS_UFS_REQUESTS_IN_FLIGHT.getName(), MetricInfo.TAG_UFS, escapedUri),
+        this::getInFlight);
+    mThrottledCounter = MetricsSystem.counter(Metric.getMetricNameWithTags(
+        MetricKey.PROCESS_UFS_REQUESTS_THROTTLED.getName(), MetricInfo.TAG_UFS, escapedUri));
+  }
+
+  /**
+   * Runs a request once the number of requests in flight is below the limit.
+   *
+   * @param request the request
+   * @param <T> the type of the result
+   * @return the result of the request
+   */
+  public <T> T call(Request<T> request) throws IOException {
+    if (this == UNLIMITED || mHoldingPermit.get()) {
+      return request.apply();
+    }
+    long epoch = acquire();
+    mHoldingPermit.set(true);
+    boolean succeeded = false;
+    boolean throttled = false;
+    try {
+      T result = request.apply();
+      succeeded = true;
+      return result;
+    } catch (IOException | RuntimeException e) {
+      throttled = mIsThrottled.test(e);
+      throw e;
+    } finally {
+      mHoldingPermit.remove();
+      release(epoch, succeeded, throttled);
+    }
+  }
+
+  /**
+   * Runs a request once the number of requests in flight is below the limit.
+   *
+   * @param request the request
+   */
+  public void run(RunnableThrowsIOException request) throws IOException {
+    call(() -> {
+      request.run();
+      return null;
+    });
+  }
+
+  /**
+   * @param e an exception thrown by a request
+   * @return whether the exception is a throttling response of the store
+   */
+  public boolean isThrottled(Throwable e) {
+    return mIsThrottled.test(e);
+  }
+
+  /**
+   * @return the current limit of requests in flight
+   */
+  public int getLimit() {
+    mLock.lock();
+    try {
+      return (int) mLimit;
+    } finally {
+      mLock.unlock();
+    }
+  }
+
+  /**
+   * @return the number of requests in flight
+   */
+  public int getInFlight() {
+    mLock.lock();
+    try {
+      return mInFlight;
+    } finally {
+      mLock.unlock();
+    }
+  }
+
+  private long acquire() throws IOException {
+    mLock.lock();
+    try {
+      while (mInFlight >= (int) mLimit) {
+        mPermitReleased.await();
+      }
+      mInFlight++;
+      return mEpoch;
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new InterruptedIOException("Interrupted while waiting to send a request");
+    } finally {
+      mLock.unlock();
+    }
+  }
+
+  private void release(long epoch, boolean succeeded, boolean throttled) {
+    mLock.lock();
+    try {
+      mInFlight--;
+      if (throttled) {
+        if (epoch == mEpoch) {
+          mEpoch++;
+          mLimit = Math.max(mMinLimit, mLimit / 2);
+          LOG.debug("Request throttled, decreased the concurrency limit to {}", (int) mLimit);
+        }
+      } else if (succeeded) {
+        mLimit = Math.min(mMaxLimit, mLimit + 1 / mLimit);
+      }
+      // the limit may have grown by one, letting a second waiter through
+      mPermitReleased.signalAll();
+    } finally {
+      mLock.unlock();
+    }
+    if (throttled && mThrottledCounter != null) {
+      mThrottledCounter.inc();
+    }
+  }
+
+  /**
+   * A request to the object store.
+   *
+   * @param <T> the type of the result
+   */
+  @FunctionalInterface
+  public interface Request<T> {
+    /**
+     * Sends the request.
+     *
+     * @return the result of the request
+     */
+    T apply() throws IOException;
+  }
+}
@@ -12,7 +12,6 @@
 package alluxio.underfs;
 
 import alluxio.AlluxioURI;
-import alluxio.collections.Pair;
 import alluxio.conf.AlluxioConfiguration;
 import alluxio.conf.PropertyKey;
 import alluxio.exception.ExceptionMessage;
@@ -46,6 +45,7 @@ import java.io.OutputStream;
 import java.net.SocketException;
 import java.net.UnknownHostException;
 import java.text.MessageFormat;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
@@ -56,10 +56,16 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.NavigableMap;
+import java.util.NoSuchElementException;
+import java.util.Queue;
 import java.util.TreeMap;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
 import java.util.function.Supplier;
 import javax.annotation.Nullable;
 import javax.annotation.concurrent.ThreadSafe;
@@ -78,6 +84,12 @@ public abstract class ObjectUnderFileSystem extends BaseUnderFileSystem {
   /** Value used to indicate nested structure. */
   protected static final char PATH_SEPARATOR_CHAR = '/';
 
+  /** Prefix of the name of the object marking that a directory is being renamed into. */
+  private static final String RENAME_MARKER_PREFIX = ".alluxio_rename_";
+
+  /** Interval between the logs of the progress of directory renames. */
+  private static final long RENAME_PROGRESS_INTERVAL_MS = 30_000;
+
   /**
    * Value used to indicate nested structure. This is a string representation of
    * {@link ObjectUnderFileSystem#PATH_SEPARATOR_CHAR}.
@@ -91,8 +103,16 @@ public abstract class ObjectUnderFileSystem extends BaseUnderFileSystem {
   protected final Supplier<String> mRootKeySupplier =
       CommonUtils.memoize(this::getRootKey);
 
+  /** Limits the requests in flight to the bucket, shared by the users of the bucket. */
+  private final Supplier<ObjectStoreConcurrencyLimiter> mConcurrencyLimiter =
+      CommonUtils.memoize(() -> ObjectStoreConcurrencyLimiter.get(
+          mUri.getRootPath(), mUfsConf, getThrottlingClassifier()));
+
   private final boolean mBreadcrumbsEnabled;
 
+  /** The number of directories listed concurrently by recursive listings. */
+  private final int mParallelListingShards;
+
   /**
    * Constructs an {@link ObjectUnderFileSystem}.
    *
@@ -105,6 +125,8 @@ public abstract class ObjectUnderFileSystem extends BaseUnderFileSystem {
     mExecutorService = ExecutorServiceFactories.fixedThreadPool(
         "alluxio-underfs-object-service-worker", numThreads).create();
     mBreadcrumbsEnabled = mUfsConf.getBoolean(PropertyKey.UNDERFS_OBJECT_STORE_BREADCRUMBS_ENABLED);
+    mParallelListingShards =
+        mUfsConf.getInt(PropertyKey.UNDERFS_OBJECT_STORE_PARALLEL_LISTING_SHARDS);
   }
 
   /**
@@ -644,21 +666,27 @@ public abstract class ObjectUnderFileSystem extends BaseUnderFileSystem {
 
   @Override
   public UfsStatus[] listStatus(String path) throws IOException {
-    return listInternal(path, ListOptions.defaults());
+    return listStatus(path, ListOptions.defaults());
   }
 
   @Override
   public UfsStatus[] listStatus(String path, ListOptions options)
       throws IOException {
-    return listInternal(path, options);
+    UfsStatus[] statuses = listInternal(path, options);
+    if (statuses == null) {
+      return null;
+    }
+    return Arrays.stream(statuses).filter(status -> !isRenameMarker(status))
+        .toArray(UfsStatus[]::new);
   }
 
   @Nullable
   @Override
   public Iterator<UfsStatus> listStatusIterable(
       String path, ListOptions options, String startAfter, int batchSize) throws IOException {
-    final ObjectListingChunk chunk =
-        getObjectListingChunkForPath(path, options.isRecursive(), startAfter, batchSize);
+    boolean sharded = isShardedListing(options) && startAfter == null && batchSize == 0;
+    final ObjectListingChunk chunk = getObjectListingChunkForPath(
+        path, options.isRecursive() && !sharded, startAfter, batchSize);
     if (chunk == null) {
       String keyAsFolder = convertToFolderName(stripPrefixIfPresent(path));
       if (getObjectStatus(keyAsFolder) != null) {
@@ -667,7 +695,27 @@ public abstract class ObjectUnderFileSystem extends BaseUnderFileSystem {
       }
       return null;
     }
-    return new UfsStatusIterator(path, options.isRecursive(), chunk);
+    Iterator<UfsStatus> iterator = sharded ? new ShardedUfsStatusIterator(path, chunk)
+        : new UfsStatusIterator(path, options.isRecursive(), chunk);
+    return Iterators.filter(iterator, status -> !isRenameMarker(status));
+  }
+
+  /**
+   * Checks whether a listed path is the marker of a rename in progress. The markers are hidden
+   * from the listings, except from {@link #listInternal} so that deleting the destination of a
+   * rename deletes its marker.
+   *
+   * @param status the status of a listed path
+   * @return whether the path is the marker of a rename
+   */
+  private static boolean isRenameMarker(UfsStatus status) {
+    String name = status.getName();
+    return status.isFile() && name.startsWith(RENAME_MARKER_PREFIX,
+        name.lastIndexOf(PATH_SEPARATOR_CHAR) + 1);
+  }
+
+  private boolean isShardedListing(ListOptions options) {
+    return options.isRecursive() && mParallelListingShards > 1;
   }
 
   @Override
@@ -719,107 +767,166 @@ public abstract class ObjectUnderFileSystem extends BaseUnderFileSystem {
 
   @Override
   public boolean renameDirectory(String src, String dst) throws IOException {
+    String markerKey = getRenameMarkerKey(src, dst);
+    boolean resuming = false;
     if (exists(dst)) {
-      LOG.error("Unable to rename {} to {} because destination already exists.", src, dst);
+      resuming = getObjectStatus(markerKey) != null;
+      if (!resuming) {
+        LOG.error("Unable to rename {} to {} because destination already exists.", src, dst);
+        return false;
+      }
+      LOG.info("Resuming the interrupted rename of {} to {}", src, dst);
+    }
+    Iterator<UfsStatus> children =
+        listStatusIterable(src, ListOptions.defaults().setRecursive(true), null, 0);
+    if (children == null) {
+      if (resuming) {
+        // every object was moved before the rename was interrupted
+        return deleteObject(markerKey);
+      }
+      LOG.error("Failed to list directory {}, aborting rename.", src);
       return false;
     }
+    if (!resuming && !createEmptyObject(markerKey)) {
+      LOG.warn("Failed to create the marker of the rename of {} to {}, the rename will not be "
+          + "resumable.", src, dst);
+    }
     // Use a global delete buffer, in order to merge delete object requests
     DeleteBuffer deleteBuffer = new DeleteBuffer();
-    boolean result = renameDirectoryInternal(src, dst, deleteBuffer);
+    RenamePipeline pipeline = new RenamePipeline(src, dst, deleteBuffer);
+    boolean result = pipeline.run(children);
     int fileDeleted = deleteBuffer.getResult().size();
     if (fileDeleted != deleteBuffer.mEntriesAdded) {
       LOG.warn("Failed to rename directory, successfully deleted {} files out of {}.",
           fileDeleted, deleteBuffer.mEntriesAdded);
       return false;
     }
-    return result;
-  }
-
-  private boolean renameDirectoryInternal(String src, String dst, DeleteBuffer deleteBuffer)
-      throws IOException {
-    UfsStatus[] children = listInternal(src, ListOptions.defaults());
-    if (children == null) {
-      LOG.error("Failed to list directory {}, aborting rename.", src);
-      return false;
-    }
-    // Source exists and is a directory, and destination does not exist
-    // Rename the source folder first
-    String srcKey = stripPrefixIfPresent(convertToFolderName(src));
-    if (!copyObject(srcKey, stripPrefixIfPresent(convertToFolderName(dst)))) {
-      return false;
-    }
-    deleteBuffer.add(srcKey);
-
-    // Rename each child in the src folder to destination/child
-    // a. Since renames are a copy operation, files are added to a buffer and processed concurrently
-    // b. Pseudo-directories are metadata only operations are not added to the buffer
-    RenameBuffer buffer = new RenameBuffer(deleteBuffer);
-    for (UfsStatus child : children) {
-      String childSrcPath = PathUtils.concatPath(src, child.getName());
-      String childDstPath = PathUtils.concatPath(dst, child.getName());
-      if (child.isDirectory()) {
-        // Recursive call
-        if (!renameDirectoryInternal(childSrcPath, childDstPath, deleteBuffer)) {
-          LOG.error("Failed to rename path {} to {}, aborting rename.", childSrcPath, childDstPath);
-          return false;
-        }
-      } else {
-        buffer.add(new Pair<>(childSrcPath, childDstPath));
-      }
-    }
-    // Get result of parallel file renames
-    int filesRenamed = buffer.getResult().size();
-    if (filesRenamed != buffer.mEntriesAdded) {
-      LOG.warn("Failed to rename directory, successfully renamed {} files out of {}.",
-          filesRenamed, buffer.mEntriesAdded);
-      return false;
-    }
-    return true;
+    return result && deleteObject(markerKey);
   }
 
-  @Override
-  public boolean renameRenamableDirectory(String src, String dst) throws IOException {
-    return retryOnFalse(() -> renameDirectory(src, dst),
-        () -> "rename directory from " + src + " to " + dst);
+  /**
+   * Gets the key of the object marking that a directory is being renamed, which allows to
+   * resume the rename once the destination exists. The marker is created under the destination
+   * so that it is deleted along with it, and named after the source so that only a rename from
+   * the same source can be resumed.
+   *
+   * @param src the source path
+   * @param dst the destination path
+   * @return the key of the marker
+   */
+  private String getRenameMarkerKey(String src, String dst) {
+    return stripPrefixIfPresent(PathUtils.concatPath(dst,
+        RENAME_MARKER_PREFIX + new AlluxioURI(stripPrefixIfPresent(src)).hash()));
   }
 
   /**
-   * File paths added to a {@link RenameBuffer} will be renamed concurrently.
+   * Renames the objects of a directory listed by a single recursive listing. Each object is
+   * copied as soon as it is listed, with a bounded number of copies in flight, and its source is
+   * deleted in batches through the {@link DeleteBuffer} once it is copied. The objects copied
+   * before a failure are not copied back, the rename being resumed by renaming the directory
+   * again.
    */
-  @ThreadSafe
-  protected class RenameBuffer extends OperationBuffer<Pair<String, String>> {
+  private final class RenamePipeline {
+    private final String mSrc;
+    private final String mDst;
     private final DeleteBuffer mDeleteBuffer;
+    private final int mMaxCopies;
+    private final Semaphore mCopies;
+    private final AtomicLong mCopied = new AtomicLong();
+    private final AtomicLong mFailed = new AtomicLong();
+    private long mListed = 0;
+    private long mLastProgressMs;
+
+    RenamePipeline(String src, String dst, DeleteBuffer deleteBuffer) {
+      mSrc = src;
+      mDst = dst;
+      mDeleteBuffer = deleteBuffer;
+      mMaxCopies = 2 * mUfsConf.getInt(PropertyKey.UNDERFS_OBJECT_STORE_SERVICE_THREADS);
+      mCopies = new Semaphore(mMaxCopies);
+      mLastProgressMs = System.currentTimeMillis();
+    }
 
     /**
-     * Construct a new {@link RenameBuffer} instance.
-     *
-     * @param deleteBuffer delete object buffer
+     * @param children the recursive listing of the source directory
+     * @return whether every object was copied
      */
-    public RenameBuffer(DeleteBuffer deleteBuffer) {
-      mDeleteBuffer = deleteBuffer;
+    boolean run(Iterator<UfsStatus> children) throws IOException {
+      try {
+        if (!copy(mSrc, mDst, true)) {
+          return false;
+        }
+        while (children.hasNext() && mFailed.get() == 0) {
+          UfsStatus child = children.next();
+          mListed++;
+          String childSrc = PathUtils.concatPath(mSrc, child.getName());
+          String childDst = PathUtils.concatPath(mDst, child.getName());
+          mCopies.acquire();
+          try {
+            mExecutorService.submit(() -> {
+              try {
+                copy(childSrc, childDst, child.isDirectory());
+              } catch (Throwable t) {
+                LOG.error("Failed to rename {} to {}", childSrc, childDst, t);
+                mFailed.incrementAndGet();
+              } finally {
+                mCopies.release();
+              }
+            });
+          } catch (RejectedExecutionException e) {
+            mCopies.release();
+            throw new IOException(e);
+          }
+          logProgress();
+        }
+        // wait for the copies in flight
+        mCopies.acquire(mMaxCopies);
+        mCopies.release(mMaxCopies);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new IOException("Interrupted while renaming " + mSrc + " to " + mDst, e);
+      }
+      if (mFailed.get() != 0) {
+        LOG.warn("Failed to rename directory {} to {}, {} of the {} objects listed failed to be "
+            + "renamed.", mSrc, mDst, mFailed.get(), mListed);
+        return false;
+      }
+      LOG.debug("Renamed {} objects from {} to {}", mCopied.get(), mSrc, mDst);
+      return true;
     }
 
-    @Override
-    protected int getBatchSize() {
-      return 1;
+    private boolean copy(String src, String dst, boolean isDirectory) throws IOException {
+      String srcKey = stripPrefixIfPresent(isDirectory ? convertToFolderName(src) : src);
+      String dstKey = stripPrefixIfPresent(isDirectory ? convertToFolderName(dst) : dst);
+      if (isDirectory && getObjectStatus(srcKey) == null) {
+        // the directory has no folder object, or it was moved before the rename was interrupted
+        return true;
+      }
+      if (copyObject(srcKey, dstKey)) {
+        mDeleteBuffer.add(srcKey);
+        mCopied.incrementAndGet();
+        return true;
+      }
+      LOG.error("Failed to copy {} to {}, aborting rename.", srcKey, dstKey);
+      mFailed.incrementAndGet();
+      return false;
     }
 
-    @Override
-    protected List<Pair<String, String>> operate(List<Pair<String, String>> paths)
-        throws IOException {
-      List<Pair<String, String>> succeeded = new ArrayList<>();
-      for (Pair<String, String> pathPair : paths) {
-        String src = stripPrefixIfPresent(pathPair.getFirst());
-        String dst = stripPrefixIfPresent(pathPair.getSecond());
-        if (copyObject(src, dst)) {
-          mDeleteBuffer.add(src);
-          succeeded.add(pathPair);
-        }
+    private void logProgress() {
+      long now = System.currentTimeMillis();
+      if (now - mLastProgressMs >= RENAME_PROGRESS_INTERVAL_MS) {
+        mLastProgressMs = now;
+        LOG.info("Renaming {} to {}: {} objects listed, {} copied", mSrc, mDst, mListed,
+            mCopied.get());
       }
-      return succeeded;
     }
   }
 
+  @Override
+  public boolean renameRenamableDirectory(String src, String dst) throws IOException {
+    return retryOnFalse(() -> renameDirectory(src, dst),
+        () -> "rename directory from " + src + " to " + dst);
+  }
+
   @Override
   public boolean renameFile(String src, String dst) throws IOException {
     if (!isFile(src)) {
@@ -1164,7 +1271,9 @@ public abstract class ObjectUnderFileSystem extends BaseUnderFileSystem {
    */
   @Nullable
   protected UfsStatus[] listInternal(String path, ListOptions options) throws IOException {
-    ObjectListingChunk chunk = getObjectListingChunkForPath(path, options.isRecursive());
+    boolean sharded = isShardedListing(options);
+    ObjectListingChunk chunk =
+        getObjectListingChunkForPath(path, options.isRecursive() && !sharded);
     if (chunk == null) {
       String keyAsFolder = convertToFolderName(stripPrefixIfPresent(path));
       if (getObjectStatus(keyAsFolder) != null) {
@@ -1173,6 +1282,11 @@ public abstract class ObjectUnderFileSystem extends BaseUnderFileSystem {
       }
       return null;
     }
+    if (sharded) {
+      List<UfsStatus> statuses = new ArrayList<>();
+      new ShardedUfsStatusIterator(path, chunk).forEachRemaining(statuses::add);
+      return statuses.toArray(new UfsStatus[0]);
+    }
     String keyPrefix = PathUtils.normalizePath(stripPrefixIfPresent(path), PATH_SEPARATOR);
     keyPrefix = keyPrefix.equals(PATH_SEPARATOR) ? "" : keyPrefix;
     Map<String, UfsStatus> children = new HashMap<>();
@@ -1250,6 +1364,149 @@ public abstract class ObjectUnderFileSystem extends BaseUnderFileSystem {
     }
   }
 
+  /**
+   * The UFS status iterator of recursive listings which lists the pseudo-directories directly
+   * under the listed path concurrently, each with its own paginated listing. At most
+   * {@link PropertyKey#UNDERFS_OBJECT_STORE_PARALLEL_LISTING_SHARDS} directories are listed at a
+   * time, each with a single chunk fetched ahead, so the memory used does not grow with the
+   * size of the listing. Unlike {@link UfsStatusIterator}, the statuses are not sorted across
+   * directories.
+   */
+  public class ShardedUfsStatusIterator implements Iterator<UfsStatus> {
+    private final String mKeyPrefix;
+    /** The remaining listing of the children of the path, null once it is consumed. */
+    @Nullable
+    private ObjectListingChunk mChildrenChunk;
+    private String mLastChildKey = null;
+    /** Names of the directories under the path waiting to be listed. */
+    private final Queue<String> mPendingShards = new ArrayDeque<>();
+    private final List<Shard> mActiveShards = new ArrayList<>();
+    private Iterator<UfsStatus> mIterator = Collections.emptyIterator();
+
+    /**
+     * Creates the iterator.
+     * @param path the path
+     * @param firstChunk the first chunk of the non-recursive listing of the path
+     */
+    public ShardedUfsStatusIterator(String path, ObjectListingChunk firstChunk) {
+      String keyPrefix = PathUtils.normalizePath(stripPrefixIfPresent(path), PATH_SEPARATOR);
+      mKeyPrefix = keyPrefix.equals(PATH_SEPARATOR) ? "" : keyPrefix;
+      mChildrenChunk = firstChunk;
+    }
+
+    @Override
+    public boolean hasNext() {
+      try {
+        while (!mIterator.hasNext()) {
+          while (mActiveShards.size() < mParallelListingShards && !mPendingShards.isEmpty()) {
+            mActiveShards.add(new Shard(mPendingShards.remove()));
+          }
+          if (mChildrenChunk != null && mPendingShards.isEmpty()) {
+            // only list more children once the directories found so far are being listed
+            mIterator = listChildren();
+          } else if (!mActiveShards.isEmpty()) {
+            mIterator = listShard();
+          } else {
+            return false;
+          }
+        }
+        return true;
+      } catch (IOException e) {
+        throw new RuntimeException(e);
+      }
+    }
+
+    @Override
+    public UfsStatus next() {
+      if (!hasNext()) {
+        throw new NoSuchElementException();
+      }
+      return mIterator.next();
+    }
+
+    private Iterator<UfsStatus> listChildren() throws IOException {
+      NavigableMap<String, UfsStatus> children = new TreeMap<>();
+      populateUfsStatus(mKeyPrefix, mChildrenChunk, false, children);
+      mChildrenChunk = mChildrenChunk.getNextChunk();
+      if (mLastChildKey != null) {
+        // a directory may be both a common prefix and a folder object in different chunks
+        children = children.tailMap(mLastChildKey, false);
+      }
+      if (!children.isEmpty()) {
+        mLastChildKey = children.lastKey();
+      }
+      for (UfsStatus child : children.values()) {
+        if (child.isDirectory()) {
+          mPendingShards.add(child.getName());
+        }
+      }
+      return children.values().iterator();
+    }
+
+    private Iterator<UfsStatus> listShard() throws IOException {
+      // prefer a shard whose chunk has arrived, otherwise wait for the oldest one
+      Shard shard = mActiveShards.get(0);
+      for (Shard activeShard : mActiveShards) {
+        if (activeShard.mNextChunk.isDone()) {
+          shard = activeShard;
+          break;
+        }
+      }
+      ObjectListingChunk chunk = shard.getNextChunk();
+      if (chunk == null) {
+        mActiveShards.remove(shard);
+        return Collections.emptyIterator();
+      }
+      NavigableMap<String, UfsStatus> statuses = new TreeMap<>();
+      populateUfsStatus(shard.mKeyPrefix, chunk, true, statuses);
+      shard.mNextChunk = mExecutorService.submit(chunk::getNextChunk);
+      if (shard.mLastKey != null) {
+        // directories inferred from the keys of a chunk may have been inferred before
+        statuses = statuses.tailMap(shard.mLastKey, false);
+      }
+      if (!statuses.isEmpty()) {
+        shard.mLastKey = statuses.lastKey();
+      }
+      for (UfsStatus status : statuses.values()) {
+        status.setName(PathUtils.concatPath(shard.mName, status.getName()));
+      }
+      return statuses.values().iterator();
+    }
+
+    /**
+     * The listing of a directory under the path.
+     */
+    private final class Shard {
+      private final String mName;
+      private final String mKeyPrefix;
+      private Future<ObjectListingChunk> mNextChunk;
+      private String mLastKey = null;
+
+      Shard(String name) {
+        mName = name;
+        mKeyPrefix = PathUtils.normalizePath(
+            ShardedUfsStatusIterator.this.mKeyPrefix + name, PATH_SEPARATOR);
+        mNextChunk = mExecutorService.submit(
+            () -> getObjectListingChunk(mKeyPrefix, true, null, 0));
+      }
+
+      @Nullable
+      ObjectListingChunk getNextChunk() throws IOException {
+        try {
+          return mNextChunk.get();
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+          throw new IOException("Interrupted while listing " + mKeyPrefix, e);
+        } catch (ExecutionException e) {
+          if (e.getCause() instanceof IOException) {
+            throw (IOException) e.getCause();
+          }
+          throw new IOException("Failed to list " + mKeyPrefix, e.getCause());
+        }
+      }
+    }
+  }
+
   /**
    * Creates a directory flagged file with the key and folder suffix.
    *
@@ -1330,7 +1587,10 @@ public abstract class ObjectUnderFileSystem extends BaseUnderFileSystem {
    * @throws IOException Exceptions that do not need to be tried again will be thrown directly
    */
   private void handleRetriablException(IOException e) throws IOException {
-    if (e instanceof EOFException
+    if (getConcurrencyLimiter().isThrottled(e)) {
+      LOG.debug("retry policy meet throttling exception, and will retry, e:", e);
+      return;
+    } else if (e instanceof EOFException
         || e instanceof UnknownHostException
         || e instanceof ConnectTimeoutException) {
       LOG.warn("retry policy meet exception, and will retry, e:", e);
@@ -1356,17 +1616,33 @@ public abstract class ObjectUnderFileSystem extends BaseUnderFileSystem {
   protected <T> T retryOnException(ObjectStoreOperation<T> op,
                                    Supplier<String> description) throws IOException {
     RetryPolicy retryPolicy = getRetryPolicy();
+    ObjectStoreConcurrencyLimiter limiter = getConcurrencyLimiter();
     IOException thrownException = null;
+    RuntimeException thrownRuntimeException = null;
     while (retryPolicy.attempt()) {
       try {
+        // operations may issue several requests, which acquire the limiter themselves
         return op.apply();
       } catch (IOException e) {
         LOG.debug("Attempt {} to {} failed with exception : {}", retryPolicy.getAttemptCount(),
             description.get(), e.toString());
         handleRetriablException(e);
         thrownException = e;
+        thrownRuntimeException = null;
+      } catch (RuntimeException e) {
+        // object store clients report throttling with unchecked exceptions as well
+        if (!limiter.isThrottled(e)) {
+          throw e;
+        }
+        LOG.debug("Attempt {} to {} was throttled : {}", retryPolicy.getAttemptCount(),
+            description.get(), e.toString());
+        thrownRuntimeException = e;
+        thrownException = null;
       }
     }
+    if (thrownRuntimeException != null) {
+      throw thrownRuntimeException;
+    }
     throw thrownException;
   }
 
@@ -1392,6 +1668,28 @@ public abstract class ObjectUnderFileSystem extends BaseUnderFileSystem {
     return false;
   }
 
+  /**
+   * Gets the classifier of the exceptions thrown by the object store client which report
+   * that a request was throttled, e.g. HTTP 503 SlowDown responses. The classifier is shared by
+   * all the users of the bucket, so it should not capture this instance.
+   *
+   * @return whether an exception reports a throttled request
+   */
+  protected Predicate<Throwable> getThrottlingClassifier() {
+    return e -> false;
+  }
+
+  /**
+   * Gets the limiter of the requests in flight to the bucket. Implementations acquire it around
+   * each request sent by the object store client, rather than around the operations of this
+   * class, which may send several requests.
+   *
+   * @return the limiter of the requests in flight to the bucket
+   */
+  protected ObjectStoreConcurrencyLimiter getConcurrencyLimiter() {
+    return mConcurrencyLimiter.get();
+  }
+
   /**
    * @return the exponential backoff retry policy to use
    */
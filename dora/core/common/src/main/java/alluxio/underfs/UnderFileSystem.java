@@ -440,6 +440,18 @@ public interface UnderFileSystem extends Closeable, AsyncUfsClient {
    */
   UfsFileStatus getFileStatus(String path, GetStatusOptions options) throws IOException;
 
+  /**
+   * Gets the MD5 of the content of a file. The content hash of a file status is not always an
+   * MD5 even when it looks like one, e.g. the ETag of an encrypted object, so only the under
+   * storage knows whether it can be compared with the MD5 of the data read.
+   *
+   * @param path the path to the file
+   * @return the hex encoded MD5 of the file content, or empty if it is not known
+   */
+  default Optional<String> getContentMd5(String path) throws IOException {
+    return Optional.empty();
+  }
+
   /**
    * Gets the file status.
    *
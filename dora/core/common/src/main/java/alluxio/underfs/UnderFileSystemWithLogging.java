@@ -50,6 +50,7 @@ import java.util.Arrays;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.function.Consumer;
 import javax.annotation.Nullable;
 
@@ -548,6 +549,26 @@ public class UnderFileSystemWithLogging implements UnderFileSystem {
     });
   }
 
+  @Override
+  public Optional<String> getContentMd5(final String path) throws IOException {
+    return call(new UfsCallable<Optional<String>>() {
+      @Override
+      public Optional<String> call() throws IOException {
+        return mUnderFileSystem.getContentMd5(path);
+      }
+
+      @Override
+      public String methodName() {
+        return "GetContentMd5";
+      }
+
+      @Override
+      public String toString() {
+        return String.format("path=%s", path);
+      }
+    });
+  }
+
   @Override
   public UfsFileStatus getExistingFileStatus(final String path) throws IOException {
     return call(new UfsCallable<UfsFileStatus>() {
@@ -15,6 +15,7 @@ import alluxio.conf.AlluxioConfiguration;
 import alluxio.conf.Configuration;
 import alluxio.conf.PropertyKey;
 import alluxio.network.ChannelType;
+import alluxio.network.protocol.MultiplexedStreamCodec;
 import alluxio.util.ThreadFactoryUtils;
 import alluxio.util.io.FileUtils;
 import alluxio.wire.WorkerNetAddress;
@@ -34,6 +35,7 @@ import io.netty.channel.nio.NioEventLoopGroup;
 import io.netty.channel.socket.SocketChannel;
 import io.netty.channel.socket.nio.NioServerSocketChannel;
 import io.netty.channel.socket.nio.NioSocketChannel;
+import io.netty.handler.ssl.SslHandler;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -155,6 +157,25 @@ public final class NettyUtils {
     channel.config().setAutoRead(false);
   }
 
+  /**
+   * Checks whether file regions written to the channel are sent as they are, by sendfile when
+   * the transport supports it. They are not when the data is encrypted by TLS or framed into a
+   * multiplexed stream, either on the channel or on the connection it is a stream of, and
+   * the data has to be copied into buffers instead.
+   *
+   * @param channel the netty channel
+   * @return true if file regions can be written to the channel
+   */
+  public static boolean isFileRegionSupported(Channel channel) {
+    for (Channel c = channel; c != null && !(c instanceof ServerChannel); c = c.parent()) {
+      if (c.pipeline().get(SslHandler.class) != null
+          || c.pipeline().get(MultiplexedStreamCodec.class) != null) {
+        return false;
+      }
+    }
+    return true;
+  }
+
   /**
    * @param workerNetAddress the worker address
    * @return true if the domain socket is supported by the worker
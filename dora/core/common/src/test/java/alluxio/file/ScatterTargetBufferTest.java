@@ -0,0 +1,66 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.file;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import alluxio.util.io.BufferUtils;
+
+import com.google.common.collect.ImmutableList;
+import io.netty.buffer.Unpooled;
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Tests for {@link ScatterTargetBuffer}.
+ */
+public final class ScatterTargetBufferTest {
+  @Test
+  public void scatterAcrossRanges() {
+    ByteBuffer first = ByteBuffer.allocate(5);
+    ByteBuffer second = ByteBuffer.allocate(10);
+    List<ReadRange> ranges = ImmutableList.of(new ReadRange(100, first),
+        new ReadRange(0, ByteBuffer.allocate(0)), new ReadRange(200, second));
+    ScatterTargetBuffer buffer = new ScatterTargetBuffer(ranges);
+    assertEquals(15, buffer.remaining());
+    buffer.writeBytes(Unpooled.wrappedBuffer(BufferUtils.getIncreasingByteArray(0, 3)));
+    buffer.writeBytes(BufferUtils.getIncreasingByteArray(3, 9), 0, 9);
+    assertEquals(12, buffer.offset());
+    assertEquals(3, buffer.remaining());
+    assertArrayEquals(new int[] {5, 0, 7}, buffer.getBytesWritten());
+    assertArrayEquals(BufferUtils.getIncreasingByteArray(0, 5), first.array());
+    assertEquals(7, second.position());
+    assertArrayEquals(BufferUtils.getIncreasingByteArray(5, 7),
+        Arrays.copyOf(second.array(), 7));
+  }
+
+  @Test
+  public void resetOffset() {
+    ByteBuffer first = ByteBuffer.allocate(4);
+    ByteBuffer second = ByteBuffer.allocate(4);
+    ScatterTargetBuffer buffer = new ScatterTargetBuffer(
+        ImmutableList.of(new ReadRange(0, first), new ReadRange(10, second)));
+    buffer.writeBytes(BufferUtils.getIncreasingByteArray(6), 0, 6);
+    buffer.offset(2);
+    assertEquals(2, first.position());
+    assertEquals(0, second.position());
+    assertArrayEquals(new int[] {2, 0}, buffer.getBytesWritten());
+    buffer.writeBytes(BufferUtils.getIncreasingByteArray(10, 6), 0, 6);
+    assertArrayEquals(new byte[] {0, 1, 10, 11}, first.array());
+    assertArrayEquals(BufferUtils.getIncreasingByteArray(12, 4), second.array());
+    assertEquals(0, buffer.remaining());
+  }
+}
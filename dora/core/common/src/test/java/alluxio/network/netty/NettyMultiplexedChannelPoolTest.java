@@ -0,0 +1,253 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.network.netty;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import alluxio.Constants;
+import alluxio.network.protocol.MultiplexedProtocol;
+import alluxio.network.protocol.MultiplexedProtocolDetector;
+import alluxio.network.protocol.MultiplexedStreamCodec;
+import alluxio.network.protocol.RPCMessage;
+import alluxio.network.protocol.RPCMessageDecoder;
+import alluxio.network.protocol.RPCMessageEncoder;
+import alluxio.network.protocol.RPCProtoMessage;
+import alluxio.network.protocol.databuffer.DataBuffer;
+import alluxio.network.protocol.databuffer.NettyDataBuffer;
+import alluxio.proto.dataserver.Protocol;
+import alluxio.util.io.BufferUtils;
+import alluxio.util.proto.ProtoMessage;
+
+import io.netty.bootstrap.Bootstrap;
+import io.netty.bootstrap.ServerBootstrap;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInitializer;
+import io.netty.channel.ChannelPipeline;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.SimpleChannelInboundHandler;
+import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.channel.socket.nio.NioServerSocketChannel;
+import io.netty.handler.codec.http2.Http2MultiplexHandler;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tests for {@link NettyMultiplexedChannelPool} against a server accepting both plain and
+ * multiplexed connections.
+ */
+public final class NettyMultiplexedChannelPoolTest {
+  private static final long WINDOW_SIZE = 64 * Constants.KB;
+
+  private EventLoopGroup mServerGroup;
+  private Channel mServerChannel;
+  private InetSocketAddress mAddress;
+  private NettyMultiplexedChannelPool mPool;
+
+  @Before
+  public void before() throws Exception {
+    mServerGroup = new NioEventLoopGroup(2);
+    mServerChannel = new ServerBootstrap()
+        .group(mServerGroup)
+        .channel(NioServerSocketChannel.class)
+        .childHandler(new ChannelInitializer<Channel>() {
+          @Override
+          protected void initChannel(Channel ch) {
+            ch.pipeline().addLast(new MultiplexedProtocolDetector(
+                new ChannelInitializer<Channel>() {
+                  @Override
+                  protected void initChannel(Channel connection) {
+                    connection.pipeline().addLast(
+                        MultiplexedProtocol.createFrameCodec(true, WINDOW_SIZE, 1024));
+                    connection.pipeline().addLast(new Http2MultiplexHandler(
+                        new ChannelInitializer<Channel>() {
+                          @Override
+                          protected void initChannel(Channel stream) {
+                            stream.pipeline().addLast(new MultiplexedStreamCodec(true));
+                            addServerHandlers(stream.pipeline());
+                          }
+                        }));
+                    MultiplexedProtocol.expandConnectionWindow(connection, WINDOW_SIZE);
+                  }
+                }));
+            addServerHandlers(ch.pipeline());
+          }
+        })
+        .bind(new InetSocketAddress("localhost", 0)).sync().channel();
+    mAddress = (InetSocketAddress) mServerChannel.localAddress();
+    mPool = createPool(4, Constants.HOUR_MS);
+  }
+
+  @After
+  public void after() throws Exception {
+    mPool.close();
+    mServerChannel.close().sync();
+    mServerGroup.shutdownGracefully(0, 1, TimeUnit.SECONDS).sync();
+  }
+
+  @Test
+  public void streamsShareConnections() throws Exception {
+    List<Channel> streams = new ArrayList<>();
+    List<BlockingQueue<RPCProtoMessage>> responses = new ArrayList<>();
+    for (int i = 0; i < 10; i++) {
+      Channel stream = mPool.acquire();
+      responses.add(addResponseQueue(stream));
+      streams.add(stream);
+    }
+    assertEquals(3, mPool.getConnectionCount());
+    for (int i = 0; i < streams.size(); i++) {
+      streams.get(i).writeAndFlush(createRequest(i * 100, 1000 + i));
+    }
+    for (int i = 0; i < streams.size(); i++) {
+      checkResponse(responses.get(i).poll(10, TimeUnit.SECONDS), i * 100, 1000 + i);
+    }
+    for (Channel stream : streams) {
+      mPool.release(stream);
+    }
+    // the released streams are handed out again
+    for (int i = 0; i < 10; i++) {
+      Channel stream = mPool.acquire();
+      assertTrue(streams.contains(stream));
+      stream.writeAndFlush(createRequest(i, 10));
+      checkResponse(responses.get(streams.indexOf(stream)).poll(10, TimeUnit.SECONDS), i, 10);
+    }
+    assertEquals(3, mPool.getConnectionCount());
+  }
+
+  @Test
+  public void closeStreamsAfterGcThreshold() throws Exception {
+    NettyMultiplexedChannelPool pool = createPool(4, 10);
+    try {
+      Channel first = pool.acquire();
+      Channel second = pool.acquire();
+      pool.release(first);
+      Thread.sleep(50);
+      pool.release(second);
+      assertTrue(first.closeFuture().await(10, TimeUnit.SECONDS));
+      assertEquals(second, pool.acquire());
+      // closed streams are not handed out
+      second.close().sync();
+      pool.release(second);
+      Channel third = pool.acquire();
+      assertTrue(third.isActive());
+      assertEquals(1, pool.getConnectionCount());
+    } finally {
+      pool.close();
+    }
+  }
+
+  @Test
+  public void dataLargerThanWindow() throws Exception {
+    Channel stream = mPool.acquire();
+    BlockingQueue<RPCProtoMessage> responses = addResponseQueue(stream);
+    int length = 16 * (int) WINDOW_SIZE;
+    for (int i = 0; i < 3; i++) {
+      stream.writeAndFlush(createRequest(i, length));
+      checkResponse(responses.poll(10, TimeUnit.SECONDS), i, length);
+    }
+    mPool.release(stream);
+  }
+
+  @Test
+  public void plainConnection() throws Exception {
+    Bootstrap bootstrap = NettyClient.createClientBootstrap(mAddress).remoteAddress(mAddress);
+    Channel channel = bootstrap.connect().sync().channel();
+    try {
+      BlockingQueue<RPCProtoMessage> responses = addResponseQueue(channel);
+      channel.writeAndFlush(createRequest(10, 1000));
+      checkResponse(responses.poll(10, TimeUnit.SECONDS), 10, 1000);
+    } finally {
+      channel.close().sync();
+    }
+  }
+
+  @Test
+  public void closedConnectionReplaced() throws Exception {
+    NettyMultiplexedChannelPool pool = createPool(1, Constants.HOUR_MS);
+    try {
+      Channel stream = pool.acquire();
+      stream.parent().close().sync();
+      assertTrue(stream.closeFuture().await(10, TimeUnit.SECONDS));
+      assertEquals(0, pool.getConnectionCount());
+      stream = pool.acquire();
+      BlockingQueue<RPCProtoMessage> responses = addResponseQueue(stream);
+      stream.writeAndFlush(createRequest(0, 100));
+      checkResponse(responses.poll(10, TimeUnit.SECONDS), 0, 100);
+      assertEquals(1, pool.getConnectionCount());
+    } finally {
+      pool.close();
+    }
+  }
+
+  private NettyMultiplexedChannelPool createPool(int maxStreamsPerConnection,
+      long gcThresholdMs) {
+    Bootstrap bootstrap =
+        NettyClient.createMultiplexedClientBootstrap(mAddress).remoteAddress(mAddress);
+    return new NettyMultiplexedChannelPool(bootstrap, NettyClient.createStreamHandler(),
+        maxStreamsPerConnection, WINDOW_SIZE, gcThresholdMs);
+  }
+
+  private static void addServerHandlers(ChannelPipeline pipeline) {
+    pipeline.addLast(RPCMessage.createFrameDecoder());
+    pipeline.addLast(new RPCMessageDecoder());
+    pipeline.addLast(new RPCMessageEncoder());
+    pipeline.addLast(new SimpleChannelInboundHandler<RPCProtoMessage>() {
+      @Override
+      protected void channelRead0(ChannelHandlerContext ctx, RPCProtoMessage msg) {
+        Protocol.ReadRequest request = msg.getMessage().asReadRequest();
+        byte[] data = BufferUtils.getIncreasingByteArray(
+            (int) request.getOffset(), (int) request.getLength());
+        ctx.writeAndFlush(RPCProtoMessage.createOkResponse(
+            new NettyDataBuffer(Unpooled.wrappedBuffer(data))));
+      }
+    });
+  }
+
+  private static BlockingQueue<RPCProtoMessage> addResponseQueue(Channel channel) {
+    BlockingQueue<RPCProtoMessage> responses = new LinkedBlockingQueue<>();
+    channel.pipeline().addLast(new SimpleChannelInboundHandler<RPCProtoMessage>() {
+      @Override
+      protected void channelRead0(ChannelHandlerContext ctx, RPCProtoMessage msg) {
+        responses.add(msg);
+      }
+    });
+    return responses;
+  }
+
+  private static RPCProtoMessage createRequest(long offset, long length) {
+    return new RPCProtoMessage(new ProtoMessage(Protocol.ReadRequest.newBuilder()
+        .setOffset(offset).setLength(length).build()));
+  }
+
+  private static void checkResponse(RPCProtoMessage response, int offset, int length) {
+    DataBuffer payload = response.getPayloadDataBuffer();
+    try {
+      assertEquals(length, payload.readableBytes());
+      byte[] data = new byte[length];
+      payload.readBytes(data, 0, length);
+      assertArrayEquals(BufferUtils.getIncreasingByteArray(offset, length), data);
+    } finally {
+      payload.release();
+    }
+  }
+}
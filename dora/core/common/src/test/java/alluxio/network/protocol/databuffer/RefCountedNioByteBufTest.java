@@ -11,6 +11,7 @@
 
 package alluxio.network.protocol.databuffer;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertThrows;
 import static org.junit.Assert.assertTrue;
 
@@ -24,6 +25,7 @@ import org.junit.runner.RunWith;
 import org.junit.runners.Suite;
 
 import java.nio.ByteBuffer;
+import java.nio.ReadOnlyBufferException;
 
 @RunWith(Suite.class)
 @Suite.SuiteClasses({
@@ -70,6 +72,22 @@ public class RefCountedNioByteBufTest {
       assertTrue(BufferUtils.equalIncreasingByteBuffer(
           offset, length, dstBuf.slice(0, length).nioBuffer()));
     }
+
+    @Test
+    public void mappedBufRejectsWrites() {
+      ByteBuffer slice = ByteBuffer.allocateDirect(16);
+      slice.put(0, (byte) 7);
+      ByteBuf buf = MappedNioByteBuf.wrap(slice, () -> {});
+      assertTrue(buf.isReadOnly());
+      assertEquals(7, buf.getByte(0));
+      assertThrows(ReadOnlyBufferException.class, () -> buf.setByte(0, 1));
+      assertThrows(ReadOnlyBufferException.class, () -> buf.setLong(0, 1L));
+      assertThrows(ReadOnlyBufferException.class, () -> buf.setBytes(0, new byte[4]));
+      buf.clear();
+      assertThrows(ReadOnlyBufferException.class, () -> buf.writeInt(1));
+      assertEquals(7, slice.get(0));
+      buf.release();
+    }
   }
 
   private static class LeakyByteBuf extends RefCountedNioByteBuf {
@@ -0,0 +1,137 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.underfs;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import alluxio.ConfigurationRule;
+import alluxio.conf.Configuration;
+import alluxio.conf.PropertyKey;
+import alluxio.file.ByteArrayTargetBuffer;
+
+import com.google.common.collect.ImmutableMap;
+import org.junit.Rule;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Tests for {@link ObjectPositionReader}.
+ */
+public final class ObjectPositionReaderTest {
+  private static final int PART_SIZE = 1024;
+
+  @Rule
+  public ConfigurationRule mConf = new ConfigurationRule(ImmutableMap.of(
+      PropertyKey.UNDERFS_OBJECT_STORE_PARALLEL_READ_PART_SIZE, PART_SIZE + "B",
+      PropertyKey.UNDERFS_OBJECT_STORE_PARALLEL_READ_CONNECTIONS, 4),
+      Configuration.modifiableGlobal());
+
+  @Test
+  public void smallRead() throws Exception {
+    byte[] data = randomData(10 * PART_SIZE);
+    TestReader reader = new TestReader(data, data.length);
+    byte[] target = new byte[PART_SIZE];
+    assertEquals(PART_SIZE, reader.read(100, new ByteArrayTargetBuffer(target, 0), PART_SIZE));
+    assertArrayEquals(Arrays.copyOfRange(data, 100, 100 + PART_SIZE), target);
+    assertEquals(1, reader.mRequests.get());
+  }
+
+  @Test
+  public void splitRead() throws Exception {
+    byte[] data = randomData(10 * PART_SIZE + 17);
+    TestReader reader = new TestReader(data, data.length);
+    assertEquals(PART_SIZE, reader.getPartSize());
+    int length = data.length - 5;
+    byte[] target = new byte[length];
+    assertEquals(length, reader.read(5, new ByteArrayTargetBuffer(target, 0), length));
+    assertArrayEquals(Arrays.copyOfRange(data, 5, data.length), target);
+    assertEquals(11, reader.mRequests.get());
+  }
+
+  @Test
+  public void splitReadPastEnd() throws Exception {
+    byte[] data = randomData(4 * PART_SIZE);
+    TestReader reader = new TestReader(data, data.length);
+    byte[] target = new byte[data.length];
+    assertEquals(3 * PART_SIZE,
+        reader.read(PART_SIZE, new ByteArrayTargetBuffer(target, 0), data.length));
+    assertArrayEquals(Arrays.copyOfRange(data, PART_SIZE, data.length),
+        Arrays.copyOf(target, 3 * PART_SIZE));
+  }
+
+  @Test
+  public void shortObject() throws Exception {
+    byte[] data = randomData(3 * PART_SIZE + 10);
+    // the stored object is shorter than the length known to the reader
+    TestReader reader = new TestReader(data, 6 * PART_SIZE);
+    byte[] target = new byte[6 * PART_SIZE];
+    int read = reader.read(0, new ByteArrayTargetBuffer(target, 0), target.length);
+    assertTrue(read <= data.length);
+    assertArrayEquals(Arrays.copyOf(data, read), Arrays.copyOf(target, read));
+  }
+
+  @Test
+  public void readWithoutReadAheadBuffers() throws Exception {
+    byte[] data = randomData(6 * PART_SIZE + 3);
+    TestReader reader = new TestReader(data, data.length);
+    Semaphore buffers = ObjectPositionReader.getReadAheadBuffers();
+    int permits = buffers.drainPermits();
+    try {
+      // all the parts are read by the calling thread
+      byte[] target = new byte[data.length];
+      assertEquals(data.length, reader.read(0, new ByteArrayTargetBuffer(target, 0), data.length));
+      assertArrayEquals(data, target);
+      assertEquals(7, reader.mRequests.get());
+    } finally {
+      buffers.release(permits);
+    }
+    // the buffers are given back once the parts read ahead are consumed
+    byte[] target = new byte[data.length];
+    assertEquals(data.length, reader.read(0, new ByteArrayTargetBuffer(target, 0), data.length));
+    assertArrayEquals(data, target);
+    assertEquals(permits, buffers.availablePermits());
+  }
+
+  private static byte[] randomData(int length) {
+    byte[] data = new byte[length];
+    new Random(length).nextBytes(data);
+    return data;
+  }
+
+  private static final class TestReader extends ObjectPositionReader {
+    private final byte[] mData;
+    private final AtomicInteger mRequests = new AtomicInteger();
+
+    TestReader(byte[] data, long fileLength) {
+      super("bucket", "path", fileLength);
+      mData = data;
+    }
+
+    @Override
+    protected InputStream openObjectInputStream(long position, int bytesToRead)
+        throws IOException {
+      mRequests.incrementAndGet();
+      int start = (int) Math.min(position, mData.length);
+      return new ByteArrayInputStream(mData, start,
+          Math.min(bytesToRead, mData.length - start));
+    }
+  }
+}
@@ -0,0 +1,182 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.underfs;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import alluxio.conf.Configuration;
+import alluxio.conf.InstancedConfiguration;
+import alluxio.conf.PropertyKey;
+
+import com.google.common.util.concurrent.Uninterruptibles;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tests for {@link ObjectStoreConcurrencyLimiter}.
+ */
+public final class ObjectStoreConcurrencyLimiterTest {
+  private static final class ThrottledException extends IOException {
+  }
+
+  private final ObjectStoreConcurrencyLimiter mLimiter =
+      new ObjectStoreConcurrencyLimiter(2, 16, e -> e instanceof ThrottledException);
+
+  @Test
+  public void throttlingHalvesLimit() throws Exception {
+    assertEquals(16, mLimiter.getLimit());
+    throttle();
+    assertEquals(8, mLimiter.getLimit());
+    throttle();
+    assertEquals(4, mLimiter.getLimit());
+    throttle();
+    throttle();
+    assertEquals(2, mLimiter.getLimit());
+    assertEquals(0, mLimiter.getInFlight());
+  }
+
+  @Test
+  public void successGrowsLimit() throws Exception {
+    throttle();
+    throttle();
+    assertEquals(4, mLimiter.getLimit());
+    // each success grows the limit by the inverse of the limit
+    for (int i = 0; i < 5; i++) {
+      mLimiter.call(() -> null);
+    }
+    assertEquals(5, mLimiter.getLimit());
+    for (int i = 0; i < 1000; i++) {
+      mLimiter.call(() -> null);
+    }
+    assertEquals(16, mLimiter.getLimit());
+  }
+
+  @Test
+  public void otherFailuresKeepLimit() throws Exception {
+    try {
+      mLimiter.call(() -> {
+        throw new IOException("failure");
+      });
+      fail("Expected the failure to be rethrown");
+    } catch (IOException e) {
+      assertFalse(e instanceof ThrottledException);
+    }
+    assertEquals(16, mLimiter.getLimit());
+  }
+
+  @Test
+  public void concurrentThrottlingHalvesLimitOnce() throws Exception {
+    ExecutorService executor = Executors.newFixedThreadPool(4);
+    try {
+      CountDownLatch started = new CountDownLatch(4);
+      CountDownLatch throttled = new CountDownLatch(1);
+      Future<?>[] futures = new Future<?>[4];
+      for (int i = 0; i < futures.length; i++) {
+        futures[i] = executor.submit(() -> mLimiter.call(() -> {
+          started.countDown();
+          Uninterruptibles.awaitUninterruptibly(throttled);
+          throw new ThrottledException();
+        }));
+      }
+      assertTrue(started.await(10, TimeUnit.SECONDS));
+      throttled.countDown();
+      for (Future<?> future : futures) {
+        try {
+          future.get();
+          fail("Expected the request to be throttled");
+        } catch (ExecutionException e) {
+          assertTrue(e.getCause() instanceof ThrottledException);
+        }
+      }
+      assertEquals(8, mLimiter.getLimit());
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  public void blocksAboveLimit() throws Exception {
+    for (int i = 0; i < 3; i++) {
+      throttle();
+    }
+    assertEquals(2, mLimiter.getLimit());
+    ExecutorService executor = Executors.newFixedThreadPool(3);
+    try {
+      CountDownLatch release = new CountDownLatch(1);
+      for (int i = 0; i < 2; i++) {
+        executor.submit(() -> mLimiter.call(() -> {
+          Uninterruptibles.awaitUninterruptibly(release);
+          return null;
+        }));
+      }
+      CountDownLatch thirdStarted = new CountDownLatch(1);
+      Future<?> third = executor.submit(() -> mLimiter.call(() -> {
+        thirdStarted.countDown();
+        return null;
+      }));
+      assertFalse(thirdStarted.await(200, TimeUnit.MILLISECONDS));
+      assertEquals(2, mLimiter.getInFlight());
+      release.countDown();
+      third.get(10, TimeUnit.SECONDS);
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  public void nestedRequestsShareThePermit() throws Exception {
+    ObjectStoreConcurrencyLimiter limiter =
+        new ObjectStoreConcurrencyLimiter(1, 1, e -> e instanceof ThrottledException);
+    ExecutorService executor = Executors.newSingleThreadExecutor();
+    try {
+      Future<Integer> nested = executor.submit(() -> limiter.call(
+          () -> limiter.call(limiter::getInFlight)));
+      assertEquals(1, (int) nested.get(10, TimeUnit.SECONDS));
+      assertEquals(0, limiter.getInFlight());
+      // the permit is not held any more once the outer request returns
+      assertEquals(1, (int) executor.submit(() -> limiter.call(limiter::getInFlight))
+          .get(10, TimeUnit.SECONDS));
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  public void disabled() {
+    InstancedConfiguration conf = Configuration.copyGlobal();
+    conf.set(PropertyKey.UNDERFS_OBJECT_STORE_CONCURRENCY_LIMIT_ENABLED, false);
+    assertSame(ObjectStoreConcurrencyLimiter.UNLIMITED,
+        ObjectStoreConcurrencyLimiter.get("s3://bucket/", conf, e -> false));
+  }
+
+  private void throttle() {
+    try {
+      mLimiter.call(() -> {
+        throw new ThrottledException();
+      });
+      fail("Expected the request to be throttled");
+    } catch (IOException e) {
+      assertTrue(e instanceof ThrottledException);
+    }
+  }
+}
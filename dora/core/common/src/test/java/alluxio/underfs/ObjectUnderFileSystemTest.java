@@ -12,6 +12,7 @@
 package alluxio.underfs;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
@@ -22,15 +23,32 @@ import alluxio.conf.Configuration;
 import alluxio.conf.PropertyKey;
 import alluxio.file.options.DescendantType;
 import alluxio.underfs.options.ListOptions;
+import alluxio.util.io.PathUtils;
 
 import com.google.common.collect.ImmutableMap;
 import org.junit.Rule;
 import org.junit.Test;
 import org.mockito.Mockito;
 
+import java.io.Closeable;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.net.SocketException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 public class ObjectUnderFileSystemTest {
@@ -116,4 +134,233 @@ public class ObjectUnderFileSystemTest {
     UfsStatus status = result.getItems().collect(Collectors.toList()).get(0);
     assertEquals("root", status.getName());
   }
+
+  @Test
+  public void shardedRecursiveListing() throws Throwable {
+    List<String> keys = Arrays.asList("data/dir/a/f1", "data/dir/a/f2", "data/dir/b",
+        "data/dir/c/d/e", "data/f0", "data/g/", "data/x/y", "other");
+    List<String> expected = listRecursively(new InMemoryObjectUnderFileSystem(keys, CONF));
+    assertEquals(Arrays.asList("dir/", "dir/a/", "dir/a/f1", "dir/a/f2", "dir/b", "dir/c/",
+        "dir/c/d/", "dir/c/d/e", "f0", "g/", "x/", "x/y"), expected);
+    try (Closeable c = new ConfigurationRule(
+        PropertyKey.UNDERFS_OBJECT_STORE_PARALLEL_LISTING_SHARDS, 2,
+        Configuration.modifiableGlobal()).toResource()) {
+      ObjectUnderFileSystem ufs = new InMemoryObjectUnderFileSystem(keys, Configuration.global());
+      assertEquals(expected, listRecursively(ufs));
+      List<String> listed = Arrays.stream(ufs.listStatus("mock://bucket/data",
+              ListOptions.defaults().setRecursive(true)))
+          .map(status -> status.getName() + (status.isDirectory() ? "/" : ""))
+          .sorted().collect(Collectors.toList());
+      assertEquals(expected, listed);
+    }
+  }
+
+  @Test
+  public void renameDirectory() throws Throwable {
+    InMemoryObjectUnderFileSystem ufs = new InMemoryObjectUnderFileSystem(Arrays.asList(
+        "data/dir/a/f1", "data/dir/a/f2", "data/dir/b", "data/f0", "data/g/", "other"), CONF);
+    assertTrue(ufs.renameDirectory("mock://bucket/data", "mock://bucket/moved"));
+    assertEquals(Arrays.asList("moved/dir/a/f1", "moved/dir/a/f2", "moved/dir/b", "moved/f0",
+        "moved/g/", "other"), new ArrayList<>(ufs.mKeys));
+    // the directories without folder object are not copied
+    assertEquals(new HashSet<>(Arrays.asList("data/dir/a/f1", "data/dir/a/f2", "data/dir/b",
+        "data/f0", "data/g/")), ufs.mCopiedKeys);
+    // the destination exists and the rename is not in progress
+    ufs.mKeys.add("data/f3");
+    assertFalse(ufs.renameDirectory("mock://bucket/data", "mock://bucket/moved"));
+  }
+
+  @Test
+  public void resumeRenameDirectory() throws Throwable {
+    List<String> keys = new ArrayList<>();
+    for (int i = 0; i < 100; i++) {
+      keys.add(String.format("data/dir%d/f%02d", i % 3, i));
+    }
+    InMemoryObjectUnderFileSystem ufs = new InMemoryObjectUnderFileSystem(keys, CONF);
+    ufs.mFailedCopies.add("data/dir1/f52");
+    assertFalse(ufs.renameDirectory("mock://bucket/data", "mock://bucket/moved"));
+    assertTrue(ufs.mKeys.contains("data/dir1/f52"));
+    // the marker of the interrupted rename is not listed
+    assertTrue(ufs.mKeys.stream().anyMatch(key -> key.startsWith("moved/.alluxio_rename_")));
+    assertTrue(Arrays.stream(ufs.listStatus("mock://bucket/moved",
+            ListOptions.defaults().setRecursive(true)))
+        .noneMatch(status -> status.getName().startsWith(".alluxio_rename_")));
+    ufs.mFailedCopies.clear();
+    assertTrue(ufs.renameDirectory("mock://bucket/data", "mock://bucket/moved"));
+    List<String> expected = keys.stream().map(key -> key.replaceFirst("data/", "moved/"))
+        .sorted().collect(Collectors.toList());
+    assertEquals(expected, new ArrayList<>(ufs.mKeys));
+  }
+
+  @Test
+  public void nestedRequestsAtMinimumConcurrency() throws Throwable {
+    InMemoryObjectUnderFileSystem ufs = new InMemoryObjectUnderFileSystem(
+        Arrays.asList("data/dir/a/f1", "data/f0"), CONF);
+    // a single permit, as left once the store throttled requests
+    ufs.mLimiter = new ObjectStoreConcurrencyLimiter(1, 1, e -> false);
+    ExecutorService executor = Executors.newFixedThreadPool(4);
+    try {
+      List<Future<?>> futures = new ArrayList<>();
+      for (int i = 0; i < 4; i++) {
+        futures.add(executor.submit(() -> {
+          for (int j = 0; j < 50; j++) {
+            // checks the folder object, then lists the path
+            assertTrue(ufs.isExistingDirectory("mock://bucket/data/dir"));
+            assertTrue(ufs.getExistingDirectoryStatus("mock://bucket/data").isDirectory());
+          }
+          return null;
+        }));
+      }
+      for (Future<?> future : futures) {
+        future.get(30, TimeUnit.SECONDS);
+      }
+      assertEquals(0, ufs.mLimiter.getInFlight());
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  private static List<String> listRecursively(ObjectUnderFileSystem ufs) throws IOException {
+    Iterator<UfsStatus> iterator = ufs.listStatusIterable("mock://bucket/data",
+        ListOptions.defaults().setRecursive(true), null, 0);
+    List<String> names = new ArrayList<>();
+    iterator.forEachRemaining(
+        status -> names.add(status.getName() + (status.isDirectory() ? "/" : "")));
+    names.sort(String::compareTo);
+    return names;
+  }
+
+  /**
+   * An object store holding empty objects, listed two entries per chunk.
+   */
+  private static final class InMemoryObjectUnderFileSystem extends MockObjectUnderFileSystem {
+    private final NavigableSet<String> mKeys;
+    /** Keys failing to be copied. */
+    private final Set<String> mFailedCopies = ConcurrentHashMap.newKeySet();
+    /** Keys copied or attempted to be copied. */
+    private final Set<String> mCopiedKeys = ConcurrentHashMap.newKeySet();
+    private ObjectStoreConcurrencyLimiter mLimiter = ObjectStoreConcurrencyLimiter.UNLIMITED;
+
+    InMemoryObjectUnderFileSystem(List<String> keys, AlluxioConfiguration conf) {
+      super(new AlluxioURI("mock://bucket/"), UnderFileSystemConfiguration.defaults(conf));
+      mKeys = new ConcurrentSkipListSet<>(keys);
+    }
+
+    @Override
+    public boolean createEmptyObject(String key) {
+      mKeys.add(key);
+      return true;
+    }
+
+    @Override
+    protected boolean copyObject(String src, String dst) {
+      mCopiedKeys.add(src);
+      if (!mKeys.contains(src) || mFailedCopies.contains(src)) {
+        return false;
+      }
+      mKeys.add(dst);
+      return true;
+    }
+
+    @Override
+    protected boolean deleteObject(String key) {
+      return mKeys.remove(key);
+    }
+
+    @Override
+    protected ObjectStoreConcurrencyLimiter getConcurrencyLimiter() {
+      return mLimiter;
+    }
+
+    @Override
+    protected ObjectListingChunk getObjectListingChunk(String key, boolean recursive)
+        throws IOException {
+      return mLimiter.call(() -> listObjects(key, recursive));
+    }
+
+    private ObjectListingChunk listObjects(String key, boolean recursive) {
+      String prefix = PathUtils.normalizePath(key, PATH_SEPARATOR);
+      TreeMap<String, ObjectStatus> objects = new TreeMap<>();
+      TreeSet<String> commonPrefixes = new TreeSet<>();
+      for (String objectKey : mKeys.tailSet(prefix)) {
+        if (!objectKey.startsWith(prefix)) {
+          break;
+        }
+        int separator = objectKey.indexOf(PATH_SEPARATOR, prefix.length());
+        if (recursive || separator == -1) {
+          objects.put(objectKey, new ObjectStatus(objectKey, "", 0L, 0L));
+        } else {
+          commonPrefixes.add(objectKey.substring(0, separator + 1));
+        }
+      }
+      if (objects.isEmpty() && commonPrefixes.isEmpty()) {
+        return null;
+      }
+      List<Object> entries = new ArrayList<>();
+      TreeSet<String> names = new TreeSet<>(objects.keySet());
+      names.addAll(commonPrefixes);
+      for (String name : names) {
+        entries.add(commonPrefixes.contains(name) ? name : objects.get(name));
+      }
+      return new Chunk(entries, 0);
+    }
+
+    @Override
+    protected ObjectStatus getObjectStatus(String key) throws IOException {
+      return mLimiter.call(
+          () -> mKeys.contains(key) ? new ObjectStatus(key, "", 0L, 0L) : null);
+    }
+
+    @Override
+    protected String getFolderSuffix() {
+      return PATH_SEPARATOR;
+    }
+
+    @Override
+    protected String getRootKey() {
+      return "mock://bucket";
+    }
+
+    @Override
+    protected ObjectPermissions getPermissions() {
+      return new ObjectPermissions("foo", "bar", (short) 0777);
+    }
+
+    private static final class Chunk implements ObjectListingChunk {
+      private static final int CHUNK_LENGTH = 2;
+      private final List<Object> mEntries;
+      private final int mStart;
+
+      Chunk(List<Object> entries, int start) {
+        mEntries = entries;
+        mStart = start;
+      }
+
+      private List<Object> page() {
+        return mEntries.subList(mStart, Math.min(mEntries.size(), mStart + CHUNK_LENGTH));
+      }
+
+      @Override
+      public ObjectStatus[] getObjectStatuses() {
+        return page().stream().filter(ObjectStatus.class::isInstance)
+            .toArray(ObjectStatus[]::new);
+      }
+
+      @Override
+      public String[] getCommonPrefixes() {
+        return page().stream().filter(String.class::isInstance).toArray(String[]::new);
+      }
+
+      @Override
+      public ObjectListingChunk getNextChunk() {
+        return mStart + CHUNK_LENGTH < mEntries.size()
+            ? new Chunk(mEntries, mStart + CHUNK_LENGTH) : null;
+      }
+
+      @Override
+      public Boolean hasNextChunk() {
+        return mStart + CHUNK_LENGTH < mEntries.size();
+      }
+    }
+  }
 }
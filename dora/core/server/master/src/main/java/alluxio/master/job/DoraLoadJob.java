@@ -693,7 +693,8 @@ public class DoraLoadJob extends AbstractJob<DoraLoadJob.DoraLoadTask> {
       UfsReadOptions.Builder ufsReadOptions = UfsReadOptions
           .newBuilder()
           .setTag(mJobId)
-          .setPositionShort(false);
+          .setPositionShort(false)
+          .setVerify(mVerificationEnabled);
       mUser.ifPresent(ufsReadOptions::setUser);
       loadFileReqBuilder.setOptions(ufsReadOptions);
       loadFileReqBuilder.setSkipIfExists(mSkipIfExists);
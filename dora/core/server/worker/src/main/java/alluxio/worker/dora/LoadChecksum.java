@@ -0,0 +1,75 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.worker.dora;
+
+import com.google.common.hash.Hashing;
+import com.google.common.io.BaseEncoding;
+
+import java.nio.ByteBuffer;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Computes the checksums of a file while its pages are loaded, so that verifying a load does
+ * not read the file a second time. The pages must be added in order, from the first page of
+ * the file.
+ */
+final class LoadChecksum {
+  private final MessageDigest mMd5;
+  private final List<Integer> mPageCrc32c = new ArrayList<>();
+  private String mMd5Hex;
+
+  LoadChecksum() {
+    try {
+      mMd5 = MessageDigest.getInstance("MD5");
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException("MD5 is not supported", e);
+    }
+  }
+
+  /**
+   * Adds the next page of the file, leaving the position of the buffer unchanged.
+   *
+   * @param page the page content
+   */
+  void update(ByteBuffer page) {
+    mPageCrc32c.add(Hashing.crc32c().hashBytes(page.duplicate()).asInt());
+    mMd5.update(page.duplicate());
+  }
+
+  /**
+   * @return the hex encoded MD5 of the pages added, after the last page is added
+   */
+  String getMd5() {
+    if (mMd5Hex == null) {
+      mMd5Hex = BaseEncoding.base16().lowerCase().encode(mMd5.digest());
+    }
+    return mMd5Hex;
+  }
+
+  /**
+   * @return the CRC32C of each page added
+   */
+  List<Integer> getPageCrc32c() {
+    return mPageCrc32c;
+  }
+
+  /**
+   * @param md5 the hex encoded MD5 of the file in the UFS
+   * @return whether the pages added have the given MD5
+   */
+  boolean matches(String md5) {
+    return getMd5().equalsIgnoreCase(md5);
+  }
+}
@@ -174,6 +174,7 @@ public class PagedDoraWorker extends AbstractWorker implements DoraWorker {
   private final ExecutorService mCacheDataExecutor = Executors.newFixedThreadPool(
       Configuration.getInt(PropertyKey.WORKER_PRELOAD_DATA_THREAD_POOL_SIZE));
   private final boolean mFastDataLoadEnabled;
+  private final int mFastDataLoadBatchPages;
 
   /**
    * Constructor.
@@ -219,6 +220,8 @@ public class PagedDoraWorker extends AbstractWorker implements DoraWorker {
         .getBoolean(PropertyKey.CLIENT_WRITE_TO_UFS_ENABLED);
     mXAttrWriteToUFSEnabled = mConf.getBoolean(PropertyKey.UNDERFS_XATTR_CHANGE_ENABLED);
     mFastDataLoadEnabled = mConf.getBoolean(PropertyKey.WORKER_FAST_DATA_LOAD_ENABLED);
+    mFastDataLoadBatchPages = (int) Math.max(1,
+        mConf.getBytes(PropertyKey.WORKER_FAST_DATA_LOAD_BATCH_SIZE) / mPageSize);
   }
 
   /**
@@ -609,7 +612,10 @@ public class PagedDoraWorker extends AbstractWorker implements DoraWorker {
               }
             }
             else {
-              if (mFastDataLoadEnabled) {
+              if (options.getVerify() && subTask.getOffsetInFile() == 0
+                  && subTask.getLength() >= fileLength) {
+                loadAndVerify(subTask.getUfsPath(), fileLength);
+              } else if (mFastDataLoadEnabled) {
                 loadPages(
                     subTask.getUfsPath(), 0, subTask.getOffsetInFile(), subTask.getLength(),
                     fileLength);
@@ -674,27 +680,108 @@ public class PagedDoraWorker extends AbstractWorker implements DoraWorker {
 
   private void loadPages(String ufsPath, List<PageId> pageIds, long fileLength)
       throws AccessControlException, IOException {
+    loadPages(ufsPath, pageIds, fileLength, null);
+  }
+
+  /**
+   * Loads a whole file, computing its checksums while the pages are written to the cache. If
+   * the UFS reports the MD5 of the file, the MD5 of the data loaded is checked against it, and
+   * all the cached pages of the file are dropped when the load fails or the MD5 does not match.
+   * The checksums are then stored in the file metadata. Files whose MD5 is not known to the UFS
+   * are loaded without verification.
+   *
+   * @param ufsPath the ufs path
+   * @param fileLength the file length
+   */
+  private void loadAndVerify(String ufsPath, long fileLength)
+      throws AccessControlException, IOException {
+    if (fileLength == 0) {
+      return;
+    }
     Optional<UnderFileSystem> ufs = mUfsManager.get(new AlluxioURI(ufsPath));
     if (!ufs.isPresent()) {
       throw new RuntimeException("Ufs not found for " + ufsPath);
     }
-    long lastPageId = fileLength / mPageSize;
-    // TODO(elega) can batch multiple pages together ot speed up the loading.
-    for (PageId pageId : pageIds) {
-      int lengthToLoad = (int)
-          (pageId.getPageIndex() == lastPageId ? fileLength % mPageSize : mPageSize);
-      long offset = pageId.getPageIndex() * mPageSize;
-      ByteBuf buf = PooledByteBufAllocator.DEFAULT.directBuffer(lengthToLoad);
-      try (PositionReader reader = ufs.get().openPositionRead(ufsPath, fileLength)) {
-        int bytesRead = reader.read(offset, buf, lengthToLoad);
-        if (lengthToLoad != bytesRead) {
-          throw new RuntimeException(
-              "Page load failed, expected: " + lengthToLoad + " actual " + bytesRead);
+    String fileId = new AlluxioURI(ufsPath).hash();
+    Optional<String> ufsMd5 = ufs.get().getContentMd5(ufsPath);
+    if (!ufsMd5.isPresent()) {
+      loadPages(ufsPath, 0, 0, fileLength, fileLength);
+      return;
+    }
+    List<PageId> pageIds = new ArrayList<>();
+    for (long pageIndex = 0; pageIndex * mPageSize < fileLength; pageIndex++) {
+      pageIds.add(new PageId(fileId, pageIndex));
+    }
+    LoadChecksum checksum = new LoadChecksum();
+    boolean verified = false;
+    try {
+      loadPages(ufsPath, pageIds, fileLength, checksum);
+      if (!checksum.matches(ufsMd5.get())) {
+        throw new FailedPreconditionRuntimeException(String.format(
+            "Checksum mismatch for %s: loaded MD5 %s, MD5 in ufs %s",
+            ufsPath, checksum.getMd5(), ufsMd5.get()));
+      }
+      verified = true;
+    } finally {
+      if (!verified) {
+        mCacheManager.deleteFile(fileId);
+      }
+    }
+    Optional<DoraMeta.FileStatus> status = mMetaManager.getFromMetaStore(ufsPath);
+    if (status.isPresent()) {
+      mMetaManager.put(ufsPath, status.get().toBuilder()
+          .setMd5(checksum.getMd5())
+          .clearPageCrc32C()
+          .addAllPageCrc32C(checksum.getPageCrc32c())
+          .build());
+    }
+  }
+
+  private void loadPages(String ufsPath, List<PageId> pageIds, long fileLength,
+      @Nullable LoadChecksum checksum) throws AccessControlException, IOException {
+    Optional<UnderFileSystem> ufs = mUfsManager.get(new AlluxioURI(ufsPath));
+    if (!ufs.isPresent()) {
+      throw new RuntimeException("Ufs not found for " + ufsPath);
+    }
+    try (PositionReader reader = ufs.get().openPositionRead(ufsPath, fileLength)) {
+      // consecutive pages are read with a single position read, which object stores split
+      // into concurrent ranged reads
+      int batchStart = 0;
+      while (batchStart < pageIds.size()) {
+        int batchEnd = batchStart + 1;
+        while (batchEnd < pageIds.size() && batchEnd - batchStart < mFastDataLoadBatchPages
+            && pageIds.get(batchEnd).getPageIndex()
+            == pageIds.get(batchEnd - 1).getPageIndex() + 1) {
+          batchEnd++;
+        }
+        loadPages(reader, pageIds.subList(batchStart, batchEnd), fileLength, checksum);
+        batchStart = batchEnd;
+      }
+    }
+  }
+
+  private void loadPages(PositionReader reader, List<PageId> pageIds, long fileLength,
+      @Nullable LoadChecksum checksum) throws IOException {
+    long offset = pageIds.get(0).getPageIndex() * mPageSize;
+    int lengthToLoad = (int) Math.min(pageIds.size() * mPageSize, fileLength - offset);
+    ByteBuf buf = PooledByteBufAllocator.DEFAULT.directBuffer(lengthToLoad);
+    try {
+      int bytesRead = reader.read(offset, buf, lengthToLoad);
+      if (lengthToLoad != bytesRead) {
+        throw new RuntimeException(
+            "Page load failed, expected: " + lengthToLoad + " actual " + bytesRead);
+      }
+      for (int i = 0; i < pageIds.size(); i++) {
+        int pageOffset = (int) (i * mPageSize);
+        int pageLength = (int) Math.min(mPageSize, lengthToLoad - pageOffset);
+        ByteBuffer page = buf.nioBuffer(pageOffset, pageLength);
+        if (checksum != null) {
+          checksum.update(page);
         }
-        mCacheManager.put(pageId, buf.nioBuffer());
-      } finally {
-        buf.release();
+        mCacheManager.put(pageIds.get(i), page);
       }
+    } finally {
+      buf.release();
     }
   }
 
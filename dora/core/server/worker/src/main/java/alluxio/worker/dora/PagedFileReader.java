@@ -26,6 +26,7 @@ import alluxio.network.protocol.databuffer.DataBuffer;
 import alluxio.network.protocol.databuffer.DataFileChannel;
 import alluxio.network.protocol.databuffer.NettyDataBuffer;
 import alluxio.underfs.UnderFileSystem;
+import alluxio.util.network.NettyUtils;
 import alluxio.worker.block.io.BlockReadableChannel;
 import alluxio.worker.block.io.BlockReader;
 
@@ -42,6 +43,7 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import javax.annotation.Nullable;
 
 /**
  * Paged file reader.
@@ -50,6 +52,8 @@ public class PagedFileReader extends BlockReader implements PositionReader {
   private static final ByteBuffer EMPTY_BYTE_BUFFER = ByteBuffer.allocate(0);
   private final long mFileSize;
   private final LocalCachePositionReader mPositionReader;
+  /** Whether to read the cached pages of a range all at once with asynchronous reads. */
+  private final boolean mConcurrentReadEnabled;
   private long mPos;
   private volatile boolean mClosed = false;
 
@@ -72,7 +76,8 @@ public class PagedFileReader extends BlockReader implements PositionReader {
     return new PagedFileReader(LocalCachePositionReader.create(cacheManager,
         new CloseableSupplier<>(() -> ufs.openPositionRead(ufsPath, fileSize)),
         fileIdField, fileSize, conf.getBytes(PropertyKey.WORKER_PAGE_STORE_PAGE_SIZE),
-        CacheContext.defaults()), fileSize, startPosition);
+        CacheContext.defaults()), fileSize, startPosition,
+        conf.getInt(PropertyKey.WORKER_PAGE_STORE_LOCAL_STORE_ASYNC_READ_THREADS) > 0);
   }
 
   /**
@@ -84,13 +89,32 @@ public class PagedFileReader extends BlockReader implements PositionReader {
    */
   public PagedFileReader(LocalCachePositionReader localCachePositionReader,
                          long fileSize, long startPosition) {
+    this(localCachePositionReader, fileSize, startPosition, false);
+  }
+
+  /**
+   * Constructor.
+   *
+   * @param localCachePositionReader
+   * @param fileSize
+   * @param startPosition
+   * @param concurrentReadEnabled whether to read the cached pages of a range all at once
+   */
+  public PagedFileReader(LocalCachePositionReader localCachePositionReader,
+                         long fileSize, long startPosition, boolean concurrentReadEnabled) {
     mPositionReader = Preconditions.checkNotNull(localCachePositionReader);
     mFileSize = fileSize;
     mPos = startPosition;
+    mConcurrentReadEnabled = concurrentReadEnabled;
   }
 
-  @VisibleForTesting
-  void setPosition(int pos) {
+  /**
+   * Sets the position the next data is read from, so that the reader can be reused for another
+   * range of the file.
+   *
+   * @param pos the position in the file
+   */
+  public void setPosition(long pos) {
     mPos = pos;
   }
 
@@ -100,7 +124,11 @@ public class PagedFileReader extends BlockReader implements PositionReader {
   }
 
   /**
-   * Get a {@link CompositeDataBuffer} which has a list of {@link DataFileChannel}.
+   * Get a {@link CompositeDataBuffer} which has a list of {@link DataFileChannel}, or of
+   * read-only mapped slices of the pages when the page store supports them. The pages are
+   * pinned by the page store until netty is done sending them. Data is only copied into
+   * buffers when it is not cached, or when the channel cannot send file regions as they are,
+   * e.g. with TLS.
    *
    * @param channel the Channel object which is used for allocating ByteBuf
    * @param length the bytes to read
@@ -113,24 +141,18 @@ public class PagedFileReader extends BlockReader implements PositionReader {
       return new CompositeDataBuffer(Collections.emptyList());
     }
     List<DataBuffer> dataBufferList = new ArrayList<>();
+    boolean fileRegionSupported = NettyUtils.isFileRegionSupported(channel);
     long bytesToTransfer = Math.min(length, mFileSize - mPos);
     long bytesToTransferLeft = bytesToTransfer;
     while (bytesToTransferLeft > 0) {
       long lengthPerOp = Math.min(bytesToTransferLeft, mPositionReader.getPageSize());
-      DataBuffer dataBuffer;
-      Optional<DataFileChannel> dataFileChannel =
-          mPositionReader.getDataFileChannel(mPos, (int) lengthPerOp);
-      if (!dataFileChannel.isPresent()) {
-        dataBuffer = getDataBufferByCopying(channel, (int) lengthPerOp);
-      } else {
+      DataBuffer dataBuffer =
+          getDataBufferWithoutCopying((int) lengthPerOp, fileRegionSupported);
+      if (dataBuffer != null) {
         // update mPos
-        // TODO(JiamingMai): need to lock page files since the openFile op is called in netty latter
-        dataBuffer = dataFileChannel.get();
-        if (dataBuffer.getLength() > 0) {
-          mPos += dataBuffer.getLength();
-        } else {
-          dataBuffer = getDataBufferByCopying(channel, (int) lengthPerOp);
-        }
+        mPos += dataBuffer.getLength();
+      } else {
+        dataBuffer = getDataBufferByCopying(channel, (int) lengthPerOp);
       }
       // update bytesToTransferLeft
       bytesToTransferLeft -= dataBuffer.getLength();
@@ -140,6 +162,37 @@ public class PagedFileReader extends BlockReader implements PositionReader {
     return compositeDataBuffer;
   }
 
+  /**
+   * Gets a buffer over the cached data at the current position which can be sent without being
+   * copied, preferring read-only slices of the page store, then file regions sent by sendfile.
+   * Both stay valid even if the page is evicted before netty is done sending them.
+   *
+   * @param len the bytes to read
+   * @param fileRegionSupported whether file regions can be sent on the channel
+   * @return the buffer, or null if the data cannot be sent without copying
+   */
+  @Nullable
+  private DataBuffer getDataBufferWithoutCopying(int len, boolean fileRegionSupported) {
+    Optional<DataBuffer> dataBuffer = mPositionReader.getDataBuffer(mPos, len);
+    if (dataBuffer.isPresent()) {
+      if (dataBuffer.get().getLength() > 0) {
+        return dataBuffer.get();
+      }
+      dataBuffer.get().release();
+    }
+    if (!fileRegionSupported) {
+      return null;
+    }
+    Optional<DataFileChannel> dataFileChannel = mPositionReader.getDataFileChannel(mPos, len);
+    if (dataFileChannel.isPresent()) {
+      if (dataFileChannel.get().getLength() > 0) {
+        return dataFileChannel.get();
+      }
+      dataFileChannel.get().release();
+    }
+    return null;
+  }
+
   private DataBuffer getDataBufferByCopying(Channel channel, int len) throws IOException {
     ByteBuf buf = channel.alloc().buffer(len, len);
     try {
@@ -165,12 +218,19 @@ public class PagedFileReader extends BlockReader implements PositionReader {
 
     // must not use pooled buffer, see interface implementation note
     ByteBuffer buffer = ByteBuffer.allocateDirect((int) length);
-    ByteBuf buf = Unpooled.wrappedBuffer(buffer);
-    // Unpooled.wrappedBuffer returns a buffer with writer index set to capacity, so writable
-    // bytes is 0, needs explicit clear
-    buf.clear();
-    ReadTargetBuffer targetBuffer = new NettyBufTargetBuffer(buf);
-    int bytesRead = mPositionReader.read(offset, targetBuffer, (int) length);
+    int bytesRead;
+    if (mConcurrentReadEnabled && offset % mPositionReader.getPageSize() + length
+        > mPositionReader.getPageSize()) {
+      // keep the reads of all the cached pages in flight at the same time
+      bytesRead = mPositionReader.readConcurrently(offset, buffer, (int) length);
+    } else {
+      ByteBuf buf = Unpooled.wrappedBuffer(buffer);
+      // Unpooled.wrappedBuffer returns a buffer with writer index set to capacity, so writable
+      // bytes is 0, needs explicit clear
+      buf.clear();
+      ReadTargetBuffer targetBuffer = new NettyBufTargetBuffer(buf);
+      bytesRead = mPositionReader.read(offset, targetBuffer, (int) length);
+    }
     if (bytesRead < 0) {
       return EMPTY_BYTE_BUFFER;
     }
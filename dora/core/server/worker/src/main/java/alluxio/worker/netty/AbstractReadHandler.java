@@ -93,6 +93,14 @@ public abstract class AbstractReadHandler<T extends ReadRequest>
       mStateMachine.cancel();
       return;
     }
+    if (msg.hasCreditGrant()) {
+      mStateMachine.grantCredits(msg.getRequestId(), msg.getCreditGrant());
+      return;
+    }
+    if (msg.getCloseSession()) {
+      mStateMachine.closeSession();
+      return;
+    }
 
     // Create and submit a task for reading and sending packet
     T request = createReadRequest(msg);
@@ -137,7 +145,7 @@ public abstract class AbstractReadHandler<T extends ReadRequest>
      * @param <T> type of read requestr
      * @param <P> type of the packet reader created by this factory
      */
-    interface Factory<T extends ReadRequest, P extends PacketReader<T>> {
+    interface Factory<T extends ReadRequest, P extends PacketReader<T>> extends Closeable {
       /**
        * Creates a new packet reader.
        *
@@ -146,6 +154,13 @@ public abstract class AbstractReadHandler<T extends ReadRequest>
        * @throws IOException if IOException occurs
        */
       P create(T readRequest) throws IOException;
+
+      /**
+       * Closes the resources kept open by the factory across requests, called when the client
+       * ends its session or the channel is done serving requests.
+       */
+      @Override
+      default void close() throws IOException {}
     }
 
     /**
@@ -15,6 +15,7 @@ import alluxio.proto.dataserver.Protocol;
 
 import com.google.common.base.Preconditions;
 
+import java.util.List;
 import javax.annotation.concurrent.ThreadSafe;
 
 /**
@@ -26,6 +27,8 @@ import javax.annotation.concurrent.ThreadSafe;
 public final class BlockReadRequest extends ReadRequest {
   private final Protocol.OpenUfsBlockOptions mOpenUfsBlockOptions;
   private final boolean mPromote;
+  private final boolean mKeepOpen;
+  private final List<Protocol.ReadRange> mRanges;
 
   /**
    * Creates an instance of {@link BlockReadRequest}.
@@ -34,7 +37,7 @@ public final class BlockReadRequest extends ReadRequest {
    */
   public BlockReadRequest(Protocol.ReadRequest request) {
     super(request.getBlockId(), request.getOffset(), request.getOffset() + request.getLength(),
-        downcastChunkSize(request));
+        downcastChunkSize(request), request.getCredits(), request.getRequestId());
 
     if (request.hasOpenUfsBlockOptions()) {
       mOpenUfsBlockOptions = request.getOpenUfsBlockOptions();
@@ -42,6 +45,8 @@ public final class BlockReadRequest extends ReadRequest {
       mOpenUfsBlockOptions = null;
     }
     mPromote = request.getPromote();
+    mKeepOpen = request.getKeepOpen();
+    mRanges = request.getRangesList();
     // Note that we do not need to seek to offset since the block worker is created at the offset.
   }
 
@@ -59,6 +64,22 @@ public final class BlockReadRequest extends ReadRequest {
     return mPromote;
   }
 
+  /**
+   * @return whether the file should be kept open for the next request on the same channel
+   */
+  public boolean isKeepOpen() {
+    return mKeepOpen;
+  }
+
+  /**
+   * @return the ranges of the file to read, in which case the start and end of the request are
+   *         positions in the data of all the ranges one after another, or empty if the request
+   *         reads the file from its start to its end
+   */
+  public List<Protocol.ReadRange> getRanges() {
+    return mRanges;
+  }
+
   /**
    * @return the option to open UFS block
    */
@@ -32,7 +32,10 @@ import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
 import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.ExecutorService;
+import javax.annotation.Nullable;
 import javax.annotation.concurrent.NotThreadSafe;
 
 /**
@@ -75,11 +78,21 @@ public class FileReadHandler extends AbstractReadHandler<BlockReadRequest> {
 
   /**
    * Factory for creating {@link FilePacketReader}s.
+   * <p>
+   * When a request asks for the file to be kept open, the reader of the file is kept by the
+   * factory after the request completes, and reused by the next request on the channel if it
+   * reads the same file. The factory is used by a single channel, so that at most one file is
+   * kept open per channel.
    */
+  @NotThreadSafe
   public static final class FilePacketReaderFactory
       implements PacketReader.Factory<BlockReadRequest, FilePacketReader> {
     private final DoraWorker mWorker;
     private final FileTransferType mTransferType;
+    @Nullable
+    private PagedFileReader mOpenReader;
+    @Nullable
+    private Protocol.OpenUfsBlockOptions mOpenReaderOptions;
 
     /**
      * Constructor.
@@ -94,16 +107,28 @@ public class FileReadHandler extends AbstractReadHandler<BlockReadRequest> {
 
     @Override
     public FilePacketReader create(BlockReadRequest readRequest) throws IOException {
+      if (mOpenReader != null) {
+        if (readRequest.getOpenUfsBlockOptions().equals(mOpenReaderOptions)
+            && !mOpenReader.isClosed()) {
+          PagedFileReader reader = mOpenReader;
+          mOpenReader = null;
+          mOpenReaderOptions = null;
+          reader.setPosition(getFilePosition(readRequest));
+          return new FilePacketReader(reader, readRequest, mTransferType, this);
+        }
+        close();
+      }
       try {
         final String fileId =
             new AlluxioURI(readRequest.getOpenUfsBlockOptions().getUfsPath()).hash();
+        long position = getFilePosition(readRequest);
         BlockReader reader =
-            mWorker.createFileReader(fileId, readRequest.getStart(),
+            mWorker.createFileReader(fileId, position,
                 /* positionShort */ false, readRequest.getOpenUfsBlockOptions());
         if (reader.getChannel() instanceof FileChannel) {
-          ((FileChannel) reader.getChannel()).position(readRequest.getStart());
+          ((FileChannel) reader.getChannel()).position(position);
         }
-        return new FilePacketReader(reader, readRequest, mTransferType);
+        return new FilePacketReader(reader, readRequest, mTransferType, this);
       } catch (AccessControlException e) {
         throw new PermissionDeniedException(e);
       }
@@ -123,6 +148,40 @@ public class FileReadHandler extends AbstractReadHandler<BlockReadRequest> {
       channel.writeAndFlush(new RPCProtoMessage(heartbeat));
       */
     }
+
+    /**
+     * @return the position in the file the request starts reading at
+     */
+    private static long getFilePosition(BlockReadRequest readRequest) {
+      if (readRequest.getRanges().isEmpty()) {
+        return readRequest.getStart();
+      }
+      return readRequest.getRanges().get(0).getOffset();
+    }
+
+    /**
+     * Keeps the reader open for the next request on the channel, closing the one kept before.
+     */
+    private void keepOpen(PagedFileReader reader, BlockReadRequest readRequest) {
+      close();
+      mOpenReader = reader;
+      mOpenReaderOptions = readRequest.getOpenUfsBlockOptions();
+    }
+
+    @Override
+    public void close() {
+      if (mOpenReader == null) {
+        return;
+      }
+      try {
+        mOpenReader.close();
+      } catch (Exception e) {
+        LOG.warn("Failed to close reader for file {} with error {}.",
+            mOpenReaderOptions.getUfsPath(), e.getMessage());
+      }
+      mOpenReader = null;
+      mOpenReaderOptions = null;
+    }
   }
 
   /**
@@ -133,16 +192,39 @@ public class FileReadHandler extends AbstractReadHandler<BlockReadRequest> {
     private final BlockReader mReader;
     private final BlockReadRequest mReadRequest;
     private final FileTransferType mTransferType;
+    private final FilePacketReaderFactory mFactory;
+    private boolean mFailed = false;
+    /** Index of the range the last read of the ranges of the request ended in. */
+    private int mRangeIndex = 0;
+    /** Position of the range at {@link #mRangeIndex} in the data of all the ranges. */
+    private long mRangeStart = 0;
+    /** Whether a range was cut short by the end of the file. */
+    private boolean mRangesEnded = false;
 
-    FilePacketReader(BlockReader reader, BlockReadRequest request, FileTransferType transferType) {
+    FilePacketReader(BlockReader reader, BlockReadRequest request, FileTransferType transferType,
+        FilePacketReaderFactory factory) {
       mReader = reader;
       mReadRequest = request;
       mTransferType = transferType;
+      mFactory = factory;
     }
 
     @Override
     public DataBuffer createDataBuffer(Channel channel, long offset, int len)
         throws Exception {
+      try {
+        if (!mReadRequest.getRanges().isEmpty()) {
+          return createRangesDataBuffer(channel, offset, len);
+        }
+        return createDataBuffer(channel, len);
+      } catch (Throwable e) {
+        // do not keep a reader that failed open for the next request
+        mFailed = true;
+        throw e;
+      }
+    }
+
+    private DataBuffer createDataBuffer(Channel channel, int len) throws Exception {
       if (mTransferType == FileTransferType.TRANSFER) {
         if (mReader instanceof PagedFileReader) {
           PagedFileReader pagedFileReader = (PagedFileReader) mReader;
@@ -157,6 +239,67 @@ public class FileReadHandler extends AbstractReadHandler<BlockReadRequest> {
       return createDataBufferByCopying(channel, len);
     }
 
+    /**
+     * Reads the data at the given position of the data of all the ranges of the request, which
+     * may span several ranges. Ranges are read in order, so the range the position is in is
+     * looked up from the range the previous read ended in. Once a range is cut short by the end
+     * of the file, no more data is read so that the data of the following ranges is not
+     * mistaken for the missing data.
+     */
+    private DataBuffer createRangesDataBuffer(Channel channel, long offset, int len)
+        throws Exception {
+      if (!(mReader instanceof PagedFileReader)) {
+        throw new UnsupportedOperationException(mReader.getClass().getCanonicalName()
+            + " does not support reading ranges");
+      }
+      PagedFileReader reader = (PagedFileReader) mReader;
+      List<Protocol.ReadRange> ranges = mReadRequest.getRanges();
+      if (offset < mRangeStart) {
+        mRangeIndex = 0;
+        mRangeStart = 0;
+      }
+      List<DataBuffer> buffers = new ArrayList<>();
+      try {
+        while (len > 0 && mRangeIndex < ranges.size() && !mRangesEnded) {
+          Protocol.ReadRange range = ranges.get(mRangeIndex);
+          long offsetInRange = offset - mRangeStart;
+          if (offsetInRange >= range.getLength()) {
+            mRangeStart += range.getLength();
+            mRangeIndex++;
+            continue;
+          }
+          int bytesToRead = (int) Math.min(len, range.getLength() - offsetInRange);
+          reader.setPosition(range.getOffset() + offsetInRange);
+          DataBuffer buffer = createDataBuffer(channel, bytesToRead);
+          int bytesRead = buffer.readableBytes();
+          if (buffer instanceof CompositeDataBuffer) {
+            @SuppressWarnings("unchecked")
+            List<DataBuffer> parts = (List<DataBuffer>) buffer.getNettyOutput();
+            buffers.addAll(parts);
+          } else if (bytesRead > 0) {
+            buffers.add(buffer);
+          } else {
+            buffer.release();
+          }
+          if (bytesRead < bytesToRead) {
+            mRangesEnded = true;
+          }
+          offset += bytesRead;
+          len -= bytesRead;
+        }
+      } catch (Throwable e) {
+        // the data of the ranges read so far is not sent
+        for (DataBuffer buffer : buffers) {
+          buffer.release();
+        }
+        throw e;
+      }
+      if (buffers.size() == 1) {
+        return buffers.get(0);
+      }
+      return new CompositeDataBuffer(buffers);
+    }
+
     private DataBuffer createDataBufferByCopying(Channel channel, int len)
         throws IOException {
       ByteBuf buf = channel.alloc().buffer(len, len);
@@ -172,6 +315,10 @@ public class FileReadHandler extends AbstractReadHandler<BlockReadRequest> {
 
     @Override
     public void close() throws IOException {
+      if (mReadRequest.isKeepOpen() && !mFailed && mReader instanceof PagedFileReader) {
+        mFactory.keepOpen((PagedFileReader) mReader, mReadRequest);
+        return;
+      }
       try {
         mReader.close();
       } catch (Exception e) {
@@ -32,6 +32,8 @@ import com.google.common.base.Preconditions;
 import io.grpc.Status;
 import io.netty.channel.Channel;
 import io.netty.channel.ChannelFuture;
+import io.netty.util.ReferenceCountUtil;
+import io.netty.util.ReferenceCounted;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -40,6 +42,7 @@ import java.io.OutputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.StandardOpenOption;
+import java.util.List;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.atomic.AtomicReference;
 import javax.annotation.Nullable;
@@ -72,6 +75,13 @@ public class NettyReadHandlerStateMachine<ReqT extends ReadRequest> {
 
   private final Channel mChannel;
 
+  /**
+   * Whether the client ended its session while a request was in progress, so that the file kept
+   * open by the request is closed once the channel is idle. Only accessed by the thread running
+   * the state machine.
+   */
+  private boolean mSessionClosed = false;
+
   private interface ChannelEvent {
     // tag interface
   }
@@ -87,6 +97,10 @@ public class NettyReadHandlerStateMachine<ReqT extends ReadRequest> {
     boolean visit(ChannelDisconnected channelEvent);
 
     boolean visit(ClientCanceled channelEvent);
+
+    boolean visit(CreditGranted channelEvent);
+
+    boolean visit(SessionClosed channelEvent);
   }
 
   private boolean pollAndHandleChannelEvent(ChannelEventVisitor<ReqT> visitor) {
@@ -131,6 +145,10 @@ public class NettyReadHandlerStateMachine<ReqT extends ReadRequest> {
       return visitor.visit((ChannelDisconnected) channelEvent);
     } else if (channelEvent instanceof ClientCanceled) {
       return visitor.visit((ClientCanceled) channelEvent);
+    } else if (channelEvent instanceof CreditGranted) {
+      return visitor.visit((CreditGranted) channelEvent);
+    } else if (channelEvent instanceof SessionClosed) {
+      return visitor.visit((SessionClosed) channelEvent);
     } else {
       // unhandled channel event, this is a programming error
       throw new IllegalStateException(
@@ -235,6 +253,42 @@ public class NettyReadHandlerStateMachine<ReqT extends ReadRequest> {
     }
   }
 
+  private static class CreditGranted implements ChannelEvent {
+    private final long mRequestId;
+    private final int mCredits;
+
+    private CreditGranted(long requestId, int credits) {
+      mRequestId = requestId;
+      mCredits = credits;
+    }
+
+    public long getRequestId() {
+      return mRequestId;
+    }
+
+    public int getCredits() {
+      return mCredits;
+    }
+
+    @Override
+    public String toString() {
+      return MoreObjects.toStringHelper(this)
+          .add("mRequestId", mRequestId)
+          .add("mCredits", mCredits)
+          .toString();
+    }
+  }
+
+  private static class SessionClosed implements ChannelEvent {
+    private SessionClosed() { }
+
+    @Override
+    public String toString() {
+      return MoreObjects.toStringHelper(this)
+          .toString();
+    }
+  }
+
   private static class RequestContext {
     /*
      * Invariants:
@@ -249,6 +303,8 @@ public class NettyReadHandlerStateMachine<ReqT extends ReadRequest> {
     private final Class<? extends ReadRequest> mRequestType;
     private final ReadRequest mRequest;
     private final PacketReader<? extends ReadRequest> mPacketReader;
+    /** Packets the client allows to be sent, only used if the request is flow controlled. */
+    private long mCredits;
 
     private RequestContext(long positionRead, long positionWritten,
         Class<? extends ReadRequest> requestType, ReadRequest request,
@@ -263,6 +319,7 @@ public class NettyReadHandlerStateMachine<ReqT extends ReadRequest> {
       mRequestType = requestType;
       mRequest = request;
       mPacketReader = packetReader;
+      mCredits = request.getCredits();
     }
 
     public static <ReqT extends ReadRequest> RequestContext createForNewRequest(
@@ -290,6 +347,32 @@ public class NettyReadHandlerStateMachine<ReqT extends ReadRequest> {
       return positionRead() - positionWritten();
     }
 
+    public boolean isFlowControlled() {
+      return mRequest.getCredits() > 0;
+    }
+
+    public void consumeCredit() {
+      mCredits--;
+    }
+
+    public void grantCredits(long requestId, int credits) {
+      // a grant for an earlier request may arrive late, only count those for this request
+      if (isFlowControlled() && requestId == mRequest.getRequestId()) {
+        mCredits += credits;
+      }
+    }
+
+    /**
+     * @return whether sending more packets has to wait, either for the packets in the netty
+     *         buffer to be written, or for the client to grant more credits
+     */
+    public boolean shouldPause() {
+      if (bytesPending() >= (long) MAX_PACKETS_IN_FLIGHT * mRequest.getPacketSize()) {
+        return true;
+      }
+      return isFlowControlled() && mCredits <= 0 && mPosRead < mRequest.getEnd();
+    }
+
     public long positionRead() {
       return mPosRead;
     }
@@ -532,7 +615,7 @@ public class NettyReadHandlerStateMachine<ReqT extends ReadRequest> {
         .onEntryFrom(mTriggerEventsWithParam.mInterrupted, this::logError)
         .onEntryFrom(mTriggerEventsWithParam.mChannelException, this::logError)
         .onEntryFrom(mTriggerEventsWithParam.mRequestCompletionError, this::logError)
-        .onEntry(this::closeChannel);
+        .onEntry(this::onTerminatedExceptionally);
     config.configure(State.TERMINATED_NORMALLY)
         .substateOf(State.TERMINATED)
         .onEntry(this::onTerminatedNormally);
@@ -580,6 +663,7 @@ public class NettyReadHandlerStateMachine<ReqT extends ReadRequest> {
       if (mChannel != null) {
         CommonUtils.closeChannel(mChannel);
       }
+      closePacketReaderFactory();
       throw e;
     }
 
@@ -588,6 +672,10 @@ public class NettyReadHandlerStateMachine<ReqT extends ReadRequest> {
   }
 
   private void onChannelIdle() {
+    if (mSessionClosed) {
+      mSessionClosed = false;
+      closePacketReaderFactory();
+    }
     while (true) {
       boolean returnNow = takeAndHandleChannelEvent(new ChannelEventVisitor<ReqT>() {
         @Override
@@ -622,6 +710,18 @@ public class NettyReadHandlerStateMachine<ReqT extends ReadRequest> {
           fireNext(mTriggerEventsWithParam.mUnexpectedClientMessage, channelEvent);
           return true;
         }
+
+        @Override
+        public boolean visit(CreditGranted channelEvent) {
+          // the client may grant credits after the request it grants them to has completed
+          return false;
+        }
+
+        @Override
+        public boolean visit(SessionClosed channelEvent) {
+          closePacketReaderFactory();
+          return false;
+        }
       });
       if (returnNow) {
         return;
@@ -692,13 +792,14 @@ public class NettyReadHandlerStateMachine<ReqT extends ReadRequest> {
           MultiDimensionalMetricsSystem.DATA_ACCESS.labelValues("read").observe(length);
           if (!future.isSuccess()) {
             LOG.error("Failed to send packet.", future.cause());
+            releaseUnsentData(dataBuffer.getNettyOutput());
             mChannelEventQueue.add(WriteFutureResolved.failure(future.cause()));
             return;
           }
           mChannelEventQueue.put(WriteFutureResolved.success(length));
         });
-    if (requestContext.bytesPending()
-        >= (long) MAX_PACKETS_IN_FLIGHT * requestContext.getRequest().getPacketSize()) {
+    requestContext.consumeCredit();
+    if (requestContext.shouldPause()) {
       fireNext(mTriggerEventsWithParam.mTooManyPendingPackets, requestContext);
       return;
     }
@@ -745,6 +846,19 @@ public class NettyReadHandlerStateMachine<ReqT extends ReadRequest> {
         fireNext(mTriggerEventsWithParam.mClientCancelled, requestContext);
         return true;
       }
+
+      @Override
+      public boolean visit(CreditGranted channelEvent) {
+        requestContext.grantCredits(channelEvent.getRequestId(), channelEvent.getCredits());
+        return false;
+      }
+
+      @Override
+      public boolean visit(SessionClosed channelEvent) {
+        // the request may still keep its file open once it completes
+        mSessionClosed = true;
+        return false;
+      }
     });
 
     if (returnNow) {
@@ -821,8 +935,7 @@ public class NettyReadHandlerStateMachine<ReqT extends ReadRequest> {
         public boolean visit(WriteFutureResolved channelEvent) {
           if (channelEvent.isSuccess()) {
             requestContext.increaseWriteProgress(channelEvent.getBytesWritten());
-            if (requestContext.bytesPending()
-                < ((long) MAX_PACKETS_IN_FLIGHT * requestContext.getRequest().getPacketSize())) {
+            if (!requestContext.shouldPause()) {
               fireNext(mTriggerEventsWithParam.mResume, requestContext);
               return true;
             }
@@ -852,6 +965,22 @@ public class NettyReadHandlerStateMachine<ReqT extends ReadRequest> {
           fireNext(mTriggerEventsWithParam.mClientCancelled, requestContext);
           return true;
         }
+
+        @Override
+        public boolean visit(CreditGranted channelEvent) {
+          requestContext.grantCredits(channelEvent.getRequestId(), channelEvent.getCredits());
+          if (!requestContext.shouldPause()) {
+            fireNext(mTriggerEventsWithParam.mResume, requestContext);
+            return true;
+          }
+          return false;
+        }
+
+        @Override
+        public boolean visit(SessionClosed channelEvent) {
+          mSessionClosed = true;
+          return false;
+        }
       });
 
       if (retNow) {
@@ -959,15 +1088,46 @@ public class NettyReadHandlerStateMachine<ReqT extends ReadRequest> {
         throwable, mChannel, transition.getSource(), transition.getTrigger());
   }
 
+  /**
+   * Releases the data of a packet that failed to be sent. Netty releases the data the encoder
+   * passed on to the channel, but not the data of a message which failed before it was encoded.
+   *
+   * @param nettyOutput the netty output of the data buffer of the packet
+   */
+  private static void releaseUnsentData(Object nettyOutput) {
+    if (nettyOutput instanceof List) {
+      for (Object dataBuffer : (List<?>) nettyOutput) {
+        releaseUnsentData(((DataBuffer) dataBuffer).getNettyOutput());
+      }
+    } else if (nettyOutput instanceof ReferenceCounted
+        && ((ReferenceCounted) nettyOutput).refCnt() > 0) {
+      ReferenceCountUtil.safeRelease(nettyOutput);
+    }
+  }
+
   private void closeChannel() {
     if (mChannel.isOpen()) {
       CommonUtils.closeChannel(mChannel);
     }
   }
 
+  private void closePacketReaderFactory() {
+    try {
+      mPacketReaderFactory.close();
+    } catch (Exception e) {
+      LOG.warn("Failed to close the packet reader factory of channel {}", mChannel, e);
+    }
+  }
+
+  private void onTerminatedExceptionally() {
+    closeChannel();
+    closePacketReaderFactory();
+  }
+
   private void onTerminatedNormally() {
     LOG.debug("Channel {} terminated normally", mChannel);
     closeChannel();
+    closePacketReaderFactory();
   }
 
   /**
@@ -994,6 +1154,32 @@ public class NettyReadHandlerStateMachine<ReqT extends ReadRequest> {
     }
   }
 
+  /**
+   * Grants more packet credits to the ongoing read request.
+   *
+   * @param requestId the id of the request the credits are granted to
+   * @param credits the number of packets that can be sent in addition
+   */
+  public void grantCredits(long requestId, int credits) {
+    try {
+      mChannelEventQueue.put(new CreditGranted(requestId, credits));
+    } catch (InterruptedException e) {
+      throw new RuntimeException("Interrupted when enqueuing credits from client", e);
+    }
+  }
+
+  /**
+   * Notifies the state machine that the client ended its read session on the channel, so that
+   * the file kept open for the session is closed.
+   */
+  public void closeSession() {
+    try {
+      mChannelEventQueue.put(new SessionClosed());
+    } catch (InterruptedException e) {
+      throw new RuntimeException("Interrupted when enqueuing session close from client", e);
+    }
+  }
+
   /**
    * Notify the state machine that a channel exception occur.
    *
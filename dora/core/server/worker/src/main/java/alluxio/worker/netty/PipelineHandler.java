@@ -14,6 +14,9 @@ package alluxio.worker.netty;
 import alluxio.conf.Configuration;
 import alluxio.conf.PropertyKey;
 import alluxio.network.netty.FileTransferType;
+import alluxio.network.protocol.MultiplexedProtocol;
+import alluxio.network.protocol.MultiplexedProtocolDetector;
+import alluxio.network.protocol.MultiplexedStreamCodec;
 import alluxio.network.protocol.RPCMessage;
 import alluxio.network.protocol.RPCMessageDecoder;
 import alluxio.network.protocol.RPCMessageEncoder;
@@ -23,6 +26,7 @@ import alluxio.worker.dora.DoraWorker;
 import io.netty.channel.Channel;
 import io.netty.channel.ChannelInitializer;
 import io.netty.channel.ChannelPipeline;
+import io.netty.handler.codec.http2.Http2MultiplexHandler;
 import io.netty.handler.timeout.IdleStateHandler;
 
 import java.util.concurrent.TimeUnit;
@@ -30,12 +34,18 @@ import javax.annotation.concurrent.ThreadSafe;
 
 /**
  * Adds the data server's pipeline into the channel.
+ * <p>
+ * A channel is set up for a plain connection first. If the client turns out to open a
+ * multiplexed connection, the pipeline of the channel is replaced by the one of a multiplexed
+ * connection, where each stream has the same handlers as a plain connection.
  */
 @ThreadSafe
 final class PipelineHandler extends ChannelInitializer<Channel> {
   private final FileTransferType mFileTransferType;
   private final UfsManager mUfsManager;
   private final DoraWorker mDoraWorker;
+  private final long mMultiplexWindowSize;
+  private final int mMultiplexMaxStreams;
 
   /**
    *
@@ -50,12 +60,49 @@ final class PipelineHandler extends ChannelInitializer<Channel> {
 
     mFileTransferType = Configuration
         .getEnum(PropertyKey.WORKER_NETWORK_NETTY_FILE_TRANSFER_TYPE, FileTransferType.class);
+    mMultiplexWindowSize =
+        Configuration.getBytes(PropertyKey.WORKER_NETWORK_NETTY_MULTIPLEX_WINDOW_SIZE);
+    mMultiplexMaxStreams =
+        Configuration.getInt(PropertyKey.WORKER_NETWORK_NETTY_MULTIPLEX_STREAMS_MAX);
   }
 
   @Override
   protected void initChannel(Channel ch) throws Exception {
     ChannelPipeline pipeline = ch.pipeline();
 
+    pipeline.addLast("multiplexedProtocolDetector",
+        new MultiplexedProtocolDetector(new ChannelInitializer<Channel>() {
+          @Override
+          protected void initChannel(Channel connection) {
+            addMultiplexedConnectionHandlers(connection.pipeline());
+          }
+        }));
+    addDataHandlers(pipeline, mFileTransferType);
+  }
+
+  private void addMultiplexedConnectionHandlers(ChannelPipeline pipeline) {
+    final long timeoutMs = Configuration.getMs(PropertyKey.NETWORK_NETTY_HEARTBEAT_TIMEOUT_MS);
+    // The streams in use are kept alive by heartbeats, so a connection is only idle when no
+    // stream is in use
+    pipeline.addLast("idleEventHandler", new IdleStateHandler(timeoutMs, 0, 0,
+        TimeUnit.MILLISECONDS));
+    pipeline.addLast("idleReadHandler", new IdleReadHandler());
+    pipeline.addLast("frameCodec",
+        MultiplexedProtocol.createFrameCodec(true, mMultiplexWindowSize, mMultiplexMaxStreams));
+    // File regions cannot be framed, so files are always sent as mapped buffers on streams
+    final FileTransferType streamFileTransferType = FileTransferType.MAPPED;
+    pipeline.addLast("multiplexHandler", new Http2MultiplexHandler(
+        new ChannelInitializer<Channel>() {
+          @Override
+          protected void initChannel(Channel stream) {
+            stream.pipeline().addLast("streamCodec", new MultiplexedStreamCodec(true));
+            addDataHandlers(stream.pipeline(), streamFileTransferType);
+          }
+        }));
+    MultiplexedProtocol.expandConnectionWindow(pipeline.channel(), mMultiplexWindowSize);
+  }
+
+  private void addDataHandlers(ChannelPipeline pipeline, FileTransferType fileTransferType) {
     final long timeoutMs = Configuration.getMs(PropertyKey.NETWORK_NETTY_HEARTBEAT_TIMEOUT_MS);
 
     // Decoders & Encoders
@@ -70,7 +117,7 @@ final class PipelineHandler extends ChannelInitializer<Channel> {
     pipeline.addLast("heartbeatHandler", new HeartbeatHandler());
 
     // Block Handlers
-    addBlockHandlerForDora(pipeline);
+    addBlockHandlerForDora(pipeline, fileTransferType);
 
     // UFS Handlers
     pipeline.addLast("ufsFileWriteHandler", new UfsFileWriteHandler(
@@ -79,10 +126,11 @@ final class PipelineHandler extends ChannelInitializer<Channel> {
     pipeline.addLast("unsupportedMessageHandler", new UnsupportedMessageHandler());
   }
 
-  private void addBlockHandlerForDora(ChannelPipeline pipeline) {
+  private void addBlockHandlerForDora(ChannelPipeline pipeline,
+      FileTransferType fileTransferType) {
     pipeline.addLast("fileReadHandler",
         new FileReadHandler(NettyExecutors.READER_EXECUTOR, pipeline.channel(),
-            mDoraWorker, mFileTransferType));
+            mDoraWorker, fileTransferType));
     //TODO(JiamingMai): WriteHandle also needs to be replaced, but it has not been implemented yet
     pipeline.addLast("fileWriteHandler",
         new FileWriteHandler(NettyExecutors.WRITER_EXECUTOR, mDoraWorker));
@@ -25,13 +25,22 @@ public class ReadRequest {
   private final long mEnd;
   private final int mPacketSize;
   private final long mSessionId;
+  private final int mCredits;
+  private final long mRequestId;
 
   protected ReadRequest(long id, long start, long end, int packetSize) {
+    this(id, start, end, packetSize, 0, 0);
+  }
+
+  protected ReadRequest(long id, long start, long end, int packetSize, int credits,
+      long requestId) {
     mId = id;
     mStart = start;
     mEnd = end;
     mPacketSize = packetSize;
     mSessionId = IdUtils.createSessionId();
+    mCredits = credits;
+    mRequestId = requestId;
   }
 
   /**
@@ -68,4 +77,19 @@ public class ReadRequest {
   public int getPacketSize() {
     return mPacketSize;
   }
+
+  /**
+   * @return the number of packets the client initially allows to be sent before granting more,
+   *         or 0 if the packets sent are not limited by the client
+   */
+  public int getCredits() {
+    return mCredits;
+  }
+
+  /**
+   * @return the id the client gave to the request to grant it credits
+   */
+  public long getRequestId() {
+    return mRequestId;
+  }
 }
@@ -0,0 +1,67 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.worker.dora;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import com.google.common.hash.Hashing;
+import com.google.common.io.BaseEncoding;
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Random;
+
+/**
+ * Tests for {@link LoadChecksum}.
+ */
+public final class LoadChecksumTest {
+  private static final int PAGE_SIZE = 1024;
+
+  @Test
+  public void checksumPages() throws Exception {
+    byte[] data = new byte[3 * PAGE_SIZE + 100];
+    new Random(42).nextBytes(data);
+    LoadChecksum checksum = new LoadChecksum();
+    for (int offset = 0; offset < data.length; offset += PAGE_SIZE) {
+      ByteBuffer page =
+          ByteBuffer.wrap(data, offset, Math.min(PAGE_SIZE, data.length - offset)).slice();
+      checksum.update(page);
+      // the page is left unchanged for the cache
+      assertEquals(0, page.position());
+    }
+    String md5 = md5Hex(data);
+    assertEquals(md5, checksum.getMd5());
+    assertEquals(4, checksum.getPageCrc32c().size());
+    assertEquals(Hashing.crc32c().hashBytes(Arrays.copyOfRange(data, 3 * PAGE_SIZE,
+        data.length)).asInt(), (int) checksum.getPageCrc32c().get(3));
+    assertTrue(checksum.matches(md5));
+    assertFalse(checksum.matches(md5Hex("other".getBytes(StandardCharsets.UTF_8))));
+  }
+
+  @Test
+  public void emptyFile() throws Exception {
+    LoadChecksum checksum = new LoadChecksum();
+    assertTrue(checksum.matches(md5Hex(new byte[0]).toUpperCase(Locale.ROOT)));
+    assertTrue(checksum.getPageCrc32c().isEmpty());
+  }
+
+  private static String md5Hex(byte[] data) throws Exception {
+    return BaseEncoding.base16().lowerCase().encode(
+        MessageDigest.getInstance("MD5").digest(data));
+  }
+}
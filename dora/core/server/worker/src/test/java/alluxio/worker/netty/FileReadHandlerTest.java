@@ -0,0 +1,151 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.worker.netty;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import alluxio.network.netty.FileTransferType;
+import alluxio.network.protocol.databuffer.CompositeDataBuffer;
+import alluxio.network.protocol.databuffer.DataBuffer;
+import alluxio.proto.dataserver.Protocol;
+import alluxio.util.io.BufferUtils;
+import alluxio.worker.dora.DoraWorker;
+import alluxio.worker.dora.PagedFileReader;
+
+import com.google.common.primitives.Bytes;
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.embedded.EmbeddedChannel;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class FileReadHandlerTest {
+  private DoraWorker mWorker;
+  private PagedFileReader mReader;
+  private FileReadHandler.FilePacketReaderFactory mFactory;
+
+  @Before
+  public void before() throws Exception {
+    mWorker = mock(DoraWorker.class);
+    mReader = mock(PagedFileReader.class);
+    when(mWorker.createFileReader(anyString(), anyLong(), anyBoolean(), any()))
+        .thenReturn(mReader);
+    mFactory = new FileReadHandler.FilePacketReaderFactory(mWorker, FileTransferType.MAPPED);
+  }
+
+  @Test
+  public void reuseReaderKeptOpen() throws Exception {
+    mFactory.create(request("/file", 0, true)).close();
+    mFactory.create(request("/file", 100, true)).close();
+    verify(mWorker, times(1)).createFileReader(anyString(), anyLong(), anyBoolean(), any());
+    verify(mReader).setPosition(100);
+    verify(mReader, never()).close();
+
+    // a request for another file closes the file kept open
+    mFactory.create(request("/other", 0, false)).close();
+    verify(mWorker, times(2)).createFileReader(anyString(), anyLong(), anyBoolean(), any());
+    verify(mReader, times(2)).close();
+  }
+
+  @Test
+  public void closeReaderKeptOpen() throws Exception {
+    mFactory.create(request("/file", 0, true)).close();
+    verify(mReader, never()).close();
+    mFactory.close();
+    verify(mReader).close();
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  public void readRanges() throws Exception {
+    int fileLength = 1000;
+    AtomicLong position = new AtomicLong();
+    doAnswer(invocation -> {
+      position.set(invocation.getArgument(0));
+      return null;
+    }).when(mReader).setPosition(anyLong());
+    when(mReader.transferTo(any())).thenAnswer(invocation -> {
+      ByteBuf buf = invocation.getArgument(0);
+      int length = (int) Math.min(buf.writableBytes(), fileLength - position.get());
+      if (length <= 0) {
+        return -1;
+      }
+      buf.writeBytes(BufferUtils.getIncreasingByteArray((int) position.get(), length));
+      position.addAndGet(length);
+      return length;
+    });
+    // the third range is cut short by the end of the file, so the last one is not read
+    Protocol.ReadRequest.Builder builder = Protocol.ReadRequest.newBuilder()
+        .setOffset(0)
+        .setLength(60)
+        .setChunkSize(8)
+        .setOpenUfsBlockOptions(Protocol.OpenUfsBlockOptions.newBuilder()
+            .setUfsPath("/file")
+            .setBlockSize(fileLength));
+    long[][] ranges = {{10, 5}, {500, 20}, {990, 30}, {0, 5}};
+    for (long[] range : ranges) {
+      builder.addRanges(Protocol.ReadRange.newBuilder().setOffset(range[0]).setLength(range[1]));
+    }
+    EmbeddedChannel channel = new EmbeddedChannel();
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    try (FileReadHandler.FilePacketReader packetReader =
+        mFactory.create(new BlockReadRequest(builder.build()))) {
+      for (int offset = 0; offset < 60; ) {
+        DataBuffer buffer = packetReader.createDataBuffer(channel, offset, 8);
+        if (buffer.readableBytes() == 0) {
+          break;
+        }
+        offset += buffer.readableBytes();
+        List<DataBuffer> parts = buffer instanceof CompositeDataBuffer
+            ? (List<DataBuffer>) buffer.getNettyOutput() : Collections.singletonList(buffer);
+        for (DataBuffer part : parts) {
+          byte[] data = new byte[part.readableBytes()];
+          part.readBytes(data, 0, data.length);
+          out.write(data);
+        }
+        buffer.release();
+      }
+    }
+    assertArrayEquals(Bytes.concat(BufferUtils.getIncreasingByteArray(10, 5),
+        BufferUtils.getIncreasingByteArray(500, 20), BufferUtils.getIncreasingByteArray(990, 10)),
+        out.toByteArray());
+    verify(mWorker).createFileReader(anyString(), eq(10L), anyBoolean(), any());
+    channel.close();
+  }
+
+  private static BlockReadRequest request(String path, long offset, boolean keepOpen) {
+    return new BlockReadRequest(Protocol.ReadRequest.newBuilder()
+        .setOffset(offset)
+        .setLength(10)
+        .setChunkSize(10)
+        .setKeepOpen(keepOpen)
+        .setOpenUfsBlockOptions(Protocol.OpenUfsBlockOptions.newBuilder()
+            .setUfsPath(path)
+            .setBlockSize(1000))
+        .build());
+  }
+}
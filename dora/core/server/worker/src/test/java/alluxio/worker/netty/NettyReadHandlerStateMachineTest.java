@@ -11,11 +11,31 @@
 
 package alluxio.worker.netty;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import alluxio.network.protocol.RPCProtoMessage;
+import alluxio.network.protocol.databuffer.DataBuffer;
+import alluxio.network.protocol.databuffer.NettyDataBuffer;
+
+import io.netty.buffer.Unpooled;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelOutboundHandlerAdapter;
+import io.netty.channel.ChannelPromise;
 import io.netty.channel.embedded.EmbeddedChannel;
 import org.junit.Test;
 
 import java.io.File;
 import java.io.IOException;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
 
 public class NettyReadHandlerStateMachineTest {
 
@@ -27,4 +47,90 @@ public class NettyReadHandlerStateMachineTest {
             embeddedChannel, ReadRequest.class, (readRequest) -> null);
     stateMachine.generateStateDiagram(new File("output.dot").toPath());
   }
+
+  @Test
+  public void sendOnlyCreditedPackets() throws Exception {
+    BlockingQueue<RPCProtoMessage> sent = new LinkedBlockingQueue<>();
+    EmbeddedChannel channel = new EmbeddedChannel(new ChannelOutboundHandlerAdapter() {
+      @Override
+      public void write(ChannelHandlerContext ctx, Object msg, ChannelPromise promise) {
+        sent.add((RPCProtoMessage) msg);
+        promise.setSuccess();
+      }
+    });
+    AbstractReadHandler.PacketReader<ReadRequest> packetReader =
+        new AbstractReadHandler.PacketReader<ReadRequest>() {
+          @Override
+          public DataBuffer createDataBuffer(Channel ch, long offset, int len) {
+            return new NettyDataBuffer(Unpooled.wrappedBuffer(new byte[len]));
+          }
+
+          @Override
+          public void close() {}
+        };
+    NettyReadHandlerStateMachine<ReadRequest> stateMachine = new NettyReadHandlerStateMachine<>(
+        channel, ReadRequest.class, (readRequest) -> packetReader);
+    ExecutorService executor = Executors.newSingleThreadExecutor();
+    try {
+      executor.submit(stateMachine::run);
+      // 3 packets of 5 bytes, the client allows 1 packet at first
+      stateMachine.submitNewRequest(new ReadRequest(1, 0, 15, 5, 1, 7));
+      assertEquals(5, sent.poll(10, TimeUnit.SECONDS).getPayloadDataBuffer().getLength());
+      assertNull(sent.poll(200, TimeUnit.MILLISECONDS));
+      // credits for another request are ignored
+      stateMachine.grantCredits(100, 1);
+      assertNull(sent.poll(200, TimeUnit.MILLISECONDS));
+      stateMachine.grantCredits(7, 1);
+      assertEquals(5, sent.poll(10, TimeUnit.SECONDS).getPayloadDataBuffer().getLength());
+      assertNull(sent.poll(200, TimeUnit.MILLISECONDS));
+      stateMachine.grantCredits(7, 2);
+      assertEquals(5, sent.poll(10, TimeUnit.SECONDS).getPayloadDataBuffer().getLength());
+      RPCProtoMessage eof = sent.poll(10, TimeUnit.SECONDS);
+      assertNotNull(eof);
+      assertNull(eof.getPayloadDataBuffer());
+      // the next request reads the same range again, the spare credit of the previous request
+      // arriving late does not apply to it
+      stateMachine.submitNewRequest(new ReadRequest(1, 0, 15, 5, 1, 8));
+      assertEquals(5, sent.poll(10, TimeUnit.SECONDS).getPayloadDataBuffer().getLength());
+      stateMachine.grantCredits(7, 1);
+      assertNull(sent.poll(200, TimeUnit.MILLISECONDS));
+      stateMachine.grantCredits(8, 2);
+      assertEquals(5, sent.poll(10, TimeUnit.SECONDS).getPayloadDataBuffer().getLength());
+      assertEquals(5, sent.poll(10, TimeUnit.SECONDS).getPayloadDataBuffer().getLength());
+    } finally {
+      stateMachine.notifyChannelClosed();
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  public void closeSession() throws Exception {
+    CountDownLatch closed = new CountDownLatch(1);
+    AbstractReadHandler.PacketReader.Factory<ReadRequest,
+        AbstractReadHandler.PacketReader<ReadRequest>> factory =
+        new AbstractReadHandler.PacketReader.Factory<ReadRequest,
+            AbstractReadHandler.PacketReader<ReadRequest>>() {
+          @Override
+          public AbstractReadHandler.PacketReader<ReadRequest> create(ReadRequest readRequest) {
+            throw new UnsupportedOperationException();
+          }
+
+          @Override
+          public void close() {
+            closed.countDown();
+          }
+        };
+    NettyReadHandlerStateMachine<ReadRequest> stateMachine = new NettyReadHandlerStateMachine<>(
+        new EmbeddedChannel(), ReadRequest.class, factory);
+    ExecutorService executor = Executors.newSingleThreadExecutor();
+    try {
+      executor.submit(stateMachine::run);
+      // the file kept open for the session is closed while the channel stays open
+      stateMachine.closeSession();
+      assertTrue(closed.await(10, TimeUnit.SECONDS));
+    } finally {
+      stateMachine.notifyChannelClosed();
+      executor.shutdownNow();
+    }
+  }
 }
@@ -0,0 +1,114 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.worker.netty;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.mockito.Mockito.mock;
+
+import alluxio.network.netty.NettyClient;
+import alluxio.network.netty.NettyMultiplexedChannelPool;
+import alluxio.network.protocol.RPCProtoMessage;
+import alluxio.proto.dataserver.Protocol;
+import alluxio.proto.status.Status.PStatus;
+import alluxio.underfs.UfsManager;
+import alluxio.util.proto.ProtoMessage;
+import alluxio.worker.dora.DoraWorker;
+
+import io.netty.bootstrap.Bootstrap;
+import io.netty.bootstrap.ServerBootstrap;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.SimpleChannelInboundHandler;
+import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.channel.socket.nio.NioServerSocketChannel;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.net.InetSocketAddress;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+public class PipelineHandlerTest {
+  private EventLoopGroup mServerGroup;
+  private Channel mServerChannel;
+  private InetSocketAddress mAddress;
+
+  @Before
+  public void before() throws Exception {
+    mServerGroup = new NioEventLoopGroup(2);
+    mServerChannel = new ServerBootstrap()
+        .group(mServerGroup)
+        .channel(NioServerSocketChannel.class)
+        .childHandler(new PipelineHandler(mock(UfsManager.class), mock(DoraWorker.class)))
+        .bind(new InetSocketAddress("localhost", 0)).sync().channel();
+    mAddress = (InetSocketAddress) mServerChannel.localAddress();
+  }
+
+  @After
+  public void after() throws Exception {
+    mServerChannel.close().sync();
+    mServerGroup.shutdownGracefully(0, 1, TimeUnit.SECONDS).sync();
+  }
+
+  @Test
+  public void plainConnection() throws Exception {
+    Channel channel = NettyClient.createClientBootstrap(mAddress).remoteAddress(mAddress)
+        .connect().sync().channel();
+    try {
+      checkUnsupportedRequest(channel);
+    } finally {
+      channel.close().sync();
+    }
+  }
+
+  @Test
+  public void multiplexedConnection() throws Exception {
+    Bootstrap bootstrap =
+        NettyClient.createMultiplexedClientBootstrap(mAddress).remoteAddress(mAddress);
+    NettyMultiplexedChannelPool pool = new NettyMultiplexedChannelPool(bootstrap,
+        NettyClient.createStreamHandler(), 2, 1024 * 1024, 60 * 1000);
+    try {
+      Channel[] streams = new Channel[3];
+      for (int i = 0; i < streams.length; i++) {
+        streams[i] = pool.acquire();
+      }
+      assertEquals(2, pool.getConnectionCount());
+      for (Channel stream : streams) {
+        checkUnsupportedRequest(stream);
+      }
+      for (Channel stream : streams) {
+        pool.release(stream);
+      }
+    } finally {
+      pool.close();
+    }
+  }
+
+  private static void checkUnsupportedRequest(Channel channel) throws Exception {
+    BlockingQueue<RPCProtoMessage> responses = new LinkedBlockingQueue<>();
+    channel.pipeline().addLast(new SimpleChannelInboundHandler<RPCProtoMessage>() {
+      @Override
+      protected void channelRead0(ChannelHandlerContext ctx, RPCProtoMessage msg) {
+        responses.add(msg);
+      }
+    });
+    channel.writeAndFlush(new RPCProtoMessage(new ProtoMessage(
+        Protocol.LocalBlockOpenRequest.newBuilder().setBlockId(1).build())));
+    RPCProtoMessage response = responses.poll(10, TimeUnit.SECONDS);
+    assertNotNull(response);
+    assertEquals(PStatus.UNIMPLEMENTED, response.getMessage().asResponse().getStatus());
+  }
+}
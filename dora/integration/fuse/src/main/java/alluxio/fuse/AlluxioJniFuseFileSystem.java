@@ -18,8 +18,6 @@ import alluxio.client.block.BlockMasterClient;
 import alluxio.client.file.FileSystem;
 import alluxio.client.file.FileSystemContext;
 import alluxio.client.file.URIStatus;
-import alluxio.collections.IndexDefinition;
-import alluxio.collections.IndexedSet;
 import alluxio.conf.AlluxioConfiguration;
 import alluxio.conf.PropertyKey;
 import alluxio.exception.AlluxioException;
@@ -36,9 +34,12 @@ import alluxio.fuse.auth.AuthPolicyFactory;
 import alluxio.fuse.file.CreateFileStatus;
 import alluxio.fuse.file.FileStatus;
 import alluxio.fuse.file.FuseFileEntry;
+import alluxio.fuse.file.FuseFileEntryTable;
 import alluxio.fuse.file.FuseFileStream;
 import alluxio.fuse.file.FuseStreamFactory;
 import alluxio.fuse.file.SimpleFuseStreamFactory;
+import alluxio.fuse.meta.FuseAttributeCache;
+import alluxio.fuse.meta.KernelCacheInvalidator;
 import alluxio.fuse.options.FuseOptions;
 import alluxio.grpc.CreateDirectoryPOptions;
 import alluxio.grpc.ErrorType;
@@ -76,7 +77,6 @@ import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
-import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Supplier;
 import javax.annotation.Nullable;
 import javax.annotation.concurrent.ThreadSafe;
@@ -89,6 +89,7 @@ import javax.annotation.concurrent.ThreadSafe;
 @ThreadSafe
 public class AlluxioJniFuseFileSystem extends AbstractFuseFileSystem {
   private static final Logger LOG = LoggerFactory.getLogger(AlluxioJniFuseFileSystem.class);
+  private static final long KERNEL_CACHE_MAX_TRACKED_PATHS = 100_000;
 
   private final AlluxioConfiguration mConf;
   private final FileSystem mFileSystem;
@@ -97,16 +98,10 @@ public class AlluxioJniFuseFileSystem extends AbstractFuseFileSystem {
   private final Supplier<BlockMasterInfo> mFsStatCache;
   // Keeps a cache of the most recently translated paths from String to Alluxio URI
   protected final LoadingCache<String, AlluxioURI> mPathResolverCache;
-  private final AtomicLong mNextOpenFileId = new AtomicLong(0);
   private final FuseShell mFuseShell;
-  public static final IndexDefinition<FuseFileEntry<FuseFileStream>, Long>
-      ID_INDEX = IndexDefinition.ofUnique(FuseFileEntry::getId);
-  // Add a PATH_INDEX to know getattr() been called when writing this file
-  public static final IndexDefinition<FuseFileEntry<FuseFileStream>, String>
-      PATH_INDEX = IndexDefinition.ofUnique(FuseFileEntry::getPath);
-
-  protected final IndexedSet<FuseFileEntry<FuseFileStream>> mFileEntries
-      = new IndexedSet<>(ID_INDEX, PATH_INDEX);
+  // Open files by fd, looked up without locking by read and write, and by path to know
+  // getattr() been called when writing this file
+  protected final FuseFileEntryTable<FuseFileStream> mFileEntries = new FuseFileEntryTable<>();
   private final AuthPolicy mAuthPolicy;
   private FuseStreamFactory mFuseStreamFactory;
 
@@ -114,6 +109,12 @@ public class AlluxioJniFuseFileSystem extends AbstractFuseFileSystem {
   private final FuseOptions mFuseOptions;
 
   private final BlockMasterInfo mFakeBlockMasterInfo;
+  // Statuses listed by readdir for the following getattr calls, null if disabled
+  @Nullable
+  private final FuseAttributeCache mAttributeCache;
+  // Invalidates the kernel caches of the changed files, null if the kernel caches are disabled
+  @Nullable
+  private final KernelCacheInvalidator mKernelCacheInvalidator;
 
   /** df command will treat -1 as an unknown value. */
   @VisibleForTesting
@@ -155,6 +156,12 @@ public class AlluxioJniFuseFileSystem extends AbstractFuseFileSystem {
     mFakeBlockMasterInfo = new BlockMasterInfo();
     mFakeBlockMasterInfo.setCapacityBytes(1_000_000_000_000_000L);  // 1 petabytes
     mFakeBlockMasterInfo.setFreeBytes(1_000_000_000_000_000L);  // 1 petabytes
+    long attrCacheMaxSize = mConf.getInt(PropertyKey.FUSE_ATTR_CACHE_MAX_SIZE);
+    long attrCacheExpirationMs = mConf.getMs(PropertyKey.FUSE_ATTR_CACHE_EXPIRATION_TIME);
+    mAttributeCache = attrCacheMaxSize > 0 && attrCacheExpirationMs > 0
+        ? new FuseAttributeCache(attrCacheMaxSize, attrCacheExpirationMs) : null;
+    mKernelCacheInvalidator = mConf.getBoolean(PropertyKey.FUSE_KERNEL_CACHE_ENABLED)
+        ? new KernelCacheInvalidator(this::invalidatePath, KERNEL_CACHE_MAX_TRACKED_PATHS) : null;
 
     MetricsSystem.registerGaugeIfAbsent(
         MetricsSystem.getMetricName(MetricKey.FUSE_READ_WRITE_FILE_COUNT.getName()),
@@ -195,11 +202,20 @@ public class AlluxioJniFuseFileSystem extends AbstractFuseFileSystem {
     if (res != 0) {
       return res;
     }
+    if (mode != AlluxioFuseUtils.MODE_NOT_SET_VALUE) {
+      invalidateAttributes(path);
+    }
     try {
       FuseFileStream stream = mFuseStreamFactory.create(uri, fi.flags.get(), mode);
-      long fd = mNextOpenFileId.getAndIncrement();
-      mFileEntries.add(new FuseFileEntry<>(fd, path, stream, fi.flags.get()));
-      fi.fh.set(fd);
+      FuseFileEntry<FuseFileStream> entry;
+      try {
+        entry = mFileEntries.add(path, stream, fi.flags.get());
+      } catch (IllegalStateException e) {
+        LOG.error("Failed to open {}: too many open files", path, e);
+        stream.close();
+        return -ErrorCodes.EMFILE();
+      }
+      fi.fh.set(entry.getId());
     } catch (NotFoundRuntimeException e) {
       LOG.error("Failed to read {}: path does not exist or is invalid", path, e);
       return -ErrorCodes.ENOENT();
@@ -226,6 +242,13 @@ public class AlluxioJniFuseFileSystem extends AbstractFuseFileSystem {
   }
 
   private int getattrInternal(String path, FileStat stat) {
+    if (mAttributeCache != null) {
+      URIStatus cachedStatus = mAttributeCache.get(path);
+      if (cachedStatus != null && mFileEntries.getByPath(path).isEmpty()) {
+        AlluxioFuseUtils.fillStat(mAuthPolicy, stat, cachedStatus);
+        return 0;
+      }
+    }
     final AlluxioURI uri = mPathResolverCache.getUnchecked(path);
     int res = AlluxioFuseUtils.checkNameLength(uri);
     if (res != 0) {
@@ -244,8 +267,7 @@ public class AlluxioJniFuseFileSystem extends AbstractFuseFileSystem {
       status.ifPresent(uriStatus -> AlluxioFuseUtils.fillStat(mAuthPolicy, stat, uriStatus));
 
       boolean hasWriteStream = false;
-      Set<FuseFileEntry<FuseFileStream>> fuseStreams
-          = mFileEntries.getByField(PATH_INDEX, path);
+      Set<FuseFileEntry<FuseFileStream>> fuseStreams = mFileEntries.getByPath(path);
       if (!fuseStreams.isEmpty()) {
         for (FuseFileEntry<FuseFileStream> stream : fuseStreams) {
           FileStatus fileStatus = stream.getFileStream().getFileStatus();
@@ -272,6 +294,13 @@ public class AlluxioJniFuseFileSystem extends AbstractFuseFileSystem {
         }
       }
 
+      if (mKernelCacheInvalidator != null && !hasWriteStream) {
+        if (status.isPresent()) {
+          mKernelCacheInvalidator.onStatus(path, status.get(), true);
+        } else {
+          mKernelCacheInvalidator.onRemoved(path);
+        }
+      }
       if (!status.isPresent() && !hasWriteStream) {
         LOG.debug("Failed to getattr {}: path does not exist or is invalid", path);
         return -ErrorCodes.ENOENT();
@@ -302,8 +331,17 @@ public class AlluxioJniFuseFileSystem extends AbstractFuseFileSystem {
       FuseFillDir.apply(filter, buff, ".", null, 0);
       FuseFillDir.apply(filter, buff, "..", null, 0);
 
+      String dir = path.endsWith("/") ? path : path + "/";
+      // statuses listed before an invalidation made during the listing are not cached
+      long epoch = mAttributeCache == null ? 0 : mAttributeCache.getEpoch();
       mFileSystem.iterateStatus(uri, file -> {
         FuseFillDir.apply(filter, buff, file.getName(), null, 0);
+        if (mAttributeCache != null) {
+          mAttributeCache.put(dir + file.getName(), file, epoch);
+        }
+        if (mKernelCacheInvalidator != null) {
+          mKernelCacheInvalidator.onStatus(dir + file.getName(), file, false);
+        }
       });
     } catch (IOException | AlluxioException e) {
       LOG.error("Failed to readdir {}", path, e);
@@ -323,7 +361,7 @@ public class AlluxioJniFuseFileSystem extends AbstractFuseFileSystem {
 
   private int readInternal(
       String path, ByteBuffer buf, long size, long offset, long fd) {
-    FuseFileEntry<FuseFileStream> entry = mFileEntries.getFirstByField(ID_INDEX, fd);
+    FuseFileEntry<FuseFileStream> entry = mFileEntries.get(fd);
     if (entry == null) {
       LOG.error("Failed to read {}: Cannot find fd {}", path, fd);
       return -ErrorCodes.EBADFD();
@@ -347,7 +385,7 @@ public class AlluxioJniFuseFileSystem extends AbstractFuseFileSystem {
 
   protected int writeInternal(
       String path, ByteBuffer buf, long size, long offset, long fd) {
-    FuseFileEntry<FuseFileStream> entry = mFileEntries.getFirstByField(ID_INDEX, fd);
+    FuseFileEntry<FuseFileStream> entry = mFileEntries.get(fd);
     if (entry == null) {
       LOG.error("Failed to write {}: Cannot find fd {}", path, fd);
       return -ErrorCodes.EBADFD();
@@ -372,10 +410,10 @@ public class AlluxioJniFuseFileSystem extends AbstractFuseFileSystem {
   }
 
   protected int flushInternal(String path, long fd) {
-    FuseFileEntry<FuseFileStream> entry = mFileEntries.getFirstByField(ID_INDEX, fd);
+    FuseFileEntry<FuseFileStream> entry = mFileEntries.get(fd);
     if (entry == null) {
       LOG.error("Failed to flush {}: Cannot find fd {}", path, fd);
-      entry = mFileEntries.getFirstByField(PATH_INDEX, path);
+      entry = mFileEntries.getFirstByPath(path);
       if (entry == null) {
         LOG.error("Failed to flush {}: Cannot find path", path);
         // Do not error out for flush since flush is a noop for now
@@ -394,7 +432,7 @@ public class AlluxioJniFuseFileSystem extends AbstractFuseFileSystem {
   }
 
   protected int releaseInternal(String path, long fd) {
-    FuseFileEntry<FuseFileStream> entry = mFileEntries.getFirstByField(ID_INDEX, fd);
+    FuseFileEntry<FuseFileStream> entry = mFileEntries.get(fd);
     if (entry == null) {
       LOG.error("Failed to release {}: Cannot find fd {}", path, fd);
       return -ErrorCodes.EBADFD();
@@ -403,6 +441,7 @@ public class AlluxioJniFuseFileSystem extends AbstractFuseFileSystem {
       entry.getFileStream().close();
     } finally {
       mFileEntries.remove(entry);
+      invalidateAttributes(path);
     }
     return 0;
   }
@@ -419,6 +458,7 @@ public class AlluxioJniFuseFileSystem extends AbstractFuseFileSystem {
     if (res != 0) {
       return res;
     }
+    invalidateAttributes(path);
     try {
       mFileSystem.createDirectory(uri,
           CreateDirectoryPOptions.newBuilder()
@@ -457,6 +497,9 @@ public class AlluxioJniFuseFileSystem extends AbstractFuseFileSystem {
     if (res != 0) {
       return res;
     }
+    if (mAttributeCache != null) {
+      mAttributeCache.invalidateTree(path);
+    }
     try {
       mFileSystem.delete(uri);
     } catch (DirectoryNotEmptyException de) {
@@ -485,6 +528,10 @@ public class AlluxioJniFuseFileSystem extends AbstractFuseFileSystem {
     if (res != 0) {
       return res;
     }
+    if (mAttributeCache != null) {
+      mAttributeCache.invalidateTree(sourcePath);
+      mAttributeCache.invalidateTree(destPath);
+    }
     Optional<URIStatus> sourceStatus = AlluxioFuseUtils.getPathStatus(mFileSystem, sourceUri);
     if (!sourceStatus.isPresent()) {
       LOG.error("Failed to rename {} to {}: source non-existing", sourcePath, destPath);
@@ -543,6 +590,7 @@ public class AlluxioJniFuseFileSystem extends AbstractFuseFileSystem {
     if (res != 0) {
       return res;
     }
+    invalidateAttributes(path);
     AlluxioFuseUtils.setAttribute(mFileSystem, mPathResolverCache.getUnchecked(path),
         SetAttributePOptions.newBuilder()
             .setMode(new Mode((short) mode).toProto()).build());
@@ -561,6 +609,7 @@ public class AlluxioJniFuseFileSystem extends AbstractFuseFileSystem {
     if (res != 0) {
       return res;
     }
+    invalidateAttributes(path);
     mAuthPolicy.setUserGroup(uri, uid, gid);
     return 0;
   }
@@ -587,8 +636,9 @@ public class AlluxioJniFuseFileSystem extends AbstractFuseFileSystem {
     if (res != 0) {
       return res;
     }
+    invalidateAttributes(path);
     try {
-      FuseFileEntry<FuseFileStream> entry = mFileEntries.getFirstByField(PATH_INDEX, path);
+      FuseFileEntry<FuseFileStream> entry = mFileEntries.getFirstByPath(path);
       if (entry != null) {
         entry.getFileStream().truncate(size);
         return 0;
@@ -741,9 +791,23 @@ public class AlluxioJniFuseFileSystem extends AbstractFuseFileSystem {
         }
       }
     }
+    if (mKernelCacheInvalidator != null) {
+      mKernelCacheInvalidator.close();
+    }
     super.umount(force);
   }
 
+  /**
+   * Drops the status of a path changed through this mount from the attribute cache.
+   *
+   * @param path the path relative to the mount point
+   */
+  private void invalidateAttributes(String path) {
+    if (mAttributeCache != null) {
+      mAttributeCache.invalidate(path);
+    }
+  }
+
   @VisibleForTesting
   LoadingCache<String, AlluxioURI> getPathResolverCache() {
     return mPathResolverCache;
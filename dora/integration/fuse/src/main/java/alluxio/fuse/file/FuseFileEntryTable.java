@@ -0,0 +1,184 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.fuse.file;
+
+import com.google.common.base.Preconditions;
+
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * Table of the open files of the FUSE file system, indexed by file handle and by path.
+ * <p>
+ * The handles are allocated by the table and index slots of fixed size segments, which are
+ * created on demand and never moved, so that the lookup by handle done by every read and write
+ * is two array reads without any lock. The handles of the released files are reused. The path
+ * index maps each path to all the entries of the files open on it.
+ *
+ * @param <T> the concrete fuse file stream subclass
+ */
+@ThreadSafe
+public final class FuseFileEntryTable<T extends FuseFileStream> {
+  private static final int SEGMENT_BITS = 10;
+  private static final int SEGMENT_SIZE = 1 << SEGMENT_BITS;
+  private static final int DEFAULT_MAX_SEGMENTS = 1 << 12;
+
+  private final AtomicReferenceArray<AtomicReferenceArray<FuseFileEntry<T>>> mSegments;
+  private final AtomicLong mNextId = new AtomicLong(0);
+  private final ConcurrentLinkedQueue<Long> mFreeIds = new ConcurrentLinkedQueue<>();
+  private final ConcurrentHashMap<String, Set<FuseFileEntry<T>>> mPathIndex =
+      new ConcurrentHashMap<>();
+  private final AtomicInteger mSize = new AtomicInteger(0);
+
+  /**
+   * Creates a table of up to about four million open files.
+   */
+  public FuseFileEntryTable() {
+    this(DEFAULT_MAX_SEGMENTS);
+  }
+
+  /**
+   * @param maxSegments the maximum number of segments, each holding 1024 open files
+   */
+  public FuseFileEntryTable(int maxSegments) {
+    Preconditions.checkArgument(maxSegments > 0, "maxSegments should be positive");
+    mSegments = new AtomicReferenceArray<>(maxSegments);
+  }
+
+  /**
+   * Adds an open file to the table.
+   *
+   * @param path the path of the file
+   * @param fileStream the in/out stream of the file
+   * @param openOrCreateFlags open or create flags
+   * @return the entry of the file, holding its handle
+   * @throws IllegalStateException if the table is full
+   */
+  public FuseFileEntry<T> add(String path, T fileStream, int openOrCreateFlags) {
+    long id = allocateId();
+    FuseFileEntry<T> entry;
+    try {
+      entry = new FuseFileEntry<>(id, path, fileStream, openOrCreateFlags);
+    } catch (RuntimeException e) {
+      mFreeIds.add(id);
+      throw e;
+    }
+    getSegment(id, true).set((int) (id & (SEGMENT_SIZE - 1)), entry);
+    mPathIndex.compute(path, (key, entries) -> {
+      Set<FuseFileEntry<T>> set = entries == null ? ConcurrentHashMap.newKeySet() : entries;
+      set.add(entry);
+      return set;
+    });
+    mSize.incrementAndGet();
+    return entry;
+  }
+
+  /**
+   * @param id the handle of the file
+   * @return the entry of the open file with the given handle, or null if there is none
+   */
+  @Nullable
+  public FuseFileEntry<T> get(long id) {
+    AtomicReferenceArray<FuseFileEntry<T>> segment = getSegment(id, false);
+    return segment == null ? null : segment.get((int) (id & (SEGMENT_SIZE - 1)));
+  }
+
+  /**
+   * @param path the path of the file
+   * @return the entries of the files open on the given path
+   */
+  public Set<FuseFileEntry<T>> getByPath(String path) {
+    Set<FuseFileEntry<T>> entries = mPathIndex.get(path);
+    return entries == null ? Collections.emptySet() : Collections.unmodifiableSet(entries);
+  }
+
+  /**
+   * @param path the path of the file
+   * @return any of the entries of the files open on the given path, or null if there is none
+   */
+  @Nullable
+  public FuseFileEntry<T> getFirstByPath(String path) {
+    for (FuseFileEntry<T> entry : getByPath(path)) {
+      return entry;
+    }
+    return null;
+  }
+
+  /**
+   * Removes an open file from the table, so that its handle can be reused.
+   *
+   * @param entry the entry of the file
+   * @return whether the entry was in the table
+   */
+  public boolean remove(FuseFileEntry<T> entry) {
+    AtomicReferenceArray<FuseFileEntry<T>> segment = getSegment(entry.getId(), false);
+    if (segment == null
+        || !segment.compareAndSet((int) (entry.getId() & (SEGMENT_SIZE - 1)), entry, null)) {
+      return false;
+    }
+    mPathIndex.computeIfPresent(entry.getPath(), (key, entries) -> {
+      entries.remove(entry);
+      return entries.isEmpty() ? null : entries;
+    });
+    mSize.decrementAndGet();
+    mFreeIds.add(entry.getId());
+    return true;
+  }
+
+  /**
+   * @return the number of open files
+   */
+  public int size() {
+    return mSize.get();
+  }
+
+  /**
+   * @return whether there is no open file
+   */
+  public boolean isEmpty() {
+    return size() == 0;
+  }
+
+  private long allocateId() {
+    Long id = mFreeIds.poll();
+    if (id != null) {
+      return id;
+    }
+    long newId = mNextId.getAndIncrement();
+    if ((newId >> SEGMENT_BITS) >= mSegments.length()) {
+      throw new IllegalStateException(String.format(
+          "Cannot open more than %d files", (long) mSegments.length() * SEGMENT_SIZE));
+    }
+    return newId;
+  }
+
+  @Nullable
+  private AtomicReferenceArray<FuseFileEntry<T>> getSegment(long id, boolean create) {
+    long index = id >> SEGMENT_BITS;
+    if (id < 0 || index >= mSegments.length()) {
+      return null;
+    }
+    AtomicReferenceArray<FuseFileEntry<T>> segment = mSegments.get((int) index);
+    if (segment == null && create) {
+      mSegments.compareAndSet((int) index, null, new AtomicReferenceArray<>(SEGMENT_SIZE));
+      segment = mSegments.get((int) index);
+    }
+    return segment;
+  }
+}
@@ -0,0 +1,187 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.fuse.meta;
+
+import alluxio.client.file.URIStatus;
+import alluxio.metrics.MetricKey;
+import alluxio.metrics.MetricsSystem;
+
+import com.codahale.metrics.Counter;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * Caches the statuses of the entries listed by readdir, so that the getattr calls the kernel
+ * makes for each entry right after the listing, e.g. for {@code ls -l}, are answered without a
+ * getStatus call per entry.
+ * <p>
+ * Only the statuses of completed files and directories are cached. The entries changed through
+ * this FUSE mount are invalidated by the callers; the changes made elsewhere are visible after
+ * the expiration time at the latest.
+ * <p>
+ * A listing may return a status from before an invalidation made while the listing was in
+ * progress. Each invalidation therefore takes a new epoch, recorded for the path invalidated,
+ * and each status is cached with the epoch at the start of its listing, so that a status listed
+ * before the last invalidation of its path or of one of its ancestors is never served. Trees
+ * are invalidated lazily by the lookups, without scanning the cached paths.
+ */
+@ThreadSafe
+public final class FuseAttributeCache {
+  private final Cache<String, Entry> mCache;
+  /** Incremented by each invalidation. */
+  private final AtomicLong mEpoch = new AtomicLong();
+  /**
+   * The epoch of the last invalidation of each path, and of each tree under the key of the
+   * path with a trailing separator.
+   */
+  private final ConcurrentHashMap<String, Long> mInvalidations = new ConcurrentHashMap<>();
+  /** The statuses listed before this epoch are stale, raised when invalidations are dropped. */
+  private final AtomicLong mMinEpoch = new AtomicLong();
+  private final long mMaxInvalidations;
+
+  /**
+   * @param maxSize the maximum number of statuses to keep
+   * @param expirationMs how long to keep a status
+   */
+  public FuseAttributeCache(long maxSize, long expirationMs) {
+    mCache = CacheBuilder.newBuilder()
+        .maximumSize(maxSize)
+        .expireAfterWrite(expirationMs, TimeUnit.MILLISECONDS)
+        .build();
+    mMaxInvalidations = maxSize;
+  }
+
+  /**
+   * @return the epoch to cache the statuses of a listing starting now with
+   */
+  public long getEpoch() {
+    return mEpoch.get();
+  }
+
+  /**
+   * Caches the status of a path listed by readdir.
+   *
+   * @param path the path relative to the mount point
+   * @param status the status of the path
+   * @param epoch the epoch taken before the listing started
+   */
+  public void put(String path, URIStatus status, long epoch) {
+    if ((status.isFolder() || status.isCompleted()) && !isInvalidated(path, epoch)) {
+      mCache.put(path, new Entry(status, epoch));
+    }
+  }
+
+  /**
+   * @param path the path relative to the mount point
+   * @return the cached status of the path, or null if it is not cached
+   */
+  @Nullable
+  public URIStatus get(String path) {
+    Entry entry = mCache.getIfPresent(path);
+    if (entry == null) {
+      return null;
+    }
+    if (isInvalidated(path, entry.mEpoch)) {
+      mCache.asMap().remove(path, entry);
+      return null;
+    }
+    Metrics.HITS.inc();
+    return entry.mStatus;
+  }
+
+  /**
+   * Drops the status of a path.
+   *
+   * @param path the path relative to the mount point
+   */
+  public void invalidate(String path) {
+    long epoch = mEpoch.incrementAndGet();
+    recordInvalidation(path, epoch);
+    mCache.invalidate(path);
+  }
+
+  /**
+   * Drops the statuses of a path and of all the paths under it.
+   *
+   * @param path the path relative to the mount point
+   */
+  public void invalidateTree(String path) {
+    long epoch = mEpoch.incrementAndGet();
+    recordInvalidation(path, epoch);
+    recordInvalidation(path.endsWith("/") ? path : path + "/", epoch);
+    mCache.invalidate(path);
+  }
+
+  /**
+   * @return the number of cached statuses
+   */
+  public long size() {
+    return mCache.size();
+  }
+
+  private void recordInvalidation(String key, long epoch) {
+    mInvalidations.merge(key, epoch, Math::max);
+    if (mInvalidations.size() > mMaxInvalidations) {
+      // drops the invalidations recorded so far along with the statuses listed before them
+      long minEpoch = mEpoch.get();
+      mMinEpoch.accumulateAndGet(minEpoch, Math::max);
+      mInvalidations.values().removeIf(e -> e <= minEpoch);
+    }
+  }
+
+  /**
+   * @return whether the path or one of its ancestors was invalidated after the epoch
+   */
+  private boolean isInvalidated(String path, long epoch) {
+    if (epoch < mMinEpoch.get() || isInvalidatedAfter(path, epoch)) {
+      return true;
+    }
+    for (int i = path.lastIndexOf('/'); i >= 0; i = path.lastIndexOf('/', i - 1)) {
+      if (isInvalidatedAfter(path.substring(0, i + 1), epoch)) {
+        return true;
+      }
+      if (i == 0) {
+        break;
+      }
+    }
+    return false;
+  }
+
+  private boolean isInvalidatedAfter(String key, long epoch) {
+    Long invalidationEpoch = mInvalidations.get(key);
+    return invalidationEpoch != null && invalidationEpoch > epoch;
+  }
+
+  private static final class Entry {
+    private final URIStatus mStatus;
+    private final long mEpoch;
+
+    private Entry(URIStatus status, long epoch) {
+      mStatus = status;
+      mEpoch = epoch;
+    }
+  }
+
+  private static final class Metrics {
+    private static final Counter HITS =
+        MetricsSystem.counter(MetricKey.FUSE_ATTR_CACHE_HITS.getName());
+
+    private Metrics() {
+    } // prevent instantiation
+  }
+}
@@ -0,0 +1,159 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.fuse.meta;
+
+import alluxio.client.file.URIStatus;
+import alluxio.jnifuse.ErrorCodes;
+import alluxio.metrics.MetricKey;
+import alluxio.metrics.MetricsSystem;
+import alluxio.util.ThreadFactoryUtils;
+
+import com.codahale.metrics.Counter;
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.util.Objects;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.ToIntFunction;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * Invalidates the kernel caches of the files whose status changed.
+ * <p>
+ * When the kernel caches are enabled, the kernel keeps the data and the attributes of a file
+ * until they expire or the file is seen with a new modification time or size. The statuses
+ * served by the worker reflect the changes made through other clients and in the under file
+ * system, so every status seen by FUSE is compared with the version of the file recorded
+ * earlier, and the kernel caches of the path are dropped when they differ.
+ * <p>
+ * The invalidation is done asynchronously, since the kernel may wait for the requests of the
+ * path in flight, including the one reporting the change.
+ */
+@ThreadSafe
+public final class KernelCacheInvalidator implements Closeable {
+  private static final Logger LOG = LoggerFactory.getLogger(KernelCacheInvalidator.class);
+
+  /** Version of the files by path, bounded to the files likely to be in the kernel caches. */
+  private final Cache<String, String> mVersions;
+  /** Invalidates the kernel caches of a path, returning 0 or a negative errno. */
+  private final ToIntFunction<String> mInvalidateFunction;
+  private final ExecutorService mExecutor;
+  private volatile boolean mSupported = true;
+
+  /**
+   * @param invalidateFunction the function invalidating the kernel caches of a path
+   * @param maxPaths the maximum number of paths to track
+   */
+  public KernelCacheInvalidator(ToIntFunction<String> invalidateFunction, long maxPaths) {
+    this(invalidateFunction, maxPaths, Executors.newSingleThreadExecutor(
+        ThreadFactoryUtils.build("alluxio-fuse-kernel-cache-invalidator-%d", true)));
+  }
+
+  @VisibleForTesting
+  KernelCacheInvalidator(ToIntFunction<String> invalidateFunction, long maxPaths,
+      ExecutorService executor) {
+    mInvalidateFunction = invalidateFunction;
+    mVersions = CacheBuilder.newBuilder().maximumSize(maxPaths).build();
+    mExecutor = executor;
+  }
+
+  /**
+   * Records the status of a path, invalidating its kernel caches if the file changed since the
+   * last status seen.
+   *
+   * @param path the path relative to the mount point
+   * @param status the status of the path
+   * @param track whether to start tracking the path if it is not tracked yet
+   */
+  public void onStatus(String path, URIStatus status, boolean track) {
+    String version = getVersion(status);
+    String previous;
+    if (track) {
+      previous = mVersions.asMap().put(path, version);
+    } else {
+      String[] replaced = new String[1];
+      mVersions.asMap().computeIfPresent(path, (key, value) -> {
+        replaced[0] = value;
+        return version;
+      });
+      previous = replaced[0];
+    }
+    if (previous != null && !previous.equals(version)) {
+      invalidate(path);
+    }
+  }
+
+  /**
+   * Invalidates the kernel caches of a path no longer existing, if it is tracked.
+   *
+   * @param path the path relative to the mount point
+   */
+  public void onRemoved(String path) {
+    if (mVersions.asMap().remove(path) != null) {
+      invalidate(path);
+    }
+  }
+
+  /**
+   * @return the number of tracked paths
+   */
+  @VisibleForTesting
+  long size() {
+    return mVersions.size();
+  }
+
+  private void invalidate(String path) {
+    if (!mSupported) {
+      return;
+    }
+    try {
+      mExecutor.execute(() -> {
+        int res = mInvalidateFunction.applyAsInt(path);
+        if (res == 0) {
+          Metrics.INVALIDATIONS.inc();
+        } else if (res == -ErrorCodes.ENOSYS()) {
+          LOG.warn("Kernel cache invalidation is not supported by the loaded libfuse");
+          mSupported = false;
+        } else if (res != -ErrorCodes.ENOENT()) {
+          // ENOENT means the kernel does not have the path cached
+          LOG.debug("Failed to invalidate the kernel caches of {}: {}", path, res);
+        }
+      });
+    } catch (RejectedExecutionException e) {
+      LOG.debug("Skipped invalidating the kernel caches of {} after close", path);
+    }
+  }
+
+  private static String getVersion(URIStatus status) {
+    return status.getLastModificationTimeMs() + ":" + status.getLength() + ":"
+        + Objects.toString(status.getFileInfo().getContentHash(), "");
+  }
+
+  @Override
+  public void close() {
+    mExecutor.shutdownNow();
+  }
+
+  private static final class Metrics {
+    private static final Counter INVALIDATIONS =
+        MetricsSystem.counter(MetricKey.FUSE_KERNEL_CACHE_INVALIDATIONS.getName());
+
+    private Metrics() {
+    } // prevent instantiation
+  }
+}
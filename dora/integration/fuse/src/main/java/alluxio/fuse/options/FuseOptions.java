@@ -24,6 +24,7 @@ import org.slf4j.LoggerFactory;
 
 import java.util.HashSet;
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Options for creating the Fuse filesystem.
@@ -119,12 +120,20 @@ public class FuseOptions {
           // TODO(lu) implement direct_io with libfuse3
           LOG.error("FUSE 3 does not support direct_io mount option");
         }
+        if (mountOptions.remove("writeback_cache")) {
+          // the kernel would read write-only files and flush the writes out of order,
+          // which the write streams do not support
+          LOG.error("Alluxio FUSE does not support writeback_cache mount option");
+        }
         if (mountOptions.stream().noneMatch(a -> a.startsWith("max_idle_threads"))) {
           String idleThreadsOption = "max_idle_threads=64";
           mountOptions.add(idleThreadsOption);
           LOG.info("Added fuse mount option {} for FUSE 3", idleThreadsOption);
         }
       }
+      if (conf.getBoolean(PropertyKey.FUSE_KERNEL_CACHE_ENABLED)) {
+        addKernelCacheOptions(conf, mountOptions);
+      }
       builder.setFuseMountOptions(mountOptions);
 
       // Set special commands
@@ -148,6 +157,42 @@ public class FuseOptions {
       return builder;
     }
 
+    /**
+     * Adds the mount options letting the kernel cache the file data and attributes.
+     *
+     * @param conf configurations
+     * @param mountOptions the mount options to update
+     */
+    private static void addKernelCacheOptions(AlluxioConfiguration conf,
+        Set<String> mountOptions) {
+      if (mountOptions.remove("direct_io")) {
+        LOG.warn("Removed fuse mount option direct_io which bypasses the kernel cache");
+      }
+      // auto_cache keeps the cached data until the modification time or size of a file changes
+      if (mountOptions.add("auto_cache")) {
+        LOG.info("Added fuse mount option auto_cache to cache file data in the kernel");
+      }
+      if (conf.isSet(PropertyKey.USER_METADATA_CACHE_EXPIRATION_TIME)) {
+        long timeoutSec = Math.max(1, TimeUnit.MILLISECONDS.toSeconds(
+            conf.getMs(PropertyKey.USER_METADATA_CACHE_EXPIRATION_TIME)));
+        for (String timeout : new String[] {"attr_timeout", "entry_timeout"}) {
+          // keeps the timeouts given by users, otherwise follows the client metadata cache
+          if (conf.isSetByUser(PropertyKey.FUSE_MOUNT_OPTIONS)
+              && mountOptions.stream().anyMatch(a -> a.startsWith(timeout + "="))) {
+            continue;
+          }
+          mountOptions.removeIf(a -> a.startsWith(timeout + "="));
+          mountOptions.add(timeout + "=" + timeoutSec);
+        }
+      }
+      long maxRead = conf.getBytes(PropertyKey.FUSE_KERNEL_CACHE_MAX_READ);
+      for (String option : new String[] {"max_read", "max_readahead"}) {
+        if (mountOptions.stream().noneMatch(a -> a.startsWith(option + "="))) {
+          mountOptions.add(option + "=" + maxRead);
+        }
+      }
+    }
+
     /**
      * @return file system options
      */
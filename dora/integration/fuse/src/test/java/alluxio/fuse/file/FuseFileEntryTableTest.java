@@ -0,0 +1,107 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.fuse.file;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+
+import com.google.common.collect.ImmutableSet;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Tests for {@link FuseFileEntryTable}.
+ */
+public final class FuseFileEntryTableTest {
+  private final FuseFileEntryTable<FuseFileStream> mTable = new FuseFileEntryTable<>(2);
+
+  @Test
+  public void addGetRemove() {
+    FuseFileEntry<FuseFileStream> first = mTable.add("/a", mock(FuseFileStream.class), 1);
+    FuseFileEntry<FuseFileStream> second = mTable.add("/a", mock(FuseFileStream.class), 2);
+    FuseFileEntry<FuseFileStream> third = mTable.add("/b", mock(FuseFileStream.class), 3);
+    assertEquals(3, mTable.size());
+    assertSame(first, mTable.get(first.getId()));
+    assertSame(third, mTable.get(third.getId()));
+    assertEquals(ImmutableSet.of(first, second), mTable.getByPath("/a"));
+    assertSame(third, mTable.getFirstByPath("/b"));
+    assertNull(mTable.get(-1));
+    assertNull(mTable.get(1 << 20));
+
+    assertTrue(mTable.remove(first));
+    assertFalse(mTable.remove(first));
+    assertNull(mTable.get(first.getId()));
+    assertEquals(ImmutableSet.of(second), mTable.getByPath("/a"));
+    assertTrue(mTable.remove(second));
+    assertTrue(mTable.getByPath("/a").isEmpty());
+    assertNull(mTable.getFirstByPath("/a"));
+    assertEquals(1, mTable.size());
+  }
+
+  @Test
+  public void reuseIds() {
+    Set<Long> ids = new HashSet<>();
+    List<FuseFileEntry<FuseFileStream>> entries = new ArrayList<>();
+    for (int i = 0; i < 2048; i++) {
+      FuseFileEntry<FuseFileStream> entry = mTable.add("/f" + i, mock(FuseFileStream.class), 0);
+      assertTrue(ids.add(entry.getId()));
+      entries.add(entry);
+    }
+    assertThrows(IllegalStateException.class,
+        () -> mTable.add("/full", mock(FuseFileStream.class), 0));
+    mTable.remove(entries.get(100));
+    FuseFileEntry<FuseFileStream> entry = mTable.add("/g", mock(FuseFileStream.class), 0);
+    assertEquals(entries.get(100).getId(), entry.getId());
+    assertSame(entry, mTable.get(entry.getId()));
+    assertEquals(2048, mTable.size());
+  }
+
+  @Test
+  public void concurrentAddRemove() throws Exception {
+    FuseFileEntryTable<FuseFileStream> table = new FuseFileEntryTable<>();
+    FuseFileStream stream = mock(FuseFileStream.class);
+    ExecutorService executor = Executors.newFixedThreadPool(8);
+    try {
+      List<Future<?>> futures = new ArrayList<>();
+      for (int t = 0; t < 8; t++) {
+        String path = "/file" + t % 2;
+        futures.add(executor.submit(() -> {
+          for (int i = 0; i < 1000; i++) {
+            FuseFileEntry<FuseFileStream> entry = table.add(path, stream, 0);
+            assertSame(entry, table.get(entry.getId()));
+            assertTrue(table.getByPath(path).contains(entry));
+            assertTrue(table.remove(entry));
+          }
+        }));
+      }
+      for (Future<?> future : futures) {
+        future.get();
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+    assertTrue(table.isEmpty());
+    assertTrue(table.getByPath("/file0").isEmpty());
+  }
+}
@@ -0,0 +1,104 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.fuse.meta;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+import alluxio.Constants;
+import alluxio.client.file.URIStatus;
+import alluxio.wire.FileInfo;
+
+import org.junit.Test;
+
+/**
+ * Tests for {@link FuseAttributeCache}.
+ */
+public final class FuseAttributeCacheTest {
+  @Test
+  public void putAndGet() {
+    FuseAttributeCache cache = new FuseAttributeCache(100, Constants.HOUR_MS);
+    cache.put("/dir/file", createStatus(false, true), cache.getEpoch());
+    cache.put("/dir/sub", createStatus(true, false), cache.getEpoch());
+    cache.put("/dir/incomplete", createStatus(false, false), cache.getEpoch());
+    assertNotNull(cache.get("/dir/file"));
+    assertNotNull(cache.get("/dir/sub"));
+    assertNull(cache.get("/dir/incomplete"));
+    assertEquals(2, cache.size());
+    cache.invalidate("/dir/file");
+    assertNull(cache.get("/dir/file"));
+  }
+
+  @Test
+  public void invalidateTree() {
+    FuseAttributeCache cache = new FuseAttributeCache(100, Constants.HOUR_MS);
+    cache.put("/a", createStatus(true, false), cache.getEpoch());
+    cache.put("/a/b", createStatus(false, true), cache.getEpoch());
+    cache.put("/a/c/d", createStatus(false, true), cache.getEpoch());
+    cache.put("/ab", createStatus(false, true), cache.getEpoch());
+    cache.invalidateTree("/a");
+    assertNull(cache.get("/a"));
+    assertNull(cache.get("/a/b"));
+    assertNull(cache.get("/a/c/d"));
+    assertNotNull(cache.get("/ab"));
+  }
+
+  @Test
+  public void skipStatusesListedBeforeInvalidation() {
+    FuseAttributeCache cache = new FuseAttributeCache(100, Constants.HOUR_MS);
+    long epoch = cache.getEpoch();
+    // unlink and rmdir while the parent directory is being listed
+    cache.invalidate("/dir/file");
+    cache.invalidateTree("/dir/sub");
+    cache.put("/dir/file", createStatus(false, true), epoch);
+    cache.put("/dir/sub", createStatus(true, false), epoch);
+    cache.put("/dir/sub/file", createStatus(false, true), epoch);
+    cache.put("/dir/other", createStatus(false, true), epoch);
+    assertNull(cache.get("/dir/file"));
+    assertNull(cache.get("/dir/sub"));
+    assertNull(cache.get("/dir/sub/file"));
+    assertNotNull(cache.get("/dir/other"));
+    // the statuses cached before the invalidation of a tree are dropped on lookup
+    cache.invalidateTree("/dir");
+    assertNull(cache.get("/dir/other"));
+    // the listings started after the invalidations are cached
+    cache.put("/dir/file", createStatus(false, true), cache.getEpoch());
+    assertNotNull(cache.get("/dir/file"));
+  }
+
+  @Test
+  public void boundedInvalidations() {
+    FuseAttributeCache cache = new FuseAttributeCache(10, Constants.HOUR_MS);
+    long epoch = cache.getEpoch();
+    for (int i = 0; i < 20; i++) {
+      cache.invalidate("/file" + i);
+    }
+    // the invalidations dropped to bound the memory cannot be checked against anymore
+    cache.put("/a", createStatus(false, true), epoch);
+    assertNull(cache.get("/a"));
+    cache.put("/file0", createStatus(false, true), cache.getEpoch());
+    assertNotNull(cache.get("/file0"));
+  }
+
+  @Test
+  public void expire() throws Exception {
+    FuseAttributeCache cache = new FuseAttributeCache(100, 10);
+    cache.put("/a", createStatus(false, true), cache.getEpoch());
+    Thread.sleep(50);
+    assertNull(cache.get("/a"));
+  }
+
+  private static URIStatus createStatus(boolean folder, boolean completed) {
+    return new URIStatus(new FileInfo().setFolder(folder).setCompleted(completed));
+  }
+}
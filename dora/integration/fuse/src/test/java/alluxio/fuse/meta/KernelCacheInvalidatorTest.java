@@ -0,0 +1,82 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.fuse.meta;
+
+import static org.junit.Assert.assertEquals;
+
+import alluxio.client.file.URIStatus;
+import alluxio.jnifuse.ErrorCodes;
+import alluxio.wire.FileInfo;
+
+import com.google.common.util.concurrent.MoreExecutors;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Tests for {@link KernelCacheInvalidator}.
+ */
+public final class KernelCacheInvalidatorTest {
+  private final List<String> mInvalidated = new ArrayList<>();
+
+  @Test
+  public void invalidateChangedFiles() {
+    KernelCacheInvalidator invalidator = createInvalidator(0);
+    invalidator.onStatus("/a", createStatus(1, 10), true);
+    invalidator.onStatus("/b", createStatus(1, 10), true);
+    invalidator.onStatus("/a", createStatus(1, 10), true);
+    assertEquals(0, mInvalidated.size());
+    invalidator.onStatus("/a", createStatus(2, 10), true);
+    invalidator.onStatus("/b", createStatus(1, 20), true);
+    assertEquals(2, mInvalidated.size());
+    assertEquals("/a", mInvalidated.get(0));
+    assertEquals("/b", mInvalidated.get(1));
+    invalidator.onRemoved("/a");
+    invalidator.onRemoved("/c");
+    assertEquals(3, mInvalidated.size());
+    assertEquals("/a", mInvalidated.get(2));
+    assertEquals(1, invalidator.size());
+  }
+
+  @Test
+  public void untrackedPathsIgnored() {
+    KernelCacheInvalidator invalidator = createInvalidator(0);
+    invalidator.onStatus("/a", createStatus(1, 10), false);
+    invalidator.onStatus("/a", createStatus(2, 10), false);
+    assertEquals(0, invalidator.size());
+    invalidator.onStatus("/a", createStatus(2, 10), true);
+    invalidator.onStatus("/a", createStatus(3, 10), false);
+    assertEquals(1, mInvalidated.size());
+  }
+
+  @Test
+  public void stopWhenUnsupported() {
+    KernelCacheInvalidator invalidator = createInvalidator(-ErrorCodes.ENOSYS());
+    invalidator.onStatus("/a", createStatus(1, 10), true);
+    invalidator.onStatus("/a", createStatus(2, 10), true);
+    invalidator.onStatus("/a", createStatus(3, 10), true);
+    assertEquals(1, mInvalidated.size());
+  }
+
+  private KernelCacheInvalidator createInvalidator(int result) {
+    return new KernelCacheInvalidator(path -> {
+      mInvalidated.add(path);
+      return result;
+    }, 100, MoreExecutors.newDirectExecutorService());
+  }
+
+  private static URIStatus createStatus(long lastModificationTimeMs, long length) {
+    return new URIStatus(new FileInfo()
+        .setLastModificationTimeMs(lastModificationTimeMs).setLength(length));
+  }
+}
@@ -385,4 +385,22 @@ public abstract class AbstractFuseFileSystem implements FuseFileSystem {
     ByteBuffer buffer = mLibFuse.fuse_get_context();
     return FuseContext.of(buffer);
   }
+
+  /**
+   * Drops the data and attributes the kernel has cached for the given path, so that the next
+   * access goes through this file system again. Must not be called while handling a request
+   * for the same path, since the kernel may wait for that request to finish.
+   *
+   * @param path the path relative to the mount point
+   * @return 0 on success, or a negative errno; -ENOSYS if the loaded libfuse does not support
+   *         invalidation
+   */
+  public int invalidatePath(String path) {
+    try {
+      return mLibFuse.fuse_invalidate_path(path);
+    } catch (UnsatisfiedLinkError e) {
+      // the native library is built without invalidation support
+      return -ErrorCodes.ENOSYS();
+    }
+  }
 }
@@ -33,6 +33,8 @@ public class LibFuse {
 
   public native ByteBuffer fuse_get_context();
 
+  public native int fuse_invalidate_path(String path);
+
   public static void loadLibrary(LibfuseVersion version) {
     if (libraryLoaded.get() == LibraryState.LOADED) {
       return;
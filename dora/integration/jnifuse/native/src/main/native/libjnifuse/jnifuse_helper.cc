@@ -108,6 +108,23 @@ jint JNICALL Java_alluxio_jnifuse_FuseFillDir_fill(JNIEnv *env, jclass cls,
   return ret;
 }
 
+jint JNICALL Java_alluxio_jnifuse_LibFuse_fuse_1invalidate_1path(JNIEnv *env, jobject obj,
+                                                                 jstring path) {
+  LOGD("enter fuse_invalidate_path");
+// fuse_invalidate_path() is available since libfuse 3.2
+#if FUSE_USE_VERSION >= 30 && FUSE_VERSION >= FUSE_MAKE_VERSION(3, 2)
+  if (jnifuse_instance == nullptr) {
+    return -ENOTCONN;
+  }
+  const char *p = env->GetStringUTFChars(path, 0);
+  int ret = fuse_invalidate_path(jnifuse_instance, p);
+  env->ReleaseStringUTFChars(path, p);
+  return ret;
+#else
+  return -ENOSYS;
+#endif
+}
+
 jobject JNICALL Java_alluxio_jnifuse_LibFuse_fuse_1get_1context(JNIEnv *env, jobject obj) {
   LOGD("enter get_fuse_context");
   struct fuse_context *cxt = fuse_get_context();
@@ -18,12 +18,15 @@
 
 static int RENAME_NO_FLAGS = 0;
 
+struct fuse *jnifuse_instance = nullptr;
+
 #if FUSE_USE_VERSION >= 30
 
 struct fuse_conn_info_opts *conn_info_opts;
 
 void *init_wrapper(struct fuse_conn_info *conn, struct fuse_config *cfg) {
   fuse_apply_conn_info_opts(conn_info_opts, conn);
+  jnifuse_instance = fuse_get_context()->fuse;
 
   #ifndef __APPLE__
   if((unsigned int)conn->capable & FUSE_CAP_ATOMIC_O_TRUNC){
@@ -170,6 +173,7 @@ int write_wrapper(const char *path, const char *buf, size_t size, off_t off,
 #else
 
 void* init_wrapper(struct fuse_conn_info* conn) {
+  jnifuse_instance = fuse_get_context()->fuse;
   #ifndef __APPLE__
   if((unsigned int)conn->capable & FUSE_CAP_ATOMIC_O_TRUNC){
       conn->want |= FUSE_CAP_ATOMIC_O_TRUNC;
@@ -14,6 +14,9 @@
 
 #include <fuse.h>
 
+// the fuse instance serving the mount, set when the file system is initialized
+extern struct fuse *jnifuse_instance;
+
 #if FUSE_USE_VERSION >= 30
 
 extern struct fuse_conn_info_opts *conn_info_opts;
@@ -0,0 +1,162 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.client.file.cache;
+
+import alluxio.client.file.cache.store.LocalPageStore;
+import alluxio.client.file.cache.store.PageStoreOptions;
+import alluxio.client.file.cache.store.PageStoreType;
+
+import org.apache.commons.io.FileUtils;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for the read throughput of {@link LocalPageStore} at several queue depths. Each
+ * benchmark thread issues as many page reads as the queue depth before waiting for all of them,
+ * so with asynchronous reads enabled a thread keeps that many reads in flight, while with
+ * asynchronous reads disabled the reads are done one after the other. The pages read per
+ * second are reported by the {@code mPages} counter.
+ * <p>
+ * To measure the device rather than the OS page cache, point {@code mDir} to a directory on the
+ * device and either use a data set larger than the memory or drop the page cache before running.
+ */
+@Fork(value = 1, jvmArgsPrepend = {"-server", "-Xmx4g"})
+@Warmup(iterations = 2, time = 3, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 3, timeUnit = TimeUnit.SECONDS)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class LocalPageStoreReadBench {
+  @State(Scope.Benchmark)
+  public static class BenchState {
+    @Param({"1", "4", "16", "64"})
+    public int mQueueDepth;
+
+    @Param({"0", "64"})
+    public int mAsyncReadThreads;
+
+    @Param({"1048576"})
+    public int mPageSize;
+
+    @Param({"1024"})
+    public int mNumPages;
+
+    /** Directory to store the pages in, a temporary directory if empty. */
+    @Param({""})
+    public String mDir;
+
+    private Path mRoot;
+    private LocalPageStore mPageStore;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+      mRoot = mDir.isEmpty() ? Files.createTempDirectory("page-store-bench")
+          : Files.createTempDirectory(Paths.get(mDir), "page-store-bench");
+      PageStoreOptions options = new PageStoreOptions()
+          .setStoreType(PageStoreType.LOCAL)
+          .setRootDir(mRoot)
+          .setPageSize(mPageSize)
+          .setCacheSize((long) mPageSize * mNumPages * 2)
+          .setAsyncReadThreads(mAsyncReadThreads);
+      mPageStore = new LocalPageStore(options);
+      byte[] page = new byte[mPageSize];
+      for (int i = 0; i < mNumPages; i++) {
+        ThreadLocalRandom.current().nextBytes(page);
+        mPageStore.put(new PageId("bench", i), page);
+      }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+      mPageStore.close();
+      FileUtils.deleteDirectory(mRoot.toFile());
+    }
+  }
+
+  @State(Scope.Thread)
+  @AuxCounters(AuxCounters.Type.OPERATIONS)
+  public static class ThreadState {
+    /** Number of pages read. */
+    public long mPages;
+
+    private ByteBuffer[] mBuffers;
+
+    @Setup(Level.Trial)
+    public void setup(BenchState state) {
+      mBuffers = new ByteBuffer[state.mQueueDepth];
+      for (int i = 0; i < mBuffers.length; i++) {
+        mBuffers[i] = ByteBuffer.allocateDirect(state.mPageSize);
+      }
+    }
+
+    @Setup(Level.Iteration)
+    public void reset() {
+      mPages = 0;
+    }
+  }
+
+  @Benchmark
+  public long readPages(BenchState state, ThreadState thread) throws Exception {
+    List<CompletableFuture<Integer>> reads = new ArrayList<>(state.mQueueDepth);
+    for (ByteBuffer buffer : thread.mBuffers) {
+      buffer.clear();
+      PageId pageId =
+          new PageId("bench", ThreadLocalRandom.current().nextInt(state.mNumPages));
+      reads.add(state.mPageStore.getAsync(pageId, 0, state.mPageSize, buffer, false));
+    }
+    long bytesRead = 0;
+    for (CompletableFuture<Integer> read : reads) {
+      bytesRead += read.get();
+    }
+    thread.mPages += reads.size();
+    return bytesRead;
+  }
+
+  public static void main(String[] args) throws RunnerException, CommandLineOptionException {
+    Options argsCli = new CommandLineOptions(args);
+    Options opts = new OptionsBuilder()
+        .parent(argsCli)
+        .include(LocalPageStoreReadBench.class.getName())
+        .result("results.json")
+        .resultFormat(ResultFormatType.JSON)
+        .build();
+    new Runner(opts).run();
+  }
+}
@@ -0,0 +1,127 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.client.file.cache;
+
+import alluxio.Constants;
+import alluxio.client.file.cache.allocator.HashAllocator;
+import alluxio.client.file.cache.evictor.CacheEvictor;
+import alluxio.client.file.cache.evictor.CacheEvictorOptions;
+import alluxio.client.file.cache.store.MemoryPageStore;
+import alluxio.client.file.cache.store.MemoryPageStoreDir;
+import alluxio.client.file.cache.store.PageStoreDir;
+import alluxio.client.file.cache.store.PageStoreOptions;
+import alluxio.exception.PageNotFoundException;
+
+import com.google.common.collect.ImmutableList;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for the heap footprint and the lookup time of {@link DefaultPageMetaStore} with
+ * the different {@link PageMetaStoreType}s. The heap used per page, including the evictor, is
+ * printed when the metastore is filled, and the lookups are timed by the benchmark.
+ */
+@Fork(value = 1, jvmArgsPrepend = {"-server", "-Xmx8g"})
+@Warmup(iterations = 2, time = 3, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 3, timeUnit = TimeUnit.SECONDS)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class PageMetaStoreBench {
+  @State(Scope.Benchmark)
+  public static class BenchState {
+    @Param({"LOCKED", "CONCURRENT", "COMPACT"})
+    public PageMetaStoreType mType;
+
+    @Param({"alluxio.client.file.cache.evictor.UnevictableCacheEvictor",
+        "alluxio.client.file.cache.evictor.LRUCacheEvictor"})
+    public String mEvictor;
+
+    @Param({"2000000"})
+    public int mNumPages;
+
+    @Param({"256"})
+    public int mPagesPerFile;
+
+    private PageMetaStore mMetaStore;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+      MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+      PageStoreOptions options = new PageStoreOptions().setPageSize(Constants.MB)
+          .setCacheSize((long) mNumPages * Constants.MB);
+      CacheEvictor evictor = CacheEvictor.create(new CacheEvictorOptions()
+          .setEvictorClass(Class.forName(mEvictor).asSubclass(CacheEvictor.class)));
+      List<PageStoreDir> dirs = ImmutableList.of(new MemoryPageStoreDir(options,
+          new MemoryPageStore((int) options.getPageSize()), evictor));
+      long before = usedHeap(memory);
+      mMetaStore = new DefaultPageMetaStore(dirs, new HashAllocator(dirs), mType);
+      for (int i = 0; i < mNumPages; i++) {
+        // a new file ID instance per page, like the page IDs created for each request
+        PageId pageId = new PageId("/bench/file-" + (i / mPagesPerFile), i % mPagesPerFile);
+        mMetaStore.addPage(pageId, new PageInfo(pageId, Constants.KB, dirs.get(0)));
+      }
+      long after = usedHeap(memory);
+      System.out.printf("%n%s metastore with %s: %d pages, %.1f bytes per page%n", mType,
+          evictor.getClass().getSimpleName(), mNumPages,
+          (double) (after - before) / mNumPages);
+    }
+
+    private static long usedHeap(MemoryMXBean memory) throws InterruptedException {
+      for (int i = 0; i < 3; i++) {
+        System.gc();
+        Thread.sleep(100);
+      }
+      return memory.getHeapMemoryUsage().getUsed();
+    }
+  }
+
+  @Benchmark
+  public PageInfo getPageInfo(BenchState state) throws PageNotFoundException {
+    int i = ThreadLocalRandom.current().nextInt(state.mNumPages);
+    return state.mMetaStore.getPageInfo(new PageId(
+        "/bench/file-" + (i / state.mPagesPerFile), i % state.mPagesPerFile));
+  }
+
+  public static void main(String[] args) throws RunnerException, CommandLineOptionException {
+    Options argsCli = new CommandLineOptions(args);
+    Options opts = new OptionsBuilder()
+        .parent(argsCli)
+        .include(PageMetaStoreBench.class.getName())
+        .result("results.json")
+        .resultFormat(ResultFormatType.JSON)
+        .build();
+    new Runner(opts).run();
+  }
+}
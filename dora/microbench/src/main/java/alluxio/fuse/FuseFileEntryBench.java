@@ -0,0 +1,175 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.fuse;
+
+import alluxio.collections.IndexDefinition;
+import alluxio.collections.IndexedSet;
+import alluxio.fuse.file.FileStatus;
+import alluxio.fuse.file.FuseFileEntry;
+import alluxio.fuse.file.FuseFileEntryTable;
+import alluxio.fuse.file.FuseFileStream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for the dispatch of the FUSE reads and writes to the stream of the open file,
+ * comparing the {@link FuseFileEntryTable} used by {@link AlluxioJniFuseFileSystem} with the
+ * {@link IndexedSet} it replaces. The streams do no work, so that the lookup of the file handle
+ * is what is measured. Use {@code -t} to change the number of threads.
+ */
+@Fork(value = 1, jvmArgsPrepend = {"-server", "-Xmx4g"})
+@Warmup(iterations = 2, time = 3, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 3, timeUnit = TimeUnit.SECONDS)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Threads(16)
+public class FuseFileEntryBench {
+  private static final IndexDefinition<FuseFileEntry<FuseFileStream>, Long> ID_INDEX =
+      IndexDefinition.ofUnique(FuseFileEntry::getId);
+  private static final IndexDefinition<FuseFileEntry<FuseFileStream>, String> PATH_INDEX =
+      IndexDefinition.ofUnique(FuseFileEntry::getPath);
+
+  @State(Scope.Benchmark)
+  public static class BenchState {
+    @Param({"TABLE", "INDEXED_SET"})
+    public String mType;
+
+    @Param({"4096"})
+    public int mOpenFiles;
+
+    private final ByteBuffer mBuffer = ByteBuffer.allocate(0);
+    private FuseFileEntryTable<FuseFileStream> mTable;
+    private IndexedSet<FuseFileEntry<FuseFileStream>> mIndexedSet;
+    private long[] mFds;
+
+    @Setup(Level.Trial)
+    public void setup() {
+      mTable = new FuseFileEntryTable<>();
+      mIndexedSet = new IndexedSet<>(ID_INDEX, PATH_INDEX);
+      mFds = new long[mOpenFiles];
+      for (int i = 0; i < mOpenFiles; i++) {
+        String path = "/bench/file-" + i;
+        if (mType.equals("TABLE")) {
+          mFds[i] = mTable.add(path, new NoopStream(), 0).getId();
+        } else {
+          mIndexedSet.add(new FuseFileEntry<>(i, path, new NoopStream(), 0));
+          mFds[i] = i;
+        }
+      }
+    }
+
+    private FuseFileEntry<FuseFileStream> get(long fd) {
+      return mType.equals("TABLE") ? mTable.get(fd) : mIndexedSet.getFirstByField(ID_INDEX, fd);
+    }
+  }
+
+  @Benchmark
+  public int read(BenchState state) {
+    long fd = state.mFds[ThreadLocalRandom.current().nextInt(state.mFds.length)];
+    return state.get(fd).getFileStream().read(state.mBuffer, 4096, 0);
+  }
+
+  @Benchmark
+  public boolean openRelease(BenchState state) {
+    String path = "/bench/churn-" + Thread.currentThread().getId();
+    if (state.mType.equals("TABLE")) {
+      return state.mTable.remove(state.mTable.add(path, new NoopStream(), 0));
+    }
+    FuseFileEntry<FuseFileStream> entry = new FuseFileEntry<>(
+        state.mOpenFiles + ThreadLocalRandom.current().nextInt(1 << 30), path, new NoopStream(), 0);
+    state.mIndexedSet.add(entry);
+    return state.mIndexedSet.remove(entry);
+  }
+
+  /**
+   * A stream which does nothing.
+   */
+  private static final class NoopStream implements FuseFileStream {
+    @Override
+    public int read(ByteBuffer buf, long size, long offset) {
+      return (int) size;
+    }
+
+    @Override
+    public void write(ByteBuffer buf, long size, long offset) {
+    }
+
+    @Override
+    public FileStatus getFileStatus() {
+      return new FileStatus(0);
+    }
+
+    @Override
+    public void flush() {
+    }
+
+    @Override
+    public void truncate(long size) {
+    }
+
+    @Override
+    public void close() {
+    }
+
+    @Override
+    public boolean isClosed() {
+      return false;
+    }
+
+    @Override
+    public boolean isReadOnly() {
+      return true;
+    }
+
+    @Override
+    public void releaseLock() {
+    }
+
+    @Override
+    public void closeStream() {
+    }
+  }
+
+  public static void main(String[] args) throws RunnerException, CommandLineOptionException {
+    Options argsCli = new CommandLineOptions(args);
+    Options opts = new OptionsBuilder()
+        .parent(argsCli)
+        .include(FuseFileEntryBench.class.getName())
+        .result("results.json")
+        .resultFormat(ResultFormatType.JSON)
+        .build();
+    new Runner(opts).run();
+  }
+}
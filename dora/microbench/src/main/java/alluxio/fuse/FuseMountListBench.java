@@ -0,0 +1,102 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.fuse;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for listing a large directory through a running FUSE mount and getting the
+ * attributes of every entry, as {@code ls -l} and {@code os.walk} do, to compare a mount with
+ * {@code alluxio.fuse.attr.cache.max.size} set to 0 with one answering the getattr calls with
+ * the statuses listed by readdir. The files are created under the mount points if missing.
+ * Mount the file systems first with the {@code attr_timeout=0,entry_timeout=0} mount options,
+ * so that the kernel does not answer the getattr calls of the repeated listings itself, and pass
+ * their mount points with {@code -p mMountPoint=/mnt/no-attr-cache,/mnt/attr-cache}.
+ */
+@Fork(value = 1, jvmArgsPrepend = {"-server", "-Xmx1g"})
+@Warmup(iterations = 1, time = 10, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 10, timeUnit = TimeUnit.SECONDS)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class FuseMountListBench {
+
+  @State(Scope.Benchmark)
+  public static class BenchState {
+    @Param({"/mnt/alluxio-fuse"})
+    public String mMountPoint;
+
+    @Param({"100000"})
+    public int mFiles;
+
+    private Path mDir;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+      mDir = Paths.get(mMountPoint, "fuse-list-bench-" + mFiles);
+      Files.createDirectories(mDir);
+      for (int i = 0; i < mFiles; i++) {
+        Path file = mDir.resolve("file-" + i);
+        if (!Files.exists(file)) {
+          Files.createFile(file);
+        }
+      }
+    }
+  }
+
+  @Benchmark
+  public long listWithAttributes(BenchState state) throws IOException {
+    long size = 0;
+    try (DirectoryStream<Path> entries = Files.newDirectoryStream(state.mDir)) {
+      for (Path entry : entries) {
+        size += Files.readAttributes(entry, BasicFileAttributes.class).size();
+      }
+    }
+    return size;
+  }
+
+  public static void main(String[] args) throws RunnerException, CommandLineOptionException {
+    Options argsCli = new CommandLineOptions(args);
+    Options opts = new OptionsBuilder()
+        .parent(argsCli)
+        .include(FuseMountListBench.class.getName())
+        .result("results.json")
+        .resultFormat(ResultFormatType.JSON)
+        .build();
+    new Runner(opts).run();
+  }
+}
@@ -0,0 +1,142 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.fuse;
+
+import alluxio.Constants;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for the throughput of reading files through running FUSE mounts, to compare a
+ * mount with the default options with one with {@code alluxio.fuse.kernel.cache.enabled} set.
+ * The files are created under the mount points if missing, and read again and again as a
+ * whole, so that a mount with the kernel caches serves them from the page cache after the first
+ * read. Mount the file systems first and pass their mount points with
+ * {@code -p mMountPoint=/mnt/default,/mnt/kernel-cache}.
+ */
+@Fork(value = 1, jvmArgsPrepend = {"-server", "-Xmx1g"})
+@Warmup(iterations = 1, time = 10, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 10, timeUnit = TimeUnit.SECONDS)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Threads(4)
+public class FuseMountReadBench {
+
+  @State(Scope.Benchmark)
+  public static class BenchState {
+    @Param({"/mnt/alluxio-fuse"})
+    public String mMountPoint;
+
+    @Param({"8"})
+    public int mFiles;
+
+    @Param({"67108864"})
+    public long mFileSize;
+
+    @Param({"131072"})
+    public int mReadSize;
+
+    private Path[] mPaths;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+      Path dir = Paths.get(mMountPoint, "fuse-read-bench");
+      Files.createDirectories(dir);
+      mPaths = new Path[mFiles];
+      byte[] data = new byte[(int) Constants.MB];
+      ThreadLocalRandom.current().nextBytes(data);
+      for (int i = 0; i < mFiles; i++) {
+        mPaths[i] = dir.resolve("file-" + i);
+        if (Files.exists(mPaths[i]) && Files.size(mPaths[i]) == mFileSize) {
+          continue;
+        }
+        try (FileChannel channel = FileChannel.open(mPaths[i], StandardOpenOption.CREATE,
+            StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+          for (long written = 0; written < mFileSize; ) {
+            int length = (int) Math.min(data.length, mFileSize - written);
+            written += channel.write(ByteBuffer.wrap(data, 0, length));
+          }
+        }
+      }
+    }
+  }
+
+  @State(Scope.Thread)
+  @AuxCounters(AuxCounters.Type.OPERATIONS)
+  public static class ThreadState {
+    /** Number of bytes read. */
+    public long mBytes;
+
+    private ByteBuffer mBuffer;
+
+    @Setup(Level.Trial)
+    public void setup(BenchState state) {
+      mBuffer = ByteBuffer.allocateDirect(state.mReadSize);
+    }
+  }
+
+  @Benchmark
+  public long readFile(BenchState state, ThreadState thread) throws IOException {
+    Path path = state.mPaths[ThreadLocalRandom.current().nextInt(state.mPaths.length)];
+    long bytesRead = 0;
+    try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+      int read;
+      while ((read = channel.read(thread.mBuffer)) != -1) {
+        bytesRead += read;
+        thread.mBuffer.clear();
+      }
+    }
+    thread.mBytes += bytesRead;
+    return bytesRead;
+  }
+
+  public static void main(String[] args) throws RunnerException, CommandLineOptionException {
+    Options argsCli = new CommandLineOptions(args);
+    Options opts = new OptionsBuilder()
+        .parent(argsCli)
+        .include(FuseMountReadBench.class.getName())
+        .result("results.json")
+        .resultFormat(ResultFormatType.JSON)
+        .build();
+    new Runner(opts).run();
+  }
+}
@@ -0,0 +1,241 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.network.netty;
+
+import alluxio.Constants;
+import alluxio.network.protocol.MultiplexedProtocol;
+import alluxio.network.protocol.MultiplexedProtocolDetector;
+import alluxio.network.protocol.MultiplexedStreamCodec;
+import alluxio.network.protocol.RPCMessage;
+import alluxio.network.protocol.RPCMessageDecoder;
+import alluxio.network.protocol.RPCMessageEncoder;
+import alluxio.network.protocol.RPCProtoMessage;
+import alluxio.network.protocol.databuffer.DataBuffer;
+import alluxio.network.protocol.databuffer.NettyDataBuffer;
+import alluxio.proto.dataserver.Protocol;
+import alluxio.util.proto.ProtoMessage;
+
+import io.netty.bootstrap.Bootstrap;
+import io.netty.bootstrap.ServerBootstrap;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInitializer;
+import io.netty.channel.ChannelPipeline;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.SimpleChannelInboundHandler;
+import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.channel.socket.nio.NioServerSocketChannel;
+import io.netty.handler.codec.http2.Http2MultiplexHandler;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for the read throughput of many concurrent readers sharing plain or multiplexed
+ * connections to a data server. Each benchmark thread is a reader that takes a channel, sends a
+ * read request and waits for the data before giving the channel back, like a positioned read
+ * does. The server answers from memory, so that the network stack is what is measured. The
+ * chunks read per second are reported by the {@code mChunks} counter, and the number of
+ * connections open at the end of the trial is printed.
+ * <p>
+ * The number of readers is set by {@link Threads}, which can be overridden with {@code -t}.
+ */
+@Fork(value = 1, jvmArgsPrepend = {"-server", "-Xmx4g"})
+@Warmup(iterations = 2, time = 3, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 3, timeUnit = TimeUnit.SECONDS)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Threads(1000)
+public class NettyMultiplexedReadBench {
+  @State(Scope.Benchmark)
+  public static class BenchState {
+    @Param({"false", "true"})
+    public boolean mMultiplexed;
+
+    @Param({"65536", "1048576"})
+    public int mChunkSize;
+
+    /** The maximum number of streams per connection when multiplexed. */
+    @Param({"256"})
+    public int mStreamsPerConnection;
+
+    /** The flow control window of each stream when multiplexed. */
+    @Param({"2097152"})
+    public long mWindowSize;
+
+    private EventLoopGroup mServerGroup;
+    private Channel mServerChannel;
+    private NettyChannelPool mChannelPool;
+    private NettyMultiplexedChannelPool mMultiplexedChannelPool;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+      ByteBuf data = Unpooled.unreleasableBuffer(
+          Unpooled.directBuffer(mChunkSize).writeZero(mChunkSize));
+      mServerGroup = new NioEventLoopGroup();
+      mServerChannel = new ServerBootstrap()
+          .group(mServerGroup)
+          .channel(NioServerSocketChannel.class)
+          .childHandler(new ChannelInitializer<Channel>() {
+            @Override
+            protected void initChannel(Channel ch) {
+              ch.pipeline().addLast(new MultiplexedProtocolDetector(
+                  new ChannelInitializer<Channel>() {
+                    @Override
+                    protected void initChannel(Channel connection) {
+                      connection.pipeline().addLast(MultiplexedProtocol.createFrameCodec(
+                          true, mWindowSize, mStreamsPerConnection));
+                      connection.pipeline().addLast(new Http2MultiplexHandler(
+                          new ChannelInitializer<Channel>() {
+                            @Override
+                            protected void initChannel(Channel stream) {
+                              stream.pipeline().addLast(new MultiplexedStreamCodec(true));
+                              addServerHandlers(stream.pipeline(), data);
+                            }
+                          }));
+                      MultiplexedProtocol.expandConnectionWindow(connection, mWindowSize);
+                    }
+                  }));
+              addServerHandlers(ch.pipeline(), data);
+            }
+          })
+          .bind(new InetSocketAddress("localhost", 0)).sync().channel();
+      InetSocketAddress address = (InetSocketAddress) mServerChannel.localAddress();
+      if (mMultiplexed) {
+        Bootstrap bootstrap =
+            NettyClient.createMultiplexedClientBootstrap(address).remoteAddress(address);
+        mMultiplexedChannelPool = new NettyMultiplexedChannelPool(bootstrap,
+            NettyClient.createStreamHandler(), mStreamsPerConnection, mWindowSize,
+            Constants.HOUR_MS);
+      } else {
+        Bootstrap bootstrap = NettyClient.createClientBootstrap(address).remoteAddress(address);
+        mChannelPool = new NettyChannelPool(bootstrap, Integer.MAX_VALUE, Constants.HOUR_MS);
+      }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+      if (mMultiplexed) {
+        System.out.printf("%nConnections: %d%n", mMultiplexedChannelPool.getConnectionCount());
+        mMultiplexedChannelPool.close();
+      } else {
+        System.out.printf("%nConnections: %d%n", mChannelPool.size());
+        mChannelPool.close();
+      }
+      mServerChannel.close().sync();
+      mServerGroup.shutdownGracefully(0, 1, TimeUnit.SECONDS).sync();
+    }
+
+    private Channel acquire() throws IOException {
+      return mMultiplexed ? mMultiplexedChannelPool.acquire() : mChannelPool.acquire();
+    }
+
+    private void release(Channel channel) {
+      if (mMultiplexed) {
+        mMultiplexedChannelPool.release(channel);
+      } else {
+        mChannelPool.release(channel);
+      }
+    }
+  }
+
+  @State(Scope.Thread)
+  @AuxCounters(AuxCounters.Type.OPERATIONS)
+  public static class ThreadState {
+    /** Number of chunks read. */
+    public long mChunks;
+
+    @Setup(Level.Iteration)
+    public void reset() {
+      mChunks = 0;
+    }
+  }
+
+  @Benchmark
+  public long readChunk(BenchState state, ThreadState thread) throws Exception {
+    Channel channel = state.acquire();
+    try {
+      BlockingQueue<RPCProtoMessage> responses = new LinkedBlockingQueue<>();
+      channel.pipeline().addLast("benchResponseHandler",
+          new SimpleChannelInboundHandler<RPCProtoMessage>() {
+            @Override
+            protected void channelRead0(ChannelHandlerContext ctx, RPCProtoMessage msg) {
+              responses.add(msg);
+            }
+          });
+      channel.writeAndFlush(new RPCProtoMessage(new ProtoMessage(Protocol.ReadRequest.newBuilder()
+          .setOffset(ThreadLocalRandom.current().nextInt(Constants.GB))
+          .setLength(state.mChunkSize).build())));
+      DataBuffer payload = responses.take().getPayloadDataBuffer();
+      long bytesRead = payload.readableBytes();
+      payload.release();
+      channel.pipeline().remove("benchResponseHandler");
+      thread.mChunks++;
+      return bytesRead;
+    } finally {
+      state.release(channel);
+    }
+  }
+
+  private static void addServerHandlers(ChannelPipeline pipeline, ByteBuf data) {
+    pipeline.addLast(RPCMessage.createFrameDecoder());
+    pipeline.addLast(new RPCMessageDecoder());
+    pipeline.addLast(new RPCMessageEncoder());
+    pipeline.addLast(new SimpleChannelInboundHandler<RPCProtoMessage>() {
+      @Override
+      protected void channelRead0(ChannelHandlerContext ctx, RPCProtoMessage msg) {
+        int length = (int) msg.getMessage().asReadRequest().getLength();
+        ctx.writeAndFlush(RPCProtoMessage.createOkResponse(
+            new NettyDataBuffer(data.retainedSlice(0, length))));
+      }
+    });
+  }
+
+  public static void main(String[] args) throws RunnerException, CommandLineOptionException {
+    Options argsCli = new CommandLineOptions(args);
+    Options opts = new OptionsBuilder()
+        .parent(argsCli)
+        .include(NettyMultiplexedReadBench.class.getName())
+        .result("results.json")
+        .resultFormat(ResultFormatType.JSON)
+        .build();
+    new Runner(opts).run();
+  }
+}
@@ -0,0 +1,194 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.underfs;
+
+import alluxio.Constants;
+import alluxio.conf.Configuration;
+import alluxio.conf.PropertyKey;
+import alluxio.file.ByteArrayTargetBuffer;
+import alluxio.util.FormatUtils;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for the throughput of large position reads of an object store, with the reads
+ * split into concurrent ranged requests or not. The object store is simulated in memory: every
+ * request waits for a first byte latency, then streams its range at the bandwidth of a single
+ * connection, as a request to S3 does. The bytes read per second are reported by the
+ * {@code mBytes} counter.
+ * <p>
+ * The number of concurrent readers is set by {@link Threads}, which can be overridden with
+ * {@code -t}, to check that concurrent reads share the read-ahead of the process.
+ */
+@Fork(value = 1, jvmArgsPrepend = {"-server", "-Xmx4g"})
+@Warmup(iterations = 2, time = 3, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 3, timeUnit = TimeUnit.SECONDS)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Threads(4)
+public class ObjectPositionReaderBench {
+  private static final long FILE_LENGTH = 10L * Constants.GB;
+
+  @State(Scope.Benchmark)
+  public static class BenchState {
+    /** Number of concurrent ranged requests of the process, 0 to read with one request. */
+    @Param({"0", "16"})
+    public int mConnections;
+
+    @Param({"8MB"})
+    public String mPartSize;
+
+    @Param({"64MB"})
+    public String mReadSize;
+
+    @Param({"20"})
+    public int mFirstByteLatencyMs;
+
+    /** Bandwidth of a single request, in bytes per second. */
+    @Param({"104857600"})
+    public long mConnectionBandwidth;
+
+    private int mReadLength;
+
+    @Setup(Level.Trial)
+    public void setup() {
+      // set before the first read creates the pool of the process
+      Configuration.set(PropertyKey.UNDERFS_OBJECT_STORE_PARALLEL_READ_CONNECTIONS,
+          mConnections);
+      Configuration.set(PropertyKey.UNDERFS_OBJECT_STORE_PARALLEL_READ_PART_SIZE, mPartSize);
+      mReadLength = (int) FormatUtils.parseSpaceSize(mReadSize);
+    }
+  }
+
+  @State(Scope.Thread)
+  @AuxCounters(AuxCounters.Type.OPERATIONS)
+  public static class ThreadState {
+    /** Number of bytes read. */
+    public long mBytes;
+
+    private byte[] mTarget;
+    private SimulatedReader mReader;
+
+    @Setup(Level.Iteration)
+    public void setup(BenchState state) {
+      mBytes = 0;
+      if (mReader == null) {
+        mTarget = new byte[state.mReadLength];
+        mReader = new SimulatedReader(state.mFirstByteLatencyMs, state.mConnectionBandwidth);
+      }
+    }
+  }
+
+  @Benchmark
+  public int read(BenchState state, ThreadState thread) throws Exception {
+    long position = ThreadLocalRandom.current().nextLong(FILE_LENGTH - state.mReadLength);
+    int bytesRead = thread.mReader.read(position,
+        new ByteArrayTargetBuffer(thread.mTarget, 0), state.mReadLength);
+    thread.mBytes += bytesRead;
+    return bytesRead;
+  }
+
+  /**
+   * A reader of an object whose requests take the given time to the first byte and stream
+   * at the given bandwidth.
+   */
+  private static final class SimulatedReader extends ObjectPositionReader {
+    private final int mFirstByteLatencyMs;
+    private final long mBandwidth;
+
+    SimulatedReader(int firstByteLatencyMs, long bandwidth) {
+      super("bucket", "object", FILE_LENGTH);
+      mFirstByteLatencyMs = firstByteLatencyMs;
+      mBandwidth = bandwidth;
+    }
+
+    @Override
+    protected InputStream openObjectInputStream(long position, int bytesToRead)
+        throws IOException {
+      sleep(mFirstByteLatencyMs);
+      return new InputStream() {
+        private final long mStartNanos = System.nanoTime();
+        private long mRemaining = bytesToRead;
+        private long mSent = 0;
+
+        @Override
+        public int read() throws IOException {
+          byte[] b = new byte[1];
+          return read(b, 0, 1) < 0 ? -1 : b[0];
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+          if (mRemaining == 0) {
+            return -1;
+          }
+          int n = (int) Math.min(Math.min(len, mRemaining), 64 * Constants.KB);
+          // wait until the bytes sent so far fit in the bandwidth of the connection
+          long dueMs = (mSent + n) * Constants.SECOND_MS / mBandwidth
+              - TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - mStartNanos);
+          if (dueMs > 0) {
+            sleep(dueMs);
+          }
+          mSent += n;
+          mRemaining -= n;
+          return n;
+        }
+      };
+    }
+
+    private static void sleep(long ms) throws InterruptedIOException {
+      try {
+        Thread.sleep(ms);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new InterruptedIOException("Interrupted while simulating the object store");
+      }
+    }
+  }
+
+  public static void main(String[] args) throws RunnerException, CommandLineOptionException {
+    Options argsCli = new CommandLineOptions(args);
+    Options opts = new OptionsBuilder()
+        .parent(argsCli)
+        .include(ObjectPositionReaderBench.class.getName())
+        .result("results.json")
+        .resultFormat(ResultFormatType.JSON)
+        .build();
+    new Runner(opts).run();
+  }
+}
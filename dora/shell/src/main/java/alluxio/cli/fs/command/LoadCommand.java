@@ -77,7 +77,10 @@ public final class LoadCommand extends AbstractFileSystemCommand {
       .longOpt("verify")
       .required(false)
       .hasArg(false)
-      .desc("Run verification when load finish and load new files if any.")
+      .desc("Run verification when load finish and load new files if any. Files loaded by a "
+          + "single subtask are also checked against the MD5 reported by the UFS, if any, "
+          + "and their cached pages are dropped on a mismatch. Files split into several "
+          + "subtasks are not checksummed.")
       .build();
 
   private static final Option BANDWIDTH_OPTION = Option.builder()
@@ -42,6 +42,7 @@ import java.io.OutputStream;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.function.Consumer;
 
 /**
@@ -174,6 +175,11 @@ public class DelegatingUnderFileSystem implements UnderFileSystem {
     return mUfs.getFileStatus(path, options);
   }
 
+  @Override
+  public Optional<String> getContentMd5(String path) throws IOException {
+    return mUfs.getContentMd5(path);
+  }
+
   @Override
   public UfsFileStatus getExistingFileStatus(String path) throws IOException {
     return mUfs.getExistingFileStatus(path);
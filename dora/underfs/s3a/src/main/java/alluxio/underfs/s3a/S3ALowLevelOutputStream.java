@@ -14,6 +14,7 @@ package alluxio.underfs.s3a;
 import alluxio.conf.AlluxioConfiguration;
 import alluxio.conf.PropertyKey;
 import alluxio.underfs.ObjectLowLevelOutputStream;
+import alluxio.underfs.ObjectStoreConcurrencyLimiter;
 
 import com.amazonaws.SdkClientException;
 import com.amazonaws.services.s3.AmazonS3;
@@ -74,8 +75,28 @@ public class S3ALowLevelOutputStream extends ObjectLowLevelOutputStream {
       AmazonS3 s3Client,
       ListeningExecutorService executor,
       AlluxioConfiguration ufsConf) {
+    this(bucketName, key, s3Client, executor, ufsConf, ObjectStoreConcurrencyLimiter.UNLIMITED);
+  }
+
+  /**
+   * Constructs a new stream for writing a file.
+   *
+   * @param bucketName the name of the bucket
+   * @param key the key of the file
+   * @param s3Client the Amazon S3 client to upload the file with
+   * @param executor a thread pool executor
+   * @param ufsConf the object store under file system configuration
+   * @param limiter the limiter of the requests in flight to the bucket
+   */
+  public S3ALowLevelOutputStream(
+      String bucketName,
+      String key,
+      AmazonS3 s3Client,
+      ListeningExecutorService executor,
+      AlluxioConfiguration ufsConf,
+      ObjectStoreConcurrencyLimiter limiter) {
     super(bucketName, key, executor,
-        ufsConf.getBytes(PropertyKey.UNDERFS_S3_STREAMING_UPLOAD_PARTITION_SIZE), ufsConf);
+        ufsConf.getBytes(PropertyKey.UNDERFS_S3_STREAMING_UPLOAD_PARTITION_SIZE), ufsConf, limiter);
     mClient = Preconditions.checkNotNull(s3Client);
     mSseEnabled = ufsConf.getBoolean(PropertyKey.UNDERFS_S3_SERVER_SIDE_ENCRYPTION_ENABLED);
   }
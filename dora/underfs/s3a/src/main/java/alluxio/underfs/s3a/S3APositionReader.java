@@ -12,6 +12,7 @@
 package alluxio.underfs.s3a;
 
 import alluxio.underfs.ObjectPositionReader;
+import alluxio.underfs.ObjectStoreConcurrencyLimiter;
 
 import com.amazonaws.services.s3.AmazonS3;
 import com.amazonaws.services.s3.model.AmazonS3Exception;
@@ -39,8 +40,20 @@ public class S3APositionReader extends ObjectPositionReader {
    * @param fileLength the file length
    */
   public S3APositionReader(AmazonS3 client, String bucketName, String path, long fileLength) {
+    this(client, bucketName, path, fileLength, ObjectStoreConcurrencyLimiter.UNLIMITED);
+  }
+
+  /**
+   * @param client     the amazon s3a client
+   * @param bucketName the bucket name
+   * @param path       the file path
+   * @param fileLength the file length
+   * @param limiter    the limiter of the requests in flight to the bucket
+   */
+  public S3APositionReader(AmazonS3 client, String bucketName, String path, long fileLength,
+      ObjectStoreConcurrencyLimiter limiter) {
     // TODO(lu) path needs to be transform to not include bucket
-    super(bucketName, path, fileLength);
+    super(bucketName, path, fileLength, limiter);
     mClient = client;
   }
 
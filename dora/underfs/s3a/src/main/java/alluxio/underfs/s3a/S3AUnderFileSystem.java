@@ -98,6 +98,7 @@ import software.amazon.awssdk.services.s3.model.S3Object;
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.InterruptedIOException;
 import java.io.OutputStream;
 import java.net.URI;
 import java.time.Instant;
@@ -114,6 +115,7 @@ import java.util.Spliterators;
 import java.util.concurrent.CompletionException;
 import java.util.concurrent.ExecutorService;
 import java.util.function.Consumer;
+import java.util.function.Predicate;
 import java.util.function.Supplier;
 import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
@@ -481,7 +483,13 @@ public class S3AUnderFileSystem extends ObjectUnderFileSystem {
 
   @Override
   public S3APositionReader openPositionRead(String path, long fileLength) {
-    return new S3APositionReader(mClient, mBucketName, stripPrefixIfPresent(path), fileLength);
+    return new S3APositionReader(mClient, mBucketName, stripPrefixIfPresent(path), fileLength,
+        getConcurrencyLimiter());
+  }
+
+  @Override
+  protected Predicate<Throwable> getThrottlingClassifier() {
+    return S3AUtils::isThrottled;
   }
 
   @Override
@@ -550,7 +558,7 @@ public class S3AUnderFileSystem extends ObjectUnderFileSystem {
   }
 
   @Override
-  protected boolean copyObject(String src, String dst) {
+  protected boolean copyObject(String src, String dst) throws IOException {
     LOG.debug("Copying {} to {}", src, dst);
     // Retry copy for a few times, in case some AWS internal errors happened during copy.
     int retries = 3;
@@ -562,9 +570,16 @@ public class S3AUnderFileSystem extends ObjectUnderFileSystem {
           meta.setSSEAlgorithm(ObjectMetadata.AES_256_SERVER_SIDE_ENCRYPTION);
           request.setNewObjectMetadata(meta);
         }
-        mManager.copy(request).waitForCopyResult();
+        getConcurrencyLimiter().run(() -> {
+          try {
+            mManager.copy(request).waitForCopyResult();
+          } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while copying " + src);
+          }
+        });
         return true;
-      } catch (AmazonClientException | InterruptedException e) {
+      } catch (AmazonClientException | InterruptedIOException e) {
         LOG.error("Failed to copy file {} to {}", src, dst, e);
         if (i != retries - 1) {
           LOG.error("Retrying copying file {} to {}", src, dst);
@@ -610,10 +625,10 @@ public class S3AUnderFileSystem extends ObjectUnderFileSystem {
       meta.setContentLength(0);
       meta.setContentMD5(DIR_HASH);
       meta.setContentType(Mimetypes.MIMETYPE_OCTET_STREAM);
-      mClient.putObject(
-          new PutObjectRequest(mBucketName, key, new ByteArrayInputStream(new byte[0]), meta));
+      getConcurrencyLimiter().call(() -> mClient.putObject(
+          new PutObjectRequest(mBucketName, key, new ByteArrayInputStream(new byte[0]), meta)));
       return true;
-    } catch (AmazonClientException e) {
+    } catch (AmazonClientException | IOException e) {
       LOG.error("Failed to create object: {}", key, e);
       return false;
     }
@@ -623,11 +638,13 @@ public class S3AUnderFileSystem extends ObjectUnderFileSystem {
   protected OutputStream createObject(String key) throws IOException {
     if (mStreamingUploadEnabled) {
       LOG.debug("S3AUnderFileSystem, createObject, Streaming Upload enabled");
-      return new S3ALowLevelOutputStream(mBucketName, key, mClient, mExecutor, mUfsConf);
+      return new S3ALowLevelOutputStream(mBucketName, key, mClient, mExecutor, mUfsConf,
+          getConcurrencyLimiter());
     }
     else if (mMultipartUploadEnabled) {
       LOG.debug("S3AUnderFileSystem, createObject, Multipart upload enabled");
-      return new S3AMultipartUploadOutputStream(mBucketName, key, mClient, mExecutor, mUfsConf);
+      return new S3AMultipartUploadOutputStream(mBucketName, key, mClient, mExecutor, mUfsConf,
+          getConcurrencyLimiter());
     }
     else {
       LOG.debug("S3AUnderFileSystem, createObject, Simple Upload enabled");
@@ -638,9 +655,9 @@ public class S3AUnderFileSystem extends ObjectUnderFileSystem {
   }
 
   @Override
-  protected boolean deleteObject(String key) {
+  protected boolean deleteObject(String key) throws IOException {
     try {
-      mClient.deleteObject(mBucketName, key);
+      getConcurrencyLimiter().run(() -> mClient.deleteObject(mBucketName, key));
     } catch (AmazonClientException e) {
       throw AlluxioS3Exception.from(e);
     }
@@ -658,8 +675,8 @@ public class S3AUnderFileSystem extends ObjectUnderFileSystem {
       for (String key : keys) {
         keysToDelete.add(new DeleteObjectsRequest.KeyVersion(key));
       }
-      DeleteObjectsResult deletedObjectsResult =
-          mClient.deleteObjects(new DeleteObjectsRequest(mBucketName).withKeys(keysToDelete));
+      DeleteObjectsResult deletedObjectsResult = getConcurrencyLimiter().call(() ->
+          mClient.deleteObjects(new DeleteObjectsRequest(mBucketName).withKeys(keysToDelete)));
       List<String> deletedObjects = new ArrayList<>();
       for (DeleteObjectsResult.DeletedObject deletedObject : deletedObjectsResult
           .getDeletedObjects()) {
@@ -720,11 +737,12 @@ public class S3AUnderFileSystem extends ObjectUnderFileSystem {
   }
 
   // Get next chunk of listing result.
-  private ListObjectsV2Result getObjectListingChunk(ListObjectsV2Request request) {
+  private ListObjectsV2Result getObjectListingChunk(ListObjectsV2Request request)
+      throws IOException {
     ListObjectsV2Result result;
     try {
       // Query S3 for the next batch of objects.
-      result = mClient.listObjectsV2(request);
+      result = getConcurrencyLimiter().call(() -> mClient.listObjectsV2(request));
       // Advance the request continuation token to the next set of objects.
       request.setContinuationToken(result.getNextContinuationToken());
     } catch (AmazonClientException e) {
@@ -734,11 +752,11 @@ public class S3AUnderFileSystem extends ObjectUnderFileSystem {
   }
 
   // Get next chunk of listing result.
-  private ObjectListing getObjectListingChunkV1(ListObjectsRequest request) {
+  private ObjectListing getObjectListingChunkV1(ListObjectsRequest request) throws IOException {
     ObjectListing result;
     try {
       // Query S3 for the next batch of objects.
-      result = mClient.listObjects(request);
+      result = getConcurrencyLimiter().call(() -> mClient.listObjects(request));
       // Advance the request continuation token to the next set of objects.
       request.setMarker(result.getNextMarker());
     } catch (AmazonClientException e) {
@@ -1062,9 +1080,10 @@ public class S3AUnderFileSystem extends ObjectUnderFileSystem {
 
   @Override
   @Nullable
-  protected ObjectStatus getObjectStatus(String key) {
+  protected ObjectStatus getObjectStatus(String key) throws IOException {
     try {
-      ObjectMetadata meta = mClient.getObjectMetadata(mBucketName, key);
+      ObjectMetadata meta =
+          getConcurrencyLimiter().call(() -> mClient.getObjectMetadata(mBucketName, key));
       Date lastModifiedDate = meta.getLastModified();
       Long lastModifiedTime = lastModifiedDate == null ? null : lastModifiedDate.getTime();
       return new ObjectStatus(key, meta.getETag(), meta.getContentLength(), lastModifiedTime);
@@ -1078,6 +1097,21 @@ public class S3AUnderFileSystem extends ObjectUnderFileSystem {
     }
   }
 
+  @Override
+  public Optional<String> getContentMd5(String path) throws IOException {
+    if (!mUfsConf.getBoolean(PropertyKey.UNDERFS_S3_ETAG_MD5_ENABLED)) {
+      return Optional.empty();
+    }
+    String key = stripPrefixIfPresent(path);
+    try {
+      ObjectMetadata meta =
+          getConcurrencyLimiter().call(() -> mClient.getObjectMetadata(mBucketName, key));
+      return S3AUtils.getContentMd5(meta);
+    } catch (AmazonClientException e) {
+      throw AlluxioS3Exception.from(e);
+    }
+  }
+
   @Override
   protected ObjectPermissions getPermissions() {
     return mPermissions.get();
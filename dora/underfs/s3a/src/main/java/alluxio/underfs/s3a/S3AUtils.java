@@ -11,16 +11,34 @@
 
 package alluxio.underfs.s3a;
 
+import com.amazonaws.AmazonServiceException;
 import com.amazonaws.services.s3.model.AccessControlList;
 import com.amazonaws.services.s3.model.Grant;
 import com.amazonaws.services.s3.model.Grantee;
 import com.amazonaws.services.s3.model.GroupGrantee;
+import com.amazonaws.services.s3.model.ObjectMetadata;
 import com.amazonaws.services.s3.model.Permission;
+import com.amazonaws.services.s3.model.SSEAlgorithm;
+import com.google.common.collect.ImmutableSet;
+import software.amazon.awssdk.core.exception.SdkServiceException;
+
+import java.util.Locale;
+import java.util.Optional;
+import java.util.Set;
+import java.util.regex.Pattern;
 
 /**
  * Util functions for S3A under file system.
  */
 public final class S3AUtils {
+  /** Error codes of the responses reporting that a request was throttled. */
+  private static final Set<String> THROTTLING_ERROR_CODES = ImmutableSet.of(
+      "SlowDown", "Throttling", "ThrottlingException", "RequestLimitExceeded",
+      "TooManyRequests", "RequestThrottled");
+
+  /** The ETag of an object is an MD5 only if it is 32 hex digits, without a part count. */
+  private static final Pattern MD5_ETAG_PATTERN = Pattern.compile("[0-9a-fA-F]{32}");
+
   /**
    * Translates S3 bucket ACL to Alluxio owner mode.
    *
@@ -53,6 +71,50 @@ public final class S3AUtils {
     return mode;
   }
 
+  /**
+   * Checks whether an exception, or one of its causes, is a response of S3 throttling the
+   * request, i.e. HTTP 503 SlowDown or 429.
+   *
+   * @param e the exception thrown by a request
+   * @return whether the request was throttled
+   */
+  public static boolean isThrottled(Throwable e) {
+    for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+      if (cause instanceof AmazonServiceException) {
+        AmazonServiceException serviceException = (AmazonServiceException) cause;
+        return serviceException.getStatusCode() == 503 || serviceException.getStatusCode() == 429
+            || THROTTLING_ERROR_CODES.contains(serviceException.getErrorCode());
+      }
+      if (cause instanceof SdkServiceException) {
+        return ((SdkServiceException) cause).isThrottlingException();
+      }
+      if (cause.getCause() == cause) {
+        break;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Gets the MD5 of the content of an object from its ETag. The ETag is the MD5 of the content
+   * only for objects uploaded in a single part and encrypted with SSE-S3 or not at all. The ETag
+   * of a multipart upload ends with the number of parts, and the ETag of an object encrypted
+   * with SSE-KMS or SSE-C is not derived from its plaintext.
+   *
+   * @param meta the metadata of the object
+   * @return the hex encoded MD5 of the object content, or empty if the ETag is not an MD5
+   */
+  public static Optional<String> getContentMd5(ObjectMetadata meta) {
+    String eTag = meta.getETag();
+    if (eTag == null || !MD5_ETAG_PATTERN.matcher(eTag).matches()
+        || meta.getSSECustomerAlgorithm() != null
+        || (meta.getSSEAlgorithm() != null
+            && meta.getSSEAlgorithm().startsWith(SSEAlgorithm.KMS.getAlgorithm()))) {
+      return Optional.empty();
+    }
+    return Optional.of(eTag.toLowerCase(Locale.ROOT));
+  }
+
   private static boolean isUserIdInGrantee(Grantee grantee, String userId) {
     return grantee.getIdentifier() != null && grantee.getIdentifier().equals(userId)
         || grantee.equals(GroupGrantee.AllUsers)
@@ -11,15 +11,21 @@
 
 package alluxio.underfs.s3a;
 
+import com.amazonaws.services.s3.Headers;
 import com.amazonaws.services.s3.model.AccessControlList;
 import com.amazonaws.services.s3.model.CanonicalGrantee;
 import com.amazonaws.services.s3.model.GroupGrantee;
+import com.amazonaws.services.s3.model.ObjectMetadata;
 import com.amazonaws.services.s3.model.Owner;
 import com.amazonaws.services.s3.model.Permission;
+import com.amazonaws.services.s3.model.SSEAlgorithm;
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
 
+import java.util.Locale;
+import java.util.Optional;
+
 /**
  * Tests for {@link S3AUtils} methods.
  */
@@ -122,4 +128,30 @@ public final class S3AUtilsTest {
     mAcl.grantPermission(mUserGrantee, Permission.Read);
     Assert.assertEquals((short) 0000, S3AUtils.translateBucketAcl(mAcl, OTHER_ID));
   }
+
+  @Test
+  public void contentMd5FromETag() {
+    String md5 = "9E107D9D372BB6826BD81D3542A419D6";
+    ObjectMetadata meta = new ObjectMetadata();
+    meta.setHeader(Headers.ETAG, md5);
+    Assert.assertEquals(Optional.of(md5.toLowerCase(Locale.ROOT)), S3AUtils.getContentMd5(meta));
+    meta.setSSEAlgorithm(SSEAlgorithm.AES256.getAlgorithm());
+    Assert.assertEquals(Optional.of(md5.toLowerCase(Locale.ROOT)), S3AUtils.getContentMd5(meta));
+  }
+
+  @Test
+  public void contentMd5NotFromETag() {
+    String md5 = "9e107d9d372bb6826bd81d3542a419d6";
+    ObjectMetadata meta = new ObjectMetadata();
+    Assert.assertEquals(Optional.empty(), S3AUtils.getContentMd5(meta));
+    // multipart upload
+    meta.setHeader(Headers.ETAG, md5 + "-3");
+    Assert.assertEquals(Optional.empty(), S3AUtils.getContentMd5(meta));
+    meta.setHeader(Headers.ETAG, md5);
+    meta.setSSEAlgorithm(SSEAlgorithm.KMS.getAlgorithm());
+    Assert.assertEquals(Optional.empty(), S3AUtils.getContentMd5(meta));
+    meta.setSSEAlgorithm(null);
+    meta.setSSECustomerAlgorithm(SSEAlgorithm.AES256.getAlgorithm());
+    Assert.assertEquals(Optional.empty(), S3AUtils.getContentMd5(meta));
+  }
 }